@@ -40,6 +40,7 @@ import org.codehaus.plexus.PlexusContainer;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Initializable;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
@@ -61,6 +62,8 @@ import org.eclipse.osgi.service.resolver.BundleDescription;
 import org.eclipse.tycho.PackagingType;
 import org.eclipse.tycho.ReactorProject;
 import org.eclipse.tycho.helper.PluginRealmHelper;
+import org.eclipse.tycho.metrics.CacheMetrics;
+import org.eclipse.tycho.metrics.CacheMetricsRegistry;
 import org.eclipse.tycho.p2maven.actions.AuthoredIUAction;
 import org.eclipse.tycho.p2maven.actions.CategoryDependenciesAction;
 import org.eclipse.tycho.p2maven.actions.FeatureDependenciesAction;
@@ -76,11 +79,23 @@ import org.xml.sax.SAXException;
  *
  */
 @Component(role = InstallableUnitGenerator.class)
-public class InstallableUnitGenerator {
+public class InstallableUnitGenerator implements Initializable {
 
 	private static final boolean DUMP_DATA = Boolean.getBoolean("tycho.p2.dump")
 			|| Boolean.getBoolean("tycho.p2.dump.units");
 
+	/**
+	 * Rough estimate of the bytes retained by an installable unit without capabilities, requirements
+	 * and properties
+	 */
+	private static final long UNIT_BYTES = 256;
+
+	/**
+	 * Rough estimate of the bytes retained by a capability or requirement including its namespace,
+	 * name and version (range)
+	 */
+	private static final long CAPABILITY_BYTES = 160;
+
 	@Requirement
 	private Logger log;
 
@@ -104,8 +119,43 @@ public class InstallableUnitGenerator {
 	@Requirement
 	ArtifactHandlerManager artifactHandlerManager;
 
+	@Requirement
+	private CacheMetricsRegistry metricsRegistry;
+
 	private Map<Artifact, ArtifactUnits> artifactUnitMap = new ConcurrentHashMap<>();
 
+	private final CacheMetrics artifactUnitMetrics = new CacheMetrics(
+			InstallableUnitGenerator.class.getSimpleName() + ".artifactUnitMap", () -> artifactUnitMap.size(),
+			() -> artifactUnitMap.values().stream()
+					.mapToLong(units -> CacheMetrics.ENTRY_BYTES + estimateBytes(units.units)).sum());
+
+	@Override
+	public void initialize() {
+		if (metricsRegistry != null) {
+			metricsRegistry.register(artifactUnitMetrics);
+		}
+	}
+
+	/**
+	 * Estimates the bytes retained by the given units, this is only meant to compare the sizes of
+	 * caches and is by no means exact.
+	 * 
+	 * @param units the units to estimate, might be <code>null</code>
+	 * @return the estimated number of bytes
+	 */
+	public static long estimateBytes(Collection<IInstallableUnit> units) {
+		if (units == null) {
+			return 0;
+		}
+		long bytes = 0;
+		for (IInstallableUnit unit : units) {
+			bytes += UNIT_BYTES
+					+ CAPABILITY_BYTES * (unit.getProvidedCapabilities().size() + unit.getRequirements().size())
+					+ CacheMetrics.estimateBytes(unit.getProperties());
+		}
+		return bytes;
+	}
+
 	/**
 	 * Computes the {@link IInstallableUnit}s for a collection of projects.
 	 * 
@@ -332,13 +382,21 @@ public class InstallableUnitGenerator {
 
 	private final class ArtifactUnits {
 
-		private Collection<IInstallableUnit> units;
+		private volatile Collection<IInstallableUnit> units;
 		private long lastModified;
 
 		public synchronized Collection<IInstallableUnit> getUnits(Artifact artifact) {
 			if (units != null && !hasChanges(artifact)) {
+				artifactUnitMetrics.hit();
 				return units;
 			}
+			long start = System.nanoTime();
+			units = loadUnits(artifact);
+			artifactUnitMetrics.miss(start);
+			return units;
+		}
+
+		private Collection<IInstallableUnit> loadUnits(Artifact artifact) {
 			try {
 				// TODO in case of "java-source" type, we might want to generate the source IU
 				// based on the parent artifact!
@@ -350,11 +408,11 @@ public class InstallableUnitGenerator {
 							|| PackagingType.TYPE_ECLIPSE_TEST_PLUGIN.equals(type) || "bundle".equals(type)) {
 						List<IPublisherAction> actions = getPublisherActions(PackagingType.TYPE_ECLIPSE_PLUGIN, file,
 								artifact.getVersion(), artifact.getArtifactId());
-						return units = publisher.publishMetadata(actions);
+						return publisher.publishMetadata(actions);
 					} else if (PackagingType.TYPE_ECLIPSE_FEATURE.equals(type)) {
 						List<IPublisherAction> actions = getPublisherActions(PackagingType.TYPE_ECLIPSE_FEATURE, file,
 								artifact.getVersion(), artifact.getArtifactId());
-						return units = publisher.publishMetadata(actions);
+						return publisher.publishMetadata(actions);
 					} else {
 						boolean isBundle = false;
 						boolean isFeature = false;
@@ -370,19 +428,19 @@ public class InstallableUnitGenerator {
 						if (isBundle) {
 							List<IPublisherAction> actions = getPublisherActions(PackagingType.TYPE_ECLIPSE_PLUGIN,
 									file, artifact.getVersion(), artifact.getArtifactId());
-							return units = publisher.publishMetadata(actions);
+							return publisher.publishMetadata(actions);
 						}
 						if (isFeature) {
 							List<IPublisherAction> actions = getPublisherActions(PackagingType.TYPE_ECLIPSE_FEATURE,
 									file, artifact.getVersion(), artifact.getArtifactId());
-							return units = publisher.publishMetadata(actions);
+							return publisher.publishMetadata(actions);
 						}
 					}
 				}
 			} catch (CoreException e) {
 				// can't generate one then...
 			}
-			return units = Collections.emptyList();
+			return Collections.emptyList();
 		}
 
 		private boolean isValidFile(File file) {
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.equinox.internal.p2.metadata.IRequiredCapability;
+import org.eclipse.equinox.internal.p2.metadata.InstallableUnit;
+import org.eclipse.equinox.internal.p2.metadata.TranslationSupport;
+import org.eclipse.equinox.internal.p2.metadata.index.CapabilityIndex;
+import org.eclipse.equinox.internal.p2.metadata.index.IdIndex;
+import org.eclipse.equinox.internal.p2.metadata.index.IndexProvider;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.metadata.IProvidedCapability;
+import org.eclipse.equinox.p2.metadata.IRequirement;
+import org.eclipse.equinox.p2.metadata.KeyWithLocale;
+import org.eclipse.equinox.p2.metadata.Version;
+import org.eclipse.equinox.p2.metadata.index.IIndex;
+
+/**
+ * An immutable collection of {@link IInstallableUnit}s that is meant to be
+ * built once (e.g. per target platform) and then queried many times. Besides
+ * answering p2 queries with the usual p2 indices it allows to look up the
+ * providers of a capability directly: units are referenced by their ordinal in
+ * the collection and each namespace/name pair maps to an array of the ordinals
+ * of its providers, sorted by the provided version (highest first).
+ */
+public final class InstallableUnitIndex extends IndexProvider<IInstallableUnit> {
+
+	private static final int[] NO_PROVIDERS = new int[0];
+
+	private final IInstallableUnit[] units;
+	private final Map<String, Map<String, int[]>> providers;
+	private IIndex<IInstallableUnit> capabilityIndex;
+	private IIndex<IInstallableUnit> idIndex;
+	private TranslationSupport translationSupport;
+
+	public InstallableUnitIndex(Collection<IInstallableUnit> units) {
+		this.units = units.toArray(IInstallableUnit[]::new);
+		Map<String, Map<String, ProviderList>> lists = new HashMap<>();
+		for (int ordinal = 0; ordinal < this.units.length; ordinal++) {
+			for (IProvidedCapability capability : this.units[ordinal].getProvidedCapabilities()) {
+				lists.computeIfAbsent(capability.getNamespace(), ns -> new HashMap<>())
+						.computeIfAbsent(capability.getName(), name -> new ProviderList())
+						.add(ordinal, capability.getVersion());
+			}
+		}
+		Map<String, Map<String, int[]>> map = new HashMap<>(lists.size() * 2);
+		for (Entry<String, Map<String, ProviderList>> namespace : lists.entrySet()) {
+			Map<String, int[]> names = new HashMap<>(namespace.getValue().size() * 2);
+			for (Entry<String, ProviderList> name : namespace.getValue().entrySet()) {
+				names.put(name.getKey(), name.getValue().toSortedArray());
+			}
+			map.put(namespace.getKey(), names);
+		}
+		this.providers = map;
+	}
+
+	/**
+	 * @return the number of units in this index
+	 */
+	public int size() {
+		return units.length;
+	}
+
+	/**
+	 * Returns all units that provide a capability with the given namespace and
+	 * name in any version.
+	 *
+	 * @param namespace the namespace of the capability
+	 * @param name      the name of the capability
+	 * @return the providers, the one with the highest version first
+	 */
+	public List<IInstallableUnit> getProviders(String namespace, String name) {
+		int[] ordinals = getOrdinals(namespace, name);
+		if (ordinals.length == 0) {
+			return Collections.emptyList();
+		}
+		List<IInstallableUnit> result = new ArrayList<>(ordinals.length);
+		for (int ordinal : ordinals) {
+			result.add(units[ordinal]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns all units that satisfy the given requirement, requirements on a
+	 * plain namespace/name pair are answered from the index, all others by
+	 * inspecting every unit.
+	 *
+	 * @param requirement the requirement to satisfy
+	 * @return the matching units, for indexed requirements the one with the highest
+	 *         version first
+	 */
+	public List<IInstallableUnit> getProviders(IRequirement requirement) {
+		List<IInstallableUnit> result = new ArrayList<>();
+		if (requirement instanceof IRequiredCapability capability) {
+			for (int ordinal : getOrdinals(capability.getNamespace(), capability.getName())) {
+				IInstallableUnit unit = units[ordinal];
+				if (requirement.isMatch(unit)) {
+					result.add(unit);
+				}
+			}
+		} else {
+			for (IInstallableUnit unit : units) {
+				if (requirement.isMatch(unit)) {
+					result.add(unit);
+				}
+			}
+		}
+		return result;
+	}
+
+	private int[] getOrdinals(String namespace, String name) {
+		Map<String, int[]> names = providers.get(namespace);
+		if (names == null) {
+			return NO_PROVIDERS;
+		}
+		return names.getOrDefault(name, NO_PROVIDERS);
+	}
+
+	@Override
+	public Iterator<IInstallableUnit> everything() {
+		return Arrays.asList(units).iterator();
+	}
+
+	@Override
+	public synchronized IIndex<IInstallableUnit> getIndex(String memberName) {
+		if (InstallableUnit.MEMBER_PROVIDED_CAPABILITIES.equals(memberName)) {
+			if (capabilityIndex == null) {
+				capabilityIndex = new CapabilityIndex(everything());
+			}
+			return capabilityIndex;
+		}
+		if (InstallableUnit.MEMBER_ID.equals(memberName)) {
+			if (idIndex == null) {
+				idIndex = new IdIndex(everything());
+			}
+			return idIndex;
+		}
+		return null;
+	}
+
+	@Override
+	public synchronized Object getManagedProperty(Object client, String memberName, Object key) {
+		if (client instanceof IInstallableUnit iu
+				&& InstallableUnit.MEMBER_TRANSLATED_PROPERTIES.equals(memberName)) {
+			if (translationSupport == null) {
+				translationSupport = new TranslationSupport(this);
+			}
+			return key instanceof KeyWithLocale keyWithLocale //
+					? translationSupport.getIUProperty(iu, keyWithLocale)
+					: translationSupport.getIUProperty(iu, key.toString());
+		}
+		return null;
+	}
+
+	/**
+	 * Collects the providers of one capability while the index is built, a unit
+	 * providing the same capability in several versions is recorded once with its
+	 * highest version.
+	 */
+	private static final class ProviderList {
+		private int[] ordinals = new int[1];
+		private Version[] versions = new Version[1];
+		private int size;
+
+		void add(int ordinal, Version version) {
+			if (size > 0 && ordinals[size - 1] == ordinal) {
+				if (version.compareTo(versions[size - 1]) > 0) {
+					versions[size - 1] = version;
+				}
+				return;
+			}
+			if (size == ordinals.length) {
+				ordinals = Arrays.copyOf(ordinals, size * 2);
+				versions = Arrays.copyOf(versions, size * 2);
+			}
+			ordinals[size] = ordinal;
+			versions[size] = version;
+			size++;
+		}
+
+		int[] toSortedArray() {
+			Integer[] positions = new Integer[size];
+			for (int i = 0; i < size; i++) {
+				positions[i] = i;
+			}
+			Arrays.sort(positions, Comparator.<Integer, Version>comparing(i -> versions[i]).reversed()
+					.thenComparing(i -> ordinals[i]));
+			int[] result = new int[size];
+			for (int i = 0; i < size; i++) {
+				result[i] = ordinals[positions[i]];
+			}
+			return result;
+		}
+	}
+
+}
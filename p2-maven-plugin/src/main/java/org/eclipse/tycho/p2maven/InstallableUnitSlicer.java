@@ -75,7 +75,8 @@ public class InstallableUnitSlicer {
 	 * 
 	 * @param rootIus     the root {@link InstallableUnit}s to take into account
 	 * @param avaiableIUs the {@link IQueryable} of all units that could be used for
-	 *                    fulfilling a requirement
+	 *                    fulfilling a requirement, pass an
+	 *                    {@link InstallableUnitIndex} if it is queried repeatedly
 	 * @return the result of the slicing
 	 * @throws CoreException if there is any error
 	 */
@@ -91,15 +92,11 @@ public class InstallableUnitSlicer {
 			}
 			return true;
 		}).toList();
-		for (IInstallableUnit iu : avaiableIUs.query(QueryUtil.ALL_UNITS, new NullProgressMonitor()).toSet()) {
-			for (IRequirement requirement : collect) {
-				if (iu.satisfies(requirement)) {
-					result.add(iu);
-					// TODO remove the requirement from the set so we only collect exactly one
-					// provider for a requirement?
-					break;
-				}
-			}
+		InstallableUnitIndex index = avaiableIUs instanceof InstallableUnitIndex unitIndex ? unitIndex
+				: new InstallableUnitIndex(avaiableIUs.query(QueryUtil.ALL_UNITS, new NullProgressMonitor()).toSet());
+		for (IRequirement requirement : collect) {
+			// TODO only collect exactly one provider for a requirement?
+			result.addAll(index.getProviders(requirement));
 		}
 		return new CollectionResult<>(result);
 	}
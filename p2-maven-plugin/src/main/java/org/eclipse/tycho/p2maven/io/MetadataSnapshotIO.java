@@ -0,0 +1,690 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.equinox.internal.p2.metadata.ArtifactKey;
+import org.eclipse.equinox.internal.p2.metadata.InstallableUnit;
+import org.eclipse.equinox.p2.metadata.IArtifactKey;
+import org.eclipse.equinox.p2.metadata.ICopyright;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.metadata.IInstallableUnitFragment;
+import org.eclipse.equinox.p2.metadata.IInstallableUnitPatch;
+import org.eclipse.equinox.p2.metadata.ILicense;
+import org.eclipse.equinox.p2.metadata.IProvidedCapability;
+import org.eclipse.equinox.p2.metadata.IRequiredCapability;
+import org.eclipse.equinox.p2.metadata.IRequirement;
+import org.eclipse.equinox.p2.metadata.ITouchpointData;
+import org.eclipse.equinox.p2.metadata.ITouchpointInstruction;
+import org.eclipse.equinox.p2.metadata.ITouchpointType;
+import org.eclipse.equinox.p2.metadata.IUpdateDescriptor;
+import org.eclipse.equinox.p2.metadata.MetadataFactory;
+import org.eclipse.equinox.p2.metadata.MetadataFactory.InstallableUnitDescription;
+import org.eclipse.equinox.p2.metadata.MetadataFactory.InstallableUnitFragmentDescription;
+import org.eclipse.equinox.p2.metadata.Version;
+import org.eclipse.equinox.p2.metadata.VersionRange;
+import org.eclipse.equinox.p2.metadata.expression.ExpressionUtil;
+import org.eclipse.equinox.p2.metadata.expression.IExpression;
+import org.eclipse.equinox.p2.metadata.expression.IExpressionFactory;
+import org.eclipse.equinox.p2.metadata.expression.IMatchExpression;
+import org.eclipse.equinox.p2.repository.IRepositoryReference;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
+import org.eclipse.equinox.p2.repository.spi.RepositoryReference;
+
+/**
+ * Reads and writes a compact binary snapshot of a metadata repository. The snapshot is bound to
+ * the content of the file it was created from (by its {@link #digest(File) digest}) so it can be
+ * discarded as soon as the source changes, regardless of the file's timestamps. All strings are
+ * written to a table once and referenced by index afterwards, which makes the snapshot small and
+ * lets the reader share string, version and expression instances between units.
+ */
+public final class MetadataSnapshotIO {
+
+    private static final int MAGIC = 0x54503253; // "TP2S"
+    private static final int FORMAT_VERSION = 2;
+
+    private static final byte UNIT = 0;
+    private static final byte FRAGMENT = 1;
+
+    private static final byte SIMPLE_REQUIREMENT = 0;
+    private static final byte EXPRESSION_REQUIREMENT = 1;
+
+    private static final byte VALUE_STRING = 0;
+    private static final byte VALUE_VERSION = 1;
+    private static final byte VALUE_LONG = 2;
+    private static final byte VALUE_INTEGER = 3;
+    private static final byte VALUE_DOUBLE = 4;
+    private static final byte VALUE_BOOLEAN = 5;
+    private static final byte VALUE_LIST = 6;
+
+    private MetadataSnapshotIO() {
+    }
+
+    /**
+     * The repository level information of a snapshot, the units are only read on demand with
+     * {@link MetadataSnapshotIO#readUnits(File)}.
+     */
+    public static final class RepositoryInfo {
+        private String name;
+        private String type;
+        private String version;
+        private String description;
+        private String provider;
+        private Map<String, String> properties;
+        private List<IRepositoryReference> references;
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getProvider() {
+            return provider;
+        }
+
+        public Map<String, String> getProperties() {
+            return properties;
+        }
+
+        public List<IRepositoryReference> getReferences() {
+            return references;
+        }
+    }
+
+    /**
+     * Computes the digest a snapshot is bound to.
+     *
+     * @param source
+     *            the file the repository is read from
+     * @return the hex encoded SHA-256 digest of the file's content
+     */
+    public static String digest(File source) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream is = new DigestInputStream(new FileInputStream(source), digest)) {
+            is.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Writes a snapshot of the given repository.
+     *
+     * @param repository
+     *            the repository to write
+     * @param units
+     *            the units of the repository
+     * @param sourceDigest
+     *            the {@link #digest(File) digest} of the file the repository was read from, or
+     *            <code>null</code> if the snapshot is not bound to a file
+     * @param snapshotFile
+     *            the file to write the snapshot to
+     * @throws IOException
+     *             if writing fails or the repository contains units that can't be represented
+     *             in a snapshot (e.g. patches), in this case no snapshot is written
+     */
+    public static void write(IMetadataRepository repository, Collection<IInstallableUnit> units,
+            String sourceDigest, File snapshotFile) throws IOException {
+        Path target = snapshotFile.toPath();
+        Path tempFile = Files.createTempFile(target.getParent(), snapshotFile.getName(), ".tmp");
+        try {
+            try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+                Writer writer = new Writer(new DataOutputStream(os));
+                writer.writeHeader(sourceDigest);
+                writer.writeRepository(repository);
+                writer.out.writeInt(units.size());
+                for (IInstallableUnit unit : units) {
+                    writer.writeUnit(unit);
+                }
+                writer.out.flush();
+            }
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Reads the repository information of a snapshot.
+     *
+     * @param snapshotFile
+     *            the snapshot to read
+     * @param sourceDigest
+     *            the {@link #digest(File) digest} of the file the snapshot is expected to be
+     *            created from, or <code>null</code> to accept the snapshot regardless of its
+     *            source
+     * @return the repository information or <code>null</code> if there is no snapshot or it does
+     *         not match the current content of the source file
+     */
+    public static RepositoryInfo readRepository(File snapshotFile, String sourceDigest) throws IOException {
+        if (!snapshotFile.isFile()) {
+            return null;
+        }
+        try (InputStream is = new BufferedInputStream(new FileInputStream(snapshotFile))) {
+            Reader reader = new Reader(new DataInputStream(is));
+            if (!reader.readHeader(sourceDigest)) {
+                return null;
+            }
+            return reader.readRepository();
+        }
+    }
+
+    /**
+     * Reads all units of a snapshot previously validated with
+     * {@link #readRepository(File, String)}.
+     *
+     * @param snapshotFile
+     *            the snapshot to read
+     * @return the units of the snapshot
+     */
+    public static IInstallableUnit[] readUnits(File snapshotFile) throws IOException {
+        try (InputStream is = new BufferedInputStream(new FileInputStream(snapshotFile), 64 * 1024)) {
+            Reader reader = new Reader(new DataInputStream(is));
+            reader.readHeader(null);
+            // the string table is built up while reading, so the repository section can't be skipped
+            reader.readRepository();
+            IInstallableUnit[] units = new IInstallableUnit[reader.in.readInt()];
+            for (int i = 0; i < units.length; i++) {
+                units[i] = reader.readUnit();
+            }
+            return units;
+        }
+    }
+
+    private static final class Writer {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeHeader(String sourceDigest) throws IOException {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(sourceDigest);
+        }
+
+        void writeRepository(IMetadataRepository repository) throws IOException {
+            writeString(repository.getName());
+            writeString(repository.getType());
+            writeString(repository.getVersion());
+            writeString(repository.getDescription());
+            writeString(repository.getProvider());
+            writeStringMap(repository.getProperties());
+            Collection<IRepositoryReference> references = repository.getReferences();
+            out.writeInt(references.size());
+            for (IRepositoryReference reference : references) {
+                writeString(reference.getLocation().toString());
+                writeString(reference.getNickname());
+                out.writeInt(reference.getType());
+                out.writeInt(reference.getOptions());
+            }
+        }
+
+        void writeUnit(IInstallableUnit unit) throws IOException {
+            if (unit instanceof IInstallableUnitPatch) {
+                throw new IOException("Installable unit patches are not supported: " + unit);
+            }
+            out.writeByte(unit instanceof IInstallableUnitFragment ? FRAGMENT : UNIT);
+            writeString(unit.getId());
+            writeString(unit.getVersion().toString());
+            out.writeBoolean(unit.isSingleton());
+            writeStringMap(unit.getProperties());
+            Collection<IProvidedCapability> capabilities = unit.getProvidedCapabilities();
+            out.writeInt(capabilities.size());
+            for (IProvidedCapability capability : capabilities) {
+                writeString(capability.getNamespace());
+                Map<String, Object> properties = capability.getProperties();
+                out.writeInt(properties.size());
+                for (Entry<String, Object> entry : properties.entrySet()) {
+                    writeString(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            }
+            writeRequirements(unit.getRequirements());
+            writeRequirements(unit.getMetaRequirements());
+            writeFilter(unit.getFilter());
+            Collection<IArtifactKey> artifacts = unit.getArtifacts();
+            out.writeInt(artifacts.size());
+            for (IArtifactKey key : artifacts) {
+                writeString(key.getClassifier());
+                writeString(key.getId());
+                writeString(key.getVersion().toString());
+            }
+            ITouchpointType touchpointType = unit.getTouchpointType();
+            writeString(touchpointType.getId());
+            writeString(touchpointType.getVersion().toString());
+            Collection<ITouchpointData> touchpointData = unit.getTouchpointData();
+            out.writeInt(touchpointData.size());
+            for (ITouchpointData data : touchpointData) {
+                Map<String, ITouchpointInstruction> instructions = data.getInstructions();
+                out.writeInt(instructions.size());
+                for (Entry<String, ITouchpointInstruction> entry : instructions.entrySet()) {
+                    writeString(entry.getKey());
+                    writeString(entry.getValue().getBody());
+                    writeString(entry.getValue().getImportAttribute());
+                }
+            }
+            IUpdateDescriptor updateDescriptor = unit.getUpdateDescriptor();
+            out.writeBoolean(updateDescriptor != null);
+            if (updateDescriptor != null) {
+                Collection<IMatchExpression<IInstallableUnit>> updated = updateDescriptor.getIUsBeingUpdated();
+                out.writeInt(updated.size());
+                for (IMatchExpression<IInstallableUnit> expression : updated) {
+                    writeMatchExpression(expression);
+                }
+                out.writeInt(updateDescriptor.getSeverity());
+                writeString(updateDescriptor.getDescription());
+                writeURI(updateDescriptor.getLocation());
+            }
+            Collection<ILicense> licenses = unit.getLicenses();
+            out.writeInt(licenses.size());
+            for (ILicense license : licenses) {
+                writeURI(license.getLocation());
+                writeString(license.getBody());
+            }
+            ICopyright copyright = unit.getCopyright();
+            out.writeBoolean(copyright != null);
+            if (copyright != null) {
+                writeURI(copyright.getLocation());
+                writeString(copyright.getBody());
+            }
+            if (unit instanceof IInstallableUnitFragment fragment) {
+                writeRequirements(fragment.getHost());
+            }
+        }
+
+        private void writeRequirements(Collection<IRequirement> requirements) throws IOException {
+            out.writeInt(requirements.size());
+            for (IRequirement requirement : requirements) {
+                if (requirement instanceof IRequiredCapability capability) {
+                    out.writeByte(SIMPLE_REQUIREMENT);
+                    writeString(capability.getNamespace());
+                    writeString(capability.getName());
+                    writeString(capability.getRange().toString());
+                } else {
+                    out.writeByte(EXPRESSION_REQUIREMENT);
+                    writeMatchExpression(requirement.getMatches());
+                }
+                writeFilter(requirement.getFilter());
+                out.writeInt(requirement.getMin());
+                out.writeInt(requirement.getMax());
+                out.writeBoolean(requirement.isGreedy());
+                writeString(requirement.getDescription());
+            }
+        }
+
+        /**
+         * Filters are stored in their LDAP form like the XML format does.
+         */
+        private void writeFilter(IMatchExpression<IInstallableUnit> filter) throws IOException {
+            if (filter == null) {
+                writeString(null);
+                return;
+            }
+            Object[] parameters = filter.getParameters();
+            if (parameters.length != 1) {
+                throw new IOException("Unsupported filter: " + filter);
+            }
+            writeString(parameters[0].toString());
+        }
+
+        private void writeMatchExpression(IMatchExpression<IInstallableUnit> expression) throws IOException {
+            writeString(ExpressionUtil.getOperand(expression).toString());
+            Object[] parameters = expression.getParameters();
+            if (parameters.length == 0) {
+                writeString(null);
+            } else {
+                IExpressionFactory factory = ExpressionUtil.getFactory();
+                IExpression[] constants = new IExpression[parameters.length];
+                for (int i = 0; i < parameters.length; i++) {
+                    constants[i] = factory.constant(parameters[i]);
+                }
+                writeString(factory.array(constants).toString());
+            }
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value instanceof String string) {
+                out.writeByte(VALUE_STRING);
+                writeString(string);
+            } else if (value instanceof Version version) {
+                out.writeByte(VALUE_VERSION);
+                writeString(version.toString());
+            } else if (value instanceof Long l) {
+                out.writeByte(VALUE_LONG);
+                out.writeLong(l);
+            } else if (value instanceof Integer i) {
+                out.writeByte(VALUE_INTEGER);
+                out.writeInt(i);
+            } else if (value instanceof Double d) {
+                out.writeByte(VALUE_DOUBLE);
+                out.writeDouble(d);
+            } else if (value instanceof Boolean b) {
+                out.writeByte(VALUE_BOOLEAN);
+                out.writeBoolean(b);
+            } else if (value instanceof List<?> list) {
+                out.writeByte(VALUE_LIST);
+                out.writeInt(list.size());
+                for (Object element : list) {
+                    writeValue(element);
+                }
+            } else {
+                throw new IOException("Unsupported capability attribute value: " + value);
+            }
+        }
+
+        private void writeURI(URI uri) throws IOException {
+            writeString(uri == null ? null : uri.toString());
+        }
+
+        private void writeStringMap(Map<String, String> map) throws IOException {
+            out.writeInt(map.size());
+            for (Entry<String, String> entry : map.entrySet()) {
+                writeString(entry.getKey());
+                writeString(entry.getValue());
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                out.writeInt(index);
+                return;
+            }
+            int newIndex = strings.size();
+            strings.put(value, newIndex);
+            out.writeInt(newIndex);
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static final class Reader {
+
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Version> versions = new HashMap<>();
+        private final Map<String, VersionRange> ranges = new HashMap<>();
+        private final Map<String, IMatchExpression<IInstallableUnit>> filters = new HashMap<>();
+        private final Map<String, IMatchExpression<IInstallableUnit>> expressions = new HashMap<>();
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        boolean readHeader(String sourceDigest) throws IOException {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return false;
+            }
+            String digest = readString();
+            return sourceDigest == null || sourceDigest.equals(digest);
+        }
+
+        RepositoryInfo readRepository() throws IOException {
+            RepositoryInfo info = new RepositoryInfo();
+            info.name = readString();
+            info.type = readString();
+            info.version = readString();
+            info.description = readString();
+            info.provider = readString();
+            info.properties = readStringMap();
+            int size = in.readInt();
+            info.references = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                URI location = URI.create(readString());
+                String nickname = readString();
+                info.references.add(new RepositoryReference(location, nickname, in.readInt(), in.readInt()));
+            }
+            return info;
+        }
+
+        IInstallableUnit readUnit() throws IOException {
+            byte kind = in.readByte();
+            InstallableUnitDescription description = kind == FRAGMENT ? new InstallableUnitFragmentDescription()
+                    : new InstallableUnitDescription();
+            description.setId(readString());
+            description.setVersion(readVersion());
+            description.setSingleton(in.readBoolean());
+            for (Entry<String, String> entry : readStringMap().entrySet()) {
+                description.setProperty(entry.getKey(), entry.getValue());
+            }
+            IProvidedCapability[] capabilities = new IProvidedCapability[in.readInt()];
+            for (int i = 0; i < capabilities.length; i++) {
+                String namespace = readString();
+                int size = in.readInt();
+                Map<String, Object> properties = new LinkedHashMap<>(size * 2);
+                for (int j = 0; j < size; j++) {
+                    properties.put(readString(), readValue());
+                }
+                capabilities[i] = MetadataFactory.createProvidedCapability(namespace, properties);
+            }
+            description.setCapabilities(capabilities);
+            description.setRequirements(readRequirements());
+            description.setMetaRequirements(readRequirements());
+            description.setFilter(readFilter());
+            IArtifactKey[] artifacts = new IArtifactKey[in.readInt()];
+            for (int i = 0; i < artifacts.length; i++) {
+                artifacts[i] = new ArtifactKey(readString(), readString(), readVersion());
+            }
+            description.setArtifacts(artifacts);
+            description.setTouchpointType(MetadataFactory.createTouchpointType(readString(), readVersion()));
+            int touchpointDataSize = in.readInt();
+            for (int i = 0; i < touchpointDataSize; i++) {
+                int size = in.readInt();
+                Map<String, ITouchpointInstruction> instructions = new LinkedHashMap<>(size * 2);
+                for (int j = 0; j < size; j++) {
+                    String key = readString();
+                    instructions.put(key, MetadataFactory.createTouchpointInstruction(readString(), readString()));
+                }
+                description.addTouchpointData(MetadataFactory.createTouchpointData(instructions));
+            }
+            if (in.readBoolean()) {
+                int size = in.readInt();
+                List<IMatchExpression<IInstallableUnit>> updated = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    updated.add(readMatchExpression());
+                }
+                int severity = in.readInt();
+                String updateDescription = readString();
+                description.setUpdateDescriptor(
+                        MetadataFactory.createUpdateDescriptor(updated, severity, updateDescription, readURI()));
+            }
+            ILicense[] licenses = new ILicense[in.readInt()];
+            for (int i = 0; i < licenses.length; i++) {
+                URI location = readURI();
+                licenses[i] = MetadataFactory.createLicense(location, readString());
+            }
+            description.setLicenses(licenses);
+            if (in.readBoolean()) {
+                URI location = readURI();
+                description.setCopyright(MetadataFactory.createCopyright(location, readString()));
+            }
+            if (description instanceof InstallableUnitFragmentDescription fragment) {
+                fragment.setHost(readRequirements());
+                return MetadataFactory.createInstallableUnitFragment(fragment);
+            }
+            return MetadataFactory.createInstallableUnit(description);
+        }
+
+        private IRequirement[] readRequirements() throws IOException {
+            IRequirement[] requirements = new IRequirement[in.readInt()];
+            for (int i = 0; i < requirements.length; i++) {
+                byte kind = in.readByte();
+                if (kind == SIMPLE_REQUIREMENT) {
+                    String namespace = readString();
+                    String name = readString();
+                    VersionRange range = readVersionRange();
+                    IMatchExpression<IInstallableUnit> filter = readFilter();
+                    int min = in.readInt();
+                    int max = in.readInt();
+                    boolean greedy = in.readBoolean();
+                    requirements[i] = MetadataFactory.createRequirement(namespace, name, range, filter, min, max,
+                            greedy, readString());
+                } else {
+                    IMatchExpression<IInstallableUnit> matches = readMatchExpression();
+                    IMatchExpression<IInstallableUnit> filter = readFilter();
+                    int min = in.readInt();
+                    int max = in.readInt();
+                    boolean greedy = in.readBoolean();
+                    requirements[i] = MetadataFactory.createRequirement(matches, filter, min, max, greedy,
+                            readString());
+                }
+            }
+            return requirements;
+        }
+
+        private IMatchExpression<IInstallableUnit> readFilter() throws IOException {
+            String filter = readString();
+            if (filter == null) {
+                return null;
+            }
+            return filters.computeIfAbsent(filter, InstallableUnit::parseFilter);
+        }
+
+        private IMatchExpression<IInstallableUnit> readMatchExpression() throws IOException {
+            String expression = readString();
+            String parameters = readString();
+            return expressions.computeIfAbsent(parameters == null ? expression : expression + '\n' + parameters,
+                    key -> {
+                        IExpressionFactory factory = ExpressionUtil.getFactory();
+                        Object[] values;
+                        if (parameters == null) {
+                            values = new Object[0];
+                        } else {
+                            IExpression[] constants = ExpressionUtil.getOperands(ExpressionUtil.parse(parameters));
+                            values = new Object[constants.length];
+                            for (int i = 0; i < constants.length; i++) {
+                                values[i] = constants[i].evaluate(null);
+                            }
+                        }
+                        return factory.<IInstallableUnit> matchExpression(ExpressionUtil.parse(expression), values);
+                    });
+        }
+
+        private Object readValue() throws IOException {
+            byte type = in.readByte();
+            switch (type) {
+            case VALUE_STRING:
+                return readString();
+            case VALUE_VERSION:
+                return readVersion();
+            case VALUE_LONG:
+                return in.readLong();
+            case VALUE_INTEGER:
+                return in.readInt();
+            case VALUE_DOUBLE:
+                return in.readDouble();
+            case VALUE_BOOLEAN:
+                return in.readBoolean();
+            case VALUE_LIST:
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue());
+                }
+                return list;
+            default:
+                throw new IOException("Unknown value type " + type);
+            }
+        }
+
+        private Version readVersion() throws IOException {
+            return versions.computeIfAbsent(readString(), Version::create);
+        }
+
+        private VersionRange readVersionRange() throws IOException {
+            return ranges.computeIfAbsent(readString(), VersionRange::new);
+        }
+
+        private URI readURI() throws IOException {
+            String uri = readString();
+            return uri == null ? null : URI.create(uri);
+        }
+
+        private Map<String, String> readStringMap() throws IOException {
+            int size = in.readInt();
+            Map<String, String> map = new LinkedHashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                map.put(readString(), readString());
+            }
+            return map;
+        }
+
+        private String readString() throws IOException {
+            int index = in.readInt();
+            if (index < 0) {
+                return null;
+            }
+            if (index < strings.size()) {
+                return strings.get(index);
+            }
+            if (index != strings.size()) {
+                throw new IOException("Corrupted string table");
+            }
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+    }
+
+}
@@ -14,6 +14,8 @@ package org.eclipse.tycho.p2maven.transport;
 
 import java.io.FileNotFoundException;
 import java.net.URI;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 import org.codehaus.plexus.logging.Logger;
 
@@ -29,4 +31,19 @@ public interface HttpCache {
 	 */
 	CacheEntry getCacheEntry(URI uri, Logger logger) throws FileNotFoundException;
 
-}
\ No newline at end of file
+	/**
+	 * Revalidates all cached index files of the given repositories that are past their caching
+	 * period concurrently with conditional requests in the background, so later requests during the
+	 * build can be served from the cache without contacting the server one file at a time.
+	 * 
+	 * @param repositoryLocations
+	 *            the locations of the repositories to revalidate
+	 * @param transportFactory
+	 *            the factory used to perform the requests
+	 * @param logger
+	 * @return a future that completes once all files have been revalidated
+	 */
+	CompletableFuture<Void> revalidate(Collection<URI> repositoryLocations, HttpTransportFactory transportFactory,
+			Logger logger);
+
+}
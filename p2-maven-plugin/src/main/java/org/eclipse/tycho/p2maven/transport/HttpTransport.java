@@ -2,6 +2,10 @@ package org.eclipse.tycho.p2maven.transport;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface HttpTransport {
 
@@ -11,4 +15,34 @@ public interface HttpTransport {
 
 	Response<Void> head() throws IOException;
 
+	/**
+	 * Performs a GET request and streams the body of a successful (2xx) response directly into the
+	 * given file, for all other responses the file is left untouched and the body is discarded.
+	 * 
+	 * @param target
+	 *            the file to write the body to
+	 * @return the response, its body is the target file if it was written or <code>null</code>
+	 *         otherwise
+	 */
+	default Response<Path> download(Path target) throws IOException {
+		return download(target, headers -> {
+		});
+	}
+
+	/**
+	 * Performs a GET request and streams the body of a successful (2xx) response directly into the
+	 * given file, for all other responses the file is left untouched and the body is discarded. The
+	 * body of a partial content (206) response, as returned for a request with a <code>Range</code>
+	 * header, is appended to the file, all other bodies replace its content. Data already received
+	 * remains in the file if the transfer fails, so it can be resumed later on.
+	 * 
+	 * @param target
+	 *            the file to write the body to
+	 * @param headerListener
+	 *            notified with the headers of a successful response before its body is written
+	 * @return the response, its body is the target file if it was written or <code>null</code>
+	 *         otherwise
+	 */
+	Response<Path> download(Path target, Consumer<Map<String, List<String>>> headerListener) throws IOException;
+
 }
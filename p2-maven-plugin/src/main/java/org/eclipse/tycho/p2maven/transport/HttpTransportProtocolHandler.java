@@ -15,8 +15,10 @@ package org.eclipse.tycho.p2maven.transport;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
@@ -50,4 +52,9 @@ public class HttpTransportProtocolHandler implements TransportProtocolHandler {
 		return httpCache.getCacheEntry(remoteFile, logger).getCacheFile(getTransportFactory());
 	}
 
+	@Override
+	public CompletableFuture<?> revalidate(Collection<URI> repositoryLocations) {
+		return httpCache.revalidate(repositoryLocations, getTransportFactory(), logger);
+	}
+
 }
@@ -15,6 +15,7 @@ package org.eclipse.tycho.p2maven.transport;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
 import java.net.Proxy;
 import java.net.ProxySelector;
 import java.net.SocketAddress;
@@ -25,12 +26,19 @@ import java.net.http.HttpClient.Version;
 import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.Builder;
 import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
 import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
@@ -39,7 +47,14 @@ import org.codehaus.plexus.personality.plexus.lifecycle.phase.InitializationExce
 import org.eclipse.tycho.p2maven.helper.ProxyHelper;
 
 /**
- * A transport using Java11 HttpClient
+ * A transport using Java11 HttpClient. Requests to <code>https</code> locations prefer HTTP/2 (as
+ * negotiated during the TLS handshake) and fall back to HTTP/1.1 if the server does not offer it.
+ * Requests are still sent blocking, one per calling thread, but downloads running concurrently on
+ * the threads of {@link TychoRepositoryTransport#fetchAsync(URI)} share one connection per host
+ * instead of opening a new connection for each request. Plain <code>http</code> locations always
+ * use HTTP/1.1 as an upgrade to cleartext HTTP/2 is not supported by many servers and proxies. The
+ * number of requests in flight per host is bounded by
+ * <code>tycho.p2.transport.max-streams-per-host</code>.
  */
 @Component(role = HttpTransportFactory.class, hint = Java11HttpTransportFactory.HINT)
 public class Java11HttpTransportFactory implements HttpTransportFactory, Initializable {
@@ -48,6 +63,9 @@ public class Java11HttpTransportFactory implements HttpTransportFactory, Initial
 
 	private static final String LAST_MODIFIED_HEADER = "Last-Modified";
 
+	private static final int MAX_STREAMS_PER_HOST = Integer.getInteger("tycho.p2.transport.max-streams-per-host",
+			16);
+
 	// see https://www.w3.org/Protocols/rfc2616/rfc2616-sec3.html#sec3.3
 	// per RFC there are three different formats:
 	private static final List<ThreadLocal<DateFormat>> DATE_PATTERNS = List.of(//
@@ -64,9 +82,17 @@ public class Java11HttpTransportFactory implements HttpTransportFactory, Initial
 
 	private HttpClient client;
 
+	private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
 	@Override
 	public HttpTransport createTransport(URI uri) {
-		Java11HttpTransport transport = new Java11HttpTransport(client, HttpRequest.newBuilder().uri(uri));
+		Semaphore permits = hostPermits.computeIfAbsent(uri.getScheme() + "://" + uri.getAuthority(),
+				nil -> new Semaphore(MAX_STREAMS_PER_HOST));
+		Builder builder = HttpRequest.newBuilder().uri(uri);
+		if (!"https".equalsIgnoreCase(uri.getScheme())) {
+			builder.version(Version.HTTP_1_1);
+		}
+		Java11HttpTransport transport = new Java11HttpTransport(client, builder, permits);
 		authenticator.preemtiveAuth((k, v) -> transport.setHeader(k, v), uri);
 		return transport;
 	}
@@ -75,10 +101,12 @@ public class Java11HttpTransportFactory implements HttpTransportFactory, Initial
 
 		private Builder builder;
 		private HttpClient client;
+		private Semaphore permits;
 
-		public Java11HttpTransport(HttpClient client, Builder builder) {
+		public Java11HttpTransport(HttpClient client, Builder builder, Semaphore permits) {
 			this.client = client;
 			this.builder = builder;
+			this.permits = permits;
 		}
 
 		@Override
@@ -88,12 +116,26 @@ public class Java11HttpTransportFactory implements HttpTransportFactory, Initial
 
 		@Override
 		public Response<InputStream> get() throws IOException {
+			// the permit is held until the body is consumed, that is until the response is closed
+			acquire();
+			HttpResponse<InputStream> response;
 			try {
-				HttpResponse<InputStream> response = client.send(builder.GET().build(), BodyHandlers.ofInputStream());
-				return new ResponseImplementation<>(response) {
+				response = send(builder.GET().build(), BodyHandlers.ofInputStream());
+			} catch (IOException | RuntimeException e) {
+				permits.release();
+				throw e;
+			}
+			return new ResponseImplementation<>(response) {
 
-					@Override
-					public void close() {
+				private boolean closed;
+
+				@Override
+				public void close() {
+					if (closed) {
+						return;
+					}
+					closed = true;
+					try {
 						if (response.version() == Version.HTTP_1_1) {
 							// discard any remaining data and close the stream to return the connection to
 							// the pool..
@@ -116,25 +158,74 @@ public class Java11HttpTransportFactory implements HttpTransportFactory, Initial
 								// don't care...
 							}
 						}
+					} finally {
+						permits.release();
+					}
+				}
+			};
+		}
+
+		@Override
+		public Response<Path> download(Path target, Consumer<Map<String, List<String>>> headerListener)
+				throws IOException {
+			BodyHandler<Path> handler = info -> {
+				int code = info.statusCode();
+				if (code == HttpURLConnection.HTTP_PARTIAL) {
+					headerListener.accept(info.headers().map());
+					return BodySubscribers.ofFile(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+							StandardOpenOption.APPEND);
+				}
+				if (code >= HttpURLConnection.HTTP_OK && code < HttpURLConnection.HTTP_MULT_CHOICE) {
+					headerListener.accept(info.headers().map());
+					return BodySubscribers.ofFile(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+							StandardOpenOption.TRUNCATE_EXISTING);
+				}
+				return BodySubscribers.replacing(null);
+			};
+			acquire();
+			try {
+				HttpResponse<Path> response = send(builder.GET().build(), handler);
+				return new ResponseImplementation<>(response) {
+					@Override
+					public void close() {
+						// body is already written to the file...
 					}
 				};
-			} catch (InterruptedException e) {
-				throw new InterruptedIOException();
+			} finally {
+				permits.release();
 			}
 		}
 
 		@Override
 		public Response<Void> head() throws IOException {
+			acquire();
 			try {
-				HttpResponse<Void> response = client.send(builder.method("HEAD", null).build(),
-						BodyHandlers.discarding());
+				HttpResponse<Void> response = send(builder.method("HEAD", null).build(), BodyHandlers.discarding());
 				return new ResponseImplementation<>(response) {
 					@Override
 					public void close() {
 						// nothing...
 					}
 				};
+			} finally {
+				permits.release();
+			}
+		}
+
+		private void acquire() throws InterruptedIOException {
+			try {
+				permits.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			}
+		}
+
+		private <T> HttpResponse<T> send(HttpRequest request, BodyHandler<T> handler) throws IOException {
+			try {
+				return client.send(request, handler);
 			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
 				throw new InterruptedIOException();
 			}
 		}
@@ -197,7 +288,8 @@ public class Java11HttpTransportFactory implements HttpTransportFactory, Initial
 
 	@Override
 	public void initialize() throws InitializationException {
-		client = HttpClient.newBuilder().followRedirects(Redirect.NEVER).authenticator(authenticator)
+		client = HttpClient.newBuilder().version(Version.HTTP_2).followRedirects(Redirect.NEVER)
+				.authenticator(authenticator)
 				.proxy(new ProxySelector() {
 
 					@Override
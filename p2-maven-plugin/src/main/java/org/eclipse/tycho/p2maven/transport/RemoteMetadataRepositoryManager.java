@@ -12,13 +12,27 @@
  *******************************************************************************/
 package org.eclipse.tycho.p2maven.transport;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.codehaus.plexus.logging.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.URIUtil;
+import org.eclipse.equinox.internal.p2.metadata.repository.LocalMetadataRepository;
+import org.eclipse.equinox.internal.p2.repository.CacheManager;
 import org.eclipse.equinox.p2.core.IProvisioningAgent;
 import org.eclipse.equinox.p2.core.ProvisionException;
 import org.eclipse.equinox.p2.metadata.IInstallableUnit;
@@ -26,15 +40,32 @@ import org.eclipse.equinox.p2.query.IQuery;
 import org.eclipse.equinox.p2.query.IQueryResult;
 import org.eclipse.equinox.p2.query.QueryUtil;
 import org.eclipse.equinox.p2.repository.IRepository;
+import org.eclipse.equinox.p2.repository.IRepositoryManager;
 import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
 import org.eclipse.equinox.p2.repository.metadata.IMetadataRepositoryManager;
 import org.eclipse.tycho.IRepositoryIdManager;
+import org.eclipse.tycho.p2maven.io.MetadataSnapshotIO;
+import org.eclipse.tycho.p2maven.io.MetadataSnapshotIO.RepositoryInfo;
 
 class RemoteMetadataRepositoryManager implements IMetadataRepositoryManager {
 
+    private static final boolean SNAPSHOTS = Boolean
+            .parseBoolean(System.getProperty("tycho.p2.metadata.snapshots", "true"));
+
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+    private static final String XZ_CONTENT_FILENAME = "content.xml.xz";
+
+    private static final String CONTENT_FILENAME = "content.xml";
+
+    private static final String P2_INDEX_FILENAME = "p2.index";
+
+    private static final String METADATA_FACTORY_ORDER = "metadata.repository.factory.order";
+
     private final IMetadataRepositoryManager delegate;
     private final IRepositoryIdManager loadingHelper;
 	private final Logger logger;
+    private final Map<SnapshotKey, IMetadataRepository> snapshotRepositories = new ConcurrentHashMap<>();
 
     RemoteMetadataRepositoryManager(IMetadataRepositoryManager delegate, IRepositoryIdManager loadingHelper,
 			Logger logger) {
@@ -62,18 +93,160 @@ class RemoteMetadataRepositoryManager implements IMetadataRepositoryManager {
             throws ProvisionException, OperationCanceledException {
         URI effectiveLocation = translateAndPrepareLoad(location);
 
-        IMetadataRepository loadedRepository = delegate.loadRepository(effectiveLocation, flags, monitor);
-        failIfRepositoryContainsPartialIUs(loadedRepository, effectiveLocation);
+        IMetadataRepository loadedRepository = loadRepositoryWithSnapshot(effectiveLocation, flags, monitor);
+        if (!(loadedRepository instanceof SnapshotMetadataRepository)) {
+            // snapshots are only written for repositories without partial IUs, checking them would
+            // read all units right away
+            failIfRepositoryContainsPartialIUs(loadedRepository, effectiveLocation);
+        }
 
         return loadedRepository;
     }
 
+    /**
+     * Loads a remote simple repository from a binary snapshot of its parsed content if the content
+     * of the cached content file has not changed since the snapshot was written, otherwise the
+     * repository is loaded (and parsed) by the delegate and a new snapshot is written. The snapshot
+     * is bound to a digest of the content rather than to the timestamps of the cache file, which
+     * the HTTP cache may set from the server's response.
+     */
+    private IMetadataRepository loadRepositoryWithSnapshot(URI location, int flags, IProgressMonitor monitor)
+            throws ProvisionException {
+        File contentFile = null;
+        if (SNAPSHOTS && (flags & IRepositoryManager.REPOSITORY_HINT_MODIFIABLE) == 0) {
+            contentFile = getCachedContentFile(location, monitor);
+        }
+        String digest = null;
+        if (contentFile != null) {
+            try {
+                digest = MetadataSnapshotIO.digest(contentFile);
+            } catch (IOException e) {
+                logger.debug("Can't compute digest of " + contentFile + ": " + e);
+            }
+        }
+        if (digest == null) {
+            return delegate.loadRepository(location, flags, monitor);
+        }
+        SnapshotKey key = new SnapshotKey(location, digest);
+        IMetadataRepository cached = snapshotRepositories.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        File snapshotFile = new File(contentFile.getPath() + SNAPSHOT_EXTENSION);
+        try {
+            RepositoryInfo info = MetadataSnapshotIO.readRepository(snapshotFile, digest);
+            if (info != null) {
+                IMetadataRepository repository = new SnapshotMetadataRepository(getAgent(), location, info,
+                        snapshotFile);
+                snapshotRepositories.put(key, repository);
+                // register the location like loading it with the delegate would do
+                if (!delegate.contains(location)) {
+                    delegate.addRepository(location);
+                }
+                return repository;
+            }
+        } catch (IOException e) {
+            logger.debug("Can't read metadata snapshot " + snapshotFile + ": " + e);
+        }
+        IMetadataRepository repository = delegate.loadRepository(location, flags, monitor);
+        if (repository instanceof LocalMetadataRepository) {
+            Set<IInstallableUnit> units = repository.query(QueryUtil.ALL_UNITS, null).toUnmodifiableSet();
+            if (units.stream().noneMatch(RemoteMetadataRepositoryManager::isPartialIU)) {
+                try {
+                    MetadataSnapshotIO.write(repository, units, digest, snapshotFile);
+                } catch (IOException e) {
+                    logger.debug("Can't write metadata snapshot for " + location + ": " + e);
+                    snapshotFile.delete();
+                }
+            }
+        }
+        return repository;
+    }
+
+    /**
+     * @return the locally cached content file of a remote simple repository or <code>null</code>
+     *         if the location is not a remote simple repository
+     */
+    private File getCachedContentFile(URI location, IProgressMonitor monitor) {
+        String scheme = location.getScheme();
+        if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme)) {
+            return null;
+        }
+        CacheManager cacheManager = (CacheManager) getAgent().getService(CacheManager.SERVICE_NAME);
+        if (cacheManager == null) {
+            return null;
+        }
+        try {
+            // only request the files the repository announces, so there are no additional requests
+            // for composite repositories
+            Set<String> factoryOrder = getMetadataFactoryOrder(cacheManager, location, monitor);
+            if (factoryOrder == null || factoryOrder.contains(XZ_CONTENT_FILENAME)) {
+                try {
+                    return cacheManager.createCacheFromFile(URIUtil.append(location, XZ_CONTENT_FILENAME), monitor);
+                } catch (FileNotFoundException e) {
+                    if (factoryOrder != null && !factoryOrder.contains(CONTENT_FILENAME)) {
+                        return null;
+                    }
+                }
+            } else if (!factoryOrder.contains(CONTENT_FILENAME)) {
+                return null;
+            }
+            return cacheManager.createCache(location, "content", monitor);
+        } catch (FileNotFoundException e) {
+            // not a simple repository
+            return null;
+        } catch (IOException | ProvisionException e) {
+            // let the delegate report the problem
+            return null;
+        }
+    }
+
+    /**
+     * Reads the metadata factory order from the <code>p2.index</code> file of a repository, which is
+     * requested by the delegate anyway.
+     *
+     * @return the announced metadata files or <code>null</code> if the repository has no index
+     */
+    private static Set<String> getMetadataFactoryOrder(CacheManager cacheManager, URI location,
+            IProgressMonitor monitor) throws IOException {
+        File indexFile;
+        try {
+            indexFile = cacheManager.createCacheFromFile(URIUtil.append(location, P2_INDEX_FILENAME), monitor);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+        Properties index = new Properties();
+        try (InputStream stream = new FileInputStream(indexFile)) {
+            index.load(stream);
+        }
+        String order = index.getProperty(METADATA_FACTORY_ORDER);
+        if (order == null) {
+            return null;
+        }
+        Set<String> files = new HashSet<>();
+        for (String file : order.split(",")) {
+            file = file.trim();
+            if ("!".equals(file)) {
+                break;
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    private static boolean isPartialIU(IInstallableUnit unit) {
+        return Boolean.valueOf(unit.getProperty(IInstallableUnit.PROP_PARTIAL_IU));
+    }
+
+    private record SnapshotKey(URI location, String digest) {
+    }
+
     private void failIfRepositoryContainsPartialIUs(IMetadataRepository repository, URI effectiveLocation)
             throws ProvisionException {
         IQueryResult<IInstallableUnit> allUnits = repository.query(QueryUtil.ALL_UNITS, null);
         boolean hasPartialIUs = false;
         for (IInstallableUnit unit : allUnits.toUnmodifiableSet()) {
-            if (Boolean.valueOf(unit.getProperty(IInstallableUnit.PROP_PARTIAL_IU))) {
+            if (isPartialIU(unit)) {
                 hasPartialIUs = true;
                 logger.error("Partial IU: " + unit.getId());
             }
@@ -125,7 +298,16 @@ class RemoteMetadataRepositoryManager implements IMetadataRepositoryManager {
 
     @Override
     public IQueryResult<IInstallableUnit> query(IQuery<IInstallableUnit> query, IProgressMonitor monitor) {
-        return delegate.query(query, monitor);
+        // like the delegate, but repositories loaded from a snapshot are not parsed again by the delegate
+        List<IMetadataRepository> repositories = new ArrayList<>();
+        for (URI location : delegate.getKnownRepositories(IRepositoryManager.REPOSITORIES_ALL)) {
+            try {
+                repositories.add(loadRepositoryWithSnapshot(location, IRepository.NONE, monitor));
+            } catch (ProvisionException e) {
+                // ignore this repository for this query
+            }
+        }
+        return QueryUtil.compoundQueryable(repositories).query(query, monitor);
     }
 
     @Override
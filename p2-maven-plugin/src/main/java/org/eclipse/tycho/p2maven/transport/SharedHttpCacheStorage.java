@@ -17,31 +17,52 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.FileUtils;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Disposable;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Initializable;
 import org.eclipse.equinox.internal.p2.repository.AuthenticationFailedException;
+import org.eclipse.tycho.metrics.CacheMetrics;
+import org.eclipse.tycho.metrics.CacheMetricsRegistry;
 
 @Component(role = HttpCache.class)
-public class SharedHttpCacheStorage implements HttpCache {
+public class SharedHttpCacheStorage implements HttpCache, Initializable, Disposable {
 
 	private static final int MAX_CACHE_LINES = Integer.getInteger("tycho.p2.transport.max-cache-lines", 1000);
 	/**
@@ -57,29 +78,72 @@ public class SharedHttpCacheStorage implements HttpCache {
     private static final String MUST_REVALIDATE_DIRECTIVE = "must-revalidate";
 
     private static final String ETAG_HEADER = "ETag";
+    private static final String CONTENT_RANGE_HEADER = "Content-Range";
 
     private static final int MAX_IN_MEMORY = 1000;
 
+	/**
+	 * Number of independently locked segments of the in-memory cache, rounded up to the next
+	 * power of two
+	 */
+	private static final int CACHE_SEGMENTS = Integer.getInteger("tycho.p2.transport.cache-segments",
+			Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+	/**
+	 * Number of concurrent conditional requests used to revalidate the cached index files of
+	 * repositories, 0 disables the revalidation phase
+	 */
+	private static final int REVALIDATE_THREADS = Integer.getInteger("tycho.p2.transport.revalidate-threads", 8);
+
+	/**
+	 * Maximum depth below a repository location that is searched for cached index files (e.g. for
+	 * children of composite repositories)
+	 */
+	private static final int REVALIDATE_DEPTH = 4;
+
+	/**
+	 * Rough estimate of the bytes retained by a cache line without its paths and headers, most of it
+	 * is taken by the date format
+	 */
+	private static final long CACHE_LINE_BYTES = 1024;
+
+	private static final Pattern REPOSITORY_INDEX_FILE = Pattern
+			.compile("p2\\.index|(compositeContent|compositeArtifacts|content|artifacts)\\.(jar|xml|xml\\.xz)");
+
 	@Requirement
 	TransportCacheConfig cacheConfig;
 
-    private final Map<File, CacheLine> entryCache;
-
+	@Requirement
+	CacheMetricsRegistry metricsRegistry;
 
-	public SharedHttpCacheStorage() {
+	private final CacheSegment[] entryCache;
 
-		entryCache = new LinkedHashMap<>(MAX_CACHE_LINES, 0.75f, true) {
+	private final int segmentMask;
 
-            private static final long serialVersionUID = 1L;
+	private ExecutorService revalidateExecutor;
 
-            @Override
-            protected boolean removeEldestEntry(final Map.Entry<File, CacheLine> eldest) {
-                return (size() > MAX_IN_MEMORY);
-            }
+	private final CacheMetrics cacheMetrics = new CacheMetrics(
+			SharedHttpCacheStorage.class.getSimpleName() + ".entryCache", this::getCacheLineCount,
+			this::estimateCacheBytes);
 
-        };
+	public SharedHttpCacheStorage() {
+		int segments = Integer.highestOneBit(Math.max(1, CACHE_SEGMENTS - 1)) << 1;
+		int linesPerSegment = Math.max(1, MAX_IN_MEMORY / segments);
+		int initialCapacity = Math.max(16, Math.min(MAX_CACHE_LINES, MAX_IN_MEMORY) / segments);
+		entryCache = new CacheSegment[segments];
+		for (int i = 0; i < segments; i++) {
+			entryCache[i] = new CacheSegment(initialCapacity, linesPerSegment);
+		}
+		segmentMask = segments - 1;
     }
 
+	@Override
+	public void initialize() {
+		if (metricsRegistry != null) {
+			metricsRegistry.register(cacheMetrics);
+		}
+	}
+
     /**
      * Fetches the cache entry for this URI
      * 
@@ -90,66 +154,185 @@ public class SharedHttpCacheStorage implements HttpCache {
      */
 	@Override
 	public CacheEntry getCacheEntry(URI uri, Logger logger) throws FileNotFoundException {
-        CacheLine cacheLine = getCacheLine(uri);
 		if (!cacheConfig.isUpdate()) { // if not updates are forced ...
-            int code = cacheLine.getResponseCode();
-            if (code == HttpURLConnection.HTTP_NOT_FOUND) {
-                throw new FileNotFoundException(uri.toASCIIString());
-            }
-            if (code == HttpURLConnection.HTTP_MOVED_PERM) {
-                return getCacheEntry(cacheLine.getRedirect(uri), logger);
-            }
-        }
-        return new CacheEntry() {
-
-            @Override
-			public long getLastModified(HttpTransportFactory transportFactory)
-                    throws IOException {
-				if (cacheConfig.isOffline()) {
-                    return cacheLine.getLastModified(uri, transportFactory,
-                            SharedHttpCacheStorage::mavenIsOffline, logger);
-                }
-                try {
-					return cacheLine.fetchLastModified(uri, transportFactory, logger);
-                } catch (FileNotFoundException | AuthenticationFailedException e) {
-                    //for not found and failed authentication we can't do anything useful
-                    throw e;
-                } catch (IOException e) {
-					if (!cacheConfig.isUpdate() && cacheLine.getResponseCode() > 0) {
-                        //if we have something cached, use that ...
-                        logger.warn("Request to " + uri + " failed, trying cache instead");
-						return cacheLine.getLastModified(uri, transportFactory, nil -> e, logger);
-                    }
-                    throw e;
-                }
-            }
+			CacheLine cacheLine = acquireCacheLine(uri);
+			try {
+				int code = cacheLine.getResponseCode();
+				if (code == HttpURLConnection.HTTP_NOT_FOUND) {
+					throw new FileNotFoundException(uri.toASCIIString());
+				}
+				if (code == HttpURLConnection.HTTP_MOVED_PERM) {
+					return getCacheEntry(cacheLine.getRedirect(uri), logger);
+				}
+			} finally {
+				releaseCacheLine(cacheLine);
+			}
+		}
+		// the cache line is only pinned while it is in use, so it can be evicted in between
+		return new CacheEntry() {
+
+			@Override
+			public long getLastModified(HttpTransportFactory transportFactory) throws IOException {
+				CacheLine cacheLine = acquireCacheLine(uri);
+				try {
+					if (cacheConfig.isOffline()) {
+						return cacheLine.getLastModified(uri, transportFactory,
+								SharedHttpCacheStorage::mavenIsOffline, logger);
+					}
+					try {
+						return cacheLine.fetchLastModified(uri, transportFactory, logger);
+					} catch (FileNotFoundException | AuthenticationFailedException e) {
+						//for not found and failed authentication we can't do anything useful
+						throw e;
+					} catch (IOException e) {
+						if (!cacheConfig.isUpdate() && cacheLine.getResponseCode() > 0) {
+							//if we have something cached, use that ...
+							logger.warn("Request to " + uri + " failed, trying cache instead");
+							return cacheLine.getLastModified(uri, transportFactory, nil -> e, logger);
+						}
+						throw e;
+					}
+				} finally {
+					releaseCacheLine(cacheLine);
+				}
+			}
 
-            @Override
-			public File getCacheFile(HttpTransportFactory transportFactory)
-                    throws IOException {
-				if (cacheConfig.isOffline()) {
-					return cacheLine.getFile(uri, transportFactory,
-                            SharedHttpCacheStorage::mavenIsOffline, logger);
-                }
-                try {
-					return cacheLine.fetchFile(uri, transportFactory, logger);
-                } catch (FileNotFoundException | AuthenticationFailedException e) {
-                    //for not found and failed authentication we can't do anything useful
-                    throw e;
-                } catch (IOException e) {
-					if (!cacheConfig.isUpdate() && cacheLine.getResponseCode() > 0) {
-                        //if we have something cached, use that ...
-                        logger.warn("Request to " + uri + " failed, trying cache instead");
-						return cacheLine.getFile(uri, transportFactory, nil -> e, logger);
-                    }
-                    throw e;
-                }
-            }
+			@Override
+			public File getCacheFile(HttpTransportFactory transportFactory) throws IOException {
+				CacheLine cacheLine = acquireCacheLine(uri);
+				try {
+					if (cacheConfig.isOffline()) {
+						return cacheLine.getFile(uri, transportFactory, SharedHttpCacheStorage::mavenIsOffline,
+								logger);
+					}
+					try {
+						return cacheLine.fetchFile(uri, transportFactory, logger);
+					} catch (FileNotFoundException | AuthenticationFailedException e) {
+						//for not found and failed authentication we can't do anything useful
+						throw e;
+					} catch (IOException e) {
+						if (!cacheConfig.isUpdate() && cacheLine.getResponseCode() > 0) {
+							//if we have something cached, use that ...
+							logger.warn("Request to " + uri + " failed, trying cache instead");
+							return cacheLine.getFile(uri, transportFactory, nil -> e, logger);
+						}
+						throw e;
+					}
+				} finally {
+					releaseCacheLine(cacheLine);
+				}
+			}
 
-        };
-    }
+		};
+	}
+
+	@Override
+	public CompletableFuture<Void> revalidate(Collection<URI> repositoryLocations,
+			HttpTransportFactory transportFactory, Logger logger) {
+		if (cacheConfig.isOffline() || REVALIDATE_THREADS <= 0) {
+			return CompletableFuture.completedFuture(null);
+		}
+		// the stale lines are collected (and pinned) right away, so a regular request for one of them
+		// waits for the revalidation of that line instead of sending its own request
+		Map<URI, CacheLine> staleLines = new LinkedHashMap<>();
+		for (URI location : repositoryLocations) {
+			collectStaleLines(location, staleLines, logger);
+		}
+		if (staleLines.isEmpty()) {
+			return CompletableFuture.completedFuture(null);
+		}
+		logger.debug("Revalidating " + staleLines.size() + " cached repository index files");
+		return submitRevalidation(staleLines, transportFactory, logger);
+	}
+
+	/**
+	 * Revalidates the given (pinned) cache lines on the executor of this component. Submitting is
+	 * synchronized with {@link #dispose()}, so every line is released even if the component is
+	 * disposed in the meantime.
+	 */
+	private synchronized CompletableFuture<Void> submitRevalidation(Map<URI, CacheLine> staleLines,
+			HttpTransportFactory transportFactory, Logger logger) {
+		ExecutorService executor = getRevalidateExecutor();
+		CompletableFuture<?>[] futures = staleLines.entrySet().stream()
+				.map(entry -> CompletableFuture.runAsync(() -> {
+					try {
+						if (!executor.isShutdown()) {
+							entry.getValue().fetchFile(entry.getKey(), transportFactory, logger);
+						}
+					} catch (IOException e) {
+						// the regular request will report the problem if the file is actually used
+						logger.debug("Revalidating " + entry.getKey() + " failed: " + e);
+					} finally {
+						releaseCacheLine(entry.getValue());
+					}
+				}, executor)).toArray(CompletableFuture[]::new);
+		return CompletableFuture.allOf(futures);
+	}
+
+	private ExecutorService getRevalidateExecutor() {
+		if (revalidateExecutor == null) {
+			AtomicInteger threadNumber = new AtomicInteger();
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(REVALIDATE_THREADS, REVALIDATE_THREADS, 10,
+					TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+						Thread thread = new Thread(r, "Tycho-Revalidate-Thread-" + threadNumber.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					});
+			// revalidation only happens when a session starts, don't keep idle threads around
+			executor.allowCoreThreadTimeOut(true);
+			revalidateExecutor = executor;
+		}
+		return revalidateExecutor;
+	}
+
+	@Override
+	public synchronized void dispose() {
+		if (revalidateExecutor != null) {
+			// interrupts running requests, the affected files are simply requested again when used
+			for (Runnable notStarted : revalidateExecutor.shutdownNow()) {
+				// only releases the cache line and completes the revalidation
+				notStarted.run();
+			}
+			revalidateExecutor = null;
+		}
+	}
+
+	/**
+	 * Collects all cached index files below the given repository location that are past their
+	 * caching period and must be validated with the server before they can be used again.
+	 */
+	private void collectStaleLines(URI location, Map<URI, CacheLine> staleLines, Logger logger) {
+		String base = location.toString();
+		while (base.endsWith("/")) {
+			base = base.substring(0, base.length() - 1);
+		}
+		Path baseDirectory = getCacheFile(URI.create(base)).toPath();
+		if (!Files.isDirectory(baseDirectory)) {
+			return;
+		}
+		URI baseLocation = URI.create(base + "/");
+		try (Stream<Path> files = Files.walk(baseDirectory, REVALIDATE_DEPTH)) {
+			files.filter(path -> REPOSITORY_INDEX_FILE.matcher(path.getFileName().toString()).matches())
+					.filter(Files::isRegularFile).forEach(path -> {
+						String relative = baseDirectory.relativize(path).toString().replace(File.separatorChar, '/');
+						URI uri;
+						try {
+							uri = baseLocation.resolve(relative);
+						} catch (IllegalArgumentException e) {
+							return;
+						}
+						CacheLine cacheLine = acquireCacheLine(uri);
+						if (!cacheLine.file.isFile() || !cacheLine.mustValidate()
+								|| staleLines.putIfAbsent(uri, cacheLine) != null) {
+							releaseCacheLine(cacheLine);
+						}
+					});
+		} catch (IOException | UncheckedIOException e) {
+			logger.debug("Can't collect cached files of " + location + ": " + e);
+		}
+	}
 
-    private synchronized CacheLine getCacheLine(URI uri) {
+	private File getCacheFile(URI uri) {
 		String cleanPath = uri.normalize().toASCIIString().replace(':', '/').replace('?', '/').replace('&', '/')
 				.replaceAll("/+", "/");
 		if (cleanPath.endsWith("/")) {
@@ -158,24 +341,119 @@ public class SharedHttpCacheStorage implements HttpCache {
 			cleanPath += ".idx";
 		}
 		File file = new File(cacheConfig.getCacheLocation(), cleanPath);
-        File location;
         try {
-            location = file.getCanonicalFile();
+            return file.getCanonicalFile();
         } catch (IOException e) {
-            location = file.getAbsoluteFile();
+            return file.getAbsoluteFile();
         }
-        return entryCache.computeIfAbsent(location, CacheLine::new);
+	}
 
-    }
+	/**
+	 * Returns the cache line for the given URI and pins it so it is not evicted until it is
+	 * released with {@link #releaseCacheLine(CacheLine)}.
+	 */
+	private CacheLine acquireCacheLine(URI uri) {
+		File location = getCacheFile(uri);
+		CacheSegment segment = getSegment(location);
+		synchronized (segment) {
+			CacheLine line = segment.get(location);
+			if (line != null) {
+				cacheMetrics.hit();
+			} else {
+				cacheMetrics.miss();
+				line = new CacheLine(location);
+				segment.put(location, line);
+			}
+			line.references++;
+			return line;
+		}
+	}
+
+	private void releaseCacheLine(CacheLine line) {
+		CacheSegment segment = getSegment(line.file);
+		synchronized (segment) {
+			line.references--;
+		}
+	}
+
+	private CacheSegment getSegment(File location) {
+		int hash = location.hashCode();
+		return entryCache[(hash ^ (hash >>> 16)) & segmentMask];
+	}
+
+	private int getCacheLineCount() {
+		int count = 0;
+		for (CacheSegment segment : entryCache) {
+			synchronized (segment) {
+				count += segment.size();
+			}
+		}
+		return count;
+	}
+
+	private long estimateCacheBytes() {
+		long bytes = 0;
+		for (CacheSegment segment : entryCache) {
+			synchronized (segment) {
+				for (CacheLine line : segment.values()) {
+					bytes += CacheMetrics.ENTRY_BYTES + CACHE_LINE_BYTES
+							+ 2 * CacheMetrics.estimateBytes(line.file.getPath());
+					Properties header = line.header;
+					if (header != null) {
+						bytes += CacheMetrics.estimateBytes(header);
+					}
+				}
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * One segment of the in-memory cache, each segment is guarded by its own monitor so threads
+	 * requesting different URIs do not contend on a single lock. Lines that are currently in use
+	 * (i.e. acquired and not yet released) are never evicted, this ensures that all threads
+	 * requesting the same URI at the same time share the same {@link CacheLine} and therefore only
+	 * one of them performs the actual request while the others wait for this line only.
+	 */
+	private static final class CacheSegment extends LinkedHashMap<File, CacheLine> {
+
+		private static final long serialVersionUID = 1L;
+		private final int maxLines;
+
+		CacheSegment(int initialCapacity, int maxLines) {
+			super(initialCapacity, 0.75f, true);
+			this.maxLines = maxLines;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<File, CacheLine> eldest) {
+			if (size() <= maxLines) {
+				return false;
+			}
+			Iterator<CacheLine> iterator = values().iterator();
+			while (iterator.hasNext() && size() > maxLines) {
+				CacheLine line = iterator.next();
+				if (line.references == 0) {
+					iterator.remove();
+				}
+			}
+			return false;
+		}
+	}
 
     private final class CacheLine {
 
         private static final String RESPONSE_CODE = "HTTP_RESPONSE_CODE";
         private static final String LAST_UPDATED = "FILE-LAST_UPDATED";
         private static final String STATUS_LINE = "HTTP_STATUS_LINE";
+		private final ReentrantLock lock = new ReentrantLock();
+		/**
+		 * Number of current users of this line, guarded by the monitor of its segment
+		 */
+		private int references;
         private final File file;
         private final File headerFile;
-        private Properties header;
+        private volatile Properties header;
         private final DateFormat httpDateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss z", Locale.US);
 
         public CacheLine(File file) {
@@ -184,121 +462,184 @@ public class SharedHttpCacheStorage implements HttpCache {
             httpDateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
         }
 
-		public synchronized long fetchLastModified(URI uri, HttpTransportFactory transportFactory, Logger logger)
+		public long fetchLastModified(URI uri, HttpTransportFactory transportFactory, Logger logger)
 				throws IOException {
-            //TODO its very likely that the file is downloaded here if it has changed... so probably just download it right now?
-			HttpTransport transport = transportFactory.createTransport(uri);
-
-			try (Response<Void> response = transport.head()) {
-				int code = response.statusCode();
-                if (isAuthFailure(code)) {
-                    throw new AuthenticationFailedException(); //FIXME why is there no constructor to give a cause?
-                }
-                if (isNotFound(code)) {
-					updateHeader(response, code);
-                    throw new FileNotFoundException(uri.toString());
-                }
-                if (isRedirected(code)) {
-					updateHeader(response, code);
-					return SharedHttpCacheStorage.this.getCacheEntry(uri, logger).getLastModified(transportFactory);
-                }
-				return response.getLastModified();
-            }
-        }
+			lock.lock();
+			try {
+				//TODO its very likely that the file is downloaded here if it has changed... so probably just download it right now?
+				HttpTransport transport = transportFactory.createTransport(uri);
+
+				try (Response<Void> response = transport.head()) {
+					int code = response.statusCode();
+					if (isAuthFailure(code)) {
+						throw new AuthenticationFailedException(); //FIXME why is there no constructor to give a cause?
+					}
+					if (isNotFound(code)) {
+						updateHeader(response, code);
+						throw new FileNotFoundException(uri.toString());
+					}
+					if (isRedirected(code)) {
+						updateHeader(response, code);
+						return SharedHttpCacheStorage.this.getCacheEntry(uri, logger).getLastModified(transportFactory);
+					}
+					return response.getLastModified();
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
 
-		public synchronized long getLastModified(URI uri, HttpTransportFactory transportFactory,
+		public long getLastModified(URI uri, HttpTransportFactory transportFactory,
 				Function<URI, IOException> notAviableExceptionSupplier,
 				Logger logger) throws IOException {
-            int code = getResponseCode();
-            if (code > 0) {
-                if (isAuthFailure(code)) {
-                    throw new AuthenticationFailedException(); //FIXME why is there no constructor to give a cause?
-                }
-                if (isNotFound(code)) {
-                    throw new FileNotFoundException(uri.toString());
-                }
-                if (isRedirected(code)) {
-					return SharedHttpCacheStorage.this.getCacheEntry(uri, logger).getLastModified(transportFactory);
-                }
-                Properties offlineHeader = getHeader();
-                Date lastModified = pareHttpDate(offlineHeader.getProperty(LAST_MODIFIED_HEADER.toLowerCase()));
-                if (lastModified != null) {
-                    return lastModified.getTime();
-                }
-                return -1;
-            } else {
-                throw notAviableExceptionSupplier.apply(uri);
-            }
-        }
+			lock.lock();
+			try {
+				int code = getResponseCode();
+				if (code > 0) {
+					if (isAuthFailure(code)) {
+						throw new AuthenticationFailedException(); //FIXME why is there no constructor to give a cause?
+					}
+					if (isNotFound(code)) {
+						throw new FileNotFoundException(uri.toString());
+					}
+					if (isRedirected(code)) {
+						return SharedHttpCacheStorage.this.getCacheEntry(uri, logger).getLastModified(transportFactory);
+					}
+					Properties offlineHeader = getHeader();
+					Date lastModified = pareHttpDate(offlineHeader.getProperty(LAST_MODIFIED_HEADER.toLowerCase()));
+					if (lastModified != null) {
+						return lastModified.getTime();
+					}
+					return -1;
+				} else {
+					throw notAviableExceptionSupplier.apply(uri);
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
 
-		public synchronized File fetchFile(URI uri, HttpTransportFactory transportFactory, Logger logger)
+		public File fetchFile(URI uri, HttpTransportFactory transportFactory, Logger logger)
 				throws IOException {
-            boolean exits = file.isFile();
-            if (exits && !mustValidate()) {
-                return file;
-            }
-			HttpTransport transport = transportFactory.createTransport(uri);
-            Properties lastHeader = getHeader();
-            if (exits) {
-                if (lastHeader.containsKey(ETAG_HEADER.toLowerCase())) {
-					transport.setHeader("If-None-Match", lastHeader.getProperty(ETAG_HEADER.toLowerCase()));
-                }
-                if (lastHeader.contains(LAST_MODIFIED_HEADER.toLowerCase())) {
-					transport.setHeader("If-Modified-Since",
-                            lastHeader.getProperty(LAST_MODIFIED_HEADER.toLowerCase()));
-                }
-            }
-			try (Response<InputStream> response = transport.get()) {
-				int code = response.statusCode();
-				if (exits && code == HttpURLConnection.HTTP_NOT_MODIFIED) {
-					updateHeader(response, getResponseCode());
+			lock.lock();
+			try {
+				boolean exits = file.isFile();
+				if (exits && !mustValidate()) {
 					return file;
 				}
-				if (isAuthFailure(code)) {
-					throw new AuthenticationFailedException(); // FIXME why is there no constructor to give a cause?
+				Properties lastHeader = getHeader();
+				// the body is streamed directly into a temp file next to the cache file, if possible a
+				// partial file is used that is kept when the transfer fails so it can be resumed later
+				FileUtils.forceMkdir(file.getParentFile());
+				try (PartialDownload partial = PartialDownload.open(file)) {
+					while (true) {
+						HttpTransport transport = transportFactory.createTransport(uri);
+						if (exits) {
+							if (lastHeader.containsKey(ETAG_HEADER.toLowerCase())) {
+								transport.setHeader("If-None-Match", lastHeader.getProperty(ETAG_HEADER.toLowerCase()));
+							}
+							if (lastHeader.containsKey(LAST_MODIFIED_HEADER.toLowerCase())) {
+								transport.setHeader("If-Modified-Since",
+										lastHeader.getProperty(LAST_MODIFIED_HEADER.toLowerCase()));
+							}
+						}
+						File tempFile = partial != null ? partial.partFile
+								: File.createTempFile("download", ".tmp", file.getParentFile());
+						String validator = partial != null ? partial.getValidator() : null;
+						long resumeFrom = validator != null ? tempFile.length() : 0;
+						if (resumeFrom > 0) {
+							transport.setHeader("Range", "bytes=" + resumeFrom + "-");
+							transport.setHeader("If-Range", validator);
+							logger.debug("Resuming download of " + uri + " at " + resumeFrom + " bytes");
+						}
+						try (Response<Path> response = transport.download(tempFile.toPath(), headers -> {
+							if (partial != null) {
+								partial.setValidator(headers);
+							}
+						})) {
+							int code = response.statusCode();
+							if (exits && code == HttpURLConnection.HTTP_NOT_MODIFIED) {
+								updateHeader(response, getResponseCode());
+								return file;
+							}
+							if (resumeFrom > 0 && !PartialDownload.isResumed(response, code, resumeFrom)) {
+								// e.g. 416 if the partial file is outdated, never send this range again but
+								// start over once without it
+								logger.debug("Can't resume download of " + uri + " (HTTP " + code
+										+ "), starting over");
+								partial.discard();
+								continue;
+							}
+							if (isAuthFailure(code)) {
+								throw new AuthenticationFailedException(); // FIXME why is there no constructor to give a cause?
+							}
+							if (code == HttpURLConnection.HTTP_PARTIAL) {
+								if (!PartialDownload.isContinuation(response, resumeFrom)) {
+									if (partial != null) {
+										partial.discard();
+									}
+									throw new IOException("Server returned an unexpected range "
+											+ response.getHeader(CONTENT_RANGE_HEADER) + " for URL " + uri);
+								}
+								// the file is complete now, cache it like any other successful response
+								code = HttpURLConnection.HTTP_OK;
+							}
+							updateHeader(response, code);
+							if (isRedirected(code)) {
+								return SharedHttpCacheStorage.this.getCacheEntry(getRedirect(uri), logger)
+										.getCacheFile(transportFactory);
+							}
+							if (exits) {
+								FileUtils.forceDelete(file);
+							}
+							response.checkResponseCode();
+							if (response.body() == null) {
+								throw new IOException("Server returned HTTP code: " + code + " for URL " + uri);
+							}
+							FileUtils.moveFile(tempFile, file);
+							if (partial != null) {
+								partial.complete();
+							}
+							return file;
+						} finally {
+							if (partial == null) {
+								// no-op if the file was moved to the cache already
+								tempFile.delete();
+							}
+						}
+					}
 				}
-				updateHeader(response, code);
-				if (isRedirected(code)) {
-					return SharedHttpCacheStorage.this.getCacheEntry(getRedirect(uri), logger)
-							.getCacheFile(transportFactory);
-				}
-				if (exits) {
-					FileUtils.forceDelete(file);
-				}
-				response.checkResponseCode();
-				File tempFile = File.createTempFile("download", ".tmp", file.getParentFile());
-				try (InputStream inputStream = response.body(); FileOutputStream os = new FileOutputStream(tempFile)) {
-					inputStream.transferTo(os);
-				} catch (IOException e) {
-					tempFile.delete();
-					throw e;
-				}
-				FileUtils.moveFile(tempFile, file);
+			} finally {
+				lock.unlock();
 			}
-			return file;
-        }
+		}
 
-		public synchronized File getFile(URI uri, HttpTransportFactory transportFactory,
+		public File getFile(URI uri, HttpTransportFactory transportFactory,
 				Function<URI, IOException> notAviableExceptionSupplier,
 				Logger logger) throws IOException {
-            int code = getResponseCode();
-            if (code > 0) {
-                if (isAuthFailure(code)) {
-                    throw new AuthenticationFailedException(); //FIXME why is there no constructor to give a cause?
-                }
-                if (isNotFound(code)) {
-                    throw new FileNotFoundException(uri.toString());
-                }
-                if (isRedirected(code)) {
-                    return SharedHttpCacheStorage.this.getCacheEntry(getRedirect(uri), logger)
-							.getCacheFile(transportFactory);
-                }
-                if (file.isFile()) {
-                    return file;
-                }
-            }
-            throw notAviableExceptionSupplier.apply(uri);
-        }
+			lock.lock();
+			try {
+				int code = getResponseCode();
+				if (code > 0) {
+					if (isAuthFailure(code)) {
+						throw new AuthenticationFailedException(); //FIXME why is there no constructor to give a cause?
+					}
+					if (isNotFound(code)) {
+						throw new FileNotFoundException(uri.toString());
+					}
+					if (isRedirected(code)) {
+						return SharedHttpCacheStorage.this.getCacheEntry(getRedirect(uri), logger)
+								.getCacheFile(transportFactory);
+					}
+					if (file.isFile()) {
+						return file;
+					}
+				}
+				throw notAviableExceptionSupplier.apply(uri);
+			} finally {
+				lock.unlock();
+			}
+		}
 
         private boolean mustValidate() {
 			if (cacheConfig.isUpdate()) {
@@ -359,7 +700,7 @@ public class SharedHttpCacheStorage implements HttpCache {
 
 		protected void updateHeader(Response<?> response, int code)
 				throws IOException, FileNotFoundException {
-            header = new Properties();
+            Properties header = new Properties();
             header.setProperty(RESPONSE_CODE, String.valueOf(code));
             header.setProperty(LAST_UPDATED, String.valueOf(System.currentTimeMillis()));
 			Map<String, List<String>> headerFields = response.headers();
@@ -390,6 +731,8 @@ public class SharedHttpCacheStorage implements HttpCache {
                 //we store the header here, this might be a 404 response or (permanent) redirect we probably need to work with later on
                 header.store(out, null);
             }
+            //publish the new header only once it is complete, readers do not hold the lock
+            this.header = header;
         }
 
         private synchronized Date pareHttpDate(String input) {
@@ -416,20 +759,184 @@ public class SharedHttpCacheStorage implements HttpCache {
         }
 
         public Properties getHeader() {
-            if (header == null) {
-                header = new Properties();
+            Properties properties = header;
+            if (properties == null) {
+                properties = new Properties();
                 if (headerFile.isFile()) {
-                    try {
-                        header.load(new FileInputStream(headerFile));
+                    try (FileInputStream in = new FileInputStream(headerFile)) {
+                        properties.load(in);
                     } catch (IOException e) {
                         //can't use the headers then...
                     }
                 }
+                header = properties;
             }
-            return header;
+            return properties;
         }
     }
 
+	/**
+	 * The partially downloaded content of a cache file together with the validator (strong ETag or
+	 * Last-Modified date) of the response it was received from, which allows to resume the download
+	 * with a range request. The partial file is guarded by a file lock so concurrent builds never
+	 * write to the same partial file, if the lock can't be acquired a temporary file has to be used
+	 * instead.
+	 */
+	private static final class PartialDownload implements AutoCloseable {
+
+		private final File partFile;
+		private final File validatorFile;
+		private final Path lockFile;
+		private final FileChannel lockChannel;
+		private final FileLock lock;
+		private boolean completed;
+
+		private PartialDownload(File file, Path lockFile, FileChannel lockChannel, FileLock lock) {
+			this.partFile = new File(file.getParentFile(), file.getName() + ".part");
+			this.validatorFile = new File(file.getParentFile(), file.getName() + ".part.validator");
+			this.lockFile = lockFile;
+			this.lockChannel = lockChannel;
+			this.lock = lock;
+		}
+
+		static PartialDownload open(File file) {
+			Path lockFile = new File(file.getParentFile(), file.getName() + ".part.lock").toPath();
+			FileChannel channel = null;
+			try {
+				channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+				FileLock lock = channel.tryLock();
+				// the lock file is deleted by its owner after a completed download, a lock on a file
+				// that no longer exists does not protect anything
+				if (lock != null && Files.exists(lockFile)) {
+					return new PartialDownload(file, lockFile, channel, lock);
+				}
+			} catch (IOException | OverlappingFileLockException e) {
+				// can't use a partial file then...
+			}
+			if (channel != null) {
+				try {
+					channel.close();
+				} catch (IOException e) {
+					// don't care...
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * @return the validator to be used in an <code>If-Range</code> header to resume the download
+		 *         or <code>null</code> if there is nothing to resume
+		 */
+		String getValidator() {
+			if (partFile.length() > 0 && validatorFile.isFile()) {
+				try {
+					String validator = Files.readString(validatorFile.toPath(), StandardCharsets.UTF_8).trim();
+					if (!validator.isEmpty()) {
+						return validator;
+					}
+				} catch (IOException e) {
+					// can't resume then...
+				}
+			}
+			return null;
+		}
+
+		void setValidator(Map<String, List<String>> headers) {
+			String etag = getHeader(headers, ETAG_HEADER);
+			// weak validators must not be used for range requests
+			String validator = etag != null && !etag.startsWith("W/") ? etag
+					: getHeader(headers, LAST_MODIFIED_HEADER);
+			try {
+				if (validator != null) {
+					Files.writeString(validatorFile.toPath(), validator, StandardCharsets.UTF_8);
+				} else {
+					Files.deleteIfExists(validatorFile.toPath());
+				}
+			} catch (IOException e) {
+				validatorFile.delete();
+			}
+		}
+
+		void discard() {
+			partFile.delete();
+			validatorFile.delete();
+		}
+
+		/**
+		 * Marks the download as completed, the partial file is no longer needed and the lock file is
+		 * deleted once the lock is released
+		 */
+		void complete() {
+			discard();
+			completed = true;
+		}
+
+		/**
+		 * Checks that the response to a range request can be used, that is either a partial content
+		 * response (its range is checked separately) or a complete replacement of the content
+		 */
+		static boolean isResumed(Response<?> response, int code, long resumeFrom) {
+			if (code == HttpURLConnection.HTTP_PARTIAL) {
+				return isContinuation(response, resumeFrom);
+			}
+			return code >= HttpURLConnection.HTTP_OK && code < HttpURLConnection.HTTP_MULT_CHOICE;
+		}
+
+		/**
+		 * Checks that a partial content response continues exactly where the partial file ends
+		 */
+		static boolean isContinuation(Response<?> response, long resumeFrom) {
+			String contentRange = response.getHeader(CONTENT_RANGE_HEADER);
+			if (resumeFrom <= 0 || contentRange == null) {
+				return false;
+			}
+			// format is "bytes <start>-<end>/<length>"
+			String range = contentRange.trim();
+			if (!range.startsWith("bytes ")) {
+				return false;
+			}
+			int dash = range.indexOf('-');
+			if (dash < 0) {
+				return false;
+			}
+			try {
+				return Long.parseLong(range.substring(6, dash).trim()) == resumeFrom;
+			} catch (NumberFormatException e) {
+				return false;
+			}
+		}
+
+		private static String getHeader(Map<String, List<String>> headers, String name) {
+			for (var entry : headers.entrySet()) {
+				if (name.equalsIgnoreCase(entry.getKey()) && !entry.getValue().isEmpty()) {
+					return entry.getValue().get(0);
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public void close() {
+			try {
+				if (completed) {
+					// delete while still holding the lock, so no one else can acquire it in between
+					Files.deleteIfExists(lockFile);
+				}
+			} catch (IOException e) {
+				// might be impossible while the file is open (e.g. on Windows), retried below
+			}
+			try {
+				lock.release();
+				lockChannel.close();
+				if (completed) {
+					Files.deleteIfExists(lockFile);
+				}
+			} catch (IOException e) {
+				// don't care...
+			}
+		}
+	}
+
     private static boolean isRedirected(int code) {
         return code == HttpURLConnection.HTTP_MOVED_PERM || code == HttpURLConnection.HTTP_MOVED_TEMP;
     }
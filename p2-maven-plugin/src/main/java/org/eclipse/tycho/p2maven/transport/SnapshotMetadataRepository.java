@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven.transport;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.equinox.internal.p2.director.QueryableArray;
+import org.eclipse.equinox.p2.core.IPool;
+import org.eclipse.equinox.p2.core.IProvisioningAgent;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.query.IQuery;
+import org.eclipse.equinox.p2.query.IQueryResult;
+import org.eclipse.equinox.p2.repository.IRepositoryReference;
+import org.eclipse.equinox.p2.repository.IRunnableWithProgress;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
+import org.eclipse.equinox.p2.repository.spi.AbstractRepository;
+import org.eclipse.tycho.p2maven.P2Plugin;
+import org.eclipse.tycho.p2maven.io.MetadataSnapshotIO;
+import org.eclipse.tycho.p2maven.io.MetadataSnapshotIO.RepositoryInfo;
+
+/**
+ * A read-only metadata repository backed by a snapshot written with {@link MetadataSnapshotIO}.
+ * The units are only read from the snapshot when the repository is queried for the first time.
+ */
+public class SnapshotMetadataRepository extends AbstractRepository<IInstallableUnit> implements IMetadataRepository {
+
+    private static final String TYPE = SnapshotMetadataRepository.class.getName();
+    private static final String VERSION = "1";
+
+    private final File snapshotFile;
+    private final Collection<IRepositoryReference> references;
+    private volatile QueryableArray units;
+
+    /**
+     * Creates a repository for a snapshot previously validated with
+     * {@link MetadataSnapshotIO#readRepository(File, File)}.
+     */
+    public SnapshotMetadataRepository(IProvisioningAgent agent, URI location, RepositoryInfo info,
+            File snapshotFile) {
+        super(agent, info.getName(), info.getType(), info.getVersion(), location, info.getDescription(),
+                info.getProvider(), info.getProperties());
+        this.snapshotFile = snapshotFile;
+        this.references = Collections.unmodifiableList(info.getReferences());
+    }
+
+    /**
+     * Creates a repository with the given units, e.g. to write them with
+     * {@link MetadataSnapshotIO#write(IMetadataRepository, Collection, File, File)}.
+     */
+    public SnapshotMetadataRepository(IProvisioningAgent agent, URI location, String name,
+            Map<String, String> properties, Collection<IRepositoryReference> references,
+            Collection<IInstallableUnit> units) {
+        super(agent, name, TYPE, VERSION, location, null, null, properties);
+        this.snapshotFile = null;
+        this.references = Collections.unmodifiableList(new ArrayList<>(references));
+        this.units = new QueryableArray(units.toArray(IInstallableUnit[]::new));
+    }
+
+    @Override
+    public IQueryResult<IInstallableUnit> query(IQuery<IInstallableUnit> query, IProgressMonitor monitor) {
+        return getUnits().query(query, monitor);
+    }
+
+    private QueryableArray getUnits() {
+        QueryableArray queryable = units;
+        if (queryable == null) {
+            synchronized (this) {
+                queryable = units;
+                if (queryable == null) {
+                    try {
+                        units = queryable = new QueryableArray(MetadataSnapshotIO.readUnits(snapshotFile));
+                    } catch (IOException e) {
+                        throw new IllegalStateException(
+                                "Reading metadata snapshot " + snapshotFile + " of " + getLocation() + " failed", e);
+                    }
+                }
+            }
+        }
+        return queryable;
+    }
+
+    @Override
+    public Collection<IRepositoryReference> getReferences() {
+        return references;
+    }
+
+    @Override
+    public void addInstallableUnits(Collection<IInstallableUnit> installableUnits) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addReferences(Collection<? extends IRepositoryReference> references) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeInstallableUnits(Collection<IInstallableUnit> installableUnits) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeAll() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public IStatus executeBatch(IRunnableWithProgress runnable, IProgressMonitor monitor) {
+        try {
+            runnable.run(monitor);
+        } catch (OperationCanceledException oce) {
+            return new Status(IStatus.CANCEL, P2Plugin.BUNDLE_ID, oce.getMessage(), oce);
+        } catch (Exception e) {
+            return new Status(IStatus.ERROR, P2Plugin.BUNDLE_ID, e.getMessage(), e);
+        }
+        return Status.OK_STATUS;
+    }
+
+    @Override
+    public void compress(IPool<IInstallableUnit> iuPool) {
+        // do nothing
+    }
+
+}
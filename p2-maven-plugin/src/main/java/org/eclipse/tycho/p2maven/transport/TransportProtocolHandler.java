@@ -3,6 +3,8 @@ package org.eclipse.tycho.p2maven.transport;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 public interface TransportProtocolHandler {
 
@@ -10,4 +12,16 @@ public interface TransportProtocolHandler {
 
 	File getFile(URI remoteFile) throws IOException;
 
+	/**
+	 * Revalidates cached data of the given repository locations in the background, handlers that
+	 * do not cache anything do not need to do anything here.
+	 * 
+	 * @param repositoryLocations
+	 * @return a future that completes once the revalidation is done
+	 */
+	default CompletableFuture<?> revalidate(Collection<URI> repositoryLocations) {
+		// nothing to do by default
+		return CompletableFuture.completedFuture(null);
+	}
+
 }
@@ -17,14 +17,20 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URLConnection;
 import java.text.NumberFormat;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.LongAdder;
 
@@ -35,6 +41,7 @@ import org.codehaus.plexus.logging.Logger;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.equinox.internal.p2.repository.AuthenticationFailedException;
 import org.eclipse.equinox.internal.p2.repository.DownloadStatus;
@@ -55,7 +62,7 @@ public class TychoRepositoryTransport extends org.eclipse.equinox.internal.p2.re
 		private AtomicInteger cnt = new AtomicInteger();
 		@Override
 		public Thread newThread(Runnable r) {
-			Thread thread = new Thread(r);
+			Thread thread = new DownloadThread(r);
 			thread.setName("Tycho-Download-Thread-" + cnt.getAndIncrement());
 			thread.setDaemon(true);
 			return thread;
@@ -82,15 +89,20 @@ public class TychoRepositoryTransport extends org.eclipse.equinox.internal.p2.re
 
     @Override
     public IStatus download(URI toDownload, OutputStream target, long startPos, IProgressMonitor monitor) {
-        if (startPos > 0) {
-            return new Status(IStatus.ERROR, TychoRepositoryTransport.class.getName(),
-                    "range downloads are not implemented");
-        }
-        return download(toDownload, target, monitor);
+        return download(toDownload, target, Math.max(0, startPos), monitor);
     }
 
     @Override
     public IStatus download(URI toDownload, OutputStream target, IProgressMonitor monitor) {
+        return download(toDownload, target, 0, monitor);
+    }
+
+    /**
+     * Downloads the content of the given URI starting at the given position, the (possibly
+     * resumed) transfer of the remote file is handled by the cache so only the requested part is
+     * written to the target.
+     */
+    private IStatus download(URI toDownload, OutputStream target, long startPos, IProgressMonitor monitor) {
 		String id = "p2"; // TODO we might compute the id from the IRepositoryIdManager based on the URI?
 		if (cacheConfig.isInteractive()) {
 			logger.info("Downloading from " + id + ": " + toDownload);
@@ -98,7 +110,12 @@ public class TychoRepositoryTransport extends org.eclipse.equinox.internal.p2.re
 		try {
 			DownloadStatusOutputStream statusOutputStream = new DownloadStatusOutputStream(target,
 					"Download of " + toDownload);
-			stream(toDownload, monitor).transferTo(statusOutputStream);
+			try (InputStream stream = stream(toDownload, monitor)) {
+				if (startPos > 0) {
+					stream.skipNBytes(startPos);
+				}
+				stream.transferTo(statusOutputStream);
+			}
 			DownloadStatus downloadStatus = statusOutputStream.getStatus();
 			if (cacheConfig.isInteractive()) {
 			logger.info(
@@ -115,6 +132,8 @@ public class TychoRepositoryTransport extends org.eclipse.equinox.internal.p2.re
                     "download from " + toDownload + " failed", e), target);
         } catch (CoreException e) {
             return reportStatus(e.getStatus(), target);
+        } catch (OperationCanceledException e) {
+            return reportStatus(Status.CANCEL_STATUS, target);
         }
     }
 
@@ -126,7 +145,7 @@ public class TychoRepositoryTransport extends org.eclipse.equinox.internal.p2.re
     }
 
     @Override
-    public synchronized InputStream stream(URI toDownload, IProgressMonitor monitor)
+    public InputStream stream(URI toDownload, IProgressMonitor monitor)
             throws FileNotFoundException, CoreException, AuthenticationFailedException {
 		if (DEBUG_REQUESTS) {
             logger.debug("Request stream for " + toDownload);
@@ -138,7 +157,7 @@ public class TychoRepositoryTransport extends org.eclipse.equinox.internal.p2.re
         try {
 			TransportProtocolHandler handler = getHandler(toDownload);
 			if (handler != null) {
-				File cachedFile = handler.getFile(toDownload);
+				File cachedFile = fetch(toDownload, handler, monitor);
 				if (cachedFile != null) {
 					if (DEBUG_REQUESTS) {
 						logger.debug(" --> routed through handler " + handler.getClass().getSimpleName());
@@ -166,6 +185,74 @@ public class TychoRepositoryTransport extends org.eclipse.equinox.internal.p2.re
         }
     }
 
+	/**
+	 * Fetches the given URI into the local cache in the background. All fetches, including those
+	 * of {@link #stream(URI, IProgressMonitor)} and
+	 * {@link #download(URI, OutputStream, IProgressMonitor)}, run on the download executor so that
+	 * at most <code>tycho.p2.transport.max-download-threads</code> of them are active at a time.
+	 * Concurrent fetches from the same host share the connections of the underlying transport.
+	 * 
+	 * @param toDownload
+	 *            the URI to fetch
+	 * @return a future completing with the cached file, or <code>null</code> if the URI can't be
+	 *         cached by any of the transport handlers
+	 */
+	public CompletableFuture<File> fetchAsync(URI toDownload) {
+		TransportProtocolHandler handler = getHandler(toDownload);
+		if (handler == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		requests.increment();
+		return fetchAsync(toDownload, handler);
+	}
+
+	private CompletableFuture<File> fetchAsync(URI toDownload, TransportProtocolHandler handler) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return handler.getFile(toDownload);
+			} catch (IOException e) {
+				throw new CompletionException(e);
+			}
+		}, DOWNLOAD_EXECUTOR);
+	}
+
+	/**
+	 * Fetches the given URI into the local cache on the download executor and waits for it while
+	 * checking the monitor for cancellation.
+	 */
+	File fetch(URI toDownload, TransportProtocolHandler handler, IProgressMonitor monitor) throws IOException {
+		if (Thread.currentThread() instanceof DownloadThread) {
+			// waiting for another download thread could exhaust the executor
+			return handler.getFile(toDownload);
+		}
+		return await(fetchAsync(toDownload, handler), monitor);
+	}
+
+	private static File await(CompletableFuture<File> fetch, IProgressMonitor monitor) throws IOException {
+		while (true) {
+			try {
+				return fetch.get(100, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				if (monitor != null && monitor.isCanceled()) {
+					fetch.cancel(false);
+					throw new OperationCanceledException();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof IOException io) {
+					throw io;
+				}
+				if (cause instanceof RuntimeException runtime) {
+					throw runtime;
+				}
+				throw new IOException(cause);
+			}
+		}
+	}
+
 	TransportProtocolHandler getHandler(URI uri) {
 		String scheme = uri.getScheme();
 		if (scheme != null) {
@@ -206,4 +293,11 @@ public class TychoRepositoryTransport extends org.eclipse.equinox.internal.p2.re
 		return DOWNLOAD_EXECUTOR;
 	}
 
+	private static final class DownloadThread extends Thread {
+
+		DownloadThread(Runnable runnable) {
+			super(runnable);
+		}
+	}
+
 }
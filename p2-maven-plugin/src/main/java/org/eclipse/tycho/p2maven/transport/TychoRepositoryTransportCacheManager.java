@@ -47,7 +47,7 @@ public class TychoRepositoryTransportCacheManager extends CacheManager {
 			for (String extension : EXTENSIONS) {
 				URI fileLocation = URIUtil.append(repositoryLocation, prefix + extension);
 				try {
-					File cachedFile = handler.getFile(fileLocation);
+					File cachedFile = transport.fetch(fileLocation, handler, monitor);
 					if (cachedFile != null) {
 						return cachedFile;
 					}
@@ -66,7 +66,7 @@ public class TychoRepositoryTransportCacheManager extends CacheManager {
     public File createCacheFromFile(URI remoteFile, IProgressMonitor monitor) throws ProvisionException, IOException {
 		TransportProtocolHandler handler = transport.getHandler(remoteFile);
 		if (handler != null) {
-			File cachedFile = handler.getFile(remoteFile);
+			File cachedFile = transport.fetch(remoteFile, handler, monitor);
 			if (cachedFile != null) {
 				// no need to cache this twice ...
 				return cachedFile;
@@ -14,13 +14,19 @@ package org.eclipse.tycho.p2maven.transport;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
@@ -97,6 +103,47 @@ public class URLHttpTransportFactory implements HttpTransportFactory {
 			};
 		}
 
+		@Override
+		public Response<Path> download(Path target, Consumer<Map<String, List<String>>> headerListener)
+				throws IOException {
+			HttpURLConnection connection = createConnection();
+			connection.connect();
+			int code = connection.getResponseCode();
+			boolean written = false;
+			if (code >= HttpURLConnection.HTTP_OK && code < HttpURLConnection.HTTP_MULT_CHOICE) {
+				headerListener.accept(connection.getHeaderFields());
+				OpenOption mode = code == HttpURLConnection.HTTP_PARTIAL ? StandardOpenOption.APPEND
+						: StandardOpenOption.TRUNCATE_EXISTING;
+				try (InputStream stream = connection.getInputStream();
+						OutputStream out = Files.newOutputStream(target, StandardOpenOption.CREATE,
+								StandardOpenOption.WRITE, mode)) {
+					stream.transferTo(out);
+				}
+				written = true;
+			}
+			Path body = written ? target : null;
+			return new HttpResponse<Path>(connection) {
+
+				@Override
+				public void close() {
+					// discard what is left of an error response to return the connection to the pool..
+					InputStream errorStream = connection.getErrorStream();
+					if (errorStream != null) {
+						try (errorStream) {
+							errorStream.transferTo(OutputStream.nullOutputStream());
+						} catch (IOException e) {
+							// don't care...
+						}
+					}
+				}
+
+				@Override
+				public Path body() throws IOException {
+					return body;
+				}
+			};
+		}
+
 		private HttpURLConnection createConnection() throws IOException, MalformedURLException {
 			HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection(proxyHelper.getProxy(uri));
 			connection.setAuthenticator(authenticator);
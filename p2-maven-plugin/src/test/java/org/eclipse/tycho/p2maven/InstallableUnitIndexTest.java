@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.metadata.IProvidedCapability;
+import org.eclipse.equinox.p2.metadata.IRequirement;
+import org.eclipse.equinox.p2.metadata.MetadataFactory;
+import org.eclipse.equinox.p2.metadata.MetadataFactory.InstallableUnitDescription;
+import org.eclipse.equinox.p2.metadata.Version;
+import org.eclipse.equinox.p2.metadata.VersionRange;
+import org.eclipse.equinox.p2.metadata.expression.ExpressionUtil;
+import org.eclipse.equinox.p2.metadata.expression.IMatchExpression;
+import org.eclipse.equinox.p2.query.QueryUtil;
+import org.junit.jupiter.api.Test;
+
+class InstallableUnitIndexTest {
+
+	private static final String PACKAGE_NAMESPACE = "java.package";
+
+	private static final IMatchExpression<IInstallableUnit> NO_FILTER = null;
+
+	private final IInstallableUnit apiOld = createUnit("api", "1.0.0", "org.example.api", "1.0.0");
+	private final IInstallableUnit apiNew = createUnit("api", "2.0.0", "org.example.api", "2.0.0");
+	private final IInstallableUnit other = createUnit("other", "1.0.0", "org.example.other", "1.0.0");
+	// provides the package in several versions, but is only recorded once
+	private final IInstallableUnit split = createUnit("split", "1.0.0", "org.example.api", "1.5.0",
+			"org.example.api", "0.5.0");
+
+	private final InstallableUnitIndex index = new InstallableUnitIndex(List.of(apiOld, other, split, apiNew));
+
+	@Test
+	void testProvidersAreOrderedByVersion() {
+		assertEquals(4, index.size());
+		assertEquals(List.of(apiNew, split, apiOld), index.getProviders(PACKAGE_NAMESPACE, "org.example.api"));
+		assertEquals(List.of(other), index.getProviders(PACKAGE_NAMESPACE, "org.example.other"));
+		assertEquals(List.of(apiNew, apiOld), index.getProviders(IInstallableUnit.NAMESPACE_IU_ID, "api"));
+	}
+
+	@Test
+	void testUnknownCapabilities() {
+		assertEquals(List.of(), index.getProviders(PACKAGE_NAMESPACE, "org.example.unknown"));
+		assertEquals(List.of(), index.getProviders("unknown.namespace", "org.example.api"));
+	}
+
+	@Test
+	void testRequirementsAreMatched() {
+		IRequirement range = MetadataFactory.createRequirement(PACKAGE_NAMESPACE, "org.example.api",
+				new VersionRange("[1.0.0,2.0.0)"), NO_FILTER, false, false);
+		assertEquals(List.of(split, apiOld), index.getProviders(range));
+
+		IRequirement none = MetadataFactory.createRequirement(PACKAGE_NAMESPACE, "org.example.api",
+				new VersionRange("[3.0.0,4.0.0)"), NO_FILTER, false, false);
+		assertEquals(List.of(), index.getProviders(none));
+	}
+
+	@Test
+	void testExpressionRequirementsAreMatched() {
+		IMatchExpression<IInstallableUnit> expression = ExpressionUtil.getFactory()
+				.matchExpression(ExpressionUtil.parse("id == $0"), "other");
+		IRequirement requirement = MetadataFactory.createRequirement(expression, NO_FILTER, 1, 1, true);
+
+		assertEquals(List.of(other), index.getProviders(requirement));
+	}
+
+	@Test
+	void testQueries() {
+		assertEquals(Set.of(apiOld, apiNew),
+				index.query(QueryUtil.createIUQuery("api"), new NullProgressMonitor()).toUnmodifiableSet());
+		assertEquals(Set.of(apiNew),
+				index.query(QueryUtil.createLatestQuery(QueryUtil.createIUQuery("api")), new NullProgressMonitor())
+						.toUnmodifiableSet());
+		assertEquals(Set.of(apiOld, apiNew, split),
+				index.query(QueryUtil.createMatchQuery(
+						"providedCapabilities.exists(x | x.namespace == $0 && x.name == $1)", PACKAGE_NAMESPACE,
+						"org.example.api"), new NullProgressMonitor()).toUnmodifiableSet());
+		assertTrue(index.query(QueryUtil.createIUQuery("unknown"), new NullProgressMonitor()).isEmpty());
+	}
+
+	private static IInstallableUnit createUnit(String id, String version, String... packages) {
+		InstallableUnitDescription description = new InstallableUnitDescription();
+		description.setId(id);
+		description.setVersion(Version.create(version));
+		IProvidedCapability[] capabilities = new IProvidedCapability[packages.length / 2 + 1];
+		capabilities[0] = MetadataFactory.createProvidedCapability(IInstallableUnit.NAMESPACE_IU_ID, id,
+				Version.create(version));
+		for (int i = 0; i < packages.length; i += 2) {
+			capabilities[i / 2 + 1] = MetadataFactory.createProvidedCapability(PACKAGE_NAMESPACE, packages[i],
+					Version.create(packages[i + 1]));
+		}
+		description.setCapabilities(capabilities);
+		return MetadataFactory.createInstallableUnit(description);
+	}
+}
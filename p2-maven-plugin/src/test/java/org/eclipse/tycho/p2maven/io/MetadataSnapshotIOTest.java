@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.equinox.internal.p2.metadata.ArtifactKey;
+import org.eclipse.equinox.internal.p2.metadata.InstallableUnit;
+import org.eclipse.equinox.p2.core.IPool;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.metadata.IInstallableUnitFragment;
+import org.eclipse.equinox.p2.metadata.ILicense;
+import org.eclipse.equinox.p2.metadata.IProvidedCapability;
+import org.eclipse.equinox.p2.metadata.IRequirement;
+import org.eclipse.equinox.p2.metadata.IUpdateDescriptor;
+import org.eclipse.equinox.p2.metadata.MetadataFactory;
+import org.eclipse.equinox.p2.metadata.MetadataFactory.InstallableUnitDescription;
+import org.eclipse.equinox.p2.metadata.MetadataFactory.InstallableUnitFragmentDescription;
+import org.eclipse.equinox.p2.metadata.Version;
+import org.eclipse.equinox.p2.metadata.VersionRange;
+import org.eclipse.equinox.p2.metadata.expression.ExpressionUtil;
+import org.eclipse.equinox.p2.metadata.expression.IMatchExpression;
+import org.eclipse.equinox.p2.query.IQuery;
+import org.eclipse.equinox.p2.query.IQueryResult;
+import org.eclipse.equinox.p2.repository.IRepository;
+import org.eclipse.equinox.p2.repository.IRepositoryReference;
+import org.eclipse.equinox.p2.repository.IRunnableWithProgress;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
+import org.eclipse.equinox.p2.repository.spi.AbstractRepository;
+import org.eclipse.equinox.p2.repository.spi.RepositoryReference;
+import org.eclipse.tycho.p2maven.io.MetadataSnapshotIO.RepositoryInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MetadataSnapshotIOTest {
+
+    private static final Version VERSION = Version.create("1.2.3.v20260101");
+
+    private static final IMatchExpression<IInstallableUnit> NO_FILTER = null;
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testRepositoryRoundTrip() throws IOException {
+        File source = createSource();
+        File snapshot = new File(tempDir, "content.xml.snapshot");
+        IRepositoryReference reference = new RepositoryReference(URI.create("https://example.org/other"), "other",
+                IRepository.TYPE_METADATA, IRepository.ENABLED);
+        MetadataSnapshotIO.write(new StubRepository(List.of(reference)), List.of(),
+                MetadataSnapshotIO.digest(source), snapshot);
+
+        RepositoryInfo info = MetadataSnapshotIO.readRepository(snapshot, MetadataSnapshotIO.digest(source));
+        assertNotNull(info);
+        assertEquals("name", info.getName());
+        assertEquals("type", info.getType());
+        assertEquals("1", info.getVersion());
+        assertEquals("description", info.getDescription());
+        assertEquals("provider", info.getProvider());
+        assertEquals(Map.of("p2.timestamp", "1234"), info.getProperties());
+        assertEquals(List.of(reference), info.getReferences());
+    }
+
+    @Test
+    void testSnapshotIsBoundToSource() throws IOException {
+        File source = createSource();
+        File snapshot = new File(tempDir, "content.xml.snapshot");
+        MetadataSnapshotIO.write(new StubRepository(List.of()), List.of(), MetadataSnapshotIO.digest(source),
+                snapshot);
+
+        Files.writeString(source.toPath(), "changed content");
+        assertNull(MetadataSnapshotIO.readRepository(snapshot, MetadataSnapshotIO.digest(source)));
+    }
+
+    @Test
+    void testSnapshotIsBoundToContent() throws IOException {
+        File source = createSource();
+        File snapshot = new File(tempDir, "content.xml.snapshot");
+        MetadataSnapshotIO.write(new StubRepository(List.of()), List.of(), MetadataSnapshotIO.digest(source),
+                snapshot);
+
+        // same size and modification time, e.g. if the cache file got the timestamp of the server
+        long lastModified = source.lastModified();
+        Files.writeString(source.toPath(), "CONTENT");
+        source.setLastModified(lastModified);
+        assertNull(MetadataSnapshotIO.readRepository(snapshot, MetadataSnapshotIO.digest(source)));
+    }
+
+    @Test
+    void testUnitRoundTrip() throws IOException {
+        IInstallableUnit unit = createUnit();
+        IInstallableUnitFragment fragment = createFragment();
+
+        IInstallableUnit[] units = roundTrip(unit, fragment);
+
+        assertEquals(2, units.length);
+        assertUnitEquals(unit, units[0]);
+        assertUnitEquals(fragment, units[1]);
+        assertTrue(units[1] instanceof IInstallableUnitFragment);
+        assertEquals(List.copyOf(fragment.getHost()), List.copyOf(((IInstallableUnitFragment) units[1]).getHost()));
+    }
+
+    @Test
+    void testInstancesAreShared() throws IOException {
+        IInstallableUnit[] units = roundTrip(createUnit(), createFragment());
+
+        assertTrue(units[0].getVersion() == units[1].getVersion());
+    }
+
+    private IInstallableUnit[] roundTrip(IInstallableUnit... units) throws IOException {
+        File source = createSource();
+        File snapshot = new File(tempDir, "content.xml.snapshot");
+        MetadataSnapshotIO.write(new StubRepository(List.of()), List.of(units), MetadataSnapshotIO.digest(source),
+                snapshot);
+        assertNotNull(MetadataSnapshotIO.readRepository(snapshot, MetadataSnapshotIO.digest(source)));
+        return MetadataSnapshotIO.readUnits(snapshot);
+    }
+
+    private static IInstallableUnit createUnit() {
+        InstallableUnitDescription description = new InstallableUnitDescription();
+        fillDescription(description, "bundle");
+        return MetadataFactory.createInstallableUnit(description);
+    }
+
+    private static IInstallableUnitFragment createFragment() {
+        InstallableUnitFragmentDescription description = new InstallableUnitFragmentDescription();
+        fillDescription(description, "fragment");
+        description.setHost(new IRequirement[] { MetadataFactory.createRequirement(IInstallableUnit.NAMESPACE_IU_ID,
+                "bundle", new VersionRange("[1.0.0,2.0.0)"), NO_FILTER, false, false) });
+        return MetadataFactory.createInstallableUnitFragment(description);
+    }
+
+    private static void fillDescription(InstallableUnitDescription description, String id) {
+        description.setId(id);
+        description.setVersion(VERSION);
+        description.setSingleton(true);
+        description.setProperty(IInstallableUnit.PROP_NAME, "Name of " + id);
+        description.setProperty("maven-groupId", "org.example");
+        description.setCapabilities(new IProvidedCapability[] {
+                MetadataFactory.createProvidedCapability(IInstallableUnit.NAMESPACE_IU_ID, id, VERSION),
+                MetadataFactory.createProvidedCapability("java.package", "org.example.api", Version.create("1.0.0")),
+                MetadataFactory.createProvidedCapability("osgi.ee",
+                        Map.of("osgi.ee", "JavaSE", "version", Version.create("17.0.0"), "versions",
+                                List.of(Version.create("11.0.0"), Version.create("17.0.0")), "count", 3L, "flag",
+                                true)) });
+        IMatchExpression<IInstallableUnit> matches = ExpressionUtil.getFactory().matchExpression(
+                ExpressionUtil.parse("providedCapabilities.exists(x | x.name == $0 && x.namespace == $1)"),
+                "org.example.service", "osgi.service");
+        description.setRequirements(new IRequirement[] {
+                MetadataFactory.createRequirement("java.package", "org.osgi.framework",
+                        new VersionRange("[1.8.0,2.0.0)"), NO_FILTER, true, false),
+                MetadataFactory.createRequirement(IInstallableUnit.NAMESPACE_IU_ID, "other", VersionRange.emptyRange,
+                        InstallableUnit.parseFilter("(osgi.os=linux)"), 0, 1, true, "only on linux"),
+                MetadataFactory.createRequirement(matches, null, 1, 1, false) });
+        description.setMetaRequirements(new IRequirement[] { MetadataFactory.createRequirement(
+                IInstallableUnit.NAMESPACE_IU_ID, "touchpoint", VersionRange.emptyRange, NO_FILTER, false, false) });
+        description.setFilter(InstallableUnit.parseFilter("(osgi.arch=x86_64)"));
+        description.setArtifacts(new ArtifactKey[] { new ArtifactKey("osgi.bundle", id, VERSION) });
+        description.setTouchpointType(
+                MetadataFactory.createTouchpointType("org.eclipse.equinox.p2.osgi", Version.create("1.0.0")));
+        description.addTouchpointData(
+                MetadataFactory.createTouchpointData(Map.of("manifest", "Bundle-SymbolicName: " + id)));
+        description.addTouchpointData(MetadataFactory.createTouchpointData(Map.of("install",
+                MetadataFactory.createTouchpointInstruction("chmod(file:x)", "org.eclipse.equinox.p2.touchpoint"))));
+        description.setUpdateDescriptor(MetadataFactory.createUpdateDescriptor(id, new VersionRange("[0.0.0,1.2.3)"),
+                IUpdateDescriptor.HIGH, "update", URI.create("https://example.org/update")));
+        description.setLicenses(new ILicense[] {
+                MetadataFactory.createLicense(URI.create("https://example.org/license"), "License text") });
+        description.setCopyright(MetadataFactory.createCopyright(URI.create("https://example.org/copyright"),
+                "Copyright text"));
+    }
+
+    private static void assertUnitEquals(IInstallableUnit expected, IInstallableUnit actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.isSingleton(), actual.isSingleton());
+        assertEquals(expected.getProperties(), actual.getProperties());
+        assertEquals(List.copyOf(expected.getProvidedCapabilities()), List.copyOf(actual.getProvidedCapabilities()));
+        assertEquals(List.copyOf(expected.getRequirements()), List.copyOf(actual.getRequirements()));
+        assertEquals(List.copyOf(expected.getMetaRequirements()), List.copyOf(actual.getMetaRequirements()));
+        assertEquals(expected.getFilter(), actual.getFilter());
+        assertEquals(List.copyOf(expected.getArtifacts()), List.copyOf(actual.getArtifacts()));
+        assertEquals(expected.getTouchpointType(), actual.getTouchpointType());
+        assertEquals(List.copyOf(expected.getTouchpointData()), List.copyOf(actual.getTouchpointData()));
+        IUpdateDescriptor expectedUpdate = expected.getUpdateDescriptor();
+        IUpdateDescriptor actualUpdate = actual.getUpdateDescriptor();
+        assertEquals(List.copyOf(expectedUpdate.getIUsBeingUpdated()), List.copyOf(actualUpdate.getIUsBeingUpdated()));
+        assertEquals(expectedUpdate.getSeverity(), actualUpdate.getSeverity());
+        assertEquals(expectedUpdate.getDescription(), actualUpdate.getDescription());
+        assertEquals(expectedUpdate.getLocation(), actualUpdate.getLocation());
+        assertEquals(List.copyOf(expected.getLicenses()), List.copyOf(actual.getLicenses()));
+        assertEquals(expected.getCopyright().getLocation(), actual.getCopyright().getLocation());
+        assertEquals(expected.getCopyright().getBody(), actual.getCopyright().getBody());
+    }
+
+    private File createSource() throws IOException {
+        File source = new File(tempDir, "content.xml");
+        Files.writeString(source.toPath(), "content");
+        return source;
+    }
+
+    private static final class StubRepository extends AbstractRepository<IInstallableUnit>
+            implements IMetadataRepository {
+
+        private final Collection<IRepositoryReference> references;
+
+        StubRepository(Collection<IRepositoryReference> references) {
+            super(null, "name", "type", "1", URI.create("https://example.org/repository"), "description",
+                    "provider", Map.of("p2.timestamp", "1234"));
+            this.references = references;
+        }
+
+        @Override
+        public IQueryResult<IInstallableUnit> query(IQuery<IInstallableUnit> query, IProgressMonitor monitor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Collection<IRepositoryReference> getReferences() {
+            return references;
+        }
+
+        @Override
+        public void addInstallableUnits(Collection<IInstallableUnit> installableUnits) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addReferences(Collection<? extends IRepositoryReference> references) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean removeInstallableUnits(Collection<IInstallableUnit> installableUnits) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void removeAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public IStatus executeBatch(IRunnableWithProgress runnable, IProgressMonitor monitor) {
+            return Status.OK_STATUS;
+        }
+
+        @Override
+        public void compress(IPool<IInstallableUnit> iuPool) {
+            // nothing to compress
+        }
+    }
+}
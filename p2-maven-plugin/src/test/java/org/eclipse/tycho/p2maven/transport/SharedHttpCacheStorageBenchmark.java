@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven.transport;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of {@link SharedHttpCacheStorage#getCacheEntry(URI, Logger)} when many
+ * threads request cache entries concurrently, run with
+ * <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=...</code> or from
+ * the IDE using the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SharedHttpCacheStorageBenchmark {
+
+	/**
+	 * Number of distinct URIs requested, values above the in-memory limit also exercise eviction
+	 */
+	@Param({ "10", "500", "5000" })
+	int uris;
+
+	private SharedHttpCacheStorage storage;
+	private URI[] requests;
+	private File cacheLocation;
+	private final Logger logger = new ConsoleLogger();
+
+	@Setup
+	public void setup() throws IOException {
+		cacheLocation = Files.createTempDirectory("httpcache").toFile();
+		storage = new SharedHttpCacheStorage();
+		storage.cacheConfig = new TransportCacheConfig() {
+
+			@Override
+			public boolean isUpdate() {
+				return false;
+			}
+
+			@Override
+			public boolean isOffline() {
+				return true;
+			}
+
+			@Override
+			public boolean isInteractive() {
+				return false;
+			}
+
+			@Override
+			public File getCacheLocation() {
+				return cacheLocation;
+			}
+		};
+		requests = new URI[uris];
+		for (int i = 0; i < uris; i++) {
+			requests[i] = URI.create("https://download.eclipse.org/releases/latest/plugins/bundle" + i + ".jar");
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(cacheLocation);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public Object getCacheEntry() throws IOException {
+		URI uri = requests[ThreadLocalRandom.current().nextInt(requests.length)];
+		return storage.getCacheEntry(uri, logger);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SharedHttpCacheStorageBenchmark.class.getSimpleName()).build())
+				.run();
+	}
+}
@@ -0,0 +1,371 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven.transport;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SharedHttpCacheStorageTest {
+
+	private static final URI LOCATION = URI.create("https://download.example.org/plugins/bundle.jar");
+
+	@TempDir
+	File cacheLocation;
+
+	private final Logger logger = new ConsoleLogger();
+
+	private SharedHttpCacheStorage storage;
+
+	private StandInServer server;
+
+	@BeforeEach
+	void setup() {
+		storage = createStorage();
+		server = new StandInServer(content(1000, 'a'), "\"v1\"");
+	}
+
+	private SharedHttpCacheStorage createStorage() {
+		SharedHttpCacheStorage storage = new SharedHttpCacheStorage();
+		storage.cacheConfig = new TransportCacheConfig() {
+
+			@Override
+			public boolean isUpdate() {
+				return false;
+			}
+
+			@Override
+			public boolean isOffline() {
+				return false;
+			}
+
+			@Override
+			public boolean isInteractive() {
+				return false;
+			}
+
+			@Override
+			public File getCacheLocation() {
+				return cacheLocation;
+			}
+		};
+		return storage;
+	}
+
+	@Test
+	void testResumeWithPartialContent() throws IOException {
+		interruptDownload(400);
+
+		File file = fetch();
+		assertArrayEquals(server.content, Files.readAllBytes(file.toPath()));
+		assertEquals(HttpURLConnection.HTTP_PARTIAL, server.lastStatus);
+		assertEquals("bytes=400-", server.requests.get(1).get("Range"));
+		assertEquals("\"v1\"", server.requests.get(1).get("If-Range"));
+		assertNoPartialFiles();
+	}
+
+	@Test
+	void testFullReplacementIfRangesAreNotSupported() throws IOException {
+		interruptDownload(400);
+		server.acceptRanges = false;
+
+		File file = fetch();
+		assertArrayEquals(server.content, Files.readAllBytes(file.toPath()));
+		assertEquals(HttpURLConnection.HTTP_OK, server.lastStatus);
+		assertEquals(2, server.requests.size());
+		assertNoPartialFiles();
+	}
+
+	@Test
+	void testChangedValidator() throws IOException {
+		interruptDownload(400);
+		server.content = content(800, 'b');
+		server.etag = "\"v2\"";
+
+		File file = fetch();
+		assertArrayEquals(server.content, Files.readAllBytes(file.toPath()));
+		assertEquals(HttpURLConnection.HTTP_OK, server.lastStatus);
+		assertEquals(2, server.requests.size());
+		assertNoPartialFiles();
+	}
+
+	@Test
+	void testRangeNotSatisfiable() throws IOException {
+		interruptDownload(400);
+		// a server that changes the content without changing the validator
+		server.content = content(300, 'c');
+
+		File file = fetch();
+		assertArrayEquals(server.content, Files.readAllBytes(file.toPath()));
+		assertEquals(3, server.requests.size());
+		assertEquals("bytes=400-", server.requests.get(1).get("Range"));
+		assertNull(server.requests.get(2).get("Range"));
+		assertNull(server.requests.get(2).get("If-Range"));
+		assertNoPartialFiles();
+	}
+
+	@Test
+	void testStaleIndexFilesAreRevalidatedInBackground() throws Exception {
+		URI repository = URI.create("https://download.example.org/repository");
+		storage.getCacheEntry(repository.resolve("repository/content.jar"), logger).getCacheFile(server);
+		storage.getCacheEntry(repository.resolve("repository/artifacts.jar"), logger).getCacheFile(server);
+		expireCachedFiles();
+		storage = createStorage();
+		server.requests.clear();
+		server.arrived = new CountDownLatch(2);
+		server.release = new CountDownLatch(1);
+
+		CompletableFuture<Void> revalidation = storage.revalidate(List.of(repository), server, logger);
+		try {
+			// both requests are sent at the same time, but the caller does not wait for them
+			assertTrue(server.arrived.await(10, TimeUnit.SECONDS));
+			assertFalse(revalidation.isDone());
+		} finally {
+			server.release.countDown();
+		}
+		revalidation.get(10, TimeUnit.SECONDS);
+
+		assertEquals(2, server.requests.size());
+		for (Map<String, String> request : server.requests) {
+			assertEquals("\"v1\"", request.get("If-None-Match"));
+		}
+		assertEquals(HttpURLConnection.HTTP_NOT_MODIFIED, server.lastStatus);
+	}
+
+	@Test
+	void testDisposeStopsRevalidation() throws Exception {
+		URI repository = URI.create("https://download.example.org/repository");
+		URI content = repository.resolve("repository/content.jar");
+		storage.getCacheEntry(content, logger).getCacheFile(server);
+		storage.getCacheEntry(repository.resolve("repository/artifacts.jar"), logger).getCacheFile(server);
+		expireCachedFiles();
+		storage = createStorage();
+		server.arrived = new CountDownLatch(2);
+		server.release = new CountDownLatch(1);
+
+		CompletableFuture<Void> revalidation = storage.revalidate(List.of(repository), server, logger);
+		assertTrue(server.arrived.await(10, TimeUnit.SECONDS));
+		storage.dispose();
+
+		// the requests are interrupted instead of waiting for the server
+		revalidation.get(5, TimeUnit.SECONDS);
+		server.release = null;
+		assertNotNull(storage.getCacheEntry(content, logger).getCacheFile(server));
+	}
+
+	@Test
+	void testFreshIndexFilesAreNotRevalidated() throws Exception {
+		URI repository = URI.create("https://download.example.org/repository");
+		storage.getCacheEntry(repository.resolve("repository/content.jar"), logger).getCacheFile(server);
+		server.requests.clear();
+
+		CompletableFuture<Void> revalidation = storage.revalidate(List.of(repository), server, logger);
+
+		assertTrue(revalidation.isDone());
+		assertEquals(List.of(), server.requests);
+	}
+
+	/**
+	 * Pretends that all cached files have been fetched a long time ago
+	 */
+	private void expireCachedFiles() throws IOException {
+		try (Stream<Path> files = Files.walk(cacheLocation.toPath())) {
+			for (Path headerFile : files.filter(path -> path.getFileName().toString().endsWith(".headers")).toList()) {
+				Properties header = new Properties();
+				try (InputStream in = Files.newInputStream(headerFile)) {
+					header.load(in);
+				}
+				header.setProperty("FILE-LAST_UPDATED", "0");
+				try (OutputStream out = Files.newOutputStream(headerFile)) {
+					header.store(out, null);
+				}
+			}
+		}
+	}
+
+	private void interruptDownload(int bytes) {
+		server.failAfter = bytes;
+		assertThrows(IOException.class, this::fetch);
+		assertTrue(partialFiles().anyMatch(path -> path.getFileName().toString().endsWith(".part")));
+	}
+
+	private File fetch() throws IOException {
+		return storage.getCacheEntry(LOCATION, logger).getCacheFile(server);
+	}
+
+	private void assertNoPartialFiles() {
+		assertEquals(List.of(), partialFiles().toList());
+	}
+
+	private Stream<Path> partialFiles() {
+		try (Stream<Path> files = Files.walk(cacheLocation.toPath())) {
+			return files.filter(path -> path.getFileName().toString().contains(".part")).toList().stream();
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private static byte[] content(int length, char c) {
+		byte[] content = new byte[length];
+		Arrays.fill(content, (byte) c);
+		return content;
+	}
+
+	/**
+	 * Serves a single file and honors range requests like a regular HTTP server does
+	 */
+	private static final class StandInServer implements HttpTransportFactory {
+
+		byte[] content;
+		String etag;
+		boolean acceptRanges = true;
+		int failAfter = -1;
+		volatile int lastStatus;
+		volatile CountDownLatch arrived;
+		volatile CountDownLatch release;
+		final List<Map<String, String>> requests = Collections.synchronizedList(new ArrayList<>());
+
+		StandInServer(byte[] content, String etag) {
+			this.content = content;
+			this.etag = etag;
+		}
+
+		@Override
+		public HttpTransport createTransport(URI uri) {
+			Map<String, String> requestHeaders = new HashMap<>();
+			return new HttpTransport() {
+
+				@Override
+				public void setHeader(String key, String value) {
+					requestHeaders.put(key, value);
+				}
+
+				@Override
+				public Response<InputStream> get() throws IOException {
+					throw new UnsupportedOperationException();
+				}
+
+				@Override
+				public Response<Void> head() throws IOException {
+					throw new UnsupportedOperationException();
+				}
+
+				@Override
+				public Response<Path> download(Path target, Consumer<Map<String, List<String>>> headerListener)
+						throws IOException {
+					return serve(uri, requestHeaders, target, headerListener);
+				}
+			};
+		}
+
+		private Response<Path> serve(URI uri, Map<String, String> requestHeaders, Path target,
+				Consumer<Map<String, List<String>>> headerListener) throws IOException {
+			requests.add(requestHeaders);
+			if (release != null) {
+				arrived.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			int code = HttpURLConnection.HTTP_OK;
+			int start = 0;
+			String range = requestHeaders.get("Range");
+			if (etag.equals(requestHeaders.get("If-None-Match"))) {
+				code = HttpURLConnection.HTTP_NOT_MODIFIED;
+			} else if (range != null && acceptRanges && etag.equals(requestHeaders.get("If-Range"))) {
+				start = Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+				code = start < content.length ? HttpURLConnection.HTTP_PARTIAL : 416;
+			}
+			lastStatus = code;
+			Map<String, List<String>> headers = new HashMap<>();
+			headers.put("ETag", List.of(etag));
+			if (code == HttpURLConnection.HTTP_PARTIAL) {
+				headers.put("Content-Range",
+						List.of("bytes " + start + "-" + (content.length - 1) + "/" + content.length));
+			}
+			Path body = null;
+			if (code < HttpURLConnection.HTTP_MULT_CHOICE) {
+				headerListener.accept(headers);
+				try (OutputStream out = Files.newOutputStream(target, StandardOpenOption.CREATE,
+						StandardOpenOption.WRITE, code == HttpURLConnection.HTTP_PARTIAL ? StandardOpenOption.APPEND
+								: StandardOpenOption.TRUNCATE_EXISTING)) {
+					if (failAfter >= 0) {
+						out.write(content, start, failAfter);
+						failAfter = -1;
+						throw new IOException("Connection reset");
+					}
+					out.write(content, start, content.length - start);
+				}
+				body = target;
+			}
+			return new StandInResponse(uri, code, headers, body);
+		}
+	}
+
+	private record StandInResponse(URI getURI, int statusCode, Map<String, List<String>> headers, Path body)
+			implements Response<Path> {
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public String getHeader(String header) {
+			for (var entry : headers.entrySet()) {
+				if (entry.getKey().equalsIgnoreCase(header)) {
+					return entry.getValue().get(0);
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public long getLastModified() {
+			return -1;
+		}
+	}
+}
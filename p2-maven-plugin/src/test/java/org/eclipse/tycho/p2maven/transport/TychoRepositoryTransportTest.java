@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven.transport;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.tycho.p2maven.helper.ProxyHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+class TychoRepositoryTransportTest {
+
+	/**
+	 * The default number of download threads
+	 */
+	private static final int CONCURRENT_REQUESTS = 4;
+
+	@TempDir
+	File cacheLocation;
+
+	private final Logger logger = new ConsoleLogger();
+
+	private HttpServer server;
+
+	private ExecutorService serverExecutor;
+
+	private TychoRepositoryTransport transport;
+
+	private Java11HttpTransportFactory transportFactory;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+
+	private final List<String> protocols = new CopyOnWriteArrayList<>();
+
+	private final List<String> upgrades = new CopyOnWriteArrayList<>();
+
+	private volatile CountDownLatch arrived = new CountDownLatch(0);
+
+	private volatile CountDownLatch release = new CountDownLatch(0);
+
+	@BeforeEach
+	void setup() throws Exception {
+		serverExecutor = Executors.newCachedThreadPool();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(serverExecutor);
+		server.createContext("/", this::serve);
+		server.start();
+
+		TransportCacheConfig cacheConfig = new TransportCacheConfig() {
+
+			@Override
+			public boolean isUpdate() {
+				return false;
+			}
+
+			@Override
+			public boolean isOffline() {
+				return false;
+			}
+
+			@Override
+			public boolean isInteractive() {
+				return false;
+			}
+
+			@Override
+			public File getCacheLocation() {
+				return cacheLocation;
+			}
+		};
+		SharedHttpCacheStorage cache = new SharedHttpCacheStorage();
+		cache.cacheConfig = cacheConfig;
+		transportFactory = new Java11HttpTransportFactory();
+		transportFactory.proxyHelper = new ProxyHelper();
+		transportFactory.authenticator = new MavenAuthenticator() {
+			@Override
+			public void preemtiveAuth(BiConsumer<String, String> headerConsumer, URI uri) {
+				// no credentials
+			}
+		};
+		transportFactory.initialize();
+		HttpTransportProtocolHandler handler = new HttpTransportProtocolHandler();
+		handler.transportFactoryMap = Map.of(Java11HttpTransportFactory.HINT, transportFactory);
+		handler.httpCache = cache;
+		handler.logger = logger;
+		transport = new TychoRepositoryTransport();
+		transport.logger = logger;
+		transport.cacheConfig = cacheConfig;
+		transport.transportProtocolHandlers = Map.of("http", handler);
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		server.stop(0);
+		serverExecutor.shutdownNow();
+	}
+
+	@Test
+	void testFetchesAreConcurrent() throws Exception {
+		arrived = new CountDownLatch(CONCURRENT_REQUESTS);
+		List<CompletableFuture<File>> fetches = new ArrayList<>();
+		for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+			fetches.add(transport.fetchAsync(location("async/" + i)));
+		}
+		for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+			File file = fetches.get(i).get(30, TimeUnit.SECONDS);
+			assertArrayEquals(content("async/" + i), Files.readAllBytes(file.toPath()));
+		}
+		assertEquals(CONCURRENT_REQUESTS, maxInFlight.get());
+	}
+
+	@Test
+	void testDownloadsFromSeveralThreadsAreConcurrent() throws Exception {
+		arrived = new CountDownLatch(CONCURRENT_REQUESTS);
+		ExecutorService callers = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+		try {
+			List<CompletableFuture<byte[]>> downloads = new ArrayList<>();
+			for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+				String path = "sync/" + i;
+				downloads.add(CompletableFuture.supplyAsync(() -> {
+					ByteArrayOutputStream target = new ByteArrayOutputStream();
+					IStatus status = transport.download(location(path), target, new NullProgressMonitor());
+					assertTrue(status.isOK(), status::toString);
+					return target.toByteArray();
+				}, callers));
+			}
+			for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+				assertArrayEquals(content("sync/" + i), downloads.get(i).get(30, TimeUnit.SECONDS));
+			}
+		} finally {
+			callers.shutdownNow();
+		}
+		assertEquals(CONCURRENT_REQUESTS, maxInFlight.get());
+	}
+
+	@Test
+	void testPlainHttpIsNotUpgraded() throws Exception {
+		File file = transport.fetchAsync(location("plain")).get(30, TimeUnit.SECONDS);
+		assertArrayEquals(content("plain"), Files.readAllBytes(file.toPath()));
+		assertEquals(List.of("HTTP/1.1"), protocols);
+		assertEquals(List.of(), upgrades);
+	}
+
+	@Test
+	void testPlainHttpFallsBackToHttp11ForAllRequests() throws Exception {
+		// the client prefers HTTP/2, plain http must still never try an h2c upgrade
+		try (Response<InputStream> response = transportFactory.createTransport(location("get")).get()) {
+			assertEquals(200, response.statusCode());
+			assertArrayEquals(content("get"), response.body().readAllBytes());
+		}
+		Path target = new File(cacheLocation, "download").toPath();
+		try (Response<Path> response = transportFactory.createTransport(location("download")).download(target)) {
+			assertEquals(200, response.statusCode());
+		}
+		assertArrayEquals(content("download"), Files.readAllBytes(target));
+		try (Response<Void> response = transportFactory.createTransport(location("head")).head()) {
+			assertEquals(405, response.statusCode());
+		}
+		assertEquals(List.of("HTTP/1.1", "HTTP/1.1", "HTTP/1.1"), protocols);
+		assertEquals(List.of(), upgrades);
+	}
+
+	@Test
+	void testCanceledDownload() {
+		release = new CountDownLatch(1);
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		IStatus status = transport.download(location("blocked"), new ByteArrayOutputStream(), monitor);
+		assertEquals(IStatus.CANCEL, status.getSeverity());
+	}
+
+	private URI location(String path) {
+		return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/" + path);
+	}
+
+	private static byte[] content(String path) {
+		return ("content of " + path).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private void serve(HttpExchange exchange) throws IOException {
+		try {
+			protocols.add(exchange.getProtocol());
+			String upgrade = exchange.getRequestHeaders().getFirst("Upgrade");
+			if (upgrade != null) {
+				upgrades.add(upgrade);
+			}
+			if (!"GET".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			try {
+				// hold the response until all expected requests have arrived
+				arrived.countDown();
+				arrived.await(10, TimeUnit.SECONDS);
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				inFlight.decrementAndGet();
+			}
+			byte[] content = content(exchange.getRequestURI().getPath().substring(1));
+			exchange.sendResponseHeaders(200, content.length);
+			try (OutputStream body = exchange.getResponseBody()) {
+				body.write(content);
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+}
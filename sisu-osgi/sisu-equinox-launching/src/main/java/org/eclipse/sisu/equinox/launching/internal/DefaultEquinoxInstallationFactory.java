@@ -17,10 +17,17 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,8 +35,12 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
+import java.util.stream.Stream;
 
 import org.codehaus.plexus.PlexusContainer;
 import org.codehaus.plexus.archiver.ArchiverException;
@@ -46,15 +57,41 @@ import org.eclipse.sisu.equinox.launching.EquinoxInstallation;
 import org.eclipse.sisu.equinox.launching.EquinoxInstallationDescription;
 import org.eclipse.sisu.equinox.launching.EquinoxInstallationFactory;
 import org.eclipse.tycho.TychoConstants;
+import org.eclipse.tycho.core.shared.MavenContext;
 import org.osgi.framework.Constants;
 
 @Component(role = EquinoxInstallationFactory.class)
 public class DefaultEquinoxInstallationFactory implements EquinoxInstallationFactory {
+
+    /**
+     * Released bundles from the local repository that need to be exploded are unpacked once into a
+     * cache below the local repository and shared by all installations, can be disabled with
+     * <code>-Dtycho.equinox.bundleCache=false</code>
+     */
+    static final boolean SHARED_BUNDLE_CACHE = Boolean
+            .parseBoolean(System.getProperty("tycho.equinox.bundleCache", "true"));
+
+    static final String EXPLODED_BUNDLES_RELPATH = ".cache/tycho/exploded-bundles";
+
+    /**
+     * Cached bundles that have not been used for this time are removed from the cache
+     */
+    static final long MAX_UNUSED_AGE = TimeUnit.DAYS.toMillis(30);
+
     @Requirement
     private PlexusContainer plexus;
 
+    @Requirement(optional = true)
+    private MavenContext mavenContext;
+
     private final Map<String, Manifest> manifestCache = new HashMap<>();
 
+    private final Map<String, String> digestCache = new ConcurrentHashMap<>();
+
+    private File localRepository;
+
+    private final AtomicBoolean evicted = new AtomicBoolean();
+
     @Requirement
     private Logger log;
 
@@ -66,6 +103,11 @@ public class DefaultEquinoxInstallationFactory implements EquinoxInstallationFac
         this.log = log;
     }
 
+    DefaultEquinoxInstallationFactory(Logger log, File localRepository) {
+        this.log = log;
+        this.localRepository = localRepository;
+    }
+
     @Override
     public EquinoxInstallation createInstallation(EquinoxInstallationDescription description, File location) {
         Set<String> bundlesToExplode = description.getBundlesToExplode();
@@ -84,11 +126,14 @@ public class DefaultEquinoxInstallationFactory implements EquinoxInstallationFac
                 File file = artifact.getLocation();
                 if (needsUnpack(artifact, bundlesToExplode)) {
                     String filename = artifact.getId() + "_" + artifact.getVersion();
-                    File unpacked = new File(location, "plugins/" + filename);
+                    File unpacked = getCachedExplodedBundle(file, filename);
+                    if (unpacked == null) {
+                        unpacked = new File(location, "plugins/" + filename);
 
-                    unpacked.mkdirs();
+                        unpacked.mkdirs();
 
-                    unpack(file, unpacked);
+                        unpack(file, unpacked);
+                    }
 
                     effective.put(artifact, unpacked);
                 } else {
@@ -244,7 +289,14 @@ public class DefaultEquinoxInstallationFactory implements EquinoxInstallationFac
             String version = mf.getMainAttributes().getValue(Constants.BUNDLE_VERSION);
             bundleNames.add(symbolicName);
             File bundleDir = new File(location, "plugins/" + symbolicName + "_" + version);
-            if (bundleFile.isFile()) {
+            File cached = bundleFile.isFile() //
+                    ? getCachedExplodedBundle(bundleFile, symbolicName + "_" + version)
+                    : null;
+            if (cached != null) {
+                // extensions must be located next to the framework, the copy also keeps the cache unmodified
+                FileUtils.copyDirectoryStructure(cached, bundleDir);
+                setWritable(bundleDir.toPath(), true);
+            } else if (bundleFile.isFile()) {
                 unpack(bundleFile, bundleDir);
             } else {
                 FileUtils.copyDirectoryStructure(bundleFile, bundleDir);
@@ -257,11 +309,161 @@ public class DefaultEquinoxInstallationFactory implements EquinoxInstallationFac
         BundleReference bundle = description.getSystemBundle();
         File srcFile = bundle.getLocation();
         File dstFile = new File(location, "plugins/" + srcFile.getName());
-        FileUtils.copyFileIfModified(srcFile, dstFile);
+        dstFile.getParentFile().mkdirs();
+        linkOrCopy(srcFile.toPath(), dstFile.toPath());
 
         return "file:" + dstFile.getAbsolutePath().replace('\\', '/');
     }
 
+    /**
+     * Returns the exploded form of the given bundle from the shared cache, unpacking it first if it
+     * is not yet cached. Only released bundles from the local repository are cached, reactor and
+     * snapshot bundles change with every build and would only fill up the cache. Entries are keyed
+     * by the digest of the bundle and are made read-only, as they are used in place by all
+     * installations.
+     * 
+     * @return the exploded bundle or <code>null</code> if the bundle is not cached
+     */
+    private File getCachedExplodedBundle(File bundle, String filename) throws IOException {
+        File repository = getLocalRepository();
+        if (repository == null || !isReleasedRepositoryArtifact(bundle, repository)) {
+            return null;
+        }
+        File cacheDir = new File(repository, EXPLODED_BUNDLES_RELPATH);
+        if (evicted.compareAndSet(false, true)) {
+            evictUnusedBundles(cacheDir, System.currentTimeMillis() - MAX_UNUSED_AGE);
+        }
+        File cached = new File(cacheDir, filename + "/" + getDigest(bundle));
+        if (cached.isDirectory()) {
+            // record the usage for the eviction
+            cached.setLastModified(System.currentTimeMillis());
+            return cached;
+        }
+        File parent = cached.getParentFile();
+        parent.mkdirs();
+        // unpack to a temporary folder and move it in place so concurrent builds never see a partial bundle
+        Path temp = Files.createTempDirectory(parent.toPath(), "unpack");
+        try {
+            unpack(bundle, temp.toFile());
+            setWritable(temp, false);
+            Files.move(temp, cached.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (!cached.isDirectory()) {
+                throw e;
+            }
+            // someone else was faster
+        } finally {
+            if (Files.exists(temp)) {
+                deleteDirectory(temp);
+            }
+        }
+        return cached;
+    }
+
+    private File getLocalRepository() {
+        if (localRepository != null) {
+            return localRepository;
+        }
+        if (!SHARED_BUNDLE_CACHE || mavenContext == null) {
+            return null;
+        }
+        return mavenContext.getLocalRepositoryRoot();
+    }
+
+    private static boolean isReleasedRepositoryArtifact(File bundle, File repository) {
+        Path path = bundle.toPath().toAbsolutePath().normalize();
+        return path.startsWith(repository.toPath().toAbsolutePath().normalize())
+                && !path.toString().contains("SNAPSHOT");
+    }
+
+    /**
+     * Removes all cached bundles that have not been used since the given time. The entry is moved
+     * away first, so that a concurrent build never sees a partially deleted bundle.
+     */
+    void evictUnusedBundles(File cacheDir, long unusedSince) {
+        File[] bundleDirs = cacheDir.listFiles(File::isDirectory);
+        if (bundleDirs == null) {
+            return;
+        }
+        for (File bundleDir : bundleDirs) {
+            File[] entries = bundleDir.listFiles(File::isDirectory);
+            if (entries == null) {
+                continue;
+            }
+            for (File entry : entries) {
+                if (entry.lastModified() >= unusedSince) {
+                    continue;
+                }
+                try {
+                    Path evictedEntry = Files.createTempDirectory(bundleDir.toPath(), "evict");
+                    Files.delete(evictedEntry);
+                    Files.move(entry.toPath(), evictedEntry, StandardCopyOption.ATOMIC_MOVE);
+                    deleteDirectory(evictedEntry);
+                    log.debug("Removed unused exploded bundle " + entry);
+                } catch (IOException e) {
+                    log.debug("Can't remove unused exploded bundle " + entry + ": " + e);
+                }
+            }
+            // only succeeds if the directory is empty now
+            bundleDir.delete();
+        }
+    }
+
+    private static void setWritable(Path directory, boolean writable) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(Files::isRegularFile).forEach(file -> file.toFile().setWritable(writable));
+        }
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        // read-only files can't be deleted on all platforms
+        setWritable(directory, true);
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    private String getDigest(File file) throws IOException {
+        String key = file.getAbsolutePath() + "/" + file.length() + "/" + file.lastModified();
+        String digest = digestCache.get(key);
+        if (digest != null) {
+            return digest;
+        }
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream stream = new FileInputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+        }
+        digest = HexFormat.of().formatHex(messageDigest.digest());
+        digestCache.put(key, digest);
+        return digest;
+    }
+
+    /**
+     * Hard links the given file, the source must never be modified in place afterwards. Falls back
+     * to a copy if the file system does not support hard links or the files are on different
+     * volumes.
+     */
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        if (Files.exists(target)) {
+            if (Files.isSameFile(source, target)) {
+                return;
+            }
+            Files.delete(target);
+        }
+        try {
+            Files.createLink(target, source);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+    }
+
     protected String toOsgiBundles(Map<BundleReference, File> effective, Map<String, BundleStartLevel> startLevel,
             BundleStartLevel defaultStartLevel) throws IOException {
         log.debug("Installation OSGI bundles:");
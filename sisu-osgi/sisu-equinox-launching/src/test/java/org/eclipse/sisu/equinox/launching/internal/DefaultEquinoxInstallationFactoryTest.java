@@ -12,23 +12,42 @@
  ******************************************************************************/
 package org.eclipse.sisu.equinox.launching.internal;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
 
 import org.codehaus.plexus.logging.Logger;
 import org.eclipse.sisu.equinox.launching.BundleReference;
 import org.eclipse.sisu.equinox.launching.BundleStartLevel;
 import org.eclipse.sisu.equinox.launching.DefaultEquinoxInstallationDescription;
+import org.eclipse.sisu.equinox.launching.EquinoxInstallation;
+import org.eclipse.tycho.TychoConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class DefaultEquinoxInstallationFactoryTest {
 
@@ -124,6 +143,105 @@ public class DefaultEquinoxInstallationFactoryTest {
         assertTrue(config.contains("reference:file:absolute/path/to/bundle1@start")); // implicitly use default start level
     }
 
+    @Test
+    public void testExplodedBundlesAreSharedBetweenInstallations(@TempDir File tempDir) throws Exception {
+        File repository = new File(tempDir, "repository");
+        File bundle = writeBundle(new File(repository, "org/example/exploded/1.0/exploded-1.0.jar"));
+        instDesc.addBundle(new DefaultArtifactKey("org.example.exploded", "1.0", bundle));
+        AtomicInteger unpacked = new AtomicInteger();
+        subject = newCountingFactory(repository, unpacked);
+
+        String bundles1 = getOsgiBundles(subject.createInstallation(instDesc, new File(tempDir, "work1")));
+        String bundles2 = getOsgiBundles(subject.createInstallation(instDesc, new File(tempDir, "work2")));
+
+        assertEquals(1, unpacked.get());
+        assertEquals(bundles1, bundles2);
+        assertTrue(bundles1.contains("/exploded-bundles/org.example.exploded_1.0/"), bundles1);
+        assertFalse(new File(tempDir, "work1/plugins/org.example.exploded_1.0").exists());
+    }
+
+    @Test
+    public void testReactorAndSnapshotBundlesAreNotShared(@TempDir File tempDir) throws Exception {
+        File repository = new File(tempDir, "repository");
+        File reactorBundle = writeBundle(new File(tempDir, "reactor/target/reactor-1.0.0.jar"));
+        File snapshotBundle = writeBundle(
+                new File(repository, "org/example/snapshot/1.0.0-SNAPSHOT/snapshot-1.0.0-SNAPSHOT.jar"));
+        instDesc.addBundle(new DefaultArtifactKey("org.example.reactor", "1.0.0", reactorBundle));
+        instDesc.addBundle(new DefaultArtifactKey("org.example.snapshot", "1.0.0", snapshotBundle));
+        AtomicInteger unpacked = new AtomicInteger();
+        subject = newCountingFactory(repository, unpacked);
+
+        subject.createInstallation(instDesc, new File(tempDir, "work1"));
+        subject.createInstallation(instDesc, new File(tempDir, "work2"));
+
+        assertEquals(4, unpacked.get());
+        assertTrue(new File(tempDir, "work1/plugins/org.example.reactor_1.0.0/plugin.xml").isFile());
+        assertTrue(new File(tempDir, "work2/plugins/org.example.snapshot_1.0.0/plugin.xml").isFile());
+        assertFalse(new File(repository, DefaultEquinoxInstallationFactory.EXPLODED_BUNDLES_RELPATH).exists());
+    }
+
+    @Test
+    public void testUnusedBundlesAreEvicted(@TempDir File tempDir) throws Exception {
+        File cacheDir = new File(tempDir, "cache");
+        File unused = new File(cacheDir, "org.example.unused_1.0/0123");
+        File used = new File(cacheDir, "org.example.used_1.0/4567");
+        for (File entry : List.of(unused, used)) {
+            File file = new File(entry, "plugin.xml");
+            file.getParentFile().mkdirs();
+            Files.writeString(file.toPath(), "<plugin/>");
+            file.setWritable(false);
+        }
+        long now = System.currentTimeMillis();
+        unused.setLastModified(now - DefaultEquinoxInstallationFactory.MAX_UNUSED_AGE - 1000);
+
+        subject.evictUnusedBundles(cacheDir, now - DefaultEquinoxInstallationFactory.MAX_UNUSED_AGE);
+
+        assertFalse(unused.getParentFile().exists());
+        assertTrue(new File(used, "plugin.xml").isFile());
+    }
+
+    private static File writeBundle(File bundle) throws IOException {
+        bundle.getParentFile().mkdirs();
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Eclipse-BundleShape", "dir");
+        try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(bundle), manifest)) {
+            jar.putNextEntry(new JarEntry("plugin.xml"));
+            jar.write("<plugin/>".getBytes(StandardCharsets.UTF_8));
+            jar.closeEntry();
+        }
+        return bundle;
+    }
+
+    private static DefaultEquinoxInstallationFactory newCountingFactory(File repository, AtomicInteger unpacked) {
+        return new DefaultEquinoxInstallationFactory(mock(Logger.class), repository) {
+            @Override
+            protected void unpack(File source, File destination) {
+                unpacked.incrementAndGet();
+                try (JarFile jar = new JarFile(source)) {
+                    for (JarEntry entry : Collections.list(jar.entries())) {
+                        File file = new File(destination, entry.getName());
+                        file.getParentFile().mkdirs();
+                        try (InputStream stream = jar.getInputStream(entry)) {
+                            Files.copy(stream, file.toPath());
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    private static String getOsgiBundles(EquinoxInstallation installation) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream stream = new FileInputStream(
+                new File(installation.getLocation(), TychoConstants.CONFIG_INI_PATH))) {
+            properties.load(stream);
+        }
+        return properties.getProperty("osgi.bundles");
+    }
+
     private static File mockFile(String absolutePath) {
         File file = mock(File.class);
         when(file.getAbsolutePath()).thenReturn(absolutePath);
@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.artifactcomparator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.CodeSource;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.LegacySupport;
+import org.codehaus.plexus.component.annotations.Component;
+import org.codehaus.plexus.component.annotations.Requirement;
+import org.codehaus.plexus.logging.Logger;
+
+/**
+ * Remembers which pairs of baseline and reactor artifacts have been found to be equal, so that
+ * repeated builds of the same sources (e.g. CI runs of the same commit) can skip the comparison.
+ * Entries are keyed by the SHA-256 of both artifacts, of the comparison configuration and of the
+ * comparator implementation, and are stored as empty marker files below the local repository.
+ * Only comparisons without differences are recorded, a difference needs its detailed delta and is
+ * therefore always computed again. Markers that were not used for
+ * <code>tycho.comparator.cache.maxAge</code> days (default 30) are deleted.
+ * <p>
+ * The cache can be disabled with <code>-Dtycho.comparator.cache=false</code>.
+ */
+@Component(role = ComparisonResultCache.class)
+public class ComparisonResultCache {
+
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("tycho.comparator.cache", "true"));
+
+    static final String CACHE_RELPATH = ".cache/tycho/comparison-results";
+
+    /**
+     * Must be incremented whenever the comparators change in a way that could turn a difference
+     * into an equality (or the other way round)
+     */
+    private static final String FORMAT = "1";
+
+    private static final long MAX_AGE = TimeUnit.DAYS
+            .toMillis(Long.getLong("tycho.comparator.cache.maxAge", 30));
+
+    /**
+     * Digests of the jars of comparator implementations by their location, size and modification
+     * time
+     */
+    private static final Map<String, String> IMPLEMENTATIONS = new ConcurrentHashMap<>();
+
+    @Requirement(optional = true)
+    private LegacySupport legacySupport;
+
+    @Requirement
+    private Logger log;
+
+    private File cacheDir;
+
+    private String implementation;
+
+    private final AtomicBoolean pruned = new AtomicBoolean();
+
+    public ComparisonResultCache() {
+    }
+
+    ComparisonResultCache(File cacheDir, String implementation, Logger log) {
+        this.cacheDir = cacheDir;
+        this.implementation = implementation;
+        this.log = log;
+    }
+
+    /**
+     * Computes the key for comparing the given artifacts.
+     *
+     * @param baseline
+     *            the baseline artifact
+     * @param reactor
+     *            the reactor artifact
+     * @param configuration
+     *            everything besides the artifacts that influences the result of the comparison
+     * @return the key or <code>null</code> if the result of this comparison can't be cached
+     */
+    public String getKey(File baseline, File reactor, String configuration) throws IOException {
+        if (getCacheDir() == null) {
+            return null;
+        }
+        try (InputStream stream = Files.newInputStream(baseline.toPath())) {
+            return getKey(stream, reactor, configuration);
+        }
+    }
+
+    /**
+     * Computes the key for comparing the given artifacts, see
+     * {@link #getKey(File, File, String)}.
+     */
+    public String getKey(InputStream baseline, File reactor, String configuration) throws IOException {
+        if (getCacheDir() == null) {
+            return null;
+        }
+        MessageDigest digest = newDigest();
+        update(digest, FORMAT);
+        update(digest, getImplementation());
+        update(digest, digest(baseline));
+        try (InputStream stream = Files.newInputStream(reactor.toPath())) {
+            update(digest, digest(stream));
+        }
+        update(digest, configuration);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * @return <code>true</code> if a previous comparison with the given key found no difference
+     */
+    public boolean isEqual(String key) {
+        File cacheDir = getCacheDir();
+        if (key == null || cacheDir == null) {
+            return false;
+        }
+        pruneOnce(cacheDir);
+        File marker = new File(cacheDir, key);
+        if (!marker.isFile()) {
+            return false;
+        }
+        // keep markers that are still in use from being pruned
+        marker.setLastModified(System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * Records that the comparison with the given key found no difference.
+     */
+    public void recordEqual(String key) {
+        File cacheDir = getCacheDir();
+        if (key == null || cacheDir == null) {
+            return;
+        }
+        try {
+            cacheDir.mkdirs();
+            new File(cacheDir, key).createNewFile();
+        } catch (IOException e) {
+            log.debug("Can't record comparison result in " + cacheDir + " (" + e + ")");
+        }
+    }
+
+    /**
+     * Deletes markers that were not used for a long time, at most once per instance
+     */
+    private void pruneOnce(File cacheDir) {
+        if (!pruned.compareAndSet(false, true)) {
+            return;
+        }
+        File[] markers = cacheDir.listFiles();
+        if (markers == null) {
+            return;
+        }
+        long oldest = System.currentTimeMillis() - MAX_AGE;
+        for (File marker : markers) {
+            if (marker.lastModified() < oldest) {
+                marker.delete();
+            }
+        }
+    }
+
+    private synchronized String getImplementation() throws IOException {
+        if (implementation == null) {
+            implementation = getImplementation(ComparisonResultCache.class);
+        }
+        return implementation;
+    }
+
+    /**
+     * Identifies the implementation of the given type, e.g. of a comparator or a library it uses,
+     * to include it in the configuration passed to {@link #getKey(File, File, String)}.
+     * 
+     * @return the digest of the jar the type was loaded from, computed once per JVM and jar, or its
+     *         version if it was not loaded from a jar
+     */
+    public static String getImplementation(Class<?> type) throws IOException {
+        File location = getLocation(type);
+        if (location == null || !location.isFile()) {
+            return type.getName() + "@" + type.getPackage().getImplementationVersion();
+        }
+        // a jar replaced in a long running JVM (e.g. a daemon) gets a new digest
+        String jar = location.getAbsolutePath() + ";" + location.length() + ";" + location.lastModified();
+        String implementation = IMPLEMENTATIONS.get(jar);
+        if (implementation == null) {
+            try (InputStream stream = Files.newInputStream(location.toPath())) {
+                implementation = digest(stream);
+            }
+            IMPLEMENTATIONS.put(jar, implementation);
+        }
+        return implementation;
+    }
+
+    private static File getLocation(Class<?> type) {
+        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return null;
+        }
+        try {
+            return new File(codeSource.getLocation().toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private File getCacheDir() {
+        if (cacheDir != null) {
+            return ENABLED ? cacheDir : null;
+        }
+        if (!ENABLED || legacySupport == null) {
+            return null;
+        }
+        MavenSession session = legacySupport.getSession();
+        if (session == null) {
+            return null;
+        }
+        ArtifactRepository localRepository = session.getLocalRepository();
+        if (localRepository == null || localRepository.getBasedir() == null) {
+            return null;
+        }
+        return new File(localRepository.getBasedir(), CACHE_RELPATH);
+    }
+
+    private static String digest(InputStream stream) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+}
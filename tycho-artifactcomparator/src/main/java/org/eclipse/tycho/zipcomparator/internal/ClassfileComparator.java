@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -23,7 +24,9 @@ import org.codehaus.plexus.component.annotations.Component;
 import org.eclipse.tycho.artifactcomparator.ArtifactComparator.ComparisonData;
 import org.eclipse.tycho.artifactcomparator.ArtifactDelta;
 import org.eclipse.tycho.artifactcomparator.ComparatorInputStream;
+import org.objectweb.asm.Attribute;
 import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.InnerClassNode;
@@ -42,19 +45,29 @@ public class ClassfileComparator implements ContentsComparator {
     public ArtifactDelta getDelta(ComparatorInputStream baseline, ComparatorInputStream reactor, ComparisonData data)
             throws IOException {
         try {
-            String baselineDisassemble = disassemble(baseline.asBytes());
-            String reactorDisassemble = disassemble(reactor.asBytes());
-            if (baselineDisassemble.equals(reactorDisassemble)) {
+            ClassNode baselineClass = read(baseline.asBytes());
+            ClassNode reactorClass = read(reactor.asBytes());
+            if (hasUnknownAttributes(baselineClass) || hasUnknownAttributes(reactorClass)) {
+                // unknown attributes are copied as is and may refer to the old constant pool
+                String baselineDisassemble = disassemble(baselineClass);
+                String reactorDisassemble = disassemble(reactorClass);
+                if (baselineDisassemble.equals(reactorDisassemble)) {
+                    return ArtifactDelta.NO_DIFFERENCE;
+                }
+                return new SimpleArtifactDelta("different", baselineDisassemble, reactorDisassemble);
+            }
+            if (Arrays.equals(toCanonicalBytes(baselineClass), toCanonicalBytes(reactorClass))) {
                 return ArtifactDelta.NO_DIFFERENCE;
             }
-            return new SimpleArtifactDelta("different", baselineDisassemble, reactorDisassemble);
+            // rendering human-readable bytecode is an eyecandy only needed to report a difference
+            return new SimpleArtifactDelta("different", disassemble(baselineClass), disassemble(reactorClass));
         } catch (RuntimeException e) {
             return baseline.compare(reactor);
         }
 
     }
 
-    private String disassemble(byte[] bytes) {
+    private ClassNode read(byte[] bytes) {
         ClassReader reader = new ClassReader(bytes);
         ClassNode clazz = new ClassNode();
         reader.accept(clazz, Opcodes.ASM9 | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
@@ -65,9 +78,40 @@ public class ClassfileComparator implements ContentsComparator {
             Collections.sort(sorted, (o1, o2) -> o1.name.compareTo(o2.name));
             clazz.innerClasses = sorted;
         }
+        return clazz;
+    }
+
+    private static boolean hasUnknownAttributes(ClassNode clazz) {
+        if (isNotEmpty(clazz.attrs)) {
+            return true;
+        }
+        if (clazz.fields != null && clazz.fields.stream().anyMatch(field -> isNotEmpty(field.attrs))) {
+            return true;
+        }
+        if (clazz.methods != null && clazz.methods.stream().anyMatch(method -> isNotEmpty(method.attrs))) {
+            return true;
+        }
+        return clazz.recordComponents != null
+                && clazz.recordComponents.stream().anyMatch(component -> isNotEmpty(component.attrs));
+    }
 
-        // rendering human-readable bytecode is an eyecandy, we can compare ClassNodes directly
+    private static boolean isNotEmpty(List<Attribute> attributes) {
+        return attributes != null && !attributes.isEmpty();
+    }
+
+    /**
+     * Writes the class again, the constant pool is rebuilt in the order the members and
+     * instructions are visited, so two classes with the same structure result in the same bytes
+     * regardless of the constant pool layout or debug information of the original class files. Must
+     * only be used for classes without unknown attributes.
+     */
+    private byte[] toCanonicalBytes(ClassNode clazz) {
+        ClassWriter writer = new ClassWriter(0);
+        clazz.accept(writer);
+        return writer.toByteArray();
+    }
 
+    private String disassemble(ClassNode clazz) {
         StringWriter buffer = new StringWriter();
         try (PrintWriter writer = new PrintWriter(buffer)) {
             clazz.accept(new TraceClassVisitor(writer));
@@ -13,9 +13,6 @@
 package org.eclipse.tycho.zipcomparator.internal;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
@@ -28,22 +25,13 @@ import org.eclipse.tycho.artifactcomparator.ComparatorInputStream;
 public class NestedZipComparator implements ContentsComparator {
     public static final String TYPE = "zip";
 
-    @Requirement(hint = ZipComparatorImpl.TYPE)
-    private ArtifactComparator zipComparator;
+    @Requirement(role = ArtifactComparator.class, hint = ZipComparatorImpl.TYPE)
+    private ZipComparatorImpl zipComparator;
 
     @Override
     public ArtifactDelta getDelta(ComparatorInputStream baseline, ComparatorInputStream reactor, ComparisonData data)
             throws IOException {
-        Path baselineZip = Files.createTempFile("baseline", ".zip");
-        Path reactorZip = Files.createTempFile("reactor", ".zip");
-        try {
-            Files.copy(baseline, baselineZip, StandardCopyOption.REPLACE_EXISTING);
-            Files.copy(reactor, reactorZip, StandardCopyOption.REPLACE_EXISTING);
-            return zipComparator.getDelta(baselineZip.toFile(), reactorZip.toFile(), data);
-        } finally {
-            Files.deleteIfExists(baselineZip);
-            Files.deleteIfExists(reactorZip);
-        }
+        return zipComparator.getDelta(baseline, reactor, data);
     }
 
     @Override
@@ -16,34 +16,52 @@ package org.eclipse.tycho.zipcomparator.internal;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Disposable;
 import org.codehaus.plexus.util.MatchPatterns;
 import org.eclipse.tycho.artifactcomparator.ArtifactComparator;
 import org.eclipse.tycho.artifactcomparator.ArtifactDelta;
 import org.eclipse.tycho.artifactcomparator.ComparatorInputStream;
+import org.eclipse.tycho.artifactcomparator.ComparisonResultCache;
 
 @Component(role = ArtifactComparator.class, hint = ZipComparatorImpl.TYPE)
-public class ZipComparatorImpl implements ArtifactComparator {
+public class ZipComparatorImpl implements ArtifactComparator, Disposable {
 
     public static final String TYPE = "zip";
 
+    private static final int THREADS = Integer.getInteger("tycho.comparator.threads",
+            Runtime.getRuntime().availableProcessors());
+
     private static final List<String> IGNORED_PATTERNS = List.of("META-INF/maven/**");
 
     @Requirement
@@ -52,27 +70,49 @@ public class ZipComparatorImpl implements ArtifactComparator {
     @Requirement
     private Map<String, ContentsComparator> comparators;
 
+    @Requirement
+    private ComparisonResultCache resultCache;
+
+    private ThreadPoolExecutor executor;
+
     @Override
     public ArtifactDelta getDelta(File baseline, File reactor, ComparisonData data) throws IOException {
-        Map<String, ArtifactDelta> result = new LinkedHashMap<>();
-        Collection<String> ignoredPatterns = new HashSet<>(IGNORED_PATTERNS);
-        ignoredPatterns.addAll(data.ignoredPattern());
-        MatchPatterns ignored = MatchPatterns.from(ignoredPatterns);
+        String cacheKey = getCacheKey(baseline, reactor, data);
+        if (resultCache.isEqual(cacheKey)) {
+            log.debug("Skipping comparison of baseline=" + baseline + " with reactor=" + reactor
+                    + ", they have been found equal before");
+            return ArtifactDelta.NO_DIFFERENCE;
+        }
+        ArtifactDelta delta = compareFiles(baseline, reactor, data);
+        if (delta == null) {
+            resultCache.recordEqual(cacheKey);
+        }
+        return delta;
+    }
 
+    private String getCacheKey(File baseline, File reactor, ComparisonData data) {
+        // everything that influences the result besides the files themselves
+        StringBuilder configuration = new StringBuilder(TYPE);
+        configuration.append(';').append(ContentsComparator.THRESHOLD);
+        new TreeSet<>(data.ignoredPattern()).forEach(pattern -> configuration.append(';').append(pattern));
+        new TreeMap<>(comparators).forEach((hint, comparator) -> configuration.append(';').append(hint)
+                .append('=').append(comparator.getClass().getName()));
+        try {
+            return resultCache.getKey(baseline, reactor, configuration.toString());
+        } catch (IOException e) {
+            log.debug("Can't compute comparison cache key for baseline=" + baseline + " and reactor=" + reactor
+                    + " (" + e + ")");
+            return null;
+        }
+    }
+
+    private ArtifactDelta compareFiles(File baseline, File reactor, ComparisonData data) throws IOException {
+        MatchPatterns ignored = getIgnoredPatterns(data);
         try (ZipFile baselineJar = new ZipFile(baseline); ZipFile reactorJar = new ZipFile(reactor)) {
             Map<String, ZipEntry> baselineEntries = toEntryMap(baselineJar, ignored);
             Map<String, ZipEntry> reachtorEntries = toEntryMap(reactorJar, ignored);
-
-            Set<String> names = new TreeSet<>();
-            names.addAll(baselineEntries.keySet());
-            names.addAll(reachtorEntries.keySet());
-
-            for (String name : names) {
-                ArtifactDelta delta = getDelta(name, baselineEntries, reachtorEntries, baselineJar, reactorJar, data);
-                if (delta != null) {
-                    result.put(name, delta);
-                }
-            }
+            return compareEntries(baselineEntries.keySet(), reachtorEntries.keySet(),
+                    name -> getDelta(name, baselineEntries, reachtorEntries, baselineJar, reactorJar, data));
         } catch (IOException e) {
             log.debug("Comparing baseline=" + baseline + " with reactor=" + reactor + " failed: " + e
                     + " using direct byte compare!", e);
@@ -82,41 +122,189 @@ public class ZipComparatorImpl implements ArtifactComparator {
             }
             return ArtifactDelta.DEFAULT;
         }
+    }
+
+    /**
+     * Compares two archives that are already held in memory, e.g. archives nested in other archives,
+     * without writing them to disk.
+     */
+    public ArtifactDelta getDelta(ComparatorInputStream baseline, ComparatorInputStream reactor, ComparisonData data)
+            throws IOException {
+        MatchPatterns ignored = getIgnoredPatterns(data);
+        Map<String, byte[]> baselineEntries = new HashMap<>();
+        Map<String, byte[]> reactorEntries = new HashMap<>();
+        try {
+            if (!readEntries(baseline.asNewStream(), ignored, baselineEntries)
+                    || !readEntries(reactor.asNewStream(), ignored, reactorEntries)) {
+                // a stream that is not a zip at all simply has no entries, e.g. an (empty) dummy jar
+                return baseline.compare(reactor);
+            }
+        } catch (IOException e) {
+            log.debug("Reading nested archive failed: " + e + " using direct byte compare!", e);
+            return baseline.compare(reactor);
+        }
+        // archives that only differ in ignored entries are equal, even if nothing else is left
+        return compareEntries(baselineEntries.keySet(), reactorEntries.keySet(), name -> {
+            byte[] baselineBytes = baselineEntries.get(name);
+            byte[] reactorBytes = reactorEntries.get(name);
+            if (Arrays.equals(baselineBytes, reactorBytes)) {
+                return ArtifactDelta.NO_DIFFERENCE;
+            }
+            return getContentDelta(name, baselineBytes, reactorBytes, data, "nested archive");
+        });
+    }
+
+    private ArtifactDelta compareEntries(Set<String> baselineNames, Set<String> reactorNames,
+            EntryComparator comparator) throws IOException {
+        Set<String> names = new TreeSet<>();
+        names.addAll(baselineNames);
+        names.addAll(reactorNames);
+
+        // entries are compared in parallel but the result keeps the (sorted) order of the names
+        String[] sortedNames = names.toArray(String[]::new);
+        ArtifactDelta[] deltas = new ArtifactDelta[sortedNames.length];
+        compareInParallel(sortedNames.length, i -> {
+            String name = sortedNames[i];
+            if (!baselineNames.contains(name)) {
+                deltas[i] = ArtifactDelta.MISSING_FROM_BASELINE;
+            } else if (!reactorNames.contains(name)) {
+                deltas[i] = ArtifactDelta.BASELINE_ONLY;
+            } else {
+                deltas[i] = comparator.getDelta(name);
+            }
+        });
+        Map<String, ArtifactDelta> result = new LinkedHashMap<>();
+        for (int i = 0; i < sortedNames.length; i++) {
+            if (deltas[i] != null) {
+                result.put(sortedNames[i], deltas[i]);
+            }
+        }
         return !result.isEmpty() ? new CompoundArtifactDelta("different", result) : null;
     }
 
+    /**
+     * Runs the given comparison for all indices. The calling thread takes part in the work and
+     * helpers of the pool only pick up indices nobody started yet, so nested archives compared on a
+     * pool thread never wait for queued tasks and a busy or disposed pool just means less
+     * parallelism.
+     */
+    private void compareInParallel(int count, IndexComparison comparison) throws IOException {
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(count);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            int i;
+            while ((i = next.getAndIncrement()) < count) {
+                try {
+                    if (failure.get() == null) {
+                        comparison.compare(i);
+                    }
+                } catch (IOException | RuntimeException | Error e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+        int helpers = Math.min(THREADS, count) - 1;
+        if (helpers > 0) {
+            ExecutorService executor = getExecutor();
+            try {
+                for (int i = 0; i < helpers; i++) {
+                    executor.execute(worker);
+                }
+            } catch (RejectedExecutionException e) {
+                // disposed, the calling thread does the remaining work
+            }
+        }
+        worker.run();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while comparing entries");
+        }
+        Throwable cause = failure.get();
+        if (cause instanceof IOException ioException) {
+            throw ioException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = new ThreadPoolExecutor(THREADS, THREADS, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    r -> {
+                        Thread thread = new Thread(r, "Tycho-Zip-Comparator-" + threadCount.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
     private ArtifactDelta getDelta(String name, Map<String, ZipEntry> baselineMap, Map<String, ZipEntry> reactorMap,
             ZipFile baselineJar, ZipFile reactorJar, ComparisonData data) throws IOException {
         ZipEntry baselineEntry = baselineMap.get(name);
-        if (baselineEntry == null) {
-            return ArtifactDelta.MISSING_FROM_BASELINE;
-        }
         ZipEntry reactorEntry = reactorMap.get(name);
-        if (reactorEntry == null) {
-            return ArtifactDelta.BASELINE_ONLY;
+        if (baselineEntry.getSize() >= 0 && baselineEntry.getSize() == reactorEntry.getSize()
+                && baselineEntry.getCrc() != -1 && baselineEntry.getCrc() == reactorEntry.getCrc()) {
+            // the central directory already tells us both entries have the same content
+            return ArtifactDelta.NO_DIFFERENCE;
         }
 
         try (InputStream baseline = baselineJar.getInputStream(baselineEntry);
                 InputStream reactor = reactorJar.getInputStream(reactorEntry);) {
+            if (!isBelowThreshold(baselineEntry) || !isBelowThreshold(reactorEntry)) {
+                // too large for a content comparator, compare with bounded buffers instead of reading it at once
+                if (baselineEntry.getSize() != reactorEntry.getSize() && baselineEntry.getSize() >= 0
+                        && reactorEntry.getSize() >= 0) {
+                    return ArtifactDelta.DEFAULT;
+                }
+                return IOUtils.contentEquals(baseline, reactor) ? ArtifactDelta.NO_DIFFERENCE : ArtifactDelta.DEFAULT;
+            }
             byte[] baselineBytes = baseline.readAllBytes();
             byte[] reactorBytes = reactor.readAllBytes();
             if (Arrays.equals(baselineBytes, reactorBytes)) {
                 return ArtifactDelta.NO_DIFFERENCE;
             }
-            ContentsComparator comparator = getContentsComparator(name);
-            if (comparator != null && baselineBytes.length < ContentsComparator.THRESHOLD
-                    && reactorBytes.length < ContentsComparator.THRESHOLD) {
-                try {
-                    return comparator.getDelta(new ComparatorInputStream(baselineBytes),
-                            new ComparatorInputStream(reactorBytes), data);
-                } catch (IOException e) {
-                    log.debug("comparing entry " + name + " (baseline = " + baselineJar.getName() + ", reactor="
-                            + reactorJar.getName() + ") using " + comparator.getClass().getName() + " failed with: " + e
-                            + ", using direct byte compare", e);
-                }
+            return getContentDelta(name, baselineBytes, reactorBytes, data,
+                    "baseline = " + baselineJar.getName() + ", reactor=" + reactorJar.getName());
+        }
+    }
+
+    private ArtifactDelta getContentDelta(String name, byte[] baselineBytes, byte[] reactorBytes,
+            ComparisonData data, String origin) {
+        ContentsComparator comparator = getContentsComparator(name);
+        if (comparator != null && baselineBytes.length < ContentsComparator.THRESHOLD
+                && reactorBytes.length < ContentsComparator.THRESHOLD) {
+            try {
+                return comparator.getDelta(new ComparatorInputStream(baselineBytes),
+                        new ComparatorInputStream(reactorBytes), data);
+            } catch (IOException e) {
+                log.debug("comparing entry " + name + " (" + origin + ") using " + comparator.getClass().getName()
+                        + " failed with: " + e + ", using direct byte compare", e);
             }
-            return ArtifactDelta.DEFAULT;
         }
+        return ArtifactDelta.DEFAULT;
+    }
+
+    private static boolean isBelowThreshold(ZipEntry entry) {
+        return entry.getSize() >= 0 && entry.getSize() < ContentsComparator.THRESHOLD;
     }
 
     private ContentsComparator getContentsComparator(String name) {
@@ -133,9 +321,43 @@ public class ZipComparatorImpl implements ArtifactComparator {
                 .findFirst().orElseGet(() -> comparators.get(DefaultContentsComparator.TYPE));
     }
 
+    private static MatchPatterns getIgnoredPatterns(ComparisonData data) {
+        Collection<String> ignoredPatterns = new HashSet<>(IGNORED_PATTERNS);
+        ignoredPatterns.addAll(data.ignoredPattern());
+        return MatchPatterns.from(ignoredPatterns);
+    }
+
+    /**
+     * Reads the entries of a zip stream that are not ignored into the given map.
+     * 
+     * @return <code>false</code> if the stream has no entries at all, i.e. is no zip
+     */
+    private static boolean readEntries(InputStream stream, MatchPatterns ignored, Map<String, byte[]> entries)
+            throws IOException {
+        boolean archive = false;
+        try (ZipInputStream zip = new ZipInputStream(stream)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                archive = true;
+                if (!entry.isDirectory() && !ignored.matches(entry.getName(), false)) {
+                    entries.putIfAbsent(entry.getName(), zip.readAllBytes());
+                }
+            }
+        }
+        return archive;
+    }
+
     private static Map<String, ZipEntry> toEntryMap(ZipFile zip, MatchPatterns ignored) {
         return zip.stream() //
                 .filter(e -> !e.isDirectory() && !ignored.matches(e.getName(), false))
                 .collect(Collectors.toMap(e -> e.getName(), Function.identity()));
     }
+
+    private interface EntryComparator {
+        ArtifactDelta getDelta(String name) throws IOException;
+    }
+
+    private interface IndexComparison {
+        void compare(int index) throws IOException;
+    }
 }
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.artifactcomparator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ComparisonResultCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File cacheDir;
+    private File baseline;
+    private File reactor;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDir = tempFolder.newFolder("cache");
+        baseline = createFile("baseline.jar", "content");
+        reactor = createFile("reactor.jar", "content");
+    }
+
+    @Test
+    public void testMissAndHit() throws IOException {
+        ComparisonResultCache cache = newCache("1.0.0");
+        String key = cache.getKey(baseline, reactor, "config");
+        assertFalse(cache.isEqual(key));
+
+        cache.recordEqual(key);
+        assertTrue(cache.isEqual(key));
+        assertTrue(newCache("1.0.0").isEqual(key));
+    }
+
+    @Test
+    public void testKeyIsInvalidatedByChanges() throws IOException {
+        ComparisonResultCache cache = newCache("1.0.0");
+        String key = cache.getKey(baseline, reactor, "config");
+        cache.recordEqual(key);
+
+        String changedConfiguration = cache.getKey(baseline, reactor, "other config");
+        String changedImplementation = newCache("1.0.1").getKey(baseline, reactor, "config");
+        Files.writeString(reactor.toPath(), "changed", StandardCharsets.UTF_8);
+        String changedArtifact = cache.getKey(baseline, reactor, "config");
+
+        // only the content of the artifacts matters, not their location
+        assertEquals(key, newCache("1.0.0").getKey(baseline, baseline, "config"));
+        for (String changedKey : new String[] { changedConfiguration, changedImplementation, changedArtifact }) {
+            assertNotEquals(key, changedKey);
+            assertFalse(cache.isEqual(changedKey));
+        }
+    }
+
+    @Test
+    public void testImplementationIsIdentifiedByItsJar() throws IOException {
+        String implementation = ComparisonResultCache.getImplementation(Test.class);
+
+        assertTrue(implementation, implementation.matches("[0-9a-f]{64}"));
+        assertEquals(implementation, ComparisonResultCache.getImplementation(Test.class));
+        assertNotEquals(implementation, ComparisonResultCache.getImplementation(ConsoleLogger.class));
+    }
+
+    @Test
+    public void testImplementationOutsideOfJar() throws IOException {
+        String implementation = ComparisonResultCache.getImplementation(ComparisonResultCacheTest.class);
+
+        assertTrue(implementation, implementation.startsWith(ComparisonResultCacheTest.class.getName() + "@"));
+    }
+
+    @Test
+    public void testUnusedMarkersArePruned() throws IOException {
+        ComparisonResultCache cache = newCache("1.0.0");
+        String unusedKey = cache.getKey(baseline, reactor, "unused");
+        String usedKey = cache.getKey(baseline, reactor, "used");
+        cache.recordEqual(unusedKey);
+        cache.recordEqual(usedKey);
+        new File(cacheDir, unusedKey).setLastModified(0);
+
+        ComparisonResultCache nextBuild = newCache("1.0.0");
+        assertTrue(nextBuild.isEqual(usedKey));
+        assertFalse(nextBuild.isEqual(unusedKey));
+        assertFalse(new File(cacheDir, unusedKey).exists());
+    }
+
+    private ComparisonResultCache newCache(String implementation) {
+        return new ComparisonResultCache(cacheDir, implementation, new ConsoleLogger());
+    }
+
+    private File createFile(String name, String content) throws IOException {
+        File file = tempFolder.newFile(name);
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
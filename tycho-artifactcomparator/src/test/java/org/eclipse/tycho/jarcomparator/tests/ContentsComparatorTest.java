@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.tycho.jarcomparator.tests;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.InputStream;
 
@@ -21,6 +22,12 @@ import org.eclipse.tycho.zipcomparator.internal.ClassfileComparator;
 import org.eclipse.tycho.zipcomparator.internal.ContentsComparator;
 import org.eclipse.tycho.zipcomparator.internal.ManifestComparator;
 import org.eclipse.tycho.zipcomparator.internal.PropertiesComparator;
+import org.objectweb.asm.Attribute;
+import org.objectweb.asm.ByteVector;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 
 public class ContentsComparatorTest extends PlexusTestCase {
     public void testManifest() throws Exception {
@@ -41,6 +48,21 @@ public class ContentsComparatorTest extends PlexusTestCase {
                 "target/test-classes/org/eclipse/tycho/jarcomparator/testdata/JavaClass$1.class"));
     }
 
+    public void testClassfileWithDifferentConstantPoolAndDebugInfo() throws Exception {
+        byte[] baseline = generateClass("second", false, false, false);
+        assertTrue(isContentEqual(ClassfileComparator.TYPE, baseline, generateClass("second", true, false, false)));
+        assertTrue(isContentEqual(ClassfileComparator.TYPE, baseline, generateClass("second", false, true, false)));
+        assertTrue(isContentEqual(ClassfileComparator.TYPE, baseline, generateClass("second", true, true, false)));
+        assertFalse(isContentEqual(ClassfileComparator.TYPE, baseline, generateClass("changed", false, false, false)));
+    }
+
+    public void testClassfileWithUnknownAttribute() throws Exception {
+        // the attribute refers to the constant pool, so its raw bytes differ with a different pool order
+        byte[] baseline = generateClass("second", false, false, true);
+        assertTrue(isContentEqual(ClassfileComparator.TYPE, baseline, generateClass("second", true, true, true)));
+        assertFalse(isContentEqual(ClassfileComparator.TYPE, baseline, generateClass("changed", false, true, true)));
+    }
+
     public void testProperties() throws Exception {
         assertTrue(isContentEqual(PropertiesComparator.TYPE, "src/test/resources/properties/props.properties",
                 "src/test/resources/properties/props.properties"));
@@ -57,6 +79,50 @@ public class ContentsComparatorTest extends PlexusTestCase {
                 "src/test/resources/classfiles/MalformedClass2.clazz"));
     }
 
+    private boolean isContentEqual(String type, byte[] baseline, byte[] reactor) throws Exception {
+        ContentsComparator comparator = lookup(ContentsComparator.class, type);
+        return comparator.getDelta(new ComparatorInputStream(new ByteArrayInputStream(baseline)),
+                new ComparatorInputStream(new ByteArrayInputStream(reactor)), null) == null;
+    }
+
+    private static byte[] generateClass(String constant, boolean debug, boolean reorderConstants,
+            boolean unknownAttribute) {
+        ClassWriter writer = new ClassWriter(0);
+        if (reorderConstants) {
+            writer.newConst(constant);
+            writer.newConst("first");
+        }
+        writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC, "org/example/Generated", null, "java/lang/Object", null);
+        if (debug) {
+            writer.visitSource("Generated.java", null);
+        }
+        if (unknownAttribute) {
+            writer.visitAttribute(new Attribute("org.example.Custom") {
+                @Override
+                protected ByteVector write(ClassWriter classWriter, byte[] code, int codeLength, int maxStack,
+                        int maxLocals) {
+                    return new ByteVector().putShort(classWriter.newUTF8("first"));
+                }
+            });
+        }
+        MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "value",
+                "()Ljava/lang/String;", null, null);
+        method.visitCode();
+        Label start = new Label();
+        method.visitLabel(start);
+        if (debug) {
+            method.visitLineNumber(42, start);
+        }
+        method.visitLdcInsn("first");
+        method.visitInsn(Opcodes.POP);
+        method.visitLdcInsn(constant);
+        method.visitInsn(Opcodes.ARETURN);
+        method.visitMaxs(1, 0);
+        method.visitEnd();
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
     private boolean isContentEqual(String type, String baseline, String reactor) throws Exception {
         ContentsComparator comparator = lookup(ContentsComparator.class, type);
         try (InputStream is = new FileInputStream(baseline)) {
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.jarcomparator.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.codehaus.plexus.PlexusTestCase;
+import org.eclipse.tycho.artifactcomparator.ArtifactComparator;
+import org.eclipse.tycho.artifactcomparator.ArtifactComparator.ComparisonData;
+import org.eclipse.tycho.artifactcomparator.ArtifactDelta;
+import org.eclipse.tycho.zipcomparator.internal.CompoundArtifactDelta;
+import org.eclipse.tycho.zipcomparator.internal.ZipComparatorImpl;
+
+public class ZipComparatorTest extends PlexusTestCase {
+
+    private File tempDir;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        tempDir = Files.createTempDirectory("zipcomparator").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        for (File file : tempDir.listFiles()) {
+            file.delete();
+        }
+        tempDir.delete();
+        super.tearDown();
+    }
+
+    public void testEqualZips() throws Exception {
+        File baseline = createZip("baseline.zip", Map.of("a.txt", "a", "b/c.txt", "c"));
+        File reactor = createZip("reactor.zip", Map.of("b/c.txt", "c", "a.txt", "a"));
+        assertNull(getDelta(baseline, reactor));
+    }
+
+    public void testDeltaIsOrderedByName() throws Exception {
+        Map<String, String> baselineEntries = new HashMap<>();
+        Map<String, String> reactorEntries = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            baselineEntries.put("entry" + i + ".bin", "baseline" + i);
+            reactorEntries.put("entry" + i + ".bin", i % 3 == 0 ? "reactor" + i : "baseline" + i);
+        }
+        baselineEntries.put("baseline-only.bin", "x");
+        reactorEntries.put("reactor-only.bin", "x");
+        File baseline = createZip("baseline.zip", baselineEntries);
+        File reactor = createZip("reactor.zip", reactorEntries);
+
+        ArtifactDelta delta = getDelta(baseline, reactor);
+        assertTrue(delta instanceof CompoundArtifactDelta);
+        Map<String, ArtifactDelta> members = ((CompoundArtifactDelta) delta).getMembers();
+        assertEquals(36, members.size());
+        assertEquals(ArtifactDelta.BASELINE_ONLY, members.get("baseline-only.bin"));
+        assertEquals(ArtifactDelta.MISSING_FROM_BASELINE, members.get("reactor-only.bin"));
+        assertEquals(members.keySet().stream().sorted().toList(), List.copyOf(members.keySet()));
+    }
+
+    public void testNestedJars() throws Exception {
+        // same content, but different timestamps so the nested jars are not equal byte by byte
+        byte[] baselineNested = zipBytes(Map.of("a.txt", "a", "b.txt", "b"), 1_600_000_000_000L);
+        byte[] reactorNested = zipBytes(Map.of("a.txt", "a", "b.txt", "b"), 1_700_000_000_000L);
+        byte[] changedNested = zipBytes(Map.of("a.txt", "a", "b.txt", "changed"), 1_600_000_000_000L);
+        File baseline = createZip("baseline.zip", Map.of("lib/nested.jar", baselineNested));
+        File reactor = createZip("reactor.zip", Map.of("lib/nested.jar", reactorNested));
+        File changed = createZip("changed.zip", Map.of("lib/nested.jar", changedNested));
+
+        assertNull(getDelta(baseline, reactor));
+        ArtifactDelta delta = getDelta(baseline, changed);
+        assertTrue(delta instanceof CompoundArtifactDelta);
+        ArtifactDelta nestedDelta = ((CompoundArtifactDelta) delta).getMembers().get("lib/nested.jar");
+        assertTrue(nestedDelta instanceof CompoundArtifactDelta);
+        assertEquals(List.of("b.txt"), List.copyOf(((CompoundArtifactDelta) nestedDelta).getMembers().keySet()));
+    }
+
+    public void testNestedJarsWithOnlyIgnoredEntries() throws Exception {
+        byte[] baselineNested = zipBytes(Map.of("META-INF/maven/org.example/nested/pom.properties", "version=1"),
+                1_600_000_000_000L);
+        byte[] reactorNested = zipBytes(Map.of("META-INF/maven/org.example/nested/pom.properties", "version=2"),
+                1_700_000_000_000L);
+        File baseline = createZip("baseline.zip", Map.of("lib/nested.jar", baselineNested));
+        File reactor = createZip("reactor.zip", Map.of("lib/nested.jar", reactorNested));
+
+        assertNull(getDelta(baseline, reactor));
+    }
+
+    public void testManyNestedJars() throws Exception {
+        // nested archives are compared on the pool threads of the outer comparison
+        Map<String, byte[]> baselineEntries = new HashMap<>();
+        Map<String, byte[]> reactorEntries = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            Map<String, String> nestedEntries = new HashMap<>();
+            for (int j = 0; j < 20; j++) {
+                nestedEntries.put("entry" + j + ".txt", "content" + j);
+            }
+            baselineEntries.put("lib/nested" + i + ".jar", zipBytes(nestedEntries, 1_600_000_000_000L));
+            if (i % 10 == 0) {
+                nestedEntries.put("entry0.txt", "changed");
+            }
+            reactorEntries.put("lib/nested" + i + ".jar", zipBytes(nestedEntries, 1_700_000_000_000L));
+        }
+        File baseline = createZip("baseline.zip", baselineEntries);
+        File reactor = createZip("reactor.zip", reactorEntries);
+
+        ArtifactDelta delta = getDelta(baseline, reactor);
+        assertTrue(delta instanceof CompoundArtifactDelta);
+        Map<String, ArtifactDelta> members = ((CompoundArtifactDelta) delta).getMembers();
+        assertEquals(List.of("lib/nested0.jar", "lib/nested10.jar", "lib/nested20.jar", "lib/nested30.jar",
+                "lib/nested40.jar"), List.copyOf(members.keySet()));
+    }
+
+    public void testDisposedComparatorStillCompares() throws Exception {
+        File baseline = createZip("baseline.zip", Map.of("a.txt", "a", "b.txt", "b", "c.txt", "c"));
+        File reactor = createZip("reactor.zip", Map.of("a.txt", "a", "b.txt", "changed", "c.txt", "c"));
+        ZipComparatorImpl comparator = (ZipComparatorImpl) lookup(ArtifactComparator.class, ZipComparatorImpl.TYPE);
+        comparator.dispose();
+
+        ArtifactDelta delta = comparator.getDelta(baseline, reactor, new ComparisonData(List.of(), false));
+        assertTrue(delta instanceof CompoundArtifactDelta);
+        assertEquals(List.of("b.txt"), List.copyOf(((CompoundArtifactDelta) delta).getMembers().keySet()));
+    }
+
+    private ArtifactDelta getDelta(File baseline, File reactor) throws Exception {
+        ArtifactComparator comparator = lookup(ArtifactComparator.class, ZipComparatorImpl.TYPE);
+        return comparator.getDelta(baseline, reactor, new ComparisonData(List.of(), false));
+    }
+
+    private File createZip(String name, Map<String, ?> entries) throws IOException {
+        File file = new File(tempDir, name);
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file))) {
+            writeEntries(zip, entries, System.currentTimeMillis());
+        }
+        return file;
+    }
+
+    private static byte[] zipBytes(Map<String, ?> entries, long time) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            writeEntries(zip, entries, time);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeEntries(ZipOutputStream zip, Map<String, ?> entries, long time) throws IOException {
+        for (Map.Entry<String, ?> entry : entries.entrySet()) {
+            ZipEntry zipEntry = new ZipEntry(entry.getKey());
+            zipEntry.setTime(time);
+            zip.putNextEntry(zipEntry);
+            Object content = entry.getValue();
+            zip.write(content instanceof byte[] bytes ? bytes : content.toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.jar.Manifest;
 import java.util.stream.Collectors;
@@ -48,6 +49,7 @@ import org.eclipse.tycho.ArtifactType;
 import org.eclipse.tycho.artifactcomparator.ArtifactComparator.ComparisonData;
 import org.eclipse.tycho.artifactcomparator.ArtifactDelta;
 import org.eclipse.tycho.artifactcomparator.ComparatorInputStream;
+import org.eclipse.tycho.artifactcomparator.ComparisonResultCache;
 import org.eclipse.tycho.p2maven.repository.P2RepositoryManager;
 import org.eclipse.tycho.zipcomparator.internal.ContentsComparator;
 import org.eclipse.tycho.zipcomparator.internal.DefaultContentsComparator;
@@ -92,6 +94,9 @@ public class BundleArtifactBaselineComparator implements ArtifactBaselineCompara
 	@Requirement(role = ContentsComparator.class)
 	Map<String, ContentsComparator> contentComparators;
 
+	@Requirement
+	ComparisonResultCache resultCache;
+
 	@Override
 	public boolean compare(MavenProject project, BaselineContext context) throws Exception {
 		byte[] baselineData = getBaseline(context);
@@ -105,6 +110,12 @@ public class BundleArtifactBaselineComparator implements ArtifactBaselineCompara
 		if (!artifact.exists()) {
 			throw new MojoExecutionException("Artifact (" + artifact + ") does not exists.");
 		}
+		String cacheKey = getCacheKey(baselineData, artifact, context);
+		if (resultCache.isEqual(cacheKey)) {
+			context.getLogger().debug("Baseline comparison skipped, " + artifact.getName()
+					+ " has been found equal to the baseline before");
+			return true;
+		}
 		try (Processor processor = new Processor();
 				Jar projectJar = new Jar(artifact);
 				Jar baselineJar = new Jar("baseline", new ByteArrayInputStream(baselineData))) {
@@ -121,6 +132,9 @@ public class BundleArtifactBaselineComparator implements ArtifactBaselineCompara
 			List<Diff> manifestdiffs = new ArrayList<>();
 			collectManifest(baseliner.getDiff(), manifestdiffs);
 			processManifestDiff(manifestdiffs);
+			if (infos.isEmpty() && resourcediffs.isEmpty() && manifestdiffs.isEmpty()) {
+				resultCache.recordEqual(cacheKey);
+			}
 			if (!infos.isEmpty() || !resourcediffs.isEmpty() || !manifestdiffs.isEmpty()) {
 				AsciiTable at = new AsciiTable();
 				at.addRule();
@@ -209,6 +223,23 @@ public class BundleArtifactBaselineComparator implements ArtifactBaselineCompara
 		return true;
 	}
 
+	private String getCacheKey(byte[] baselineData, File artifact, BaselineContext context) throws IOException {
+		// everything that influences the result besides the artifacts themselves
+		StringBuilder configuration = new StringBuilder(ArtifactType.TYPE_ECLIPSE_PLUGIN);
+		configuration.append(";ignores=").append(context.getIgnores());
+		configuration.append(";packages=").append(context.getPackages());
+		configuration.append(";extensions=").append(context.isExtensionsEnabled());
+		configuration.append(";microIncrement=").append(context.getMicroIncrement());
+		configuration.append(";threshold=").append(ContentsComparator.THRESHOLD);
+		// the baseline comparison itself is implemented here and by bnd, not only by the artifact comparator
+		configuration.append(";baseline=")
+				.append(ComparisonResultCache.getImplementation(BundleArtifactBaselineComparator.class));
+		configuration.append(";bnd=").append(ComparisonResultCache.getImplementation(Baseline.class));
+		new TreeMap<>(contentComparators).forEach((hint, comparator) -> configuration.append(';').append(hint)
+				.append('=').append(comparator.getClass().getName()));
+		return resultCache.getKey(new ByteArrayInputStream(baselineData), artifact, configuration.toString());
+	}
+
 	private void processManifestDiff(List<Diff> manifestdiffs) {
 		try {
 			if (manifestdiffs.size() > 1) {
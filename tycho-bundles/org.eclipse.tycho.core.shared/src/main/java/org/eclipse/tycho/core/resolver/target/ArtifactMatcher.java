@@ -20,6 +20,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.equinox.p2.metadata.IInstallableUnit;
 import org.eclipse.equinox.p2.metadata.IProvidedCapability;
 import org.eclipse.equinox.p2.metadata.Version;
@@ -29,6 +30,7 @@ import org.eclipse.equinox.p2.publisher.eclipse.FeatureEntry;
 import org.eclipse.equinox.p2.publisher.eclipse.FeaturesAction;
 import org.eclipse.equinox.p2.query.IQuery;
 import org.eclipse.equinox.p2.query.IQueryResult;
+import org.eclipse.equinox.p2.query.IQueryable;
 import org.eclipse.equinox.p2.query.QueryUtil;
 import org.eclipse.equinox.spi.p2.publisher.PublisherHelper;
 import org.eclipse.tycho.IllegalArtifactReferenceException;
@@ -37,14 +39,25 @@ public class ArtifactMatcher {
 
     public static IInstallableUnit resolveReference(String type, String id, VersionRange versionRange,
             LinkedHashSet<IInstallableUnit> candidateUnits) throws IllegalArtifactReferenceException {
+        IQuery<IInstallableUnit> query = createQuery(type, id, versionRange);
+        return selectUnit(type, id, query.perform(candidateUnits.iterator()));
+    }
+
+    public static IInstallableUnit resolveReference(String type, String id, VersionRange versionRange,
+            IQueryable<IInstallableUnit> candidateUnits) throws IllegalArtifactReferenceException {
+        IQuery<IInstallableUnit> query = createQuery(type, id, versionRange);
+        return selectUnit(type, id, candidateUnits.query(query, new NullProgressMonitor()));
+    }
+
+    private static IQuery<IInstallableUnit> createQuery(String type, String id, VersionRange versionRange)
+            throws IllegalArtifactReferenceException {
         if (id == null) {
             throw new IllegalArtifactReferenceException("ID is required");
         }
+        return QueryUtil.createLatestQuery(ArtifactTypeHelper.createQueryFor(type, id, versionRange));
+    }
 
-        IQuery<IInstallableUnit> query = QueryUtil
-                .createLatestQuery(ArtifactTypeHelper.createQueryFor(type, id, versionRange));
-
-        IQueryResult<IInstallableUnit> matchingIUs = query.perform(candidateUnits.iterator());
+    private static IInstallableUnit selectUnit(String type, String id, IQueryResult<IInstallableUnit> matchingIUs) {
         if (matchingIUs.isEmpty()) {
             return null;
         }
@@ -13,6 +13,9 @@
 package org.eclipse.tycho.p2.artifact.provider;
 
 import java.io.File;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.eclipse.equinox.p2.metadata.IArtifactKey;
 
@@ -39,4 +42,16 @@ public interface IArtifactFileProvider extends IArtifactProvider {
 
     public boolean isFileAlreadyAvailable(IArtifactKey artifactKey);
 
+    /**
+     * Checks {@link #isFileAlreadyAvailable(IArtifactKey)} for several artifacts at once, which
+     * allows implementations to verify the local files in parallel.
+     * 
+     * @param artifactKeys
+     *            the artifacts to check
+     * @return the given artifacts for which a file is already available
+     */
+    public default Set<IArtifactKey> getFilesAlreadyAvailable(Collection<IArtifactKey> artifactKeys) {
+        return artifactKeys.stream().filter(this::isFileAlreadyAvailable).collect(Collectors.toSet());
+    }
+
 }
@@ -19,12 +19,12 @@ import static org.eclipse.tycho.repository.util.BundleConstants.BUNDLE_ID;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
+import java.nio.file.Files;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -440,8 +440,10 @@ public abstract class ArtifactRepositoryBaseImpl<ArtifactDescriptorT extends IAr
             artifactFile.getParentFile().mkdirs();
 
             try {
+                // never write into an existing file, it might be a link shared with other files (see ContentAddressableStore)
+                Files.deleteIfExists(artifactFile.toPath());
                 currentOutputStream = new FileOutputStream(artifactFile);
-            } catch (FileNotFoundException e) {
+            } catch (IOException e) {
                 throw new ArtifactSinkException("I/O error while creating artifact file " + artifactFile, e);
             }
             return currentOutputStream;
@@ -17,6 +17,8 @@ import static org.eclipse.tycho.repository.util.BundleConstants.BUNDLE_ID;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -173,4 +175,19 @@ public class CompositeArtifactProvider extends CompositeArtifactProviderBaseImpl
         return components.stream().anyMatch(component -> component.isFileAlreadyAvailable(artifactKey));
     }
 
+    @Override
+    public Set<IArtifactKey> getFilesAlreadyAvailable(Collection<IArtifactKey> artifactKeys) {
+        Set<IArtifactKey> result = new HashSet<>();
+        List<IArtifactKey> remaining = new ArrayList<>(artifactKeys);
+        for (IRawArtifactFileProvider component : components) {
+            if (remaining.isEmpty()) {
+                break;
+            }
+            Set<IArtifactKey> available = component.getFilesAlreadyAvailable(remaining);
+            result.addAll(available);
+            remaining.removeAll(available);
+        }
+        return result;
+    }
+
 }
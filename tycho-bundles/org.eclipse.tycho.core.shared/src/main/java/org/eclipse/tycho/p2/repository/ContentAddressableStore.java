@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2.repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.tycho.core.shared.MavenLogger;
+
+/**
+ * A store of file contents keyed by their SHA-256 digest. Files in the local repository (or its
+ * caches) that have the same content are replaced by hard links to a single copy in the store, so
+ * identical bundles stored under different layouts only occupy disk space (and page cache) once.
+ * Files outside of the local repository are never linked, as they may be rewritten by the build.
+ * <p>
+ * As all links share the same data, files must never be modified in place once they have been
+ * deduplicated, they have to be deleted and written again instead. The store is therefore only used
+ * if enabled with <code>-Dtycho.localrepo.dedup=true</code>.
+ */
+public class ContentAddressableStore {
+
+    public static final String STORE_RELPATH = ".cache/tycho/cas";
+
+    public static final boolean ENABLED = Boolean.getBoolean("tycho.localrepo.dedup");
+
+    private static final String GC_MARKER = ".gc";
+
+    private static final long GC_INTERVAL = TimeUnit.DAYS.toMillis(1);
+
+    private final Path repositoryRoot;
+    private final Path storeRoot;
+    private final FileChecksumIndex checksumIndex;
+    private final MavenLogger logger;
+    private volatile boolean linksSupported = true;
+
+    public ContentAddressableStore(File localRepositoryRoot, FileChecksumIndex checksumIndex, MavenLogger logger) {
+        this.repositoryRoot = localRepositoryRoot.toPath().toAbsolutePath().normalize();
+        this.storeRoot = repositoryRoot.resolve(STORE_RELPATH);
+        this.checksumIndex = checksumIndex;
+        this.logger = logger;
+    }
+
+    /**
+     * Shares the content of the given file with the store: if the store already contains a file
+     * with the same content, the given file is replaced by a hard link to it, otherwise the file is
+     * added to the store. If a link can't be created for this file, it simply keeps its own copy.
+     *
+     * @param file
+     *            the file to deduplicate
+     * @return <code>true</code> if the file now shares its content with the store
+     */
+    public boolean deduplicate(File file) {
+        if (!linksSupported || !file.isFile()) {
+            return false;
+        }
+        Path path = file.toPath().toAbsolutePath().normalize();
+        if (!path.startsWith(repositoryRoot)) {
+            return false;
+        }
+        Path link = path.resolveSibling(path.getFileName() + ".link");
+        try {
+            String digest = checksumIndex.getDigest(file, FileChecksumIndex.SHA_256);
+            Path blob = storeRoot.resolve(digest.substring(0, 2)).resolve(digest);
+            if (!Files.exists(blob)) {
+                Files.createDirectories(blob.getParent());
+                try {
+                    Files.createLink(blob, path);
+                    return true;
+                } catch (FileAlreadyExistsException e) {
+                    // added concurrently, link to that one instead
+                }
+            }
+            if (Files.isSameFile(blob, path)) {
+                return true;
+            }
+            if (Files.size(blob) != Files.size(path)) {
+                logger.warn("Ignoring modified content store entry " + blob);
+                return false;
+            }
+            Files.deleteIfExists(link);
+            Files.createLink(link, blob);
+            Files.move(link, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // the link has the modification time of the stored file
+            checksumIndex.setDigest(file, FileChecksumIndex.SHA_256, digest);
+            return true;
+        } catch (UnsupportedOperationException e) {
+            // the file system does not support hard links at all
+            linksSupported = false;
+            logger.debug("Disabling content store " + storeRoot + " (" + e + ")");
+        } catch (FileSystemException e) {
+            // e.g. the store is on another device, the link limit is reached, or the entry was just collected
+            logger.debug("Keeping a copy of " + file + " (" + e + ")");
+            deleteQuietly(link);
+        } catch (IOException e) {
+            logger.debug("Can't deduplicate " + file + " (" + e + ")");
+            deleteQuietly(link);
+        }
+        return false;
+    }
+
+    /**
+     * Deletes all entries of the store that are no longer linked from anywhere else, i.e. where all
+     * files sharing the content have been deleted or replaced. This is done at most once a day as it
+     * needs to look at every entry.
+     */
+    public void collectGarbage() {
+        Path marker = storeRoot.resolve(GC_MARKER);
+        try {
+            if (!Files.isDirectory(storeRoot) || (Files.exists(marker)
+                    && System.currentTimeMillis() - Files.getLastModifiedTime(marker).toMillis() < GC_INTERVAL)) {
+                return;
+            }
+            Files.deleteIfExists(marker);
+            Files.createFile(marker);
+            int deleted = 0;
+            try (DirectoryStream<Path> prefixes = Files.newDirectoryStream(storeRoot, Files::isDirectory)) {
+                for (Path prefix : prefixes) {
+                    try (DirectoryStream<Path> blobs = Files.newDirectoryStream(prefix)) {
+                        for (Path blob : blobs) {
+                            if (((Number) Files.getAttribute(blob, "unix:nlink")).intValue() <= 1
+                                    && Files.deleteIfExists(blob)) {
+                                deleted++;
+                            }
+                        }
+                    }
+                }
+            }
+            logger.debug("Deleted " + deleted + " unused entries from content store " + storeRoot);
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            // the number of links is not available on this platform, so it is unknown which entries are unused
+            logger.debug("Can't collect garbage of content store " + storeRoot + " (" + e + ")");
+        } catch (IOException e) {
+            logger.debug("Collecting garbage of content store " + storeRoot + " failed (" + e + ")");
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // ignore, only a leftover of a failed attempt
+        }
+    }
+
+}
@@ -53,6 +53,7 @@ public class FileBasedTychoRepositoryIndex implements TychoRepositoryIndex {
     private Set<GAV> removedGavs = new HashSet<>();
     private Set<GAV> gavs = new HashSet<>();
     private MavenContext mavenContext;
+    private volatile long modificationCount;
 
     private FileBasedTychoRepositoryIndex(File indexFile, FileLockService fileLockService, MavenContext mavenContext) {
         super();
@@ -90,9 +91,16 @@ public class FileBasedTychoRepositoryIndex implements TychoRepositoryIndex {
         return Collections.unmodifiableSet(new LinkedHashSet<>(gavs));
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public synchronized void addGav(GAV gav) {
-        gavs.add(gav);
+        if (gavs.add(gav)) {
+            modificationCount++;
+        }
         this.addedGavs.add(gav);
         if (removedGavs.contains(gav)) {
             removedGavs.remove(gav);
@@ -101,7 +109,9 @@ public class FileBasedTychoRepositoryIndex implements TychoRepositoryIndex {
 
     @Override
     public synchronized void removeGav(GAV gav) {
-        gavs.remove(gav);
+        if (gavs.remove(gav)) {
+            modificationCount++;
+        }
         this.removedGavs.add(gav);
         if (addedGavs.contains(gav)) {
             addedGavs.remove(gav);
@@ -138,6 +148,7 @@ public class FileBasedTychoRepositoryIndex implements TychoRepositoryIndex {
         // processes which happened in the meantime are not discarded
         if (indexFile.isFile()) {
             gavs = read(new FileInputStream(indexFile));
+            modificationCount++;
             for (GAV addedGav : addedGavs) {
                 addGav(addedGav);
             }
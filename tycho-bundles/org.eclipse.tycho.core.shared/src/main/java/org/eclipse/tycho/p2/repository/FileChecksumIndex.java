@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2.repository;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.codec.binary.Hex;
+import org.eclipse.tycho.core.shared.MavenLogger;
+import org.eclipse.tycho.locking.facade.FileLockService;
+import org.eclipse.tycho.locking.facade.FileLocker;
+
+/**
+ * Index of the digests of files in the local Maven repository, so that unchanged files do not need
+ * to be hashed again. A digest is only reused if the size and last modified time of the file have
+ * not changed since it was computed. Files are read through memory mapping and can be hashed in
+ * parallel with {@link #getDigests(Collection, String)}. The content is persisted in a local file
+ * to which {@link #save()} appends the digests computed since the last save, later lines replace
+ * earlier ones when the file is read again. Outdated digests are dropped when they are looked up,
+ * once the file has grown to more than twice the size of its distinct entries it is compacted and
+ * digests of files that have been deleted or changed in the meantime are dropped as well.
+ */
+public class FileChecksumIndex {
+
+    public static final String CHECKSUM_INDEX_RELPATH = ".meta/p2-checksums.properties";
+
+    public static final String SHA_256 = "SHA-256";
+    public static final String MD5 = "MD5";
+
+    private static final long MAX_MAPPED_REGION = 64 * 1024 * 1024;
+
+    private static final int MIN_COMPACTION_RECORDS = 1000;
+
+    private final File indexFile;
+    private final FileLocker fileLocker;
+    private final MavenLogger logger;
+    private final Map<String, String> entries = new ConcurrentHashMap<>();
+    private final Map<String, String> addedEntries = new ConcurrentHashMap<>();
+    /** number of lines in the index file, including those replaced by a later line */
+    private int records;
+
+    private FileChecksumIndex(File indexFile, FileLockService fileLockService, MavenLogger logger) {
+        this.indexFile = indexFile;
+        this.logger = logger;
+        this.fileLocker = fileLockService.getFileLocker(indexFile);
+        if (indexFile.isFile()) {
+            fileLocker.lock();
+            try {
+                records = read(entries);
+            } finally {
+                fileLocker.release();
+            }
+        }
+    }
+
+    /**
+     * Returns the digest of the given file, computing it only if the file has changed since it was
+     * last hashed.
+     * 
+     * @param file
+     *            the file to hash
+     * @param algorithm
+     *            the digest algorithm, e.g. {@link #SHA_256}
+     * @return the lower case hex encoded digest
+     * @throws IOException
+     *             if the file can't be read
+     */
+    public String getDigest(File file, String algorithm) throws IOException {
+        String key = algorithm + ":" + file.getAbsolutePath();
+        long size = file.length();
+        long lastModified = file.lastModified();
+        String stamp = size + "/" + lastModified + "/";
+        String cached = entries.get(key);
+        if (cached != null) {
+            if (cached.startsWith(stamp)) {
+                return cached.substring(stamp.length());
+            }
+            // the file has changed or is gone, the entry is replaced below or on compaction
+            entries.remove(key, cached);
+        }
+        String digest = computeDigest(file, algorithm);
+        String value = stamp + digest;
+        entries.put(key, value);
+        addedEntries.put(key, value);
+        return digest;
+    }
+
+    /**
+     * Records an already known digest for the current state of the given file, e.g. after the file
+     * was replaced by a link to a file with the same content.
+     */
+    void setDigest(File file, String algorithm, String digest) {
+        String key = algorithm + ":" + file.getAbsolutePath();
+        String value = file.length() + "/" + file.lastModified() + "/" + digest;
+        entries.put(key, value);
+        addedEntries.put(key, value);
+    }
+
+    /**
+     * Computes the digests of all given files in parallel, files that can't be read are not
+     * contained in the result.
+     * 
+     * @param files
+     *            the files to hash
+     * @param algorithm
+     *            the digest algorithm, e.g. {@link #SHA_256}
+     * @return a map of files to their lower case hex encoded digest
+     */
+    public Map<File, String> getDigests(Collection<File> files, String algorithm) {
+        Map<File, String> result = new ConcurrentHashMap<>();
+        files.parallelStream().distinct().forEach(file -> {
+            try {
+                result.put(file, getDigest(file, algorithm));
+            } catch (IOException e) {
+                logger.debug("Computing hash sum of " + file + " failed (" + e + ")");
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Persists all digests computed since the last save by appending them to the index file, so
+     * entries added concurrently by other processes are retained. If the file has accumulated too
+     * many replaced entries it is compacted instead.
+     */
+    public synchronized void save() throws IOException {
+        if (addedEntries.isEmpty()) {
+            return;
+        }
+        File parentDir = indexFile.getParentFile();
+        if (!parentDir.isDirectory()) {
+            parentDir.mkdirs();
+        }
+        Map<String, String> added = new HashMap<>(addedEntries);
+        added.forEach(addedEntries::remove);
+        fileLocker.lock();
+        try {
+            records += added.size();
+            if (records > Math.max(MIN_COMPACTION_RECORDS, 2 * entries.size())) {
+                compact(added);
+            } else {
+                append(added);
+            }
+        } finally {
+            fileLocker.release();
+        }
+    }
+
+    private void append(Map<String, String> added) throws IOException {
+        Properties properties = new Properties();
+        properties.putAll(added);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        properties.store(buffer, null);
+        byte[] content = buffer.toByteArray();
+        // skip the timestamp comment, start on a new line in case a previous append was interrupted
+        int start = 0;
+        while (start < content.length && content[start] != '\n') {
+            start++;
+        }
+        try (OutputStream out = new FileOutputStream(indexFile, true)) {
+            out.write(content, start, content.length - start);
+        }
+    }
+
+    private void compact(Map<String, String> added) throws IOException {
+        Map<String, String> current = new HashMap<>();
+        if (indexFile.isFile()) {
+            read(current);
+        }
+        current.putAll(added);
+        current.entrySet().removeIf(entry -> {
+            if (isStale(entry.getKey(), entry.getValue())) {
+                entries.remove(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+        Properties properties = new Properties();
+        properties.putAll(current);
+        // minimize time window for corrupting the file by first writing to a temp file, then moving it
+        File tempFile = File.createTempFile("index", "tmp", indexFile.getParentFile());
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+            properties.store(out, null);
+        }
+        if (indexFile.isFile()) {
+            indexFile.delete();
+        }
+        tempFile.renameTo(indexFile);
+        records = current.size();
+    }
+
+    private static boolean isStale(String key, String value) {
+        // keys are "<algorithm>:<absolute path>", the path itself may contain further colons
+        int separator = key.indexOf(':');
+        if (separator < 0) {
+            return true;
+        }
+        File file = new File(key.substring(separator + 1));
+        return !file.isFile() || !value.startsWith(file.length() + "/" + file.lastModified() + "/");
+    }
+
+    /**
+     * Reads the index file into the given map and returns the number of lines read. Lines that
+     * were cut off by an interrupted append are ignored.
+     */
+    private int read(Map<String, String> target) {
+        byte[] content;
+        Properties properties = new Properties();
+        try {
+            content = Files.readAllBytes(indexFile.toPath());
+            properties.load(new ByteArrayInputStream(content));
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Ignoring invalid checksum index " + indexFile + " (" + e + ")");
+            // let the next save rewrite the file
+            return Integer.MAX_VALUE / 2;
+        }
+        properties.forEach((k, v) -> {
+            String key = k.toString();
+            String value = v.toString();
+            if (isComplete(key, value)) {
+                target.put(key, value);
+            }
+        });
+        int lines = 0;
+        for (byte b : content) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private static boolean isComplete(String key, String value) {
+        int separator = key.indexOf(':');
+        int digestStart = value.lastIndexOf('/') + 1;
+        if (separator < 0 || digestStart == 0) {
+            return false;
+        }
+        String algorithm = key.substring(0, separator);
+        int expectedLength = SHA_256.equals(algorithm) ? 64 : MD5.equals(algorithm) ? 32 : -1;
+        return expectedLength < 0 || value.length() - digestStart == expectedLength;
+    }
+
+    static String computeDigest(File file, String algorithm) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(MAX_MAPPED_REGION, size - position);
+                MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, position, length);
+                digest.update(buffer);
+                position += length;
+            }
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    public static FileChecksumIndex createChecksumIndex(File basedir, FileLockService fileLockService,
+            MavenLogger logger) {
+        return new FileChecksumIndex(new File(basedir, CHECKSUM_INDEX_RELPATH), fileLockService, logger);
+    }
+
+}
@@ -120,11 +120,18 @@ public class LocalArtifactRepository extends ArtifactRepositoryBaseImpl<GAVArtif
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
+                ContentAddressableStore contentStore = localRepoIndices.getContentStore();
+                if (contentStore != null) {
+                    for (GAVArtifactDescriptor descriptor : keyDescriptors) {
+                        contentStore.deduplicate(internalGetArtifactStorageLocation(descriptor));
+                    }
+                }
             }
         }
 
         try {
             index.save();
+            localRepoIndices.getChecksumIndex().save();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -132,6 +139,21 @@ public class LocalArtifactRepository extends ArtifactRepositoryBaseImpl<GAVArtif
         descriptorsOnLastSave = new HashSet<>(descriptors);
     }
 
+    /**
+     * @return the index of digests of the files in the local repository
+     */
+    public FileChecksumIndex getChecksumIndex() {
+        return localRepoIndices.getChecksumIndex();
+    }
+
+    /**
+     * @return the store for deduplicating files of the local repository, or <code>null</code> if
+     *         deduplication is not enabled
+     */
+    public ContentAddressableStore getContentStore() {
+        return localRepoIndices.getContentStore();
+    }
+
     protected HashSet<IArtifactKey> currentKeys() {
         return flattenedValues().map(IArtifactDescriptor::getArtifactKey)
                 .collect(Collectors.toCollection(HashSet::new));
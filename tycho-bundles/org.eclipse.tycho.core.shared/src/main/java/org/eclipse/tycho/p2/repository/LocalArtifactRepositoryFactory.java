@@ -40,8 +40,10 @@ public class LocalArtifactRepositoryFactory extends ArtifactRepositoryFactory {
         if ("file".equals(location.getScheme())) {
             final File localRepositoryDirectory = new File(location);
             if (localRepositoryDirectory.isDirectory()
-                    && new File(localRepositoryDirectory, ".meta/p2-artifacts.properties").exists()) {
-                // see FileBasedTychoRepositoryIndex#ARTIFACTS_INDEX_RELPATH
+                    && (new File(localRepositoryDirectory, FileBasedTychoRepositoryIndex.ARTIFACTS_INDEX_RELPATH)
+                            .exists()
+                            || new File(localRepositoryDirectory, MappedTychoRepositoryIndex.ARTIFACTS_INDEX_RELPATH)
+                                    .exists())) {
                 return new LocalArtifactRepository(getAgent(), lookupLocalRepoIndices());
             }
         }
@@ -29,6 +29,14 @@ public interface LocalRepositoryP2Indices {
 
     public File getBasedir();
 
+    public FileChecksumIndex getChecksumIndex();
+
+    /**
+     * @return the store shared by all deduplicated files of the local repository, or
+     *         <code>null</code> if deduplication is not enabled
+     */
+    public ContentAddressableStore getContentStore();
+
     MavenContext getMavenContext();
 
     public void add(GAV gav) throws IOException;
@@ -0,0 +1,497 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2.repository;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.eclipse.tycho.core.shared.MavenContext;
+import org.eclipse.tycho.core.shared.MavenLogger;
+import org.eclipse.tycho.locking.facade.FileLockService;
+import org.eclipse.tycho.locking.facade.FileLocker;
+
+/**
+ * Local Maven repository index stored as an append-only binary log that is read through memory
+ * mapping. Instead of rewriting the whole file, {@link #save()} only appends the changes made
+ * since the last save after catching up with the records other processes appended in the
+ * meantime. Once the log contains too many obsolete records it is compacted into a new file with
+ * a new generation, which tells other processes to re-read it from the start.
+ * <p>
+ * The properties based index of {@link FileBasedTychoRepositoryIndex} is kept up to date on each
+ * save so that older Tycho versions and other tools sharing the local repository see the same
+ * content. The size and last modified time of that file are recorded in the header of the log,
+ * if it has been changed by someone else, its content is taken over the next time the log is
+ * read. This also migrates an existing properties based index.
+ * </p>
+ * <p>
+ * File layout: a header of
+ * <code>magic (int), version (int), generation (long), legacy size (long), legacy last modified (long)</code>
+ * followed by records of <code>operation (byte), length (unsigned short), UTF-8 GAV external form</code>.
+ * GAVs with an external form longer than 65535 bytes are rejected.
+ * </p>
+ */
+public class MappedTychoRepositoryIndex implements TychoRepositoryIndex {
+
+    public static final String ARTIFACTS_INDEX_RELPATH = ".meta/p2-artifacts.idx";
+    public static final String METADATA_INDEX_RELPATH = ".meta/p2-local-metadata.idx";
+
+    private static final int MAGIC = 0x54594958; // TYIX
+    private static final int VERSION = 2;
+    private static final int LEGACY_STAMP_OFFSET = 16;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_HEADER_SIZE = 3;
+    private static final byte OP_ADD = 1;
+    private static final byte OP_REMOVE = 0;
+    private static final int MAX_RECORD_LENGTH = 0xFFFF;
+    private static final String EOL = "\n";
+
+    /**
+     * Minimum number of records before the log is considered for compaction
+     */
+    private static final int COMPACTION_THRESHOLD = Integer.getInteger("tycho.localrepo.index.compaction", 1000);
+
+    private final File indexFile;
+    private final File legacyIndexFile;
+    private final MavenLogger logger;
+    private final FileLocker fileLocker;
+    private final FileLocker legacyFileLocker;
+    private final MavenContext mavenContext;
+
+    private Set<GAV> addedGavs = new LinkedHashSet<>();
+    private Set<GAV> removedGavs = new LinkedHashSet<>();
+    /**
+     * the current content, read without locking, a new set is published if the content is read
+     * from the start again
+     */
+    private volatile Set<GAV> gavs = ConcurrentHashMap.newKeySet();
+    private volatile long modificationCount;
+
+    /**
+     * generation of the file content read so far
+     */
+    private long generation;
+    /**
+     * position up to where the file was read
+     */
+    private long readOffset;
+    /**
+     * number of records in the file up to {@link #readOffset}
+     */
+    private int records;
+    /**
+     * <code>true</code> if the file on disk can't be read, it is then replaced on the next save
+     */
+    private boolean corrupt;
+    /**
+     * size and last modified time of the legacy index as recorded in the header of the file
+     */
+    private long legacySize = -1;
+    private long legacyLastModified = -1;
+    /**
+     * <code>true</code> if the content of the legacy index was taken over, the file is then
+     * replaced on the next save
+     */
+    private boolean reconciled;
+
+    private MappedTychoRepositoryIndex(File indexFile, File legacyIndexFile, FileLockService fileLockService,
+            MavenContext mavenContext) {
+        this.indexFile = indexFile;
+        this.legacyIndexFile = legacyIndexFile;
+        this.mavenContext = mavenContext;
+        this.logger = mavenContext.getLogger();
+        this.fileLocker = fileLockService.getFileLocker(indexFile);
+        this.legacyFileLocker = fileLockService.getFileLocker(legacyIndexFile);
+        if (indexFile.isFile() || legacyIndexFile.isFile()) {
+            lock();
+            try {
+                catchUp();
+                if (reconciled) {
+                    // persist the migrated content right away so other processes don't need to read it again
+                    File parentDir = indexFile.getParentFile();
+                    if (!parentDir.isDirectory()) {
+                        parentDir.mkdirs();
+                    }
+                    writeCompacted();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            } finally {
+                unlock();
+            }
+        }
+    }
+
+    private void lock() {
+        fileLocker.lock();
+        try {
+            // older versions only lock the legacy index
+            legacyFileLocker.lock();
+        } catch (RuntimeException e) {
+            fileLocker.release();
+            throw e;
+        }
+    }
+
+    private void unlock() {
+        try {
+            legacyFileLocker.release();
+        } finally {
+            fileLocker.release();
+        }
+    }
+
+    @Override
+    public MavenContext getMavenContext() {
+        return mavenContext;
+    }
+
+    @Override
+    public Set<GAV> getProjectGAVs() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(gavs));
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    @Override
+    public synchronized void addGav(GAV gav) {
+        toBytes(gav);
+        if (gavs.add(gav)) {
+            modificationCount++;
+        }
+        addedGavs.add(gav);
+        removedGavs.remove(gav);
+    }
+
+    @Override
+    public synchronized void removeGav(GAV gav) {
+        if (gavs.remove(gav)) {
+            modificationCount++;
+        }
+        removedGavs.add(gav);
+        addedGavs.remove(gav);
+    }
+
+    @Override
+    public synchronized void save() throws IOException {
+        if (addedGavs.isEmpty() && removedGavs.isEmpty() && indexFile.isFile()) {
+            // avoid touching the file on disk if saving is a no-op
+            return;
+        }
+        File parentDir = indexFile.getParentFile();
+        if (!parentDir.isDirectory()) {
+            parentDir.mkdirs();
+        }
+        lock();
+        try {
+            catchUp();
+            writeLegacy();
+            if (!indexFile.isFile() || corrupt || reconciled) {
+                writeCompacted();
+            } else if (records + addedGavs.size() + removedGavs.size() > COMPACTION_THRESHOLD
+                    && records > 2 * gavs.size()) {
+                writeCompacted();
+            } else {
+                append();
+            }
+            addedGavs.clear();
+            removedGavs.clear();
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Reads all records appended since the last read, starting over if the file was compacted by
+     * someone else in the meantime, and takes over the content of the legacy index if it was
+     * changed by someone else. Must be called while holding the file lock.
+     */
+    private void catchUp() throws IOException {
+        Set<GAV> target = gavs;
+        int previousRecords = records;
+        try {
+            if (indexFile.isFile()) {
+                target = readLog(target);
+            }
+            Set<GAV> legacyGavs = readLegacyIfChanged();
+            if (legacyGavs != null) {
+                target = legacyGavs;
+            }
+        } finally {
+            // changes of this instance take precedence over what was read
+            target.addAll(addedGavs);
+            target.removeAll(removedGavs);
+            if (target != gavs || records != previousRecords) {
+                modificationCount++;
+            }
+            gavs = target;
+        }
+    }
+
+    private Set<GAV> readLog(Set<GAV> target) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                logger.warn("Ignoring truncated index " + indexFile);
+                markCorrupt();
+                return target;
+            }
+            ByteBuffer header = channel.map(MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                logger.warn("Ignoring index " + indexFile + " with unknown format");
+                markCorrupt();
+                return target;
+            }
+            corrupt = false;
+            long fileGeneration = header.getLong();
+            legacySize = header.getLong();
+            legacyLastModified = header.getLong();
+            if (fileGeneration != generation || readOffset < HEADER_SIZE || readOffset > size) {
+                // read from the start into a new set so that readers never see a partial content
+                target = ConcurrentHashMap.newKeySet();
+                generation = fileGeneration;
+                readOffset = HEADER_SIZE;
+                records = 0;
+            }
+            if (readOffset == size) {
+                return target;
+            }
+            MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, readOffset, size - readOffset);
+            while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                int start = buffer.position();
+                byte operation = buffer.get();
+                int length = Short.toUnsignedInt(buffer.getShort());
+                if (buffer.remaining() < length) {
+                    // incomplete record (e.g. a process crashed while writing), ignore the rest
+                    buffer.position(start);
+                    break;
+                }
+                byte[] data = new byte[length];
+                buffer.get(data);
+                String line = new String(data, StandardCharsets.UTF_8);
+                try {
+                    GAV gav = GAV.parse(line);
+                    if (operation == OP_ADD) {
+                        target.add(gav);
+                    } else {
+                        target.remove(gav);
+                    }
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Ignoring invalid entry '" + line + "' in " + indexFile);
+                }
+                records++;
+            }
+            readOffset += buffer.position();
+            return target;
+        }
+    }
+
+    /**
+     * Keeps what was read from the file so far, but rewrites the file with the content of this
+     * instance on the next save instead of appending to it
+     */
+    private void markCorrupt() {
+        generation = 0;
+        readOffset = HEADER_SIZE;
+        records = 0;
+        legacySize = -1;
+        legacyLastModified = -1;
+        corrupt = true;
+    }
+
+    /**
+     * Returns the content of the legacy index if it differs from the state recorded in the log,
+     * <code>null</code> otherwise.
+     */
+    private Set<GAV> readLegacyIfChanged() throws IOException {
+        if (!legacyIndexFile.isFile()
+                || (legacyIndexFile.length() == legacySize && legacyIndexFile.lastModified() == legacyLastModified)) {
+            return null;
+        }
+        Set<GAV> result = ConcurrentHashMap.newKeySet();
+        try (BufferedReader reader = Files.newBufferedReader(legacyIndexFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    GAV gav = GAV.parse(line);
+                    toBytes(gav);
+                    result.add(gav);
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Ignoring invalid line '" + line + "' in " + legacyIndexFile);
+                }
+            }
+        }
+        logger.debug("Taking over " + result.size() + " entries from " + legacyIndexFile + " to " + indexFile);
+        reconciled = true;
+        return result;
+    }
+
+    private void writeLegacy() throws IOException {
+        // minimize time window for corrupting the file by first writing to a temp file, then moving it
+        Path tempFile = Files.createTempFile(legacyIndexFile.toPath().getParent(), "index", "tmp");
+        try {
+            try (Writer out = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (GAV gav : gavs) {
+                    out.write(gav.toExternalForm());
+                    out.write(EOL);
+                }
+            }
+            move(tempFile, legacyIndexFile.toPath());
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    private void append() throws IOException {
+        ByteBuffer buffer = encode(addedGavs, removedGavs, false);
+        long newLegacySize = legacyIndexFile.length();
+        long newLegacyLastModified = legacyIndexFile.lastModified();
+        // record the state of the legacy index that was just written
+        ByteBuffer stamp = ByteBuffer.allocate(16).putLong(newLegacySize).putLong(newLegacyLastModified).flip();
+        try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.WRITE)) {
+            long position = channel.size();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            readOffset = position;
+            while (stamp.hasRemaining()) {
+                channel.write(stamp, LEGACY_STAMP_OFFSET + stamp.position());
+            }
+        }
+        records += addedGavs.size() + removedGavs.size();
+        legacySize = newLegacySize;
+        legacyLastModified = newLegacyLastModified;
+    }
+
+    private void writeCompacted() throws IOException {
+        long newGeneration;
+        do {
+            newGeneration = ThreadLocalRandom.current().nextLong();
+        } while (newGeneration == generation || newGeneration == 0);
+        long newLegacySize = legacyIndexFile.isFile() ? legacyIndexFile.length() : -1;
+        long newLegacyLastModified = legacyIndexFile.isFile() ? legacyIndexFile.lastModified() : -1;
+        ByteBuffer buffer = encode(gavs, Collections.emptySet(), true);
+        buffer.putLong(8, newGeneration);
+        buffer.putLong(LEGACY_STAMP_OFFSET, newLegacySize);
+        buffer.putLong(LEGACY_STAMP_OFFSET + 8, newLegacyLastModified);
+        Path target = indexFile.toPath();
+        // minimize time window for corrupting the file by first writing to a temp file, then moving it
+        Path tempFile = Files.createTempFile(target.getParent(), "index", "tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            move(tempFile, target);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            if (indexFile.isFile() && !corrupt && !reconciled) {
+                // the file might be still in use (e.g. mapped on windows), compact it next time
+                logger.debug("Compaction of " + indexFile + " failed, appending instead (" + e + ")");
+                append();
+                return;
+            }
+            throw e;
+        }
+        generation = newGeneration;
+        readOffset = buffer.limit();
+        records = gavs.size();
+        legacySize = newLegacySize;
+        legacyLastModified = newLegacyLastModified;
+        corrupt = false;
+        reconciled = false;
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static ByteBuffer encode(Collection<GAV> added, Collection<GAV> removed, boolean withHeader) {
+        int size = withHeader ? HEADER_SIZE : 0;
+        byte[][] addedData = toBytes(added);
+        byte[][] removedData = toBytes(removed);
+        for (byte[] data : addedData) {
+            size += RECORD_HEADER_SIZE + data.length;
+        }
+        for (byte[] data : removedData) {
+            size += RECORD_HEADER_SIZE + data.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        if (withHeader) {
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(0).putLong(-1).putLong(-1);
+        }
+        for (byte[] data : addedData) {
+            buffer.put(OP_ADD).putShort((short) data.length).put(data);
+        }
+        for (byte[] data : removedData) {
+            buffer.put(OP_REMOVE).putShort((short) data.length).put(data);
+        }
+        return buffer.flip();
+    }
+
+    private static byte[][] toBytes(Collection<GAV> gavs) {
+        return gavs.stream().map(gav -> toBytes(gav)).toArray(byte[][]::new);
+    }
+
+    private static byte[] toBytes(GAV gav) {
+        byte[] data = gav.toExternalForm().getBytes(StandardCharsets.UTF_8);
+        if (data.length > MAX_RECORD_LENGTH) {
+            // the length of a record is stored as an unsigned short
+            throw new IllegalArgumentException("GAV exceeds the maximum length of " + MAX_RECORD_LENGTH
+                    + " bytes: " + gav.toExternalForm().substring(0, 100) + "...");
+        }
+        return data;
+    }
+
+    public static TychoRepositoryIndex createMetadataIndex(File basedir, FileLockService fileLockService,
+            MavenContext context) {
+        return new MappedTychoRepositoryIndex(new File(basedir, METADATA_INDEX_RELPATH),
+                new File(basedir, FileBasedTychoRepositoryIndex.METADATA_INDEX_RELPATH), fileLockService, context);
+    }
+
+    public static TychoRepositoryIndex createArtifactsIndex(File basedir, FileLockService fileLockService,
+            MavenContext context) {
+        return new MappedTychoRepositoryIndex(new File(basedir, ARTIFACTS_INDEX_RELPATH),
+                new File(basedir, FileBasedTychoRepositoryIndex.ARTIFACTS_INDEX_RELPATH), fileLockService, context);
+    }
+
+}
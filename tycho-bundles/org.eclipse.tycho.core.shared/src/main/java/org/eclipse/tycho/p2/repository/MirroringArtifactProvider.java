@@ -17,16 +17,19 @@ package org.eclipse.tycho.p2.repository;
 import static org.eclipse.tycho.repository.util.BundleConstants.BUNDLE_ID;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.locks.Lock;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -277,35 +280,27 @@ public class MirroringArtifactProvider implements IRawArtifactFileProvider {
         }
         String sha256 = properties.get("download.checksum.sha-256");
         if (sha256 != null) {
-            try (FileInputStream stream = new FileInputStream(file)) {
-                String fileSha256 = DigestUtils.sha256Hex(stream);
-                if (fileSha256.equalsIgnoreCase(sha256)) {
-                    return true;
-                }
-            } catch (IOException e) {
-                mavenContext.getLogger().debug("Computing hash sum failed, assume file is corrupted (" + e + ")");
-            }
-            if (logFailure) {
-                mavenContext.getLogger().warn("sha-256 checksum for " + file.getAbsolutePath()
-                        + " does not match, attempting to download file again...");
-            }
-            return false;
+            return digestMatches(file, FileChecksumIndex.SHA_256, sha256, "sha-256", logFailure);
         }
         String md5 = properties.get("download.checksum.md5");
         if (md5 != null) {
-            try (FileInputStream stream = new FileInputStream(file)) {
-                String fileMd5 = DigestUtils.md5Hex(stream);
-                if (fileMd5.equalsIgnoreCase(md5)) {
-                    return true;
-                }
-            } catch (IOException e) {
-                mavenContext.getLogger().debug("Computing hash sum failed, assume file is corrupted (" + e + ")");
-            }
-            if (logFailure) {
-                mavenContext.getLogger().warn("md5 checksum for " + file.getAbsolutePath()
-                        + " does not match, attempting to download file again...");
+            return digestMatches(file, FileChecksumIndex.MD5, md5, "md5", logFailure);
+        }
+        return false;
+    }
+
+    private boolean digestMatches(File file, String algorithm, String expected, String name, boolean logFailure) {
+        try {
+            String fileDigest = localArtifactRepository.getChecksumIndex().getDigest(file, algorithm);
+            if (fileDigest.equalsIgnoreCase(expected)) {
+                return true;
             }
-            return false;
+        } catch (IOException e) {
+            mavenContext.getLogger().debug("Computing hash sum failed, assume file is corrupted (" + e + ")");
+        }
+        if (logFailure) {
+            mavenContext.getLogger().warn(name + " checksum for " + file.getAbsolutePath()
+                    + " does not match, attempting to download file again...");
         }
         return false;
     }
@@ -422,6 +417,46 @@ public class MirroringArtifactProvider implements IRawArtifactFileProvider {
 
     }
 
+    @Override
+    public Set<IArtifactKey> getFilesAlreadyAvailable(Collection<IArtifactKey> artifactKeys) {
+        if (!mavenContext.isOffline() && mavenContext.getChecksumsMode() == ChecksumPolicy.STRICT) {
+            // hash all local files that need to be verified in parallel, the checks below then use the index;
+            // in the other modes isFileAlreadyAvailable does not hash local files at all
+            computeLocalDigests(artifactKeys);
+        }
+        return IRawArtifactFileProvider.super.getFilesAlreadyAvailable(artifactKeys);
+    }
+
+    private void computeLocalDigests(Collection<IArtifactKey> artifactKeys) {
+        Map<String, List<File>> filesByAlgorithm = new HashMap<>();
+        for (IArtifactKey artifactKey : artifactKeys) {
+            if (!localArtifactRepository.contains(artifactKey) || !remoteProviders.contains(artifactKey)) {
+                continue;
+            }
+            IArtifactDescriptor remoteDescriptor = findCanonicalDescriptor(
+                    remoteProviders.getArtifactDescriptors(artifactKey));
+            IArtifactDescriptor localDescriptor = findCanonicalDescriptor(
+                    localArtifactRepository.getArtifactDescriptors(artifactKey));
+            if (remoteDescriptor == null || localDescriptor == null) {
+                continue;
+            }
+            File artifactFile = localArtifactRepository.getArtifactFile(localDescriptor);
+            Map<String, String> properties = remoteDescriptor.getProperties();
+            String downloadSize = properties.get("download.size");
+            if (artifactFile == null || !artifactFile.isFile()
+                    || (downloadSize != null && !downloadSize.equals(String.valueOf(artifactFile.length())))) {
+                continue;
+            }
+            if (properties.get("download.checksum.sha-256") != null) {
+                filesByAlgorithm.computeIfAbsent(FileChecksumIndex.SHA_256, a -> new ArrayList<>()).add(artifactFile);
+            } else if (properties.get("download.checksum.md5") != null) {
+                filesByAlgorithm.computeIfAbsent(FileChecksumIndex.MD5, a -> new ArrayList<>()).add(artifactFile);
+            }
+        }
+        FileChecksumIndex checksumIndex = localArtifactRepository.getChecksumIndex();
+        filesByAlgorithm.forEach((algorithm, files) -> checksumIndex.getDigests(files, algorithm));
+    }
+
     @Override
     public boolean isFileAlreadyAvailable(IArtifactKey artifactKey) {
         if (localArtifactRepository.contains(artifactKey)) {
@@ -26,6 +26,15 @@ public interface TychoRepositoryIndex {
      */
     Set<GAV> getProjectGAVs();
 
+    /**
+     * Returns a counter that changes whenever the set of GAVs of this index changes, either through
+     * {@link #addGav(GAV)} and {@link #removeGav(GAV)} or because changes of other processes were
+     * read. This allows to detect changes without comparing all GAVs.
+     * 
+     * @return the current modification count
+     */
+    long getModificationCount();
+
     /**
      * Adds a GAV to the index
      * 
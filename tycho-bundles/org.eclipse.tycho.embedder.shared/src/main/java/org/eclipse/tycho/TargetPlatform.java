@@ -13,6 +13,9 @@
 package org.eclipse.tycho;
 
 import java.io.File;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.eclipse.equinox.p2.repository.artifact.IArtifactRepository;
 import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
@@ -75,6 +78,16 @@ public interface TargetPlatform {
 
     boolean isFileAlreadyAvailable(ArtifactKey artifactKey);
 
+    /**
+     * Checks {@link #isFileAlreadyAvailable(ArtifactKey)} for several artifacts at once, which
+     * allows implementations to verify the local files in parallel.
+     * 
+     * @return the given artifacts for which a file is already available
+     */
+    default Set<ArtifactKey> getFilesAlreadyAvailable(Collection<ArtifactKey> artifactKeys) {
+        return artifactKeys.stream().filter(this::isFileAlreadyAvailable).collect(Collectors.toSet());
+    }
+
     default ResolvedArtifactKey resolvePackage(String packageName, String versionRef)
             throws DependencyResolutionException, IllegalArtifactReferenceException {
         ArtifactKey packageJar = resolveArtifact(PublisherHelper.CAPABILITY_NS_JAVA_PACKAGE, packageName,
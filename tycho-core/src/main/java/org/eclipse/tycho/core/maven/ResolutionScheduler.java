@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.core.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.logging.Logger;
+
+/**
+ * Orders the projects to resolve so that the ones expected to take longest are started first, and
+ * records how long the resolution of each project took. Resolving one project does not wait for the
+ * resolution of another one, so the critical path of the parallel resolution is the longest single
+ * resolution, starting it last would let it dominate the wall time.
+ * <p>
+ * The expected time is the time recorded in previous builds, projects without history are
+ * estimated by the size of their reactor dependency closure (e.g. products and features that
+ * aggregate many other projects).
+ */
+class ResolutionScheduler {
+
+    static final String TIMINGS_RELPATH = ".cache/tycho/resolution-timings.properties";
+
+    private static final int SLOWEST_PROJECTS_TO_REPORT = 5;
+
+    private final File timingsFile;
+    private final Logger log;
+    private final Map<String, Long> history = new HashMap<>();
+    private final Map<MavenProject, Long> timings = new ConcurrentHashMap<>();
+
+    ResolutionScheduler(File timingsFile, Logger log) {
+        this.timingsFile = timingsFile;
+        this.log = log;
+        if (timingsFile != null && timingsFile.isFile()) {
+            read(timingsFile, history);
+        }
+    }
+
+    /**
+     * @param projects
+     *            the projects to resolve
+     * @param upstreamProjects
+     *            returns the (transitive) reactor projects a project depends on
+     * @return the projects ordered by their expected resolution time, the longest first
+     */
+    List<MavenProject> order(List<MavenProject> projects,
+            Function<MavenProject, Collection<MavenProject>> upstreamProjects) {
+        Map<MavenProject, Integer> closureSizes = new HashMap<>();
+        for (MavenProject project : projects) {
+            closureSizes.put(project, upstreamProjects.apply(project).size());
+        }
+        // scale the closure size of projects without history to the milliseconds of the known ones
+        double knownMillis = 0;
+        double knownClosure = 0;
+        int known = 0;
+        for (MavenProject project : projects) {
+            Long millis = history.get(getKey(project));
+            if (millis != null) {
+                knownMillis += millis;
+                knownClosure += 1 + closureSizes.get(project);
+                known++;
+            }
+        }
+        double millisPerProject = known > 0 ? knownMillis / knownClosure : 1;
+        Map<MavenProject, Double> estimates = new HashMap<>();
+        for (MavenProject project : projects) {
+            Long millis = history.get(getKey(project));
+            estimates.put(project,
+                    millis != null ? millis.doubleValue() : millisPerProject * (1 + closureSizes.get(project)));
+        }
+        return projects.stream().sorted(Comparator.comparing(estimates::get).reversed()).toList();
+    }
+
+    void recordTime(MavenProject project, long nanos) {
+        timings.put(project, TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    /**
+     * Logs where the resolution time was spent and persists the recorded times for the next build.
+     */
+    void finish() {
+        if (timings.isEmpty()) {
+            return;
+        }
+        List<Entry<MavenProject, Long>> sorted = timings.entrySet().stream()
+                .sorted(Entry.<MavenProject, Long> comparingByValue().reversed()).toList();
+        if (log.isDebugEnabled()) {
+            for (Entry<MavenProject, Long> entry : sorted) {
+                log.debug("Resolving dependencies of " + entry.getKey().getId() + " took " + entry.getValue() + " ms");
+            }
+        }
+        if (sorted.size() > 1) {
+            long total = sorted.stream().mapToLong(Entry::getValue).sum();
+            log.info("Resolving dependencies of " + sorted.size() + " projects took " + total + " ms, slowest: "
+                    + sorted.stream().limit(SLOWEST_PROJECTS_TO_REPORT)
+                            .map(entry -> entry.getKey().getArtifactId() + " (" + entry.getValue() + " ms)")
+                            .collect(Collectors.joining(", ")));
+        }
+        if (timingsFile != null) {
+            try {
+                save();
+            } catch (IOException e) {
+                log.debug("Can't save resolution timings to " + timingsFile + " (" + e + ")");
+            }
+        }
+        timings.clear();
+    }
+
+    private void save() throws IOException {
+        File parentDir = timingsFile.getParentFile();
+        if (!parentDir.isDirectory()) {
+            parentDir.mkdirs();
+        }
+        // merge with the timings other builds have recorded in the meantime
+        Map<String, Long> current = new HashMap<>();
+        if (timingsFile.isFile()) {
+            read(timingsFile, current);
+        }
+        timings.forEach((project, millis) -> current.put(getKey(project), millis));
+        history.putAll(current);
+        Properties properties = new Properties();
+        current.forEach((key, millis) -> properties.setProperty(key, String.valueOf(millis)));
+        File tempFile = File.createTempFile("timings", "tmp", parentDir);
+        try {
+            try (OutputStream out = Files.newOutputStream(tempFile.toPath())) {
+                properties.store(out, null);
+            }
+            Files.move(tempFile.toPath(), timingsFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            tempFile.delete();
+        }
+    }
+
+    private void read(File file, Map<String, Long> target) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            properties.load(in);
+        } catch (IOException e) {
+            log.debug("Can't read resolution timings from " + file + " (" + e + ")");
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                target.put(key, Long.valueOf(properties.getProperty(key)));
+            } catch (NumberFormatException e) {
+                // ignore invalid entries
+            }
+        }
+    }
+
+    private static String getKey(MavenProject project) {
+        return project.getGroupId() + ":" + project.getArtifactId();
+    }
+
+}
@@ -20,6 +20,8 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -31,10 +33,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -42,8 +49,10 @@ import java.util.stream.Collectors;
 import org.apache.maven.AbstractMavenLifecycleParticipant;
 import org.apache.maven.MavenExecutionException;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.execution.MavenExecutionRequest;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.execution.ProjectDependencyGraph;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Plugin;
@@ -61,14 +70,23 @@ import org.eclipse.equinox.p2.metadata.IRequirement;
 import org.eclipse.sisu.equinox.EquinoxServiceFactory;
 import org.eclipse.tycho.BuildFailureException;
 import org.eclipse.tycho.DependencyResolutionException;
+import org.eclipse.tycho.IRepositoryIdManager;
 import org.eclipse.tycho.TychoConstants;
 import org.eclipse.tycho.build.BuildListeners;
 import org.eclipse.tycho.core.TychoProjectManager;
 import org.eclipse.tycho.core.osgitools.BundleReader;
 import org.eclipse.tycho.core.osgitools.DefaultBundleReader;
+import org.eclipse.tycho.metrics.CacheMetricsRegistry;
 import org.eclipse.tycho.p2maven.MavenProjectDependencyProcessor;
 import org.eclipse.tycho.p2maven.MavenProjectDependencyProcessor.ProjectDependencyClosure;
+import org.eclipse.tycho.p2maven.repository.P2ArtifactRepositoryLayout;
+import org.eclipse.tycho.p2maven.transport.TransportProtocolHandler;
+import org.eclipse.tycho.p2resolver.TargetDefinitionResolver;
 import org.eclipse.tycho.resolver.TychoResolver;
+import org.eclipse.tycho.targetplatform.TargetDefinition.InstallableUnitLocation;
+import org.eclipse.tycho.targetplatform.TargetDefinition.Location;
+import org.eclipse.tycho.targetplatform.TargetDefinition.Repository;
+import org.eclipse.tycho.targetplatform.TargetDefinitionFile;
 import org.eclipse.tycho.version.TychoVersion;
 
 @Component(role = AbstractMavenLifecycleParticipant.class, hint = "TychoMavenLifecycleListener")
@@ -83,6 +101,11 @@ public class TychoMavenLifecycleParticipant extends AbstractMavenLifecyclePartic
                     "tycho-source-plugin", "tycho-surefire-plugin", "tycho-versions-plugin", "tycho-compiler-plugin"));
     private static final String P2_USER_AGENT_KEY = "p2.userAgent";
     private static final String P2_USER_AGENT_VALUE = "tycho/";
+    /**
+     * Maximum time to wait at the end of a session for repository cache revalidations that are
+     * still running
+     */
+    private static final long REVALIDATION_TIMEOUT_SECONDS = 30;
 
     @Requirement
     private BundleReader bundleReader;
@@ -108,6 +131,17 @@ public class TychoMavenLifecycleParticipant extends AbstractMavenLifecyclePartic
     @Requirement
     TychoProjectManager projectManager;
 
+    @Requirement
+    IRepositoryIdManager repositoryIdManager;
+
+    @Requirement
+    Map<String, TransportProtocolHandler> transportProtocolHandlers;
+
+    @Requirement
+    CacheMetricsRegistry cacheMetricsRegistry;
+
+    private volatile CompletableFuture<?> pendingRevalidation;
+
     public TychoMavenLifecycleParticipant() {
         // needed for plexus
     }
@@ -141,6 +175,7 @@ public class TychoMavenLifecycleParticipant extends AbstractMavenLifecyclePartic
             for (MavenProject project : projects) {
                 resolver.setupProject(session, project);
             }
+            pendingRevalidation = revalidateRepositoryCaches(session, projects);
             Map<Boolean, List<MavenProject>> partition = projects.stream().collect(Collectors.partitioningBy(
                     project -> projectManager.getTargetPlatformConfiguration(project).isRequireEagerResolve()));
             List<MavenProject> eagerProjects = partition.get(true);
@@ -202,6 +237,61 @@ public class TychoMavenLifecycleParticipant extends AbstractMavenLifecyclePartic
         buildListeners.notifyBuildStart(session);
     }
 
+    /**
+     * Starts revalidating the cached index files of all remote p2 repositories used in the reactor
+     * at once in the background, so resolving the projects later on does not need to validate them
+     * one after another. The build is not blocked by this, a project that needs one of the files
+     * before it is revalidated only waits for that file.
+     */
+    CompletableFuture<?> revalidateRepositoryCaches(MavenSession session, List<MavenProject> projects) {
+        if (session.isOffline()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Set<URI> locations = new LinkedHashSet<>();
+        for (MavenProject project : projects) {
+            for (ArtifactRepository repository : project.getRemoteArtifactRepositories()) {
+                if (repository.getLayout() instanceof P2ArtifactRepositoryLayout) {
+                    try {
+                        locations.add(new URI(TargetDefinitionResolver.convertRawToUri(repository.getUrl())));
+                    } catch (URISyntaxException e) {
+                        // reported once the repository is actually used
+                    }
+                }
+            }
+            try {
+                for (TargetDefinitionFile target : projectManager.getTargetPlatformConfiguration(project)
+                        .getTargets()) {
+                    for (Location location : target.getLocations()) {
+                        if (location instanceof InstallableUnitLocation iuLocation) {
+                            for (Repository repository : iuLocation.getRepositories()) {
+                                locations.add(repository.getLocation());
+                            }
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                // reported once the target platform is actually resolved
+                log.debug("Can't collect target repositories of " + project.getId() + ": " + e);
+            }
+        }
+        Map<String, List<URI>> locationsByScheme = locations.stream().filter(Objects::nonNull)
+                .map(repositoryIdManager::getEffectiveLocation).filter(location -> location.getScheme() != null)
+                .collect(Collectors.groupingBy(location -> location.getScheme().toLowerCase()));
+        List<CompletableFuture<?>> revalidations = new ArrayList<>();
+        locationsByScheme.forEach((scheme, schemeLocations) -> {
+            TransportProtocolHandler handler = transportProtocolHandlers.get(scheme);
+            if (handler != null) {
+                revalidations.add(handler.revalidate(schemeLocations));
+            }
+        });
+        return CompletableFuture.allOf(revalidations.toArray(CompletableFuture[]::new))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        log.debug("Revalidating repository caches failed: " + error);
+                    }
+                });
+    }
+
     private void dumpProjectRequirements(MavenProject project, BufferedWriter writer, ProjectDependencyClosure closure,
             Collection<MavenProject> dependencyProjects, String indent, Set<MavenProject> visited) throws IOException {
         if (visited.add(project)) {
@@ -233,6 +323,8 @@ public class TychoMavenLifecycleParticipant extends AbstractMavenLifecyclePartic
     @Override
     public void afterSessionEnd(MavenSession session) throws MavenExecutionException {
         buildListeners.notifyBuildEnd(session);
+        awaitRevalidation();
+        writeCacheMetrics(session);
         if (plexus.hasComponent(EquinoxServiceFactory.class)) {
             try {
                 EquinoxServiceFactory factory = plexus.lookup(EquinoxServiceFactory.class);
@@ -248,6 +340,56 @@ public class TychoMavenLifecycleParticipant extends AbstractMavenLifecyclePartic
         }
     }
 
+    /**
+     * Waits for the revalidation started with the session so it doesn't outlive it, e.g. in a build
+     * daemon
+     */
+    private void awaitRevalidation() {
+        CompletableFuture<?> revalidation = pendingRevalidation;
+        pendingRevalidation = null;
+        if (revalidation == null) {
+            return;
+        }
+        try {
+            revalidation.get(REVALIDATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.debug("Revalidating repository caches did not finish within the session");
+        } catch (ExecutionException e) {
+            // already reported when the revalidation completed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void writeCacheMetrics(MavenSession session) {
+        if (cacheMetricsRegistry == null) {
+            return;
+        }
+        String reportLocation = session.getUserProperties().getProperty(CacheMetricsRegistry.REPORT_PROPERTY,
+                session.getSystemProperties().getProperty(CacheMetricsRegistry.REPORT_PROPERTY, "false"));
+        try {
+            if ("false".equals(reportLocation)) {
+                return;
+            }
+            File reportFile;
+            if ("true".equals(reportLocation)) {
+                MavenProject topLevelProject = session.getTopLevelProject();
+                if (topLevelProject == null) {
+                    return;
+                }
+                reportFile = new File(topLevelProject.getBuild().getDirectory(), CacheMetricsRegistry.REPORT_FILE);
+            } else {
+                reportFile = new File(reportLocation);
+            }
+            cacheMetricsRegistry.writeReport(reportFile);
+            log.info("Cache metrics written to " + reportFile);
+        } catch (IOException e) {
+            log.warn("Can't write cache metrics to " + reportLocation, e);
+        } finally {
+            cacheMetricsRegistry.reset();
+        }
+    }
+
     private void validate(List<MavenProject> projects) throws MavenExecutionException {
         validateConsistentTychoVersion(projects);
         validateUniqueBaseDirs(projects);
@@ -258,6 +400,8 @@ public class TychoMavenLifecycleParticipant extends AbstractMavenLifecyclePartic
         MavenExecutionRequest request = session.getRequest();
         boolean failFast = MavenExecutionRequest.REACTOR_FAIL_FAST.equals(request.getReactorFailureBehavior());
         Map<MavenProject, BuildFailureException> resolutionErrors = new ConcurrentHashMap<>();
+        ResolutionScheduler scheduler = new ResolutionScheduler(
+                new File(session.getLocalRepository().getBasedir(), ResolutionScheduler.TIMINGS_RELPATH), log);
         Consumer<MavenProject> resolveProject = project -> {
             if (failFast && !resolutionErrors.isEmpty()) {
                 //short circuit
@@ -266,7 +410,9 @@ public class TychoMavenLifecycleParticipant extends AbstractMavenLifecyclePartic
             try {
                 MavenSession clone = session.clone();
                 clone.setCurrentProject(project);
+                long start = System.nanoTime();
                 resolver.resolveProject(clone, project);
+                scheduler.recordTime(project, System.nanoTime() - start);
                 if (DUMP_DATA) {
                     try {
                         modelWriter.write(new File(project.getBasedir(), "pom-model-classic.xml"), Map.of(),
@@ -285,11 +431,25 @@ public class TychoMavenLifecycleParticipant extends AbstractMavenLifecyclePartic
         int degreeOfConcurrency = request.getDegreeOfConcurrency();
         Predicate<MavenProject> takeWhile = Predicate.not(p -> failFast && !resolutionErrors.isEmpty());
         if (degreeOfConcurrency > 1) {
-            ForkJoinPool executor = new ForkJoinPool(degreeOfConcurrency);
-            ForkJoinTask<?> future = executor
-                    .submit(() -> projects.parallelStream().takeWhile(takeWhile).forEach(resolveProject));
+            List<MavenProject> orderedProjects = scheduler.order(projects,
+                    project -> getUpstreamProjects(session, project, projects));
+            AtomicInteger cnt = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(degreeOfConcurrency, r -> {
+                Thread thread = new Thread(r);
+                thread.setName("Tycho-Project-Resolver-worker-" + cnt.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
             try {
-                future.get();
+                // the pool works off its queue in submission order, so the longest resolutions start first
+                List<Future<?>> futures = orderedProjects.stream().map(project -> executor.submit(() -> {
+                    if (takeWhile.test(project)) {
+                        resolveProject.accept(project);
+                    }
+                })).collect(Collectors.toList());
+                for (Future<?> future : futures) {
+                    future.get();
+                }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             } catch (ExecutionException e) {
@@ -298,16 +458,26 @@ public class TychoMavenLifecycleParticipant extends AbstractMavenLifecyclePartic
                         ? ex
                         : new RuntimeException("resolve dependencies failed", cause);
             } finally {
-                executor.shutdown();
+                executor.shutdownNow();
+                scheduler.finish();
             }
-
         } else {
             projects.stream().takeWhile(takeWhile).forEach(resolveProject);
+            scheduler.finish();
         }
 
         reportResolutionErrors(resolutionErrors, projects, failFast);
     }
 
+    private static Collection<MavenProject> getUpstreamProjects(MavenSession session, MavenProject project,
+            List<MavenProject> projects) {
+        ProjectDependencyGraph graph = session.getProjectDependencyGraph();
+        if (graph == null) {
+            return List.of();
+        }
+        return graph.getUpstreamProjects(project, true).stream().filter(projects::contains).toList();
+    }
+
     private void reportResolutionErrors(Map<MavenProject, BuildFailureException> resolutionErrors,
             List<MavenProject> projects, boolean failFast) {
         if (resolutionErrors.isEmpty()) {
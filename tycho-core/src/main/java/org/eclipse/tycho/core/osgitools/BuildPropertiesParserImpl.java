@@ -19,6 +19,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
@@ -31,21 +32,40 @@ import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.personality.plexus.lifecycle.phase.Disposable;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Initializable;
 import org.eclipse.tycho.BuildProperties;
 import org.eclipse.tycho.BuildPropertiesParser;
 import org.eclipse.tycho.Interpolator;
 import org.eclipse.tycho.ReactorProject;
 import org.eclipse.tycho.core.maven.TychoInterpolator;
 import org.eclipse.tycho.core.shared.BuildPropertiesImpl;
+import org.eclipse.tycho.metrics.CacheMetrics;
+import org.eclipse.tycho.metrics.CacheMetricsRegistry;
 
 @Component(role = BuildPropertiesParser.class)
-public class BuildPropertiesParserImpl implements BuildPropertiesParser, Disposable {
+public class BuildPropertiesParserImpl implements BuildPropertiesParser, Initializable, Disposable {
 
     private final Map<String, BuildPropertiesImpl> cache = new HashMap<>();
 
+    // the parsed properties hold about the same strings as the file itself
+    private final CacheMetrics cacheMetrics = new CacheMetrics(
+            BuildPropertiesParserImpl.class.getSimpleName() + ".cache", this::getCacheSize,
+            () -> getCachedFiles().stream().mapToLong(file -> CacheMetrics.ENTRY_BYTES
+                    + CacheMetrics.estimateBytes(file) + 2 * new File(file).length()).sum());
+
     @Requirement
     LegacySupport legacySupport;
 
+    @Requirement
+    CacheMetricsRegistry metricsRegistry;
+
+    @Override
+    public void initialize() {
+        if (metricsRegistry != null) {
+            metricsRegistry.register(cacheMetrics);
+        }
+    }
+
     @Override
     public BuildProperties parse(ReactorProject project) {
         MavenProject mavenProject = project.adapt(MavenProject.class);
@@ -84,14 +104,26 @@ public class BuildPropertiesParserImpl implements BuildPropertiesParser, Disposa
         String filePath = propsFile.getAbsolutePath();
         BuildPropertiesImpl buildProperties = cache.get(filePath);
         if (buildProperties == null || lastModified > buildProperties.getTimestamp()) {
+            long start = System.nanoTime();
             Properties properties = readProperties(propsFile, mavenProject);
             interpolate(properties, interpolatorSupplier.get());
             buildProperties = new BuildPropertiesImpl(properties, lastModified);
             cache.put(filePath, buildProperties);
+            cacheMetrics.miss(start);
+        } else {
+            cacheMetrics.hit();
         }
         return buildProperties;
     }
 
+    private synchronized int getCacheSize() {
+        return cache.size();
+    }
+
+    private synchronized List<String> getCachedFiles() {
+        return List.copyOf(cache.keySet());
+    }
+
     @Override
     public void dispose() {
         cache.clear();
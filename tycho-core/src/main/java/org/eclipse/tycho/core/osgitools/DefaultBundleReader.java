@@ -20,7 +20,6 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
@@ -35,16 +34,30 @@ import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.AbstractLogEnabled;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Disposable;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Initializable;
 import org.eclipse.tycho.TychoConstants;
 import org.eclipse.tycho.locking.facade.FileLockService;
 import org.eclipse.tycho.locking.facade.FileLocker;
+import org.eclipse.tycho.metrics.CacheMetrics;
+import org.eclipse.tycho.metrics.CacheMetricsRegistry;
+import org.eclipse.tycho.p2.repository.ContentAddressableStore;
+import org.eclipse.tycho.p2.repository.LocalRepositoryP2Indices;
 
 @Component(role = BundleReader.class)
-public class DefaultBundleReader extends AbstractLogEnabled implements BundleReader {
+public class DefaultBundleReader extends AbstractLogEnabled implements BundleReader, Initializable, Disposable {
 
     private static final long LOCK_TIMEOUT = Long.getLong("tycho.bundlereader.lock.timeout", 5 * 60 * 1000L);
     public static final String CACHE_PATH = ".cache/tycho";
-    private final Map<String, OsgiManifest> manifestCache = new HashMap<>();
+    private static final boolean MANIFEST_INDEX_ENABLED = Boolean
+            .parseBoolean(System.getProperty("tycho.bundlereader.manifest.index", "true"));
+    private final Map<String, OsgiManifest> manifestCache = new ConcurrentHashMap<>();
+    private final CacheMetrics manifestCacheMetrics = new CacheMetrics(
+            DefaultBundleReader.class.getSimpleName() + ".manifestCache", manifestCache::size,
+            () -> manifestCache.values().stream()
+                    .mapToLong(manifest -> CacheMetrics.ENTRY_BYTES + CacheMetrics.estimateBytes(manifest.getHeaders()))
+                    .sum());
 
     private File cacheDir;
     private ConcurrentMap<String, Optional<File>> extractedFiles = new ConcurrentHashMap<>();
@@ -52,13 +65,40 @@ public class DefaultBundleReader extends AbstractLogEnabled implements BundleRea
     @Requirement
     private FileLockService fileLockService;
 
+    @Requirement
+    private LocalRepositoryP2Indices localRepoIndices;
+
+    private ManifestIndex manifestIndex;
+
+    @Requirement
+    private CacheMetricsRegistry metricsRegistry;
+
+    public DefaultBundleReader() {
+    }
+
+    DefaultBundleReader(FileLockService fileLockService, Logger logger) {
+        this.fileLockService = fileLockService;
+        enableLogging(logger);
+    }
+
+    @Override
+    public void initialize() {
+        if (metricsRegistry != null) {
+            metricsRegistry.register(manifestCacheMetrics);
+        }
+    }
+
     @Override
     public OsgiManifest loadManifest(File bundleLocation) {
         String locationPath = bundleLocation.getAbsolutePath();
         OsgiManifest manifest = manifestCache.get(locationPath);
         if (manifest == null) {
+            long start = System.nanoTime();
             manifest = doLoadManifest(bundleLocation);
             manifestCache.put(locationPath, manifest);
+            manifestCacheMetrics.miss(start);
+        } else {
+            manifestCacheMetrics.hit();
         }
         return manifest;
     }
@@ -70,12 +110,16 @@ public class DefaultBundleReader extends AbstractLogEnabled implements BundleRea
         try {
             OsgiManifest manifest = manifestCache.get(locationPath);
             if (manifest == null) {
+                long start = System.nanoTime();
                 File manifestFile = getManifestLocation(mavenProject);
                 if (!manifestFile.isFile()) {
                     throw new OsgiManifestParserException(manifestFile.getAbsolutePath(), "Manifest file not found");
                 }
                 manifest = loadManifestFile(manifestFile);
                 manifestCache.put(locationPath, manifest);
+                manifestCacheMetrics.miss(start);
+            } else {
+                manifestCacheMetrics.hit();
             }
             return manifest;
         } catch (IOException e) {
@@ -103,12 +147,24 @@ public class DefaultBundleReader extends AbstractLogEnabled implements BundleRea
             // file but not a jar, assume it is MANIFEST.MF
             return loadManifestFile(bundleLocation);
         }
+        String location = bundleLocation.getAbsolutePath() + "!/" + JarFile.MANIFEST_NAME;
+        ManifestIndex index = getManifestIndex();
+        if (index != null) {
+            Map<String, String> headers = index.getHeaders(bundleLocation);
+            if (headers != null) {
+                return OsgiManifest.fromHeaders(headers, location);
+            }
+        }
         try ( // it is a jar, let's see if it has OSGi bundle manifest
                 ZipFile jar = new ZipFile(bundleLocation, ZipFile.OPEN_READ)) {
             ZipEntry manifestEntry = jar.getEntry(JarFile.MANIFEST_NAME);
             if (manifestEntry != null) {
                 InputStream stream = jar.getInputStream(manifestEntry);
-                return OsgiManifest.parse(stream, bundleLocation.getAbsolutePath() + "!/" + JarFile.MANIFEST_NAME);
+                OsgiManifest manifest = OsgiManifest.parse(stream, location);
+                if (index != null) {
+                    index.putHeaders(bundleLocation, manifest.getHeaders());
+                }
+                return manifest;
             }
         }
         throw new OsgiManifestParserException(bundleLocation.getAbsolutePath(),
@@ -161,8 +217,13 @@ public class DefaultBundleReader extends AbstractLogEnabled implements BundleRea
         return OsgiManifest.parse(new FileInputStream(manifestFile), manifestFile.getAbsolutePath());
     }
 
-    public void setLocationRepository(File basedir) {
-        this.cacheDir = new File(basedir, CACHE_PATH);
+    public synchronized void setLocationRepository(File basedir) {
+        File newCacheDir = new File(basedir, CACHE_PATH);
+        if (!newCacheDir.equals(cacheDir)) {
+            // the index belongs to the previous location
+            dispose();
+        }
+        this.cacheDir = newCacheDir;
     }
 
     @Override
@@ -193,6 +254,9 @@ public class DefaultBundleReader extends AbstractLogEnabled implements BundleRea
                 locker.lock(LOCK_TIMEOUT);
                 try {
                     extractZipEntries(bundleLocation, path, outputDirectory);
+                    if (ContentAddressableStore.ENABLED && cacheFile.isFile()) {
+                        localRepoIndices.getContentStore().deduplicate(cacheFile);
+                    }
                     if (cacheFile.exists()) {
                         return Optional.of(cacheFile);
                     }
@@ -213,6 +277,31 @@ public class DefaultBundleReader extends AbstractLogEnabled implements BundleRea
         }
     }
 
+    private synchronized ManifestIndex getManifestIndex() {
+        if (manifestIndex == null && MANIFEST_INDEX_ENABLED && cacheDir != null) {
+            manifestIndex = new ManifestIndex(cacheDir, fileLockService, getLogger());
+        }
+        return manifestIndex;
+    }
+
+    /**
+     * Persists the manifest index. Entries recorded during the build are only written here, i.e.
+     * when the container shuts down or the local repository changes, because each save has to merge
+     * with the index file under a lock. A build that is killed before therefore leaves the index as
+     * it was, which only costs reading the manifests from the jars again.
+     */
+    @Override
+    public synchronized void dispose() {
+        if (manifestIndex != null) {
+            try {
+                manifestIndex.save();
+            } catch (IOException e) {
+                getLogger().warn("Can't save manifest index to " + cacheDir + " (" + e + ")");
+            }
+            manifestIndex = null;
+        }
+    }
+
     private void extractZipEntries(File bundleLocation, String path, File outputDirectory) throws IOException {
         try (ZipFile zip = new ZipFile(bundleLocation)) {
             ZipEntry singleEntry = zip.getEntry(path);
@@ -18,7 +18,11 @@ package org.eclipse.tycho.core.osgitools;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,9 +31,12 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.StringJoiner;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.maven.execution.MavenSession;
@@ -38,13 +45,16 @@ import org.apache.maven.toolchain.ToolchainManager;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Disposable;
 import org.eclipse.osgi.container.Module;
 import org.eclipse.osgi.container.Module.Settings;
 import org.eclipse.osgi.container.Module.State;
+import org.eclipse.osgi.container.ModuleCapability;
 import org.eclipse.osgi.container.ModuleCollisionHook;
 import org.eclipse.osgi.container.ModuleContainer;
 import org.eclipse.osgi.container.ModuleContainerAdaptor;
 import org.eclipse.osgi.container.ModuleDatabase;
+import org.eclipse.osgi.container.ModuleRequirement;
 import org.eclipse.osgi.container.ModuleRevision;
 import org.eclipse.osgi.container.ModuleRevisionBuilder;
 import org.eclipse.osgi.container.ModuleRevisionBuilder.GenericInfo;
@@ -79,13 +89,14 @@ import org.osgi.framework.FrameworkListener;
 import org.osgi.framework.hooks.resolver.ResolverHook;
 import org.osgi.framework.hooks.resolver.ResolverHookFactory;
 import org.osgi.framework.namespace.HostNamespace;
+import org.osgi.framework.namespace.IdentityNamespace;
 import org.osgi.framework.namespace.NativeNamespace;
 import org.osgi.framework.wiring.BundleCapability;
 import org.osgi.framework.wiring.BundleRequirement;
 import org.osgi.framework.wiring.BundleRevision;
 
 @Component(role = DependenciesResolver.class, hint = EquinoxResolver.HINT)
-public class EquinoxResolver implements DependenciesResolver {
+public class EquinoxResolver implements DependenciesResolver, Disposable {
 
     public static final String HINT = "equinox";
 
@@ -109,24 +120,41 @@ public class EquinoxResolver implements DependenciesResolver {
     @Requirement
     private DependencyComputer dependencyComputer;
 
+    /**
+     * Containers that only hold the system bundle and the bundles of the target platform, already
+     * resolved. Projects with the same target platform only install (and later uninstall) the reactor
+     * bundles into such a container instead of building a new container from scratch.
+     */
+    private final Map<BaseContainerKey, Deque<ModuleContainer>> baseContainers = Collections
+            .synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<BaseContainerKey, Deque<ModuleContainer>> eldest) {
+                    return size() > MAX_BASE_CONTAINER_KEYS;
+                }
+            });
+
+    private static final int MAX_BASE_CONTAINER_KEYS = 4;
+
+    /**
+     * Containers kept per target platform, with parallel builds more containers might be in use at
+     * the same time but only this many are kept for later projects
+     */
+    private static final int MAX_BASE_CONTAINERS_PER_KEY = 2;
+
+    private ScheduledExecutorService executorService;
+
     public ModuleContainer newResolvedState(ReactorProject project, MavenSession mavenSession, ExecutionEnvironment ee,
             DependencyArtifacts artifacts) throws BundleException {
         Objects.requireNonNull(artifacts, "DependencyArtifacts can't be null!");
-        ScheduledExecutorService executorService = Executors
-                .newScheduledThreadPool(EquinoxResolverConfiguration.THREAD_COUNT);
-        try {
-            return newResolvedState(project, mavenSession, ee, artifacts, executorService,
-                    new EquinoxResolverConfiguration());
-        } finally {
-            executorService.shutdownNow();
-        }
+        return newResolvedState(project, mavenSession, ee, artifacts, classifyBundles(artifacts),
+                getExecutorService(), new EquinoxResolverConfiguration());
     }
 
     private ModuleContainer newResolvedState(ReactorProject project, MavenSession mavenSession, ExecutionEnvironment ee,
-            DependencyArtifacts artifacts, ScheduledExecutorService executorService,
+            DependencyArtifacts artifacts, BundleSet bundles, ScheduledExecutorService executorService,
             EquinoxResolverConfiguration config) throws BundleException {
         Properties properties = getPlatformProperties(project, mavenSession, artifacts, ee);
-        ModuleContainer container = newState(artifacts, properties, mavenSession, executorService, config);
+        ModuleContainer container = newState(bundles, properties, executorService, config);
         ResolutionReport report = container.resolve(null, false);
         Module module = container.getModule(getNormalizedPath(project.getBasedir()));
         if (module == null) {
@@ -201,7 +229,7 @@ public class EquinoxResolver implements DependenciesResolver {
         }
         if (!config.keepUses) {
             logger.info(FORCE_KEEP_USES);
-            return newResolvedState(project, mavenSession, ee, artifacts, executorService,
+            return newResolvedState(project, mavenSession, ee, artifacts, bundles, executorService,
                     new EquinoxResolverConfiguration(config, true));
         }
         throw new BundleException("Bundle " + moduleRevision.getSymbolicName() + " cannot be resolved:"
@@ -256,6 +284,30 @@ public class EquinoxResolver implements DependenciesResolver {
 
     protected ModuleContainer newState(DependencyArtifacts artifacts, Properties properties, MavenSession mavenSession,
             ScheduledExecutorService executorService, EquinoxResolverConfiguration config) throws BundleException {
+        return newState(classifyBundles(artifacts), properties, executorService, config);
+    }
+
+    private ModuleContainer newState(BundleSet bundles, Properties properties,
+            ScheduledExecutorService executorService, EquinoxResolverConfiguration config) throws BundleException {
+        ModuleContainer moduleContainer = newBaseContainer(bundles, properties, executorService, config);
+        installProjects(moduleContainer, bundles, config);
+        return moduleContainer;
+    }
+
+    private ModuleContainer newBaseContainer(BundleSet bundles, Properties properties,
+            ScheduledExecutorService executorService, EquinoxResolverConfiguration config) throws BundleException {
+        ModuleContainer moduleContainer = newContainer(executorService, config);
+        installSystemBundle(moduleContainer, bundles, properties, config);
+        for (Map.Entry<File, OsgiManifest> external : bundles.externalBundles().entrySet()) {
+            install(moduleContainer, null, external.getKey().getAbsolutePath(),
+                    OSGiManifestBuilderFactory.createBuilder(external.getValue().getHeaders()), external.getKey(),
+                    config);
+        }
+        return moduleContainer;
+    }
+
+    private ModuleContainer newContainer(ScheduledExecutorService executorService,
+            EquinoxResolverConfiguration config) {
         ModuleContainer[] moduleContainerAccessor = new ModuleContainer[1];
         ModuleContainerAdaptor moduleContainerAdaptor = new ModuleContainerAdaptor() {
 
@@ -353,6 +405,10 @@ public class EquinoxResolver implements DependenciesResolver {
         ModuleContainer moduleContainer = new ModuleContainer(moduleContainerAdaptor, moduleDatabase);
         moduleContainerAccessor[0] = moduleContainer;
 
+        return moduleContainer;
+    }
+
+    private BundleSet classifyBundles(DependencyArtifacts artifacts) {
         Map<File, OsgiManifest> systemBundles = new LinkedHashMap<>();
         Map<File, OsgiManifest> externalBundles = new LinkedHashMap<>();
         Map<File, OsgiManifest> projects = new LinkedHashMap<>();
@@ -384,6 +440,12 @@ public class EquinoxResolver implements DependenciesResolver {
             }
         }
 
+        return new BundleSet(systemBundles, externalBundles, projects);
+    }
+
+    private static void installSystemBundle(ModuleContainer moduleContainer, BundleSet bundles, Properties properties,
+            EquinoxResolverConfiguration config) throws BundleException {
+        Map<File, OsgiManifest> systemBundles = bundles.systemBundles();
         String systemExtraCapabilities = getSystemExtraCapabilities(properties);
 
         Map<String, String> systemBundleManifest;
@@ -402,20 +464,24 @@ public class EquinoxResolver implements DependenciesResolver {
                 properties.getProperty(Constants.FRAMEWORK_SYSTEMPACKAGES), systemExtraCapabilities);
         install(moduleContainer, null, Constants.SYSTEM_BUNDLE_LOCATION, systemBundleRevisionBuilder, systemBundleInfo,
                 config);
+    }
 
-        for (Map.Entry<File, OsgiManifest> external : externalBundles.entrySet()) {
-            install(moduleContainer, null, external.getKey().getAbsolutePath(),
-                    OSGiManifestBuilderFactory.createBuilder(external.getValue().getHeaders()), external.getKey(),
-                    config);
-        }
-        for (Map.Entry<File, OsgiManifest> entry : projects.entrySet()) {
+    private static List<Module> installProjects(ModuleContainer moduleContainer, BundleSet bundles,
+            EquinoxResolverConfiguration config) throws BundleException {
+        List<Module> modules = new ArrayList<>();
+        for (Map.Entry<File, OsgiManifest> entry : bundles.projects().entrySet()) {
             // make sure reactor projects override anything from the target platform
             // that has the same bundle symbolic name
             Map<String, String> headers = entry.getValue().getHeaders();
             ModuleRevisionBuilder builder = OSGiManifestBuilderFactory.createBuilder(headers);
-            install(moduleContainer, null, entry.getKey().getAbsolutePath(), builder, entry.getKey(), config);
+            modules.add(install(moduleContainer, null, entry.getKey().getAbsolutePath(), builder, entry.getKey(),
+                    config));
         }
-        return moduleContainer;
+        return modules;
+    }
+
+    private record BundleSet(Map<File, OsgiManifest> systemBundles, Map<File, OsgiManifest> externalBundles,
+            Map<File, OsgiManifest> projects) {
     }
 
     private static Module install(ModuleContainer moduleContainer, Module origin, String location,
@@ -531,34 +597,171 @@ public class EquinoxResolver implements DependenciesResolver {
         return bundleLocation.exists();
     }
 
-    private ModuleContainer getResolverState(ReactorProject project, MavenProject mavenProject,
-            DependencyArtifacts artifacts, MavenSession session) {
+    @Override
+    public DependenciesInfo computeDependencies(MavenProject project, DependencyArtifacts artifacts,
+            MavenSession session) {
+        ReactorProject reactorProject = DefaultReactorProject.adapt(project);
+        ExecutionEnvironmentConfiguration eeConfiguration = projectManager.getExecutionEnvironmentConfiguration(project);
+        ExecutionEnvironment executionEnvironment = eeConfiguration.isIgnoredByResolver() ? null
+                : eeConfiguration.getFullSpecification();
+        BundleSet bundles = classifyBundles(artifacts);
+        EquinoxResolverConfiguration config = new EquinoxResolverConfiguration();
         try {
-            ExecutionEnvironmentConfiguration eeConfiguration = projectManager
-                    .getExecutionEnvironmentConfiguration(mavenProject);
-            ExecutionEnvironment executionEnvironment = eeConfiguration.getFullSpecification();
-            return newResolvedState(project, session,
-                    eeConfiguration.isIgnoredByResolver() ? null : executionEnvironment, artifacts);
+            if (config.sharedContainers && !config.keepUses && !logger.isDebugEnabled()) {
+                DependenciesInfo dependenciesInfo = computeDependenciesShared(reactorProject, project, artifacts,
+                        session, executionEnvironment, bundles, config);
+                if (dependenciesInfo != null) {
+                    return dependenciesInfo;
+                }
+            }
+            ModuleContainer state = newResolvedState(reactorProject, session, executionEnvironment, artifacts,
+                    bundles, getExecutorService(), config);
+            Module module = state.getModule(project.getBasedir().getAbsolutePath());
+            if (module == null) {
+                Module systemModule = state.getModule(Constants.SYSTEM_BUNDLE_LOCATION);
+                if (project.getBasedir().equals(systemModule.getCurrentRevision().getRevisionInfo())) {
+                    module = systemModule;
+                }
+            }
+            ModuleRevision bundleDescription = module.getCurrentRevision();
+            // dependencies
+            List<DependencyEntry> dependencies = dependencyComputer.computeDependencies(bundleDescription);
+            return newDependenciesInfo(bundleDescription, dependencies,
+                    () -> dependencyComputer.computeBootClasspathExtraAccessRules(state));
         } catch (BundleException e) {
             throw new RuntimeException(e);
         }
     }
 
-    @Override
-    public DependenciesInfo computeDependencies(MavenProject project, DependencyArtifacts artifacts,
-            MavenSession session) {
-        ModuleContainer state = getResolverState(DefaultReactorProject.adapt(project), project, artifacts, session);
-        Module module = state.getModule(project.getBasedir().getAbsolutePath());
-        if (module == null) {
-            Module systemModule = state.getModule(Constants.SYSTEM_BUNDLE_LOCATION);
-            if (project.getBasedir().equals(systemModule.getCurrentRevision().getRevisionInfo())) {
-                module = systemModule;
+    /**
+     * Computes the dependencies of the project by installing the reactor bundles into a pooled base
+     * container that already holds the resolved target platform. The reactor bundles are removed
+     * again afterwards so the container can be used for the next project with the same target
+     * platform.
+     *
+     * @return the dependencies or <code>null</code> if the project needs a fresh container, e.g.
+     *         because it can't be resolved (to report the problem or retry with 'uses' constraints),
+     *         is a fragment or host of a fragment, is the system bundle itself or the reactor provides
+     *         something the target platform could be wired to
+     */
+    private DependenciesInfo computeDependenciesShared(ReactorProject reactorProject, MavenProject project,
+            DependencyArtifacts artifacts, MavenSession session, ExecutionEnvironment ee, BundleSet bundles,
+            EquinoxResolverConfiguration config) throws BundleException {
+        Properties properties = getPlatformProperties(reactorProject, session, artifacts, ee);
+        BaseContainerKey key = new BaseContainerKey(properties.getProperty(Constants.FRAMEWORK_SYSTEMPACKAGES),
+                getSystemExtraCapabilities(properties), config.batchSize,
+                List.copyOf(bundles.systemBundles().keySet()), List.copyOf(bundles.externalBundles().keySet()));
+        ModuleContainer container = pollBaseContainer(key);
+        if (container == null) {
+            container = newBaseContainer(bundles, properties, getExecutorService(), config);
+            container.resolve(null, false);
+        }
+        List<Module> projectModules = null;
+        try {
+            projectModules = installProjects(container, bundles, config);
+            if (isWiredDifferentlyWith(container, projectModules)) {
+                // a fresh container might wire the target platform to the reactor
+                return null;
+            }
+            container.resolve(null, false);
+            Module module = container.getModule(getNormalizedPath(project.getBasedir()));
+            if (module == null || module.getState() != State.RESOLVED) {
+                return null;
+            }
+            ModuleRevision revision = module.getCurrentRevision();
+            if ((revision.getTypes() & BundleRevision.TYPE_FRAGMENT) != 0
+                    || !revision.getWiring().getProvidedModuleWires(HostNamespace.HOST_NAMESPACE).isEmpty()) {
+                // other fragments need to be removed from the state, see newResolvedState
+                return null;
+            }
+            List<DependencyEntry> dependencies = dependencyComputer.computeDependencies(revision);
+            List<AccessRule> bootClasspathExtraAccessRules = dependencyComputer
+                    .computeBootClasspathExtraAccessRules(container);
+            return newDependenciesInfo(revision, dependencies, () -> bootClasspathExtraAccessRules);
+        } finally {
+            releaseBaseContainer(key, container, projectModules);
+        }
+    }
+
+    private ModuleContainer pollBaseContainer(BaseContainerKey key) {
+        Deque<ModuleContainer> pool = baseContainers.get(key);
+        return pool == null ? null : pool.poll();
+    }
+
+    private void releaseBaseContainer(BaseContainerKey key, ModuleContainer container, List<Module> projectModules) {
+        if (projectModules == null) {
+            // installing the projects failed half way, the container is in an unknown state
+            return;
+        }
+        try {
+            for (Module module : projectModules) {
+                container.uninstall(module);
+            }
+            container.refresh(projectModules);
+        } catch (BundleException | RuntimeException e) {
+            logger.debug("Discarding base container: " + e);
+            return;
+        }
+        // if enough containers are pooled already this one is simply dropped
+        baseContainers.computeIfAbsent(key, k -> new LinkedBlockingDeque<>(MAX_BASE_CONTAINERS_PER_KEY))
+                .offer(container);
+    }
+
+    /**
+     * Checks if the (already resolved) target platform bundles of a base container could be wired
+     * differently when resolved together with the given project modules. This is the case if a
+     * project provides a capability that a target platform bundle requires, or is a fragment of a
+     * target platform bundle.
+     */
+    static boolean isWiredDifferentlyWith(ModuleContainer container, List<Module> projectModules) {
+        Set<Module> projects = new HashSet<>(projectModules);
+        Map<String, List<ModuleCapability>> projectCapabilities = new HashMap<>();
+        List<ModuleRequirement> projectHostRequirements = new ArrayList<>();
+        for (Module module : projectModules) {
+            ModuleRevision revision = module.getCurrentRevision();
+            for (ModuleCapability capability : revision.getModuleCapabilities(null)) {
+                if (!IdentityNamespace.IDENTITY_NAMESPACE.equals(capability.getNamespace())) {
+                    projectCapabilities.computeIfAbsent(capability.getNamespace(), n -> new ArrayList<>())
+                            .add(capability);
+                }
+            }
+            projectHostRequirements.addAll(revision.getModuleRequirements(HostNamespace.HOST_NAMESPACE));
+        }
+        for (Module module : container.getModules()) {
+            if (projects.contains(module)) {
+                continue;
             }
+            ModuleRevision revision = module.getCurrentRevision();
+            for (ModuleRequirement requirement : revision.getModuleRequirements(null)) {
+                for (ModuleCapability capability : projectCapabilities.getOrDefault(requirement.getNamespace(),
+                        List.of())) {
+                    if (requirement.matches(capability)) {
+                        return true;
+                    }
+                }
+            }
+            for (ModuleCapability host : revision.getModuleCapabilities(HostNamespace.HOST_NAMESPACE)) {
+                for (ModuleRequirement hostRequirement : projectHostRequirements) {
+                    if (hostRequirement.matches(host)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of base containers currently available for reuse
+     */
+    int getPooledBaseContainerCount() {
+        synchronized (baseContainers) {
+            return baseContainers.values().stream().mapToInt(Deque::size).sum();
         }
-        ModuleRevision bundleDescription = module.getCurrentRevision();
+    }
 
-        // dependencies
-        List<DependencyEntry> dependencies = dependencyComputer.computeDependencies(bundleDescription);
+    private static DependenciesInfo newDependenciesInfo(ModuleRevision bundleDescription,
+            List<DependencyEntry> dependencies, Supplier<List<AccessRule>> bootClasspathExtraAccessRules) {
         return new DependenciesInfo() {
 
             @Override
@@ -573,9 +776,35 @@ public class EquinoxResolver implements DependenciesResolver {
 
             @Override
             public List<AccessRule> getBootClasspathExtraAccessRules() {
-                return dependencyComputer.computeBootClasspathExtraAccessRules(state);
+                return bootClasspathExtraAccessRules.get();
             }
         };
     }
 
+    private synchronized ScheduledExecutorService getExecutorService() {
+        if (executorService == null) {
+            AtomicInteger cnt = new AtomicInteger();
+            executorService = Executors.newScheduledThreadPool(EquinoxResolverConfiguration.THREAD_COUNT, r -> {
+                Thread thread = new Thread(r);
+                thread.setName("Tycho-Equinox-Resolver-Thread-" + cnt.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executorService;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        baseContainers.clear();
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+        }
+    }
+
+    private record BaseContainerKey(String systemPackages, String systemExtraCapabilities, String batchSize,
+            List<File> systemBundles, List<File> externalBundles) {
+    }
+
 }
@@ -17,11 +17,13 @@ final class EquinoxResolverConfiguration {
     public EquinoxResolverConfiguration() {
         keepUses = Boolean.getBoolean("tycho.equinox.resolver.uses");
         batchSize = System.getProperty("tycho.equinox.resolver.batch.size", keepUses ? null : "1");
+        sharedContainers = Boolean.getBoolean("tycho.equinox.resolver.shared");
     }
 
     public EquinoxResolverConfiguration(EquinoxResolverConfiguration source, boolean forceKeepUses) {
         keepUses = forceKeepUses;
         batchSize = keepUses ? null : source.batchSize;
+        sharedContainers = source.sharedContainers;
     }
 
     /**
@@ -37,6 +39,13 @@ final class EquinoxResolverConfiguration {
      */
     final String batchSize;
 
+    /**
+     * If set to true, the reactor bundles of a project are installed into a shared container that
+     * already holds the resolved target platform instead of resolving every project in a new
+     * container
+     */
+    final boolean sharedContainers;
+
     /**
      * Set the batch timeout to an acceptable timeout before fallback to resolve one bundle at a
      * time, but allow to override this if necessary
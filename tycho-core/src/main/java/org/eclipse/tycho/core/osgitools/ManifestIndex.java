@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.core.osgitools;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.codehaus.plexus.logging.Logger;
+import org.eclipse.tycho.locking.facade.FileLockService;
+import org.eclipse.tycho.locking.facade.FileLocker;
+
+/**
+ * Persistent index of the manifest headers of bundle jars, so that the jars do not need to be
+ * opened again in later builds. An entry is only used if the size and last modified time of the
+ * jar have not changed since it was recorded. The index is stored in a compact binary form and is
+ * merged with concurrent changes of other processes on {@link #save()}.
+ */
+class ManifestIndex {
+
+    static final String INDEX_FILE = "manifest-index.bin";
+
+    private static final int MAGIC = 0x544D4958; // "TMIX"
+    private static final int FORMAT_VERSION = 1;
+
+    private final File indexFile;
+    private final FileLocker fileLocker;
+    private final Logger logger;
+    private final Map<String, IndexEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, IndexEntry> addedEntries = new ConcurrentHashMap<>();
+
+    ManifestIndex(File cacheDir, FileLockService fileLockService, Logger logger) {
+        this.indexFile = new File(cacheDir, INDEX_FILE);
+        this.logger = logger;
+        this.fileLocker = fileLockService.getFileLocker(indexFile);
+        if (indexFile.isFile()) {
+            fileLocker.lock();
+            try {
+                read(entries);
+            } finally {
+                fileLocker.release();
+            }
+        }
+    }
+
+    /**
+     * Returns the recorded manifest headers of the given jar.
+     *
+     * @return the headers or <code>null</code> if the jar is not indexed or has changed since
+     */
+    Map<String, String> getHeaders(File jar) {
+        IndexEntry entry = entries.get(jar.getAbsolutePath());
+        if (entry != null && entry.size() == jar.length() && entry.lastModified() == jar.lastModified()) {
+            return entry.headers();
+        }
+        return null;
+    }
+
+    void putHeaders(File jar, Map<String, String> headers) {
+        IndexEntry entry = new IndexEntry(jar.length(), jar.lastModified(), new LinkedHashMap<>(headers));
+        String key = jar.getAbsolutePath();
+        entries.put(key, entry);
+        addedEntries.put(key, entry);
+    }
+
+    /**
+     * Persists all entries added since the last save, entries added concurrently by other
+     * processes are retained and entries of jars that no longer exist are dropped.
+     */
+    synchronized void save() throws IOException {
+        if (addedEntries.isEmpty()) {
+            return;
+        }
+        File parentDir = indexFile.getParentFile();
+        if (!parentDir.isDirectory()) {
+            parentDir.mkdirs();
+        }
+        fileLocker.lock();
+        try {
+            Map<String, IndexEntry> current = new LinkedHashMap<>();
+            if (indexFile.isFile()) {
+                read(current);
+            }
+            current.putAll(addedEntries);
+            addedEntries.clear();
+            current.keySet().removeIf(path -> !new File(path).isFile());
+            // minimize time window for corrupting the file by first writing to a temp file, then moving it
+            File tempFile = File.createTempFile("index", "tmp", parentDir);
+            try {
+                write(current, tempFile);
+                Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                tempFile.delete();
+            }
+        } finally {
+            fileLocker.release();
+        }
+    }
+
+    private void read(Map<String, IndexEntry> target) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(indexFile), 64 * 1024))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                logger.debug("Ignoring manifest index " + indexFile + " with unknown format");
+                return;
+            }
+            List<String> strings = new ArrayList<>();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String path = readString(in, strings);
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                int headerCount = in.readInt();
+                Map<String, String> headers = new LinkedHashMap<>(headerCount * 2);
+                for (int j = 0; j < headerCount; j++) {
+                    headers.put(readString(in, strings), readString(in, strings));
+                }
+                target.put(path, new IndexEntry(size, lastModified, headers));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring invalid manifest index " + indexFile + " (" + e + ")");
+        }
+    }
+
+    private static void write(Map<String, IndexEntry> entries, File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file.toPath()), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(entries.size());
+            Map<String, Integer> strings = new HashMap<>();
+            for (Entry<String, IndexEntry> entry : entries.entrySet()) {
+                IndexEntry indexEntry = entry.getValue();
+                writeString(out, entry.getKey(), strings);
+                out.writeLong(indexEntry.size());
+                out.writeLong(indexEntry.lastModified());
+                out.writeInt(indexEntry.headers().size());
+                for (Entry<String, String> header : indexEntry.headers().entrySet()) {
+                    writeString(out, header.getKey(), strings);
+                    writeString(out, header.getValue(), strings);
+                }
+            }
+        }
+    }
+
+    /**
+     * Strings are written once and referenced by their index afterwards, header names and many
+     * header values (e.g. versions or execution environments) repeat across bundles.
+     */
+    private static void writeString(DataOutputStream out, String value, Map<String, Integer> strings)
+            throws IOException {
+        Integer index = strings.get(value);
+        if (index != null) {
+            out.writeInt(index);
+            return;
+        }
+        strings.put(value, strings.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(-1);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in, List<String> strings) throws IOException {
+        int index = in.readInt();
+        if (index >= 0) {
+            return strings.get(index);
+        }
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        strings.add(value);
+        return value;
+    }
+
+    private record IndexEntry(long size, long lastModified, Map<String, String> headers) {
+    }
+
+}
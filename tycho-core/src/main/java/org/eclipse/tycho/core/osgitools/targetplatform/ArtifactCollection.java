@@ -17,6 +17,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -46,7 +47,19 @@ public class ArtifactCollection {
 
     protected final Map<ArtifactKey, ArtifactDescriptor> artifacts = new LinkedHashMap<>();
 
-    protected final Map<File, Map<String, ArtifactDescriptor>> artifactsWithKnownLocation = new LinkedHashMap<>();
+    /**
+     * Artifacts by their location, derived from {@link #artifacts} on first use. Locations that
+     * become known later (by fetching an artifact) are only guaranteed to be included in
+     * {@link #fetchedLocationIndex}.
+     */
+    private volatile Map<File, Map<String, ArtifactDescriptor>> locationIndex;
+
+    private volatile Map<File, Map<String, ArtifactDescriptor>> fetchedLocationIndex;
+
+    /**
+     * Artifacts by type and id, derived from {@link #artifacts} on first use
+     */
+    private volatile Map<String, List<ArtifactDescriptor>> idIndex;
 
     public List<ArtifactDescriptor> getArtifacts(String type) {
         return getArtifacts(key -> key.getType().equals(type));
@@ -78,7 +91,7 @@ public class ArtifactCollection {
             throw new IllegalAccessError();
         }
 
-        ArtifactKey normalizedKey = normalizeKey(artifact.getKey());
+        ArtifactKey normalizedKey = normalize(normalizeKey(artifact.getKey()));
 
         ArtifactDescriptor original = artifacts.get(normalizedKey);
 
@@ -98,17 +111,19 @@ public class ArtifactCollection {
             // artifact equals to original
             Collection<IInstallableUnit> originalIUs = original.getInstallableUnits();
             if (unitSetCompare(artifactIUs, originalIUs)) {
-                if (original instanceof DefaultArtifactDescriptor def) {
-                    if (original.getLocation(false) == null) {
-                        //they equal but maybe we can fetch the file form the other one because it is already resolved?
-                        if (original.getMavenProject() == null) {
-                            def.setMavenProject(artifact.getMavenProject());
-                        }
-                        File newLocation = artifact.getLocation(false);
-                        if (newLocation != null) {
-                            def.resolve(newLocation);
-                            registerArtifactLocation(newLocation, original);
-                        }
+                if (original.getLocation(false) == null) {
+                    //they equal but maybe we can fetch the file form the other one because it is already resolved?
+                    // the original might be shared with other projects, so replace it instead of modifying it
+                    ReactorProject mavenProject = original.getMavenProject() != null ? original.getMavenProject()
+                            : artifact.getMavenProject();
+                    File newLocation = artifact.getLocation(false);
+                    if (newLocation != null) {
+                        putArtifact(normalizedKey, new DefaultArtifactDescriptor(normalizedKey, newLocation,
+                                mavenProject, original.getClassifier(), originalIUs));
+                    } else if (mavenProject != original.getMavenProject()) {
+                        putArtifact(normalizedKey, new DefaultArtifactDescriptor(normalizedKey,
+                                whatever -> original.getLocation(true), mavenProject, original.getClassifier(),
+                                originalIUs));
                     }
                 }
                 return;
@@ -136,7 +151,7 @@ public class ArtifactCollection {
         }
 
         if (units != null) {
-            units = Collections.unmodifiableCollection(units);
+            units = List.copyOf(units);
         }
 
         // recreate artifact descriptor to use normalized location, key and units
@@ -144,16 +159,21 @@ public class ArtifactCollection {
         ArtifactDescriptor normalizedArtifact = location != null
                 ? new DefaultArtifactDescriptor(normalizedKey, location, artifact.getMavenProject(),
                         artifact.getClassifier(), units)
-                : new DefaultArtifactDescriptor(normalizedKey, thisArtifact -> {
-                    File resolvedLocation = artifact.getLocation(true);
-                    registerArtifactLocation(resolvedLocation, thisArtifact);
-                    return resolvedLocation;
-                }, artifact.getMavenProject(), artifact.getClassifier(), units);
-
-        artifacts.put(normalizedKey, normalizedArtifact);
-        if (location != null) {
-            registerArtifactLocation(location, normalizedArtifact);
-        }
+                : new DefaultArtifactDescriptor(normalizedKey, thisArtifact -> artifact.getLocation(true),
+                        artifact.getMavenProject(), artifact.getClassifier(), units);
+
+        putArtifact(normalizedKey, normalize(normalizedArtifact));
+    }
+
+    private void putArtifact(ArtifactKey key, ArtifactDescriptor artifact) {
+        artifacts.put(key, artifact);
+        invalidateIndices();
+    }
+
+    private void invalidateIndices() {
+        locationIndex = null;
+        fetchedLocationIndex = null;
+        idIndex = null;
     }
 
     private boolean unitSetCompare(Collection<IInstallableUnit> unitsA, Collection<IInstallableUnit> unitsB) {
@@ -173,9 +193,20 @@ public class ArtifactCollection {
         return Set.copyOf(unitsB).equals(Set.copyOf(unitsA));
     }
 
-    private void registerArtifactLocation(File location, ArtifactDescriptor normalizedArtifact) {
-        Map<String, ArtifactDescriptor> classified = artifactsWithKnownLocation.computeIfAbsent(location,
-                loc -> new LinkedHashMap<>());
+    private Map<File, Map<String, ArtifactDescriptor>> createLocationIndex() {
+        Map<File, Map<String, ArtifactDescriptor>> index = new LinkedHashMap<>();
+        for (ArtifactDescriptor artifact : artifacts.values()) {
+            File location = artifact.getLocation(false);
+            if (location != null) {
+                registerArtifactLocation(index, normalizeLocation(location), artifact);
+            }
+        }
+        return index;
+    }
+
+    private static void registerArtifactLocation(Map<File, Map<String, ArtifactDescriptor>> index, File location,
+            ArtifactDescriptor normalizedArtifact) {
+        Map<String, ArtifactDescriptor> classified = index.computeIfAbsent(location, loc -> new LinkedHashMap<>());
         // TODO sanity check, no duplicate artifact classifiers at the same location
         //if (classified.containsKey(artifact.getClassifier())) {
         //    throw new IllegalStateException("Duplicate artifact classifier at location " + location);
@@ -190,6 +221,20 @@ public class ArtifactCollection {
         classified.put(normalizedArtifact.getClassifier(), normalizedArtifact);
     }
 
+    private Map<String, List<ArtifactDescriptor>> getIdIndex() {
+        Map<String, List<ArtifactDescriptor>> index = idIndex;
+        if (index == null) {
+            index = new HashMap<>();
+            for (Map.Entry<ArtifactKey, ArtifactDescriptor> entry : artifacts.entrySet()) {
+                ArtifactKey key = entry.getKey();
+                index.computeIfAbsent(key.getType() + ":" + key.getId(), k -> new ArrayList<>(1))
+                        .add(entry.getValue());
+            }
+            idIndex = index;
+        }
+        return index;
+    }
+
     // ideally this would return a specialized type -> the type checker would then ensure that this is called wherever needed
     public static File normalizeLocation(File location) {
         // don't call getCanonicalFile here because otherwise we'll be forced to call getCanonical* everywhere
@@ -235,11 +280,8 @@ public class ArtifactCollection {
         // features with matching id, sorted by version, highest version first
         SortedMap<Version, ArtifactDescriptor> relevantArtifacts = new TreeMap<>((o1, o2) -> -o1.compareTo(o2));
 
-        for (Map.Entry<ArtifactKey, ArtifactDescriptor> entry : this.artifacts.entrySet()) {
-            ArtifactKey key = entry.getKey();
-            if (type.equals(key.getType()) && id.equals(key.getId())) {
-                relevantArtifacts.put(Version.parseVersion(key.getVersion()), entry.getValue());
-            }
+        for (ArtifactDescriptor artifact : getIdIndex().getOrDefault(type + ":" + id, List.of())) {
+            relevantArtifacts.put(Version.parseVersion(artifact.getKey().getVersion()), artifact);
         }
 
         if (relevantArtifacts.isEmpty()) {
@@ -282,10 +324,15 @@ public class ArtifactCollection {
     }
 
     public ReactorProject getMavenProject(File location) {
-        // only check artifactsWithKnownLocation as we're expected a local reactor project, location is already set
-        Map<String, ArtifactDescriptor> classified = artifactsWithKnownLocation.get(normalizeLocation(location));
+        // only check artifacts with known location as we expect a local reactor project, location is already set
+        Map<File, Map<String, ArtifactDescriptor>> index = locationIndex;
+        if (index == null) {
+            index = createLocationIndex();
+            locationIndex = index;
+        }
+        Map<String, ArtifactDescriptor> classified = index.get(normalizeLocation(location));
         if (classified != null) {
-            // #addArtifact enforces all artifacts at the same location have the same reactor project 
+            // #createLocationIndex enforces all artifacts at the same location have the same reactor project
             return classified.values().iterator().next().getMavenProject();
         }
         return null;
@@ -298,8 +345,14 @@ public class ArtifactCollection {
      * @return
      */
     public Map<String, ArtifactDescriptor> getArtifact(File location) {
-        artifacts.values().forEach(artifact -> artifact.getLocation(true));
-        return artifactsWithKnownLocation.get(normalizeLocation(location));
+        Map<File, Map<String, ArtifactDescriptor>> index = fetchedLocationIndex;
+        if (index == null) {
+            artifacts.values().forEach(artifact -> artifact.getLocation(true));
+            index = createLocationIndex();
+            fetchedLocationIndex = index;
+            locationIndex = index;
+        }
+        return index.get(normalizeLocation(location));
     }
 
     public ArtifactDescriptor getArtifact(ArtifactKey key) {
@@ -312,13 +365,10 @@ public class ArtifactCollection {
             Entry<ArtifactKey, ArtifactDescriptor> entry = iter.next();
             ArtifactKey key = entry.getKey();
             if (key.getType().equals(type) && key.getId().equals(id)) {
-                File location = entry.getValue().getLocation().orElse(null);
-                if (location != null) {
-                    artifactsWithKnownLocation.remove(location);
-                }
                 iter.remove();
             }
         }
+        invalidateIndices();
     }
 
     public void toDebugString(StringBuilder sb, String linePrefix) {
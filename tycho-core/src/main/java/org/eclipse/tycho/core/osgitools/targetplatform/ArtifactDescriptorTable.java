@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.core.osgitools.targetplatform;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.tycho.ArtifactDescriptor;
+import org.eclipse.tycho.ArtifactKey;
+
+/**
+ * Table of artifact keys and descriptors shared by the {@link DefaultDependencyArtifacts} of all
+ * projects of a build. Most projects resolve to the same target platform artifacts, sharing equal
+ * instances means each of them is held only once instead of once per project and environment.
+ * <p>
+ * Descriptors of reactor projects are never shared, as reactor units with the same id and version
+ * may differ in content between projects.
+ */
+public class ArtifactDescriptorTable {
+
+    private final Map<ArtifactKey, ArtifactKey> keys = new ConcurrentHashMap<>();
+
+    private final Map<DescriptorKey, ArtifactDescriptor> descriptors = new ConcurrentHashMap<>();
+
+    public ArtifactKey share(ArtifactKey key) {
+        ArtifactKey sharedKey = keys.putIfAbsent(key, key);
+        return sharedKey != null ? sharedKey : key;
+    }
+
+    public ArtifactDescriptor share(ArtifactDescriptor descriptor) {
+        if (descriptor.getMavenProject() != null) {
+            return descriptor;
+        }
+        Collection<IInstallableUnit> units = descriptor.getInstallableUnits();
+        DescriptorKey key = new DescriptorKey(descriptor.getKey(), descriptor.getClassifier(),
+                descriptor.getLocation().orElse(null), units == null ? null : Set.copyOf(units));
+        ArtifactDescriptor sharedDescriptor = descriptors.putIfAbsent(key, descriptor);
+        return sharedDescriptor != null ? sharedDescriptor : descriptor;
+    }
+
+    int size() {
+        return descriptors.size();
+    }
+
+    private record DescriptorKey(ArtifactKey key, String classifier, File location, Set<IInstallableUnit> units) {
+    }
+
+}
@@ -19,9 +19,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import org.eclipse.equinox.p2.metadata.IInstallableUnit;
@@ -34,14 +32,9 @@ import org.eclipse.tycho.core.osgitools.DefaultArtifactDescriptor;
 public class DefaultDependencyArtifacts extends ArtifactCollection implements DependencyArtifacts {
 
     /**
-     * ArtifactKey cache used to correlate equal instances to reduce memory usage
+     * Table used to correlate equal instances across projects to reduce memory usage, can be null.
      */
-    private static final Map<ArtifactKey, ArtifactKey> KEY_CACHE = new ConcurrentHashMap<>();
-
-    /**
-     * ArtifactDescriptor cache used to correlate equal instances to reduce memory usage
-     */
-    private static final Map<ArtifactDescriptor, ArtifactDescriptor> ARTIFACT_CACHE = new ConcurrentHashMap<>();
+    private final ArtifactDescriptorTable descriptorTable;
 
     protected final List<ArtifactDescriptor> fragments = new ArrayList<>();
 
@@ -61,19 +54,22 @@ public class DefaultDependencyArtifacts extends ArtifactCollection implements De
     }
 
     public DefaultDependencyArtifacts(ReactorProject project) {
+        this(project, null);
+    }
+
+    public DefaultDependencyArtifacts(ReactorProject project, ArtifactDescriptorTable descriptorTable) {
         this.project = project;
+        this.descriptorTable = descriptorTable;
     }
 
     @Override
     protected ArtifactDescriptor normalize(ArtifactDescriptor artifact) {
-        ArtifactDescriptor cachedArtifact = ARTIFACT_CACHE.putIfAbsent(artifact, artifact);
-        return (cachedArtifact != null) ? cachedArtifact : artifact;
+        return descriptorTable != null ? descriptorTable.share(artifact) : artifact;
     }
 
     @Override
     protected ArtifactKey normalize(ArtifactKey key) {
-        ArtifactKey cachedKey = KEY_CACHE.putIfAbsent(key, key);
-        return (cachedKey != null) ? cachedKey : key;
+        return descriptorTable != null ? descriptorTable.share(key) : key;
     }
 
     @Override
@@ -98,7 +94,8 @@ public class DefaultDependencyArtifacts extends ArtifactCollection implements De
     }
 
     public void addFragment(ArtifactKey key, Supplier<File> location, Set<IInstallableUnit> installableUnits) {
-        fragments.add(new DefaultArtifactDescriptor(key, whatever -> location.get(), null, null, installableUnits));
+        fragments.add(normalize(new DefaultArtifactDescriptor(normalize(key), whatever -> location.get(), null, null,
+                installableUnits)));
     }
 
     @Override
@@ -31,6 +31,10 @@ public class MultiEnvironmentDependencyArtifacts extends DefaultDependencyArtifa
         super(project);
     }
 
+    public MultiEnvironmentDependencyArtifacts(ReactorProject project, ArtifactDescriptorTable descriptorTable) {
+        super(project, descriptorTable);
+    }
+
     public void addPlatform(TargetEnvironment environment, DefaultDependencyArtifacts platform) {
         platforms.put(environment, platform);
 
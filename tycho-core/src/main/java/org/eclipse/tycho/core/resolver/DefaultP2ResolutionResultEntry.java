@@ -31,7 +31,7 @@ public class DefaultP2ResolutionResultEntry implements P2ResolutionResult.Entry
     private String classifier;
 
     private final Supplier<File> location;
-    private File resolvedFile;
+    private volatile File resolvedFile;
 
     public DefaultP2ResolutionResultEntry(String type, String id, String version, String classifier,
             Supplier<File> delayedLocation) {
@@ -69,10 +69,17 @@ public class DefaultP2ResolutionResultEntry implements P2ResolutionResult.Entry
 
     @Override
     public File getLocation(boolean fetch) {
-        if (resolvedFile == null && fetch) {
-            resolvedFile = location.get();
+        File file = resolvedFile;
+        if (file != null || !fetch) {
+            return file;
+        }
+        // the artifact might be fetched concurrently by the prefetcher, only fetch it once
+        synchronized (this) {
+            if (resolvedFile == null) {
+                resolvedFile = location.get();
+            }
+            return resolvedFile;
         }
-        return resolvedFile;
     }
 
     @Override
@@ -18,6 +18,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Dependency;
@@ -25,6 +34,7 @@ import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Disposable;
 import org.eclipse.equinox.p2.metadata.IRequirement;
 import org.eclipse.tycho.ArtifactKey;
 import org.eclipse.tycho.DependencyArtifacts;
@@ -44,11 +54,20 @@ import org.eclipse.tycho.core.osgitools.targetplatform.DefaultDependencyArtifact
 import org.eclipse.tycho.resolver.TychoResolver;
 
 @Component(role = TychoResolver.class)
-public class DefaultTychoResolver implements TychoResolver {
+public class DefaultTychoResolver implements TychoResolver, Disposable {
 
     private static final String SETUP_MARKER = "DefaultTychoResolver/Setup";
     private static final String RESOLVE_MARKER = "DefaultTychoResolver/Resolve";
 
+    /**
+     * Resolve the test dependencies of a bundle concurrently to its main dependencies, can be disabled
+     * with <code>-Dtycho.resolver.parallelTestResolution=false</code>
+     */
+    private static final boolean PARALLEL_TEST_RESOLUTION = Boolean
+            .parseBoolean(System.getProperty("tycho.resolver.parallelTestResolution", "true"));
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
     @Requirement
     private Logger logger;
 
@@ -58,6 +77,17 @@ public class DefaultTychoResolver implements TychoResolver {
     @Requirement()
     TychoProjectManager projectManager;
 
+    boolean parallelTestResolution = PARALLEL_TEST_RESOLUTION;
+
+    private ThreadPoolExecutor testResolutionExecutor;
+
+    @Override
+    public synchronized void dispose() {
+        if (testResolutionExecutor != null) {
+            testResolutionExecutor.shutdownNow();
+        }
+    }
+
     @Override
     public void setupProject(MavenSession session, MavenProject project) {
         //This will bootstrap the project and init it with the session
@@ -92,8 +122,8 @@ public class DefaultTychoResolver implements TychoResolver {
 
                 String threadMarker;
                 if (logger.isDebugEnabled()) {
-                    threadMarker = "[" + Thread.currentThread().getName().replaceAll("^ForkJoinPool-(\\d+)-", "")
-                            + "] ";
+                    threadMarker = "[" + Thread.currentThread().getName()
+                            .replaceAll("^(ForkJoinPool-\\d+|Tycho-Project-Resolver)-", "") + "] ";
                 } else {
                     threadMarker = "";
                 }
@@ -107,9 +137,50 @@ public class DefaultTychoResolver implements TychoResolver {
                 DependencyResolverConfiguration resolverConfiguration = configuration
                         .getDependencyResolverConfiguration();
 
-                DependencyArtifacts dependencyArtifacts = dependencyResolver.resolveDependencies(session, project,
-                        preliminaryTargetPlatform, reactorProjects, resolverConfiguration,
-                        configuration.getEnvironments());
+                List<ArtifactKey> testDependencies = tychoProject instanceof BundleProject bundleProject
+                        ? bundleProject.getExtraTestRequirements(reactorProject)
+                        : List.of();
+                // the test dependencies are resolved against the same preliminary target platform, so both
+                // resolutions are independent and the test one can run while this thread resolves the main one
+                Future<DependencyArtifacts> testResolution = null;
+                if (!testDependencies.isEmpty()) {
+                    logger.info(threadMarker + "Resolving test dependencies of " + project);
+                    DependencyResolverConfiguration testResolverConfiguration = new DependencyResolverConfiguration() {
+                        @Override
+                        public OptionalResolutionAction getOptionalResolutionAction() {
+                            return resolverConfiguration.getOptionalResolutionAction();
+                        }
+
+                        @Override
+                        public List<ArtifactKey> getAdditionalArtifacts() {
+                            ArrayList<ArtifactKey> res = new ArrayList<>(
+                                    resolverConfiguration.getAdditionalArtifacts());
+                            res.addAll(testDependencies);
+                            return res;
+                        }
+
+                        @Override
+                        public Collection<IRequirement> getAdditionalRequirements() {
+                            return resolverConfiguration.getAdditionalRequirements();
+                        }
+                    };
+                    Callable<DependencyArtifacts> resolveTestDependencies = () -> dependencyResolver
+                            .resolveDependencies(session, project, preliminaryTargetPlatform, reactorProjects,
+                                    testResolverConfiguration, configuration.getEnvironments());
+                    testResolution = startTestResolution(session, resolveTestDependencies);
+                }
+
+                DependencyArtifacts dependencyArtifacts;
+                try {
+                    dependencyArtifacts = dependencyResolver.resolveDependencies(session, project,
+                            preliminaryTargetPlatform, reactorProjects, resolverConfiguration,
+                            configuration.getEnvironments());
+                } catch (RuntimeException e) {
+                    if (testResolution != null) {
+                        testResolution.cancel(true);
+                    }
+                    throw e;
+                }
 
                 if (logger.isDebugEnabled() && DebugUtils.isDebugEnabled(session, project)) {
                     StringBuilder sb = new StringBuilder(threadMarker);
@@ -120,34 +191,8 @@ public class DefaultTychoResolver implements TychoResolver {
 
                 dr.setDependencyArtifacts(session, reactorProject, dependencyArtifacts);
 
-                DependencyArtifacts testDependencyArtifacts = null;
-                if (tychoProject instanceof BundleProject bundleProject) {
-                    List<ArtifactKey> testDependencies = bundleProject.getExtraTestRequirements(reactorProject);
-                    if (!testDependencies.isEmpty()) {
-                        logger.info(threadMarker + "Resolving test dependencies of " + project);
-                        DependencyResolverConfiguration testResolverConfiguration = new DependencyResolverConfiguration() {
-                            @Override
-                            public OptionalResolutionAction getOptionalResolutionAction() {
-                                return resolverConfiguration.getOptionalResolutionAction();
-                            }
-
-                            @Override
-                            public List<ArtifactKey> getAdditionalArtifacts() {
-                                ArrayList<ArtifactKey> res = new ArrayList<>(
-                                        resolverConfiguration.getAdditionalArtifacts());
-                                res.addAll(testDependencies);
-                                return res;
-                            }
-
-                            @Override
-                            public Collection<IRequirement> getAdditionalRequirements() {
-                                return resolverConfiguration.getAdditionalRequirements();
-                            }
-                        };
-                        testDependencyArtifacts = dependencyResolver.resolveDependencies(session, project,
-                                preliminaryTargetPlatform, reactorProjects, testResolverConfiguration,
-                                configuration.getEnvironments());
-                    }
+                DependencyArtifacts testDependencyArtifacts = testResolution != null ? await(testResolution) : null;
+                if (tychoProject instanceof BundleProject) {
                     dr.setTestDependencyArtifacts(session, reactorProject,
                             Objects.requireNonNullElse(testDependencyArtifacts, new DefaultDependencyArtifacts()));
                 }
@@ -166,4 +211,71 @@ public class DefaultTychoResolver implements TychoResolver {
             }
         }
     }
+
+    /**
+     * Starts to resolve the test dependencies in the background, or returns a task that is run by
+     * {@link #await(Future)} in the calling thread if parallel test resolution is disabled.
+     */
+    Future<DependencyArtifacts> startTestResolution(MavenSession session, Callable<DependencyArtifacts> task) {
+        if (!parallelTestResolution) {
+            return new FutureTask<>(task);
+        }
+        // the p2 resolver might look up classes through the context class loader of the calling thread
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return getTestResolutionExecutor(session).submit(() -> {
+            Thread thread = Thread.currentThread();
+            ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(contextClassLoader);
+            try {
+                return task.call();
+            } finally {
+                thread.setContextClassLoader(previous);
+            }
+        });
+    }
+
+    /**
+     * Each project resolution submits at most one test resolution, so the pool never needs more
+     * threads than projects are resolved concurrently.
+     */
+    private synchronized ExecutorService getTestResolutionExecutor(MavenSession session) {
+        int threads = Math.max(1, session.getRequest().getDegreeOfConcurrency());
+        if (testResolutionExecutor == null) {
+            testResolutionExecutor = new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), r -> {
+                        Thread thread = new Thread(r);
+                        thread.setName("Tycho-Test-Resolver-" + THREAD_COUNT.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            testResolutionExecutor.allowCoreThreadTimeOut(true);
+        } else if (threads > testResolutionExecutor.getMaximumPoolSize()) {
+            testResolutionExecutor.setMaximumPoolSize(threads);
+            testResolutionExecutor.setCorePoolSize(threads);
+        }
+        return testResolutionExecutor;
+    }
+
+    static DependencyArtifacts await(Future<DependencyArtifacts> resolution) {
+        if (resolution instanceof FutureTask<DependencyArtifacts> task) {
+            // not submitted, run it in the calling thread
+            task.run();
+        }
+        try {
+            return resolution.get();
+        } catch (InterruptedException e) {
+            resolution.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while resolving test dependencies", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("resolving test dependencies failed", cause);
+        }
+    }
 }
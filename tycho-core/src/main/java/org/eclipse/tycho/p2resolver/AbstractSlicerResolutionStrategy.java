@@ -52,6 +52,9 @@ import org.eclipse.tycho.repository.util.StatusTool;
 
 abstract class AbstractSlicerResolutionStrategy extends AbstractResolutionStrategy {
 
+    private ResolutionData sliceInputData;
+    private SliceInput sliceInput;
+
     protected AbstractSlicerResolutionStrategy(MavenLogger logger) {
         super(logger);
     }
@@ -79,23 +82,8 @@ abstract class AbstractSlicerResolutionStrategy extends AbstractResolutionStrate
             }
         }
 
-        Set<IInstallableUnit> availableIUs = new LinkedHashSet<>(data.getAvailableIUs());
-        availableIUs.addAll(data.getEEResolutionHints().getTemporaryAdditions());
-        availableIUs.addAll(data.getEEResolutionHints().getMandatoryUnits());
-        availableIUs.addAll(additionalUnits);
-
-        Set<IInstallableUnit> seedIUs = new LinkedHashSet<>(data.getRootIUs());
-        if (data.getAdditionalRequirements() != null && !data.getAdditionalRequirements().isEmpty()) {
-            seedIUs.add(createUnitRequiring("tycho-extra", null, data.getAdditionalRequirements()));
-        }
-
-        // make sure profile UIs are part of the slice
-        seedIUs.addAll(data.getEEResolutionHints().getMandatoryUnits());
-        if (!data.getEEResolutionHints().getMandatoryRequires().isEmpty()) {
-            seedIUs.add(createUnitRequiring("tycho-ee", null, data.getEEResolutionHints().getMandatoryRequires()));
-        }
-
-        QueryableCollection baseIUCollection = new QueryableCollection(availableIUs);
+        SliceInput input = additionalUnits.isEmpty() ? getSharedSliceInput() : createSliceInput(additionalUnits);
+        QueryableCollection baseIUCollection = input.availableUnits();
         Slicer slicer = newSlicer(new IQueryable<IInstallableUnit>() {
 
             @Override
@@ -111,7 +99,7 @@ abstract class AbstractSlicerResolutionStrategy extends AbstractResolutionStrate
                 return queryResult;
             }
         }, properties);
-        IQueryable<IInstallableUnit> slice = slicer.slice(seedIUs.toArray(EMPTY_IU_ARRAY), monitor);
+        IQueryable<IInstallableUnit> slice = slicer.slice(input.seedUnits(), monitor);
         MultiStatus slicerStatus = slicer.getStatus();
         if (slice == null || isSlicerError(slicerStatus)) {
             throw new ResolverException(StatusTool.toLogMessage(slicerStatus), properties.toString(),
@@ -124,6 +112,40 @@ abstract class AbstractSlicerResolutionStrategy extends AbstractResolutionStrate
         return slice;
     }
 
+    /**
+     * The slice input only depends on the resolution data but not on the environment, so it is
+     * computed once and shared by all (possibly concurrent) resolutions of the same data.
+     */
+    private synchronized SliceInput getSharedSliceInput() {
+        if (sliceInput == null || sliceInputData != data) {
+            sliceInput = createSliceInput(Collections.emptyList());
+            sliceInputData = data;
+        }
+        return sliceInput;
+    }
+
+    private SliceInput createSliceInput(List<IInstallableUnit> additionalUnits) {
+        Set<IInstallableUnit> availableIUs = new LinkedHashSet<>(data.getAvailableIUs());
+        availableIUs.addAll(data.getEEResolutionHints().getTemporaryAdditions());
+        availableIUs.addAll(data.getEEResolutionHints().getMandatoryUnits());
+        availableIUs.addAll(additionalUnits);
+
+        Set<IInstallableUnit> seedIUs = new LinkedHashSet<>(data.getRootIUs());
+        if (data.getAdditionalRequirements() != null && !data.getAdditionalRequirements().isEmpty()) {
+            seedIUs.add(createUnitRequiring("tycho-extra", null, data.getAdditionalRequirements()));
+        }
+
+        // make sure profile UIs are part of the slice
+        seedIUs.addAll(data.getEEResolutionHints().getMandatoryUnits());
+        if (!data.getEEResolutionHints().getMandatoryRequires().isEmpty()) {
+            seedIUs.add(createUnitRequiring("tycho-ee", null, data.getEEResolutionHints().getMandatoryRequires()));
+        }
+        return new SliceInput(new QueryableCollection(availableIUs), seedIUs.toArray(EMPTY_IU_ARRAY));
+    }
+
+    private record SliceInput(QueryableCollection availableUnits, IInstallableUnit[] seedUnits) {
+    }
+
     protected abstract boolean isSlicerError(MultiStatus slicerStatus);
 
     protected abstract Slicer newSlicer(IQueryable<IInstallableUnit> availableIUs, Map<String, String> properties);
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.codehaus.plexus.component.annotations.Component;
+import org.codehaus.plexus.component.annotations.Requirement;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Disposable;
+import org.eclipse.tycho.ArtifactKey;
+import org.eclipse.tycho.DefaultArtifactKey;
+import org.eclipse.tycho.TargetPlatform;
+import org.eclipse.tycho.core.resolver.P2ResolutionResult;
+
+/**
+ * Downloads the artifacts of resolved target platforms in the background so that the artifacts are
+ * already available locally once they are actually needed (e.g. when the classpath of a project is
+ * computed). Each artifact is only requested once per session across all reactor projects, the
+ * number of concurrent downloads can be configured with <code>tycho.p2.prefetch.threads</code>,
+ * <code>0</code> disables the prefetching.
+ */
+@Component(role = ArtifactPrefetcher.class)
+public class ArtifactPrefetcher implements Disposable {
+
+    private static final int PREFETCH_THREADS = Integer.getInteger("tycho.p2.prefetch.threads", 4);
+
+    @Requirement
+    Logger logger;
+
+    int threads = PREFETCH_THREADS;
+
+    private final Set<PrefetchKey> requested = ConcurrentHashMap.newKeySet();
+
+    ExecutorService executor;
+
+    /**
+     * Schedules the download of all artifacts of the given resolution results that are not yet
+     * available locally, artifacts contributed by reactor projects are ignored.
+     * 
+     * @param targetPlatform
+     *            the target platform the results where resolved against
+     * @param results
+     *            the results of the resolution, usually one for each environment
+     */
+    public void prefetch(TargetPlatform targetPlatform, Collection<P2ResolutionResult> results) {
+        if (threads <= 0) {
+            return;
+        }
+        Map<PrefetchKey, P2ResolutionResult.Entry> missing = new LinkedHashMap<>();
+        for (P2ResolutionResult result : results) {
+            for (P2ResolutionResult.Entry entry : result.getArtifacts()) {
+                if (entry.getLocation(false) != null) {
+                    // already resolved, e.g. reactor projects or local files
+                    continue;
+                }
+                PrefetchKey key = new PrefetchKey(
+                        new DefaultArtifactKey(entry.getType(), entry.getId(), entry.getVersion()),
+                        entry.getClassifier());
+                if (missing.containsKey(key) || requested.contains(key)) {
+                    continue;
+                }
+                missing.put(key, entry);
+            }
+        }
+        // filter everything that is available already in one go before anything is scheduled, this also
+        // verifies the local files in parallel
+        Set<ArtifactKey> available = targetPlatform.getFilesAlreadyAvailable(missing.keySet().stream()
+                .map(PrefetchKey::artifact).collect(Collectors.toCollection(LinkedHashSet::new)));
+        missing.keySet().removeIf(key -> available.contains(key.artifact()) || !requested.add(key));
+        if (missing.isEmpty()) {
+            return;
+        }
+        logger.debug("Prefetching " + missing.size() + " artifacts");
+        ExecutorService service = getExecutor();
+        missing.forEach((key, entry) -> service.execute(() -> {
+            try {
+                entry.getLocation(true);
+            } catch (RuntimeException e) {
+                // will be reported when the artifact is actually requested
+                logger.debug("Prefetching " + key.artifact() + " failed: " + e);
+            }
+        }));
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            AtomicInteger cnt = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r);
+                thread.setName("Tycho-Prefetch-Thread-" + cnt.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        requested.clear();
+    }
+
+    private record PrefetchKey(ArtifactKey artifact, String classifier) {
+    }
+
+}
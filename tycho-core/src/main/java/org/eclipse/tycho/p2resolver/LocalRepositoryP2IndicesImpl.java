@@ -20,14 +20,23 @@ import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.eclipse.tycho.core.shared.MavenContext;
 import org.eclipse.tycho.locking.facade.FileLockService;
+import org.eclipse.tycho.p2.repository.ContentAddressableStore;
 import org.eclipse.tycho.p2.repository.FileBasedTychoRepositoryIndex;
+import org.eclipse.tycho.p2.repository.FileChecksumIndex;
 import org.eclipse.tycho.p2.repository.GAV;
 import org.eclipse.tycho.p2.repository.LocalRepositoryP2Indices;
+import org.eclipse.tycho.p2.repository.MappedTychoRepositoryIndex;
 import org.eclipse.tycho.p2.repository.TychoRepositoryIndex;
 
 @Component(role = LocalRepositoryP2Indices.class)
 public class LocalRepositoryP2IndicesImpl implements LocalRepositoryP2Indices {
 
+    /**
+     * Use the append-only binary index instead of the properties files, existing properties files
+     * are migrated on first use
+     */
+    private static final boolean BINARY_INDEX = Boolean.getBoolean("tycho.localrepo.binaryIndex");
+
     // injected members
     @Requirement
     private FileLockService fileLockService;
@@ -39,19 +48,35 @@ public class LocalRepositoryP2IndicesImpl implements LocalRepositoryP2Indices {
     private boolean initialized = false;
     private TychoRepositoryIndex artifactsIndex;
     private TychoRepositoryIndex metadataIndex;
+    private FileChecksumIndex checksumIndex;
+    private ContentAddressableStore contentStore;
 
     public void setFileLockService(FileLockService fileLockService) {
         this.fileLockService = fileLockService;
     }
 
-    private void checkInitialized() {
+    private synchronized void checkInitialized() {
         if (initialized) {
             return;
         }
-        this.artifactsIndex = FileBasedTychoRepositoryIndex.createArtifactsIndex(getLocalRepositoryRoot(),
-                fileLockService, mavenContext);
-        this.metadataIndex = FileBasedTychoRepositoryIndex.createMetadataIndex(getLocalRepositoryRoot(),
-                fileLockService, mavenContext);
+        if (BINARY_INDEX) {
+            this.artifactsIndex = MappedTychoRepositoryIndex.createArtifactsIndex(getLocalRepositoryRoot(),
+                    fileLockService, mavenContext);
+            this.metadataIndex = MappedTychoRepositoryIndex.createMetadataIndex(getLocalRepositoryRoot(),
+                    fileLockService, mavenContext);
+        } else {
+            this.artifactsIndex = FileBasedTychoRepositoryIndex.createArtifactsIndex(getLocalRepositoryRoot(),
+                    fileLockService, mavenContext);
+            this.metadataIndex = FileBasedTychoRepositoryIndex.createMetadataIndex(getLocalRepositoryRoot(),
+                    fileLockService, mavenContext);
+        }
+        this.checksumIndex = FileChecksumIndex.createChecksumIndex(getLocalRepositoryRoot(), fileLockService,
+                mavenContext.getLogger());
+        if (ContentAddressableStore.ENABLED) {
+            this.contentStore = new ContentAddressableStore(getLocalRepositoryRoot(), checksumIndex,
+                    mavenContext.getLogger());
+            contentStore.collectGarbage();
+        }
         initialized = true;
     }
 
@@ -67,6 +92,18 @@ public class LocalRepositoryP2IndicesImpl implements LocalRepositoryP2Indices {
         return metadataIndex;
     }
 
+    @Override
+    public FileChecksumIndex getChecksumIndex() {
+        checkInitialized();
+        return checksumIndex;
+    }
+
+    @Override
+    public ContentAddressableStore getContentStore() {
+        checkInitialized();
+        return contentStore;
+    }
+
     @Override
     public File getBasedir() {
         return getLocalRepositoryRoot();
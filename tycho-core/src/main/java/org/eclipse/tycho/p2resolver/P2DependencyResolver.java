@@ -21,6 +21,7 @@ import java.io.File;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -30,9 +31,11 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.WeakHashMap;
 import java.util.function.Supplier;
 
 import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenExecutionRequest;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.LegacySupport;
 import org.apache.maven.project.MavenProject;
@@ -71,6 +74,7 @@ import org.eclipse.tycho.core.maven.MavenDependencyInjector;
 import org.eclipse.tycho.core.osgitools.AbstractTychoProject;
 import org.eclipse.tycho.core.osgitools.BundleReader;
 import org.eclipse.tycho.core.osgitools.DefaultReactorProject;
+import org.eclipse.tycho.core.osgitools.targetplatform.ArtifactDescriptorTable;
 import org.eclipse.tycho.core.osgitools.targetplatform.DefaultDependencyArtifacts;
 import org.eclipse.tycho.core.osgitools.targetplatform.MultiEnvironmentDependencyArtifacts;
 import org.eclipse.tycho.core.resolver.AdditionalBundleRequirementsInstallableUnitProvider;
@@ -95,6 +99,14 @@ public class P2DependencyResolver extends AbstractLogEnabled implements Dependen
 
     public static final String ROLE_HINT = "p2";
 
+    /**
+     * Artifact descriptors shared by the dependency artifacts of all projects of a build. Keyed by
+     * the execution request, as the session itself is cloned per project (e.g. by the
+     * multi-threaded builder) while all clones share the request of the build.
+     */
+    private static final Map<MavenExecutionRequest, ArtifactDescriptorTable> DESCRIPTOR_TABLES = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
     @Requirement
     private BundleReader bundleReader;
 
@@ -131,6 +143,9 @@ public class P2DependencyResolver extends AbstractLogEnabled implements Dependen
     @Requirement
     private PomUnits pomUnits;
 
+    @Requirement
+    private ArtifactPrefetcher artifactPrefetcher;
+
     @Override
     public void setupProjects(final MavenSession session, final MavenProject project,
             final ReactorProject reactorProject) {
@@ -337,16 +352,18 @@ public class P2DependencyResolver extends AbstractLogEnabled implements Dependen
 
         Map<TargetEnvironment, P2ResolutionResult> results = resolver.resolveTargetDependencies(targetPlatform,
                 optionalDependencyPreparedProject);
+        artifactPrefetcher.prefetch(targetPlatform, results.values());
 
+        ArtifactDescriptorTable descriptorTable = getDescriptorTable(session);
         MultiEnvironmentDependencyArtifacts multiPlatform = new MultiEnvironmentDependencyArtifacts(
-                DefaultReactorProject.adapt(project));
+                DefaultReactorProject.adapt(project), descriptorTable);
 
         for (Entry<TargetEnvironment, P2ResolutionResult> entry : results.entrySet()) {
             TargetEnvironment environment = entry.getKey();
             P2ResolutionResult result = entry.getValue();
 
             DefaultDependencyArtifacts platform = newDefaultTargetPlatform(DefaultReactorProject.adapt(project),
-                    projects, result);
+                    projects, result, descriptorTable);
 
             multiPlatform.addPlatform(environment, platform);
         }
@@ -354,9 +371,13 @@ public class P2DependencyResolver extends AbstractLogEnabled implements Dependen
         return multiPlatform;
     }
 
+    static ArtifactDescriptorTable getDescriptorTable(MavenSession session) {
+        return DESCRIPTOR_TABLES.computeIfAbsent(session.getRequest(), r -> new ArtifactDescriptorTable());
+    }
+
     protected DefaultDependencyArtifacts newDefaultTargetPlatform(ReactorProject project,
-            Map<File, ReactorProject> projects, P2ResolutionResult result) {
-        DefaultDependencyArtifacts platform = new DefaultDependencyArtifacts(project);
+            Map<File, ReactorProject> projects, P2ResolutionResult result, ArtifactDescriptorTable descriptorTable) {
+        DefaultDependencyArtifacts platform = new DefaultDependencyArtifacts(project, descriptorTable);
 
         platform.addNonReactorUnits(result.getNonReactorUnits());
 
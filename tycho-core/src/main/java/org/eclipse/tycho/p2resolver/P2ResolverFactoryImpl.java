@@ -29,11 +29,15 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Disposable;
 import org.eclipse.equinox.internal.p2.metadata.IRequiredCapability;
 import org.eclipse.equinox.p2.core.IProvisioningAgent;
 import org.eclipse.equinox.p2.metadata.IInstallableUnit;
@@ -60,7 +64,10 @@ import org.eclipse.tycho.p2.repository.RepositoryReader;
 import org.eclipse.tycho.p2.target.facade.PomDependencyCollector;
 
 @Component(role = P2ResolverFactory.class)
-public class P2ResolverFactoryImpl implements P2ResolverFactory {
+public class P2ResolverFactoryImpl implements P2ResolverFactory, Disposable {
+
+    private static final int RESOLVER_THREADS = Integer.getInteger("tycho.p2.resolver.threads",
+            Math.min(4, Runtime.getRuntime().availableProcessors()));
 
     // TODO cache these instances in an p2 agent, and not here
     private LocalMetadataRepository localMetadataRepository;
@@ -89,6 +96,8 @@ public class P2ResolverFactoryImpl implements P2ResolverFactory {
     @Requirement
     private IRepositoryIdManager repositoryIdManager;
 
+    private ExecutorService resolverExecutor;
+
     private synchronized LocalMetadataRepository getLocalMetadataRepository(MavenContext context,
             LocalRepositoryP2Indices localRepoIndices) {
         if (localMetadataRepository == null) {
@@ -136,7 +145,37 @@ public class P2ResolverFactoryImpl implements P2ResolverFactory {
 
     @Override
     public P2Resolver createResolver(Collection<TargetEnvironment> environments) {
-        return new P2ResolverImpl(getTargetPlatformFactory(), this, mavenContext.getLogger(), environments);
+        P2ResolverImpl resolver = new P2ResolverImpl(getTargetPlatformFactory(), this, mavenContext.getLogger(),
+                environments);
+        if (environments.size() > 1) {
+            resolver.setResolverExecutor(getResolverExecutor());
+        }
+        return resolver;
+    }
+
+    /**
+     * @return the executor used to resolve several target environments concurrently, or
+     *         <code>null</code> if <code>tycho.p2.resolver.threads</code> disables this
+     */
+    synchronized ExecutorService getResolverExecutor() {
+        if (resolverExecutor == null && RESOLVER_THREADS > 1) {
+            AtomicInteger cnt = new AtomicInteger();
+            resolverExecutor = Executors.newFixedThreadPool(RESOLVER_THREADS, r -> {
+                Thread thread = new Thread(r);
+                thread.setName("Tycho-Resolver-Thread-" + cnt.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return resolverExecutor;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (resolverExecutor != null) {
+            resolverExecutor.shutdownNow();
+            resolverExecutor = null;
+        }
     }
 
     public Set<IInstallableUnit> calculateDependencyFragments(ResolutionData data,
@@ -27,10 +27,15 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.felix.resolver.util.CopyOnWriteSet;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -75,6 +80,7 @@ import org.eclipse.tycho.p2.publisher.AuthoredIUAction;
 import org.eclipse.tycho.p2.repository.QueryableCollection;
 import org.eclipse.tycho.p2.resolver.ResolverException;
 import org.eclipse.tycho.p2.target.facade.TargetPlatformConfigurationStub;
+import org.eclipse.tycho.p2resolver.ResolutionCache.CachedResolution;
 import org.eclipse.tycho.repository.util.LoggingProgressMonitor;
 
 public class P2ResolverImpl implements P2Resolver {
@@ -94,6 +100,8 @@ public class P2ResolverImpl implements P2Resolver {
 
     private P2ResolverFactoryImpl p2ResolverFactoryImpl;
 
+    private ExecutorService resolverExecutor;
+
     public P2ResolverImpl(TargetPlatformFactoryImpl targetPlatformFactory, P2ResolverFactoryImpl p2ResolverFactoryImpl,
             MavenLogger logger, Collection<TargetEnvironment> environments) {
         this.targetPlatformFactory = targetPlatformFactory;
@@ -114,21 +122,36 @@ public class P2ResolverImpl implements P2Resolver {
             addDependenciesForTests(additionalRequirements::add);
         }
 
-        // we need a linked hashmap to maintain iteration-order, some of the code relies on it!
-        Map<TargetEnvironment, P2ResolutionResult> results = new LinkedHashMap<>();
-        Set<IInstallableUnit> usedTargetPlatformUnits = new LinkedHashSet<>();
+        Set<IInstallableUnit> usedTargetPlatformUnits = Collections.synchronizedSet(new LinkedHashSet<>());
         Set<IInstallableUnit> usedShadowedUnits = new CopyOnWriteSet<>();
-        for (TargetEnvironment environment : environments) {
-            results.put(environment,
-                    resolveDependencies(Collections.emptySet(), project, new ProjectorResolutionStrategy(logger) {
-                        @Override
-                        protected Slicer newSlicer(IQueryable<IInstallableUnit> availableUnits,
-                                Map<String, String> properties) {
-                            return super.newSlicer(
-                                    new ShadowedUnitsQueryable(targetPlatform, availableUnits, usedShadowedUnits),
-                                    properties);
-                        }
-                    }, environment, targetPlatform, usedTargetPlatformUnits));
+        // share strategy and data so that the environment independent slicing input is only computed once
+        ResolutionDataImpl data = createResolutionData(Collections.emptySet(), project, targetPlatform);
+        ProjectorResolutionStrategy strategy = new ProjectorResolutionStrategy(logger) {
+            @Override
+            protected Slicer newSlicer(IQueryable<IInstallableUnit> availableUnits, Map<String, String> properties) {
+                return super.newSlicer(new ShadowedUnitsQueryable(targetPlatform, availableUnits, usedShadowedUnits),
+                        properties);
+            }
+        };
+        strategy.setData(data);
+        ResolutionCache cache = ResolutionCache.forProject(project, data, environments, targetPlatform, logger);
+        CachedResolution cachedResolution = cache == null ? null : cache.read(environments, data, targetPlatform);
+        Map<TargetEnvironment, P2ResolutionResult> results;
+        if (cachedResolution != null) {
+            logger.debug("Using cached resolution result for " + project);
+            usedShadowedUnits.addAll(cachedResolution.usedShadowedUnits());
+            results = new LinkedHashMap<>();
+            cachedResolution.environments().forEach((environment, units) -> {
+                usedTargetPlatformUnits.addAll(units.units());
+                results.put(environment,
+                        toResolutionResult(units.units(), units.dependencyFragments(), project, targetPlatform));
+            });
+        } else {
+            results = resolveEnvironments(environment -> resolveDependencies(data, project, strategy, environment,
+                    targetPlatform, usedTargetPlatformUnits, cache));
+            if (cache != null) {
+                cache.save(environments, usedShadowedUnits);
+            }
         }
         targetPlatform.reportUsedLocalIUs(usedTargetPlatformUnits);
         for (IInstallableUnit unit : usedShadowedUnits) {
@@ -143,22 +166,67 @@ public class P2ResolverImpl implements P2Resolver {
             Collection<? extends ArtifactKey> artifacts) {
         P2TargetPlatform targetPlatform = getTargetFromContext(context);
         Collection<IInstallableUnit> roots = new ArrayList<>();
+        IQueryable<IInstallableUnit> queriable = getQueryableUnits(targetPlatform);
         for (ArtifactKey artifactKey : artifacts) {
-            QueryableCollection queriable = new QueryableCollection(targetPlatform.getInstallableUnits());
             VersionRange range = new VersionRange(artifactKey.getVersion());
             IQuery<IInstallableUnit> query = ArtifactTypeHelper.createQueryFor(artifactKey.getType(),
                     artifactKey.getId(), range);
             IQueryResult<IInstallableUnit> result = queriable.query(QueryUtil.createLatestQuery(query), monitor);
             roots.addAll(result.toUnmodifiableSet());
         }
+        ResolutionDataImpl data = createResolutionData(roots, null, targetPlatform);
+        ProjectorResolutionStrategy strategy = new ProjectorResolutionStrategy(logger);
+        strategy.setData(data);
+        return resolveEnvironments(
+                environment -> resolveDependencies(data, null, strategy, environment, targetPlatform, null));
+    }
+
+    /**
+     * Resolves all environments, concurrently if there is more than one and a resolver executor is
+     * set. Slicing and the projector still run once per environment, only the environment
+     * independent slice input is shared.
+     * 
+     * @return the results in the order of the environments, some of the code relies on it!
+     */
+    private Map<TargetEnvironment, P2ResolutionResult> resolveEnvironments(
+            Function<TargetEnvironment, P2ResolutionResult> resolver) {
         Map<TargetEnvironment, P2ResolutionResult> results = new LinkedHashMap<>();
+        ExecutorService executor = resolverExecutor;
+        if (environments.size() <= 1 || executor == null) {
+            for (TargetEnvironment environment : environments) {
+                results.put(environment, resolver.apply(environment));
+            }
+            return results;
+        }
+        Map<TargetEnvironment, Future<P2ResolutionResult>> futures = new LinkedHashMap<>();
         for (TargetEnvironment environment : environments) {
-            results.put(environment, resolveDependencies(roots, null, new ProjectorResolutionStrategy(logger),
-                    environment, targetPlatform, null));
+            futures.put(environment, executor.submit(() -> resolver.apply(environment)));
+        }
+        try {
+            for (Entry<TargetEnvironment, Future<P2ResolutionResult>> entry : futures.entrySet()) {
+                results.put(entry.getKey(), entry.getValue().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DependencyResolutionException("Interrupted while resolving dependencies", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtimeException ? runtimeException
+                    : new DependencyResolutionException("Cannot resolve dependencies", cause);
+        } finally {
+            futures.values().forEach(future -> future.cancel(true));
         }
         return results;
     }
 
+    /**
+     * Sets the executor used to resolve several environments concurrently, or <code>null</code> to
+     * resolve them one after the other. The executor is owned by the caller.
+     */
+    void setResolverExecutor(ExecutorService resolverExecutor) {
+        this.resolverExecutor = resolverExecutor;
+    }
+
     @Override
     public P2ResolutionResult resolveMetadata(TargetPlatformConfigurationStub tpConfiguration,
             ExecutionEnvironmentConfiguration eeConfig) {
@@ -199,9 +267,8 @@ public class P2ResolverImpl implements P2Resolver {
         return result;
     }
 
-    protected P2ResolutionResult resolveDependencies(Collection<IInstallableUnit> rootUIs, ReactorProject project,
-            AbstractResolutionStrategy strategy, TargetEnvironment environment, P2TargetPlatform targetPlatform,
-            Set<IInstallableUnit> usedTargetPlatformUnits) {
+    private ResolutionDataImpl createResolutionData(Collection<IInstallableUnit> rootUIs, ReactorProject project,
+            P2TargetPlatform targetPlatform) {
         ResolutionDataImpl data = new ResolutionDataImpl(targetPlatform.getEEResolutionHints());
 
         Set<IInstallableUnit> availableUnits = targetPlatform.getInstallableUnits();
@@ -219,13 +286,24 @@ public class P2ResolverImpl implements P2Resolver {
         data.setAdditionalRequirements(additionalRequirements);
         data.setAvailableIUs(availableUnits);
         data.setAdditionalFilterProperties(additionalFilterProperties);
+        if (project != null && p2ResolverFactoryImpl != null && pomDependencies != PomDependencies.ignore) {
+            data.setAdditionalUnitStore(p2ResolverFactoryImpl.getPomUnits().createPomQueryable(project));
+        }
+        return data;
+    }
 
-        strategy.setData(data);
+    protected P2ResolutionResult resolveDependencies(ResolutionDataImpl data, ReactorProject project,
+            AbstractResolutionStrategy strategy, TargetEnvironment environment, P2TargetPlatform targetPlatform,
+            Set<IInstallableUnit> usedTargetPlatformUnits) {
+        return resolveDependencies(data, project, strategy, environment, targetPlatform, usedTargetPlatformUnits,
+                null);
+    }
+
+    private P2ResolutionResult resolveDependencies(ResolutionDataImpl data, ReactorProject project,
+            AbstractResolutionStrategy strategy, TargetEnvironment environment, P2TargetPlatform targetPlatform,
+            Set<IInstallableUnit> usedTargetPlatformUnits, ResolutionCache cache) {
         Collection<IInstallableUnit> newState;
         try {
-            if (project != null && p2ResolverFactoryImpl != null && pomDependencies != PomDependencies.ignore) {
-                data.setAdditionalUnitStore(p2ResolverFactoryImpl.getPomUnits().createPomQueryable(project));
-            }
             newState = strategy.resolve(environment, monitor);
         } catch (ResolverException e) {
             logger.info(e.getSelectionContext());
@@ -241,6 +319,9 @@ public class P2ResolverImpl implements P2Resolver {
         }
         Set<IInstallableUnit> dependencyFragments = p2ResolverFactoryImpl == null ? Collections.emptySet()
                 : p2ResolverFactoryImpl.calculateDependencyFragments(data, newState);
+        if (cache != null) {
+            cache.put(environment, newState, dependencyFragments);
+        }
         return toResolutionResult(newState, dependencyFragments, project, targetPlatform);
     }
 
@@ -327,7 +408,7 @@ public class P2ResolverImpl implements P2Resolver {
     public P2ResolutionResult resolveInstallableUnit(TargetPlatform context, String id, String versionRange) {
 
         P2TargetPlatform targetPlatform = getTargetFromContext(context);
-        QueryableCollection queriable = new QueryableCollection(targetPlatform.getInstallableUnits());
+        IQueryable<IInstallableUnit> queriable = getQueryableUnits(targetPlatform);
 
         VersionRange range = new VersionRange(versionRange);
         IRequirement requirement = MetadataFactory.createRequirement(IInstallableUnit.NAMESPACE_IU_ID, id, range, null,
@@ -341,6 +422,13 @@ public class P2ResolverImpl implements P2Resolver {
         return toResolutionResult(newState, Collections.emptyList(), null, targetPlatform);
     }
 
+    private static IQueryable<IInstallableUnit> getQueryableUnits(P2TargetPlatform targetPlatform) {
+        if (targetPlatform instanceof TargetPlatformBaseImpl baseImpl) {
+            return baseImpl.getInstallableUnitIndex();
+        }
+        return new QueryableCollection(targetPlatform.getInstallableUnits());
+    }
+
     private static P2TargetPlatform getTargetFromContext(TargetPlatform context) {
         Objects.requireNonNull(context, "target context can't be null");
         if (context instanceof P2TargetPlatform p2TP) {
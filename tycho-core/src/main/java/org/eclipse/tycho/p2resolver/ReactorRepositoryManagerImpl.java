@@ -14,7 +14,11 @@
 package org.eclipse.tycho.p2resolver;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.LegacySupport;
@@ -25,18 +29,22 @@ import org.eclipse.equinox.p2.core.IProvisioningAgent;
 import org.eclipse.tycho.MavenArtifactRepositoryReference;
 import org.eclipse.tycho.ReactorProject;
 import org.eclipse.tycho.ReactorProjectIdentities;
+import org.eclipse.tycho.TargetEnvironment;
 import org.eclipse.tycho.TargetPlatform;
 import org.eclipse.tycho.TychoConstants;
 import org.eclipse.tycho.core.DependencyResolver;
 import org.eclipse.tycho.core.ee.shared.ExecutionEnvironmentConfiguration;
 import org.eclipse.tycho.core.osgitools.DefaultReactorProject;
 import org.eclipse.tycho.core.resolver.P2ResolverFactory;
+import org.eclipse.tycho.core.resolver.shared.IncludeSourceMode;
+import org.eclipse.tycho.p2.repository.LocalRepositoryP2Indices;
 import org.eclipse.tycho.p2.repository.module.PublishingRepositoryImpl;
 import org.eclipse.tycho.p2.target.facade.PomDependencyCollector;
 import org.eclipse.tycho.p2.target.facade.TargetPlatformConfigurationStub;
 import org.eclipse.tycho.p2.target.facade.TargetPlatformFactory;
 import org.eclipse.tycho.repository.publishing.PublishingRepository;
 import org.eclipse.tycho.repository.registry.facade.ReactorRepositoryManager;
+import org.eclipse.tycho.targetplatform.TargetDefinition;
 import org.eclipse.tycho.targetplatform.TargetDefinition.MavenGAVLocation;
 
 @Component(role = ReactorRepositoryManager.class)
@@ -45,6 +53,13 @@ public class ReactorRepositoryManagerImpl implements ReactorRepositoryManager {
     private static final String PRELIMINARY_TARGET_PLATFORM_KEY = ReactorRepositoryManagerImpl.class.getName()
             + "/dependencyOnlyTargetPlatform";
 
+    /**
+     * Allows to compute the preliminary target platform for each project again, e.g. if sharing them
+     * is suspected to cause a problem
+     */
+    static final boolean SHARE_TARGET_PLATFORMS = Boolean
+            .parseBoolean(System.getProperty("tycho.p2.shareTargetPlatforms", "true"));
+
     @Requirement
     IProvisioningAgent agent;
     @Requirement
@@ -55,8 +70,21 @@ public class ReactorRepositoryManagerImpl implements ReactorRepositoryManager {
 
     @Requirement
     LegacySupport legacySupport;
+
+    @Requirement
+    LocalRepositoryP2Indices localRepoIndices;
+
     private TargetPlatformFactory tpFactory;
 
+    boolean shareTargetPlatforms = SHARE_TARGET_PLATFORMS;
+
+    /**
+     * Preliminary target platforms of the current session by their configuration, most projects of
+     * a reactor usually share the same target platform configuration
+     */
+    private final Map<MavenSession, Map<PreliminaryTargetPlatformKey, TargetPlatform>> sharedTargetPlatforms = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
     @Override
     public PublishingRepository getPublishingRepository(ReactorProjectIdentities project) {
         return new PublishingRepositoryImpl(agent, project);
@@ -68,7 +96,18 @@ public class ReactorRepositoryManagerImpl implements ReactorRepositoryManager {
             List<ReactorProject> reactorProjects) {
         //
         // at this point, there is only incomplete ("dependency-only") metadata for the reactor projects
-        TargetPlatform result = getTpFactory().createTargetPlatform(tpConfiguration, eeConfiguration, reactorProjects);
+        TargetPlatform result;
+        Map<PreliminaryTargetPlatformKey, TargetPlatform> sessionTargetPlatforms = getSharedPreliminaryTargetPlatforms(
+                project);
+        if (sessionTargetPlatforms != null && isShareable(eeConfiguration)) {
+            PreliminaryTargetPlatformKey key = new PreliminaryTargetPlatformKey(tpConfiguration, eeConfiguration,
+                    reactorProjects, tpConfiguration.getIgnoreLocalArtifacts() ? -1
+                            : localRepoIndices.getMetadataIndex().getModificationCount());
+            result = sessionTargetPlatforms.computeIfAbsent(key,
+                    k -> getTpFactory().createTargetPlatform(tpConfiguration, eeConfiguration, reactorProjects));
+        } else {
+            result = getTpFactory().createTargetPlatform(tpConfiguration, eeConfiguration, reactorProjects);
+        }
         project.setContextValue(PRELIMINARY_TARGET_PLATFORM_KEY, result);
 
         List<MavenArtifactRepositoryReference> repositoryReferences = tpConfiguration.getTargetDefinitions().stream()
@@ -109,6 +148,26 @@ public class ReactorRepositoryManagerImpl implements ReactorRepositoryManager {
         }
     }
 
+    private Map<PreliminaryTargetPlatformKey, TargetPlatform> getSharedPreliminaryTargetPlatforms(
+            ReactorProject project) {
+        if (!shareTargetPlatforms) {
+            return null;
+        }
+        MavenSession session = project.adapt(MavenSession.class);
+        if (session == null) {
+            return null;
+        }
+        return sharedTargetPlatforms.computeIfAbsent(session, s -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Custom profiles read their specification from the target platform, and ignored execution
+     * environments are reported while creating it, so these always get their own target platform.
+     */
+    private static boolean isShareable(ExecutionEnvironmentConfiguration eeConfiguration) {
+        return !eeConfiguration.isCustomProfile() && !eeConfiguration.ignoreExecutionEnvironment();
+    }
+
     private PreliminaryTargetPlatformImpl getRegisteredPreliminaryTargetPlatform(ReactorProject project) {
         return project.getContextValue(
                 PRELIMINARY_TARGET_PLATFORM_KEY) instanceof PreliminaryTargetPlatformImpl preliminaryTargetPlatformImpl
@@ -134,6 +193,31 @@ public class ReactorRepositoryManagerImpl implements ReactorRepositoryManager {
         return targetPlatform;
     }
 
+    /**
+     * Fingerprint of everything a preliminary target platform is computed from. Target definition
+     * files are cached by their location, so they are compared by identity, and the modification
+     * count of the local repository index detects artifacts installed in the meantime.
+     */
+    private record PreliminaryTargetPlatformKey(List<String> repositories, List<TargetDefinition> targetDefinitions,
+            List<String> filters, List<TargetEnvironment> environments, IncludeSourceMode includeSourceMode,
+            boolean ignoreLocalArtifacts, String profileName, boolean ignoredByResolver,
+            List<ReactorProject> reactorProjects, long localArtifactsModification) {
+
+        PreliminaryTargetPlatformKey(TargetPlatformConfigurationStub tpConfiguration,
+                ExecutionEnvironmentConfiguration eeConfiguration, List<ReactorProject> reactorProjects,
+                long localArtifactsModification) {
+            this(tpConfiguration.getP2Repositories().stream()
+                    .map(location -> location.getId() + "@" + location.getURL()).toList(),
+                    List.copyOf(tpConfiguration.getTargetDefinitions()),
+                    tpConfiguration.getFilters().stream().map(String::valueOf).toList(),
+                    List.copyOf(tpConfiguration.getEnvironments()), tpConfiguration.getIncludeSourceMode(),
+                    tpConfiguration.getIgnoreLocalArtifacts(), eeConfiguration.getProfileName(),
+                    eeConfiguration.isIgnoredByResolver(),
+                    reactorProjects == null ? List.of() : List.copyOf(reactorProjects),
+                    localArtifactsModification);
+        }
+    }
+
     public synchronized TargetPlatformFactory getTpFactory() {
         if (tpFactory == null) {
             tpFactory = p2ResolverFactory.getTargetPlatformFactory();
@@ -0,0 +1,306 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.metadata.IRequirement;
+import org.eclipse.equinox.p2.query.IQueryable;
+import org.eclipse.equinox.p2.query.QueryUtil;
+import org.eclipse.tycho.BuildDirectory;
+import org.eclipse.tycho.ExecutionEnvironmentResolutionHints;
+import org.eclipse.tycho.ReactorProject;
+import org.eclipse.tycho.TargetEnvironment;
+import org.eclipse.tycho.core.resolver.target.P2TargetPlatform;
+import org.eclipse.tycho.core.shared.MavenLogger;
+
+/**
+ * Persists the units a project has been resolved to in its build directory, so that later builds
+ * can skip the p2 resolution if nothing it depends on has changed. The cache file is named by a
+ * digest over the requirements of the project, the content of the target platform and the
+ * environments, so a changed input simply leads to a different file.
+ * <p>
+ * Units are identified by id and version, which p2 expects to be unique. The only exception are
+ * reactor units (e.g. with an unexpanded qualifier), their requirements and capabilities are part of
+ * the digest as well. Besides the resolved units, the units that were used although they are
+ * shadowed by a reactor project are recorded so that a cached result reports the same warnings.
+ * <p>
+ * The cache is enabled with <code>-Dtycho.p2.resolver.cache=true</code>.
+ */
+class ResolutionCache {
+
+    static final String ENABLED_PROPERTY = "tycho.p2.resolver.cache";
+
+    static final String CACHE_DIR = "tycho-resolution-cache";
+
+    private static final int MAGIC = 0x54524353; // "TRCS"
+    private static final int FORMAT_VERSION = 2;
+
+    private final File cacheFile;
+    private final MavenLogger logger;
+    private final Map<TargetEnvironment, ResolvedUnits> resolved = new ConcurrentHashMap<>();
+
+    record ResolvedUnits(Collection<IInstallableUnit> units, Collection<IInstallableUnit> dependencyFragments) {
+    }
+
+    record CachedResolution(Map<TargetEnvironment, ResolvedUnits> environments,
+            Collection<IInstallableUnit> usedShadowedUnits) {
+    }
+
+    private ResolutionCache(File cacheFile, MavenLogger logger) {
+        this.cacheFile = cacheFile;
+        this.logger = logger;
+    }
+
+    /**
+     * @return the cache for resolving the given project or <code>null</code> if results of the
+     *         project can't be cached
+     */
+    static ResolutionCache forProject(ReactorProject project, ResolutionDataImpl data,
+            List<TargetEnvironment> environments, P2TargetPlatform targetPlatform, MavenLogger logger) {
+        if (!Boolean.getBoolean(ENABLED_PROPERTY) || project == null || data.getIInstallableUnitAcceptor() != null) {
+            return null;
+        }
+        BuildDirectory buildDirectory = project.getBuildDirectory();
+        if (buildDirectory == null || buildDirectory.getLocation() == null) {
+            return null;
+        }
+        String key = computeKey(data, environments, targetPlatform);
+        return new ResolutionCache(new File(buildDirectory.getLocation(), CACHE_DIR + "/" + key + ".bin"), logger);
+    }
+
+    File getCacheFile() {
+        return cacheFile;
+    }
+
+    /**
+     * Reads the cached result.
+     *
+     * @return the resolved units for each of the given environments together with the used
+     *         shadowed units or <code>null</code> if there is no cached result or one of its units
+     *         is no longer available
+     */
+    CachedResolution read(List<TargetEnvironment> environments, ResolutionDataImpl data,
+            P2TargetPlatform targetPlatform) {
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+        Map<String, IInstallableUnit> units = new HashMap<>();
+        for (IInstallableUnit unit : getCandidateUnits(data, targetPlatform)) {
+            units.putIfAbsent(getUnitKey(unit), unit);
+        }
+        Map<TargetEnvironment, ResolvedUnits> result = new LinkedHashMap<>();
+        List<IInstallableUnit> usedShadowedUnits;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(cacheFile.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readInt() != environments.size()) {
+                return null;
+            }
+            for (TargetEnvironment environment : environments) {
+                List<IInstallableUnit> resolvedUnits = readUnits(in, units);
+                List<IInstallableUnit> dependencyFragments = readUnits(in, units);
+                if (resolvedUnits == null || dependencyFragments == null) {
+                    logger.debug("Ignoring resolution cache " + cacheFile + " referencing unavailable units");
+                    return null;
+                }
+                result.put(environment, new ResolvedUnits(resolvedUnits, dependencyFragments));
+            }
+            usedShadowedUnits = readUnits(in, units);
+            if (usedShadowedUnits == null) {
+                logger.debug("Ignoring resolution cache " + cacheFile + " referencing unavailable units");
+                return null;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Ignoring invalid resolution cache " + cacheFile + " (" + e + ")");
+            return null;
+        }
+        return new CachedResolution(result, usedShadowedUnits);
+    }
+
+    void put(TargetEnvironment environment, Collection<IInstallableUnit> units,
+            Collection<IInstallableUnit> dependencyFragments) {
+        resolved.put(environment, new ResolvedUnits(List.copyOf(units), List.copyOf(dependencyFragments)));
+    }
+
+    /**
+     * Writes the results recorded with {@link #put(TargetEnvironment, Collection, Collection)} if
+     * all given environments have been resolved.
+     *
+     * @param usedShadowedUnits
+     *            the units the resolver used although they are shadowed by a reactor project
+     */
+    void save(List<TargetEnvironment> environments, Collection<IInstallableUnit> usedShadowedUnits) {
+        if (!resolved.keySet().containsAll(environments)) {
+            return;
+        }
+        File parentDir = cacheFile.getParentFile();
+        try {
+            parentDir.mkdirs();
+            // minimize time window for corrupting the file by first writing to a temp file, then moving it
+            File tempFile = File.createTempFile("resolution", "tmp", parentDir);
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeInt(environments.size());
+                    for (TargetEnvironment environment : environments) {
+                        ResolvedUnits units = resolved.get(environment);
+                        writeUnits(out, units.units());
+                        writeUnits(out, units.dependencyFragments());
+                    }
+                    writeUnits(out, usedShadowedUnits);
+                }
+                Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                tempFile.delete();
+            }
+        } catch (IOException e) {
+            logger.debug("Can't write resolution cache " + cacheFile + " (" + e + ")");
+        }
+    }
+
+    private static void writeUnits(DataOutputStream out, Collection<IInstallableUnit> units) throws IOException {
+        out.writeInt(units.size());
+        for (IInstallableUnit unit : units) {
+            out.writeUTF(unit.getId());
+            out.writeUTF(unit.getVersion().toString());
+        }
+    }
+
+    private static List<IInstallableUnit> readUnits(DataInputStream in, Map<String, IInstallableUnit> units)
+            throws IOException {
+        int count = in.readInt();
+        List<IInstallableUnit> result = new ArrayList<>(count);
+        boolean complete = true;
+        for (int i = 0; i < count; i++) {
+            IInstallableUnit unit = units.get(in.readUTF() + "/" + in.readUTF());
+            if (unit == null) {
+                complete = false;
+            } else {
+                result.add(unit);
+            }
+        }
+        return complete ? result : null;
+    }
+
+    /**
+     * All units the resolver may have picked: the available and root units, the units of the
+     * execution environment, units shadowed by reactor projects and those of pom dependencies.
+     */
+    private static List<IInstallableUnit> getCandidateUnits(ResolutionDataImpl data, P2TargetPlatform targetPlatform) {
+        List<IInstallableUnit> units = new ArrayList<>(data.getAvailableIUs());
+        units.addAll(data.getRootIUs());
+        ExecutionEnvironmentResolutionHints eeHints = data.getEEResolutionHints();
+        units.addAll(eeHints.getMandatoryUnits());
+        units.addAll(eeHints.getTemporaryAdditions());
+        units.addAll(getShadowedUnits(targetPlatform));
+        units.addAll(getAdditionalUnits(data));
+        return units;
+    }
+
+    private static String computeKey(ResolutionDataImpl data, List<TargetEnvironment> environments,
+            P2TargetPlatform targetPlatform) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, "roots");
+        data.getRootIUs().stream().map(ResolutionCache::describeUnit).sorted().forEach(unit -> update(digest, unit));
+        update(digest, "requirements");
+        for (IRequirement requirement : data.getAdditionalRequirements()) {
+            update(digest, String.valueOf(requirement));
+        }
+        update(digest, "filter");
+        new TreeMap<>(data.getAdditionalFilterProperties()).forEach((k, v) -> update(digest, k + "=" + v));
+        update(digest, "environments");
+        for (TargetEnvironment environment : environments) {
+            update(digest, environment.getOs() + "/" + environment.getWs() + "/" + environment.getArch());
+        }
+        update(digest, "ee");
+        ExecutionEnvironmentResolutionHints eeHints = data.getEEResolutionHints();
+        update(digest, eeHints.getClass().getName());
+        eeHints.getMandatoryUnits().stream().map(ResolutionCache::getUnitKey).sorted()
+                .forEach(unit -> update(digest, unit));
+        eeHints.getMandatoryRequires().stream().map(String::valueOf).sorted()
+                .forEach(requirement -> update(digest, requirement));
+        eeHints.getTemporaryAdditions().stream().map(ResolutionCache::getUnitKey).sorted()
+                .forEach(unit -> update(digest, unit));
+        update(digest, "available");
+        Set<IInstallableUnit> reactorUnits = targetPlatform.getOriginalReactorProjectMap().keySet();
+        data.getAvailableIUs().stream()
+                .map(unit -> reactorUnits.contains(unit) ? describeUnit(unit) : getUnitKey(unit)).sorted()
+                .forEach(unit -> update(digest, unit));
+        update(digest, "shadowed");
+        getShadowedUnits(targetPlatform).stream().map(ResolutionCache::getUnitKey).sorted()
+                .forEach(unit -> update(digest, unit));
+        update(digest, "additional");
+        getAdditionalUnits(data).stream().map(ResolutionCache::getUnitKey).sorted()
+                .forEach(unit -> update(digest, unit));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static Collection<IInstallableUnit> getShadowedUnits(P2TargetPlatform targetPlatform) {
+        if (targetPlatform instanceof TargetPlatformBaseImpl baseImpl && baseImpl.getShadowed() != null) {
+            return baseImpl.getShadowed();
+        }
+        return List.of();
+    }
+
+    private static Collection<IInstallableUnit> getAdditionalUnits(ResolutionDataImpl data) {
+        IQueryable<IInstallableUnit> additionalUnitStore = data.getAdditionalUnitStore();
+        if (additionalUnitStore == null) {
+            return List.of();
+        }
+        return additionalUnitStore.query(QueryUtil.ALL_UNITS, new NullProgressMonitor()).toUnmodifiableSet();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String getUnitKey(IInstallableUnit unit) {
+        return unit.getId() + "/" + unit.getVersion();
+    }
+
+    private static String describeUnit(IInstallableUnit unit) {
+        return getUnitKey(unit) + " " + unit.getFilter() + " " + unit.getRequirements() + " "
+                + unit.getProvidedCapabilities();
+    }
+
+}
@@ -39,8 +39,8 @@ final class ShadowedUnitsQueryable implements IQueryable<IInstallableUnit> {
         if (result.isEmpty()) {
             if (targetPlatform instanceof TargetPlatformBaseImpl) {
                 TargetPlatformBaseImpl preliminaryTargetPlatform = (TargetPlatformBaseImpl) targetPlatform;
-                Set<IInstallableUnit> shadowed = preliminaryTargetPlatform.getShadowed();
-                IQueryResult<IInstallableUnit> shadowedResult = query.perform(shadowed.iterator());
+                IQueryResult<IInstallableUnit> shadowedResult = preliminaryTargetPlatform.getShadowedIndex()
+                        .query(query, monitor);
                 if (!shadowedResult.isEmpty()) {
                     for (IInstallableUnit unit : shadowedResult) {
                         usedShadowedUnits.add(unit);
@@ -26,13 +26,19 @@ import java.util.concurrent.ExecutionException;
 
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Initializable;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.equinox.p2.core.IProvisioningAgent;
+import org.eclipse.equinox.p2.query.QueryUtil;
 import org.eclipse.tycho.ExecutionEnvironmentResolutionHints;
 import org.eclipse.tycho.TargetEnvironment;
 import org.eclipse.tycho.core.resolver.MavenTargetLocationFactory;
 import org.eclipse.tycho.core.resolver.shared.IncludeSourceMode;
 import org.eclipse.tycho.core.resolver.target.TargetDefinitionContent;
 import org.eclipse.tycho.core.shared.MavenContext;
+import org.eclipse.tycho.metrics.CacheMetrics;
+import org.eclipse.tycho.metrics.CacheMetricsRegistry;
+import org.eclipse.tycho.p2maven.InstallableUnitGenerator;
 import org.eclipse.tycho.targetplatform.TargetDefinition;
 
 /**
@@ -41,7 +47,7 @@ import org.eclipse.tycho.targetplatform.TargetDefinition;
  * configured.
  */
 @Component(role = TargetDefinitionResolverService.class)
-public class TargetDefinitionResolverService {
+public class TargetDefinitionResolverService implements Initializable {
 
     private static final String CACHE_MISS_MESSAGE = "Target definition content cache miss: ";
 
@@ -53,17 +59,40 @@ public class TargetDefinitionResolverService {
     @Requirement
     private MavenTargetLocationFactory dependenciesResolver;
 
+    @Requirement
+    private CacheMetricsRegistry metricsRegistry;
+
+    private final CacheMetrics cacheMetrics = new CacheMetrics(
+            TargetDefinitionResolverService.class.getSimpleName() + ".resolutionCache", () -> resolutionCache.size(),
+            this::estimateCacheBytes);
+
     // constructor for DS
     public TargetDefinitionResolverService() {
     }
 
+    @Override
+    public void initialize() {
+        if (metricsRegistry != null) {
+            metricsRegistry.register(cacheMetrics);
+        }
+    }
+
     public TargetDefinitionContent getTargetDefinitionContent(TargetDefinition definition,
             List<TargetEnvironment> environments, ExecutionEnvironmentResolutionHints jreIUs,
             IncludeSourceMode includeSourceMode, IProvisioningAgent agent) {
         ResolutionArguments arguments = new ResolutionArguments(definition, environments, jreIUs, includeSourceMode,
                 agent);
-        CompletableFuture<TargetDefinitionContent> future = resolutionCache.computeIfAbsent(arguments,
-                this::resolveFromArguments);
+        CompletableFuture<TargetDefinitionContent> future = resolutionCache.get(arguments);
+        if (future != null) {
+            cacheMetrics.hit();
+        } else {
+            future = resolutionCache.computeIfAbsent(arguments, key -> {
+                long start = System.nanoTime();
+                CompletableFuture<TargetDefinitionContent> resolved = resolveFromArguments(key);
+                cacheMetrics.miss(start);
+                return resolved;
+            });
+        }
 
         try {
             return future.get();
@@ -84,15 +113,43 @@ public class TargetDefinitionResolverService {
             debugCacheMiss(arguments);
         }
 
+        TargetPlatformSnapshot snapshot = null;
+        if (TargetPlatformSnapshot.ENABLED) {
+            TargetPlatformSnapshot.addRepositoryMappings(arguments.definition, arguments.agent);
+            snapshot = TargetPlatformSnapshot.forDefinition(arguments.definition, arguments.environments,
+                    arguments.jreIUs, arguments.includeSourceMode, arguments.agent, mavenContext);
+            if (snapshot != null && !mavenContext.isUpdateSnapshots()) {
+                TargetDefinitionContent content = snapshot.read();
+                if (content != null) {
+                    return CompletableFuture.completedFuture(content);
+                }
+            }
+        }
         TargetDefinitionResolver resolver = new TargetDefinitionResolver(arguments.environments, arguments.jreIUs,
                 arguments.includeSourceMode, mavenContext, dependenciesResolver);
         try {
-            return CompletableFuture.completedFuture(resolver.resolveContent(arguments.definition, arguments.agent));
+            TargetDefinitionContent content = resolver.resolveContent(arguments.definition, arguments.agent);
+            if (snapshot != null) {
+                snapshot.write(content);
+            }
+            return CompletableFuture.completedFuture(content);
         } catch (Exception e) {
             return CompletableFuture.failedFuture(e);
         }
     }
 
+    private long estimateCacheBytes() {
+        long bytes = 0;
+        for (CompletableFuture<TargetDefinitionContent> future : resolutionCache.values()) {
+            bytes += CacheMetrics.ENTRY_BYTES;
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                bytes += InstallableUnitGenerator.estimateBytes(
+                        future.join().query(QueryUtil.ALL_UNITS, new NullProgressMonitor()).toUnmodifiableSet());
+            }
+        }
+        return bytes;
+    }
+
     private void debugCacheMiss(ResolutionArguments arguments) {
         if (resolutionCache.isEmpty()) {
             return;
@@ -14,9 +14,13 @@
 package org.eclipse.tycho.p2resolver;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -37,6 +41,7 @@ import org.eclipse.tycho.core.resolver.target.ArtifactTypeHelper;
 import org.eclipse.tycho.core.resolver.target.P2TargetPlatform;
 import org.eclipse.tycho.p2.artifact.provider.IRawArtifactFileProvider;
 import org.eclipse.tycho.p2.repository.LocalArtifactRepository;
+import org.eclipse.tycho.p2maven.InstallableUnitIndex;
 
 abstract class TargetPlatformBaseImpl implements P2TargetPlatform {
 
@@ -48,9 +53,14 @@ abstract class TargetPlatformBaseImpl implements P2TargetPlatform {
      * preliminary target platform where the reactor build order isn't known yet). Configured and
      * automatic filters have been applied.
      */
-    // TODO store as QueryableCollection, which contains indices to speed up queries?
     protected final LinkedHashSet<IInstallableUnit> installableUnits;
 
+    /**
+     * Index of the {@link #installableUnits}, created on first use and shared by all queries on
+     * this target platform.
+     */
+    private InstallableUnitIndex unitIndex;
+
     // reverse lookup from target platform content to the contributing artifact/project 
 
     /**
@@ -78,6 +88,8 @@ abstract class TargetPlatformBaseImpl implements P2TargetPlatform {
 
     private Set<IInstallableUnit> shadowed;
 
+    private InstallableUnitIndex shadowedIndex;
+
     public TargetPlatformBaseImpl(LinkedHashSet<IInstallableUnit> installableUnits,
             ExecutionEnvironmentResolutionHints executionEnvironment, IRawArtifactFileProvider artifacts,
             LocalArtifactRepository localArtifactRepository,
@@ -97,6 +109,16 @@ abstract class TargetPlatformBaseImpl implements P2TargetPlatform {
         return installableUnits;
     }
 
+    /**
+     * @return the units of this target platform in a form that is suitable for repeated queries
+     */
+    public final synchronized InstallableUnitIndex getInstallableUnitIndex() {
+        if (unitIndex == null) {
+            unitIndex = new InstallableUnitIndex(installableUnits);
+        }
+        return unitIndex;
+    }
+
     @Override
     public final org.eclipse.tycho.ArtifactKey resolveArtifact(String type, String id, String version)
             throws IllegalArtifactReferenceException, DependencyResolutionException {
@@ -133,7 +155,8 @@ abstract class TargetPlatformBaseImpl implements P2TargetPlatform {
     @Override
     public IInstallableUnit resolveUnit(String type, String id, VersionRange versionRange)
             throws IllegalArtifactReferenceException, DependencyResolutionException {
-        IInstallableUnit matchingUnit = ArtifactMatcher.resolveReference(type, id, versionRange, installableUnits);
+        IInstallableUnit matchingUnit = ArtifactMatcher.resolveReference(type, id, versionRange,
+                getInstallableUnitIndex());
         if (matchingUnit == null) {
             String message = type + " artifact with ID \"" + id + "\" and version matching \"" + versionRange
                     + "\" was not found in the target platform";
@@ -192,10 +215,37 @@ abstract class TargetPlatformBaseImpl implements P2TargetPlatform {
         return false;
     }
 
+    @Override
+    public Set<org.eclipse.tycho.ArtifactKey> getFilesAlreadyAvailable(
+            Collection<org.eclipse.tycho.ArtifactKey> artifactKeys) {
+        Map<IArtifactKey, List<org.eclipse.tycho.ArtifactKey>> p2Artifacts = new LinkedHashMap<>();
+        for (org.eclipse.tycho.ArtifactKey artifact : artifactKeys) {
+            IArtifactKey p2Artifact = ArtifactTypeHelper.toP2ArtifactKey(artifact);
+            if (p2Artifact != null) {
+                p2Artifacts.computeIfAbsent(p2Artifact, k -> new ArrayList<>()).add(artifact);
+            }
+        }
+        Set<org.eclipse.tycho.ArtifactKey> result = new HashSet<>();
+        for (IArtifactKey available : artifacts.getFilesAlreadyAvailable(p2Artifacts.keySet())) {
+            result.addAll(p2Artifacts.get(available));
+        }
+        return result;
+    }
+
     /**
      * @return all units that are shadowed by a reactor project IU
      */
     public Set<IInstallableUnit> getShadowed() {
         return shadowed;
     }
+
+    /**
+     * @return an index of all units that are shadowed by a reactor project IU
+     */
+    public synchronized InstallableUnitIndex getShadowedIndex() {
+        if (shadowedIndex == null) {
+            shadowedIndex = new InstallableUnitIndex(shadowed == null ? Set.of() : shadowed);
+        }
+        return shadowedIndex;
+    }
 }
@@ -69,6 +69,7 @@ import org.eclipse.tycho.p2.metadata.ReactorProjectFacade;
 import org.eclipse.tycho.p2.repository.ArtifactRepositoryBlackboard;
 import org.eclipse.tycho.p2.repository.ArtifactTransferPolicies;
 import org.eclipse.tycho.p2.repository.CompositeArtifactProvider;
+import org.eclipse.tycho.p2.repository.ContentAddressableStore;
 import org.eclipse.tycho.p2.repository.FileRepositoryArtifactProvider;
 import org.eclipse.tycho.p2.repository.LazyArtifactRepository;
 import org.eclipse.tycho.p2.repository.LocalArtifactRepository;
@@ -504,10 +505,16 @@ public class TargetPlatformFactoryImpl implements TargetPlatformFactory {
         allUnits.addAll(filterUnits(configuredFilters, pomDependencyCollector.gatherMavenInstallableUnits()));
         Map<IInstallableUnit, IArtifactFacade> mavenInstallableUnits = pomDependencyCollector
                 .getMavenInstallableUnits();
+        ContentAddressableStore contentStore = localArtifactRepository.getContentStore();
+        Set<File> pomDependencyFiles = new HashSet<>();
         for (Entry<IInstallableUnit, IArtifactFacade> entry : mavenInstallableUnits.entrySet()) {
             IArtifactFacade value = entry.getValue();
             if (value instanceof ReactorProjectFacade projectFacade) {
                 reactorUnitsMap.put(entry.getKey(), projectFacade.getReactorProject().getIdentities());
+            } else if (contentStore != null && value.getLocation() != null
+                    && pomDependencyFiles.add(value.getLocation())) {
+                // the Maven layout copy of a bundle that is usually also mirrored from a p2 repository
+                contentStore.deduplicate(value.getLocation());
             }
         }
         return new FinalTargetPlatformImpl(allUnits, preliminaryTP.getEEResolutionHints(), jointArtifacts,
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.equinox.p2.core.IProvisioningAgent;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.metadata.IRequirement;
+import org.eclipse.equinox.p2.query.IQuery;
+import org.eclipse.equinox.p2.query.IQueryResult;
+import org.eclipse.equinox.p2.query.QueryUtil;
+import org.eclipse.equinox.p2.repository.IRepository;
+import org.eclipse.equinox.p2.repository.IRepositoryReference;
+import org.eclipse.equinox.p2.repository.artifact.IArtifactRepository;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
+import org.eclipse.equinox.p2.repository.spi.RepositoryReference;
+import org.eclipse.tycho.ExecutionEnvironmentResolutionHints;
+import org.eclipse.tycho.IRepositoryIdManager;
+import org.eclipse.tycho.TargetEnvironment;
+import org.eclipse.tycho.core.resolver.shared.IncludeSourceMode;
+import org.eclipse.tycho.core.resolver.target.TargetDefinitionContent;
+import org.eclipse.tycho.core.shared.MavenContext;
+import org.eclipse.tycho.core.shared.MavenLogger;
+import org.eclipse.tycho.p2.repository.LazyArtifactRepository;
+import org.eclipse.tycho.p2.repository.RepositoryArtifactProvider;
+import org.eclipse.tycho.p2maven.ListCompositeArtifactRepository;
+import org.eclipse.tycho.p2maven.io.MetadataSnapshotIO;
+import org.eclipse.tycho.p2maven.io.MetadataSnapshotIO.RepositoryInfo;
+import org.eclipse.tycho.p2maven.transport.SnapshotMetadataRepository;
+import org.eclipse.tycho.targetplatform.TargetDefinition;
+import org.eclipse.tycho.targetplatform.TargetDefinition.InstallableUnitLocation;
+import org.eclipse.tycho.targetplatform.TargetDefinition.Location;
+import org.eclipse.tycho.targetplatform.TargetDefinition.Repository;
+import org.eclipse.tycho.targetplatform.TargetDefinition.Unit;
+
+/**
+ * Persists the resolved content of a target definition in the local repository, so that later
+ * builds can use it without loading any of the repositories of the target definition. A snapshot
+ * is identified by a hash over everything that influences the resolution result (the locations of
+ * the target definition, the effective repository locations after applying mirrors, the
+ * environments, the execution environment and the source mode), a snapshot is therefore replaced
+ * as soon as one of these changes.
+ * <p>
+ * Artifacts are not part of the snapshot: the snapshot records the repositories the target
+ * definition refers to and these are only loaded when an artifact is not already available in the
+ * local repository. As the resolution result is frozen, snapshots are only used if enabled with
+ * <code>-Dtycho.targetplatform.snapshot=true</code>, running Maven with <code>-U</code> resolves
+ * the target definition again and replaces the snapshot.
+ */
+final class TargetPlatformSnapshot {
+
+    static final boolean ENABLED = Boolean.getBoolean("tycho.targetplatform.snapshot");
+
+    private static final String SNAPSHOTS_RELPATH = ".cache/tycho/target-snapshots";
+    private static final String KEY_VERSION = "1";
+
+    private final File snapshotFile;
+    private final String origin;
+    private final List<Repository> repositories;
+    private final IProvisioningAgent agent;
+    private final MavenLogger logger;
+
+    private TargetPlatformSnapshot(File snapshotFile, String origin, List<Repository> repositories,
+            IProvisioningAgent agent, MavenLogger logger) {
+        this.snapshotFile = snapshotFile;
+        this.origin = origin;
+        this.repositories = repositories;
+        this.agent = agent;
+        this.logger = logger;
+    }
+
+    /**
+     * Registers the ids of the repositories of the given target definition, like loading the
+     * repositories would do. This is needed before {@link #forDefinition} because the effective
+     * location of a repository (i.e. its mirror) depends on its id, and before a snapshot is read
+     * because its artifacts are loaded from the recorded repositories.
+     */
+    static void addRepositoryMappings(TargetDefinition definition, IProvisioningAgent agent) {
+        IRepositoryIdManager repositoryIdManager = agent.getService(IRepositoryIdManager.class);
+        if (repositoryIdManager == null) {
+            return;
+        }
+        for (Location location : definition.getLocations()) {
+            if (location instanceof InstallableUnitLocation iuLocation) {
+                for (Repository repository : iuLocation.getRepositories()) {
+                    repositoryIdManager.addMapping(repository.getId(), repository.getLocation());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the snapshot for the given resolution arguments or <code>null</code> if the target
+     * definition contains locations that can't be snapshotted. The repository ids must have been
+     * registered with {@link #addRepositoryMappings(TargetDefinition, IProvisioningAgent)} before.
+     */
+    static TargetPlatformSnapshot forDefinition(TargetDefinition definition, List<TargetEnvironment> environments,
+            ExecutionEnvironmentResolutionHints jreIUs, IncludeSourceMode includeSourceMode,
+            IProvisioningAgent agent, MavenContext mavenContext) {
+        List<Repository> repositories = new ArrayList<>();
+        StringBuilder key = new StringBuilder(KEY_VERSION);
+        IRepositoryIdManager repositoryIdManager = agent.getService(IRepositoryIdManager.class);
+        for (Location location : definition.getLocations()) {
+            // other location types are either local or resolved through Maven
+            if (!(location instanceof InstallableUnitLocation iuLocation)) {
+                return null;
+            }
+            key.append("\nlocation:").append(iuLocation.getIncludeMode()).append(',')
+                    .append(iuLocation.includeAllEnvironments()).append(',').append(iuLocation.includeSource());
+            for (Repository repository : iuLocation.getRepositories()) {
+                URI effectiveLocation = repository.getLocation();
+                if (repositoryIdManager != null) {
+                    effectiveLocation = repositoryIdManager.getEffectiveLocation(repository.getLocation());
+                }
+                key.append("\nrepository:").append(repository.getId()).append(',').append(repository.getLocation())
+                        .append(',').append(effectiveLocation);
+                repositories.add(repository);
+            }
+            for (Unit unit : iuLocation.getUnits()) {
+                key.append("\nunit:").append(unit.getId()).append(',').append(unit.getVersion());
+            }
+        }
+        key.append("\ntargetEE:").append(definition.getTargetEE());
+        key.append("\nenvironments:").append(environments);
+        key.append("\nsourceMode:").append(includeSourceMode);
+        key.append("\nee:").append(jreIUs.getClass().getName());
+        appendUnits(key, jreIUs.getMandatoryUnits());
+        appendUnits(key, jreIUs.getTemporaryAdditions());
+        for (IRequirement requirement : jreIUs.getMandatoryRequires()) {
+            key.append("\nrequire:").append(requirement);
+        }
+        File snapshotFile = new File(mavenContext.getLocalRepositoryRoot(),
+                SNAPSHOTS_RELPATH + "/" + DigestUtils.sha256Hex(key.toString()) + ".bin");
+        return new TargetPlatformSnapshot(snapshotFile, definition.getOrigin(), repositories, agent,
+                mavenContext.getLogger());
+    }
+
+    private static void appendUnits(StringBuilder key, Collection<IInstallableUnit> units) {
+        units.stream().map(IInstallableUnit::toString).sorted().forEach(unit -> key.append("\nunit:").append(unit));
+    }
+
+    File getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * Reads the snapshot.
+     *
+     * @return the content of the snapshot or <code>null</code> if there is no (usable) snapshot
+     */
+    TargetDefinitionContent read() {
+        try {
+            RepositoryInfo info = MetadataSnapshotIO.readRepository(snapshotFile, null);
+            if (info == null) {
+                return null;
+            }
+            SnapshotMetadataRepository repository = new SnapshotMetadataRepository(agent, snapshotFile.toURI(),
+                    info, snapshotFile);
+            // read the units right away, so that an unreadable snapshot is replaced
+            int units = repository.query(QueryUtil.ALL_UNITS, null).toUnmodifiableSet().size();
+            logger.info("Using snapshot of target definition " + origin + " with " + units + " units");
+            List<IArtifactRepository> artifactRepositories = new ArrayList<>();
+            for (IRepositoryReference reference : info.getReferences()) {
+                artifactRepositories.add(new LazyArtifactRepository(agent, reference.getLocation(),
+                        RepositoryArtifactProvider::loadRepository));
+            }
+            return new SnapshotContent(repository, artifactRepositories);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Can't read snapshot " + snapshotFile + " of target definition " + origin + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the given resolved content of the target definition to the snapshot.
+     */
+    void write(TargetDefinitionContent content) {
+        List<IRepositoryReference> references = new ArrayList<>();
+        Set<String> locations = new HashSet<>();
+        for (Repository repository : repositories) {
+            if (!locations.add(repository.getLocation().normalize().toASCIIString())) {
+                continue;
+            }
+            references.add(new RepositoryReference(repository.getLocation(), repository.getId(),
+                    IRepository.TYPE_ARTIFACT, IRepository.ENABLED));
+        }
+        List<IInstallableUnit> units = new ArrayList<>(
+                content.query(QueryUtil.ALL_UNITS, null).toUnmodifiableSet());
+        // keep the snapshot stable for identical resolution results
+        units.sort(Comparator.naturalOrder());
+        try {
+            snapshotFile.getParentFile().mkdirs();
+            MetadataSnapshotIO.write(new SnapshotMetadataRepository(agent, snapshotFile.toURI(), origin, Map.of(),
+                    references, units), units, null, snapshotFile);
+            logger.debug("Written snapshot " + snapshotFile + " of target definition " + origin);
+        } catch (IOException e) {
+            logger.warn("Can't write snapshot " + snapshotFile + " of target definition " + origin + ": " + e);
+        }
+    }
+
+    private static final class SnapshotContent implements TargetDefinitionContent {
+
+        private final SnapshotMetadataRepository metadataRepository;
+        private final List<IArtifactRepository> artifactRepositories;
+        private ListCompositeArtifactRepository artifactRepository;
+
+        SnapshotContent(SnapshotMetadataRepository metadataRepository, List<IArtifactRepository> artifactRepositories) {
+            this.metadataRepository = metadataRepository;
+            this.artifactRepositories = artifactRepositories;
+        }
+
+        @Override
+        public IQueryResult<IInstallableUnit> query(IQuery<IInstallableUnit> query, IProgressMonitor monitor) {
+            return metadataRepository.query(query, monitor);
+        }
+
+        @Override
+        public IMetadataRepository getMetadataRepository() {
+            return metadataRepository;
+        }
+
+        @Override
+        public synchronized IArtifactRepository getArtifactRepository() {
+            if (artifactRepository == null) {
+                artifactRepository = new ListCompositeArtifactRepository(metadataRepository.getProvisioningAgent(),
+                        artifactRepositories);
+            }
+            return artifactRepository;
+        }
+
+    }
+}
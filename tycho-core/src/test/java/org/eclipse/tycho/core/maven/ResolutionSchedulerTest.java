@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.core.maven;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.testing.SilentLog;
+import org.apache.maven.project.MavenProject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResolutionSchedulerTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testProjectsWithLargerClosureStartFirst() {
+        MavenProject bundle = createProject("bundle");
+        MavenProject feature = createProject("feature");
+        MavenProject product = createProject("product");
+        Map<MavenProject, List<MavenProject>> upstream = Map.of(bundle, List.of(), feature, List.of(bundle),
+                product, List.of(bundle, feature));
+        ResolutionScheduler scheduler = new ResolutionScheduler(null, new SilentLog());
+
+        assertEquals(List.of(product, feature, bundle),
+                scheduler.order(List.of(bundle, feature, product), upstream::get));
+    }
+
+    @Test
+    public void testRecordedTimesAreUsedInNextBuild() {
+        File timingsFile = new File(tempFolder.getRoot(), ResolutionScheduler.TIMINGS_RELPATH);
+        MavenProject fast = createProject("fast");
+        MavenProject slow = createProject("slow");
+        ResolutionScheduler scheduler = new ResolutionScheduler(timingsFile, new SilentLog());
+        scheduler.recordTime(fast, TimeUnit.MILLISECONDS.toNanos(10));
+        scheduler.recordTime(slow, TimeUnit.MILLISECONDS.toNanos(1000));
+        scheduler.finish();
+
+        ResolutionScheduler nextBuild = new ResolutionScheduler(timingsFile, new SilentLog());
+
+        assertEquals(List.of(slow, fast), nextBuild.order(List.of(fast, slow), project -> List.of()));
+    }
+
+    private static MavenProject createProject(String artifactId) {
+        MavenProject project = new MavenProject();
+        project.setGroupId("test");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.0.0");
+        return project;
+    }
+}
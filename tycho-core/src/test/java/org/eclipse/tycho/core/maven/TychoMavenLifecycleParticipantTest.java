@@ -12,17 +12,48 @@
  *******************************************************************************/
 package org.eclipse.tycho.core.maven;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.maven.MavenExecutionException;
+import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.testing.SilentLog;
 import org.apache.maven.project.MavenProject;
+import org.eclipse.tycho.IRepositoryIdManager;
+import org.eclipse.tycho.core.TargetPlatformConfiguration;
+import org.eclipse.tycho.core.TychoProjectManager;
+import org.eclipse.tycho.metrics.CacheMetrics;
+import org.eclipse.tycho.metrics.CacheMetricsRegistry;
+import org.eclipse.tycho.p2maven.repository.P2ArtifactRepositoryLayout;
+import org.eclipse.tycho.p2maven.transport.TransportProtocolHandler;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class TychoMavenLifecycleParticipantTest {
 
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
     @Test
     public void validateConsistentTychoVersionWithSameVersion() throws MavenExecutionException {
         TychoMavenLifecycleParticipant tycho = new TychoMavenLifecycleParticipant(new SilentLog());
@@ -64,6 +95,89 @@ public class TychoMavenLifecycleParticipantTest {
         tycho.validateConsistentTychoVersion(Arrays.asList(project1, project2));
     }
 
+    @Test
+    public void revalidateRepositoryCachesDoesNotWaitForTheRequests() {
+        TychoMavenLifecycleParticipant tycho = new TychoMavenLifecycleParticipant(new SilentLog());
+        MavenProject project = createProject();
+        ArtifactRepositoryPolicy policy = new ArtifactRepositoryPolicy();
+        project.setRemoteArtifactRepositories(List.of(new MavenArtifactRepository("p2",
+                "https://download.example.org/repository", new P2ArtifactRepositoryLayout(), policy, policy)));
+        TargetPlatformConfiguration configuration = mock(TargetPlatformConfiguration.class);
+        when(configuration.getTargets()).thenReturn(List.of());
+        tycho.projectManager = mock(TychoProjectManager.class);
+        when(tycho.projectManager.getTargetPlatformConfiguration(any(MavenProject.class))).thenReturn(configuration);
+        tycho.repositoryIdManager = mock(IRepositoryIdManager.class);
+        when(tycho.repositoryIdManager.getEffectiveLocation(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        CompletableFuture<Void> requests = new CompletableFuture<>();
+        List<URI> revalidated = new CopyOnWriteArrayList<>();
+        tycho.transportProtocolHandlers = Map.of("https", new TransportProtocolHandler() {
+
+            @Override
+            public long getLastModified(URI uri) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public File getFile(URI remoteFile) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<?> revalidate(Collection<URI> repositoryLocations) {
+                revalidated.addAll(repositoryLocations);
+                return requests;
+            }
+        });
+
+        CompletableFuture<?> revalidation = tycho.revalidateRepositoryCaches(mock(MavenSession.class),
+                List.of(project));
+
+        assertEquals(List.of(URI.create("https://download.example.org/repository")), revalidated);
+        assertFalse(revalidation.isDone());
+        requests.complete(null);
+        assertTrue(revalidation.isDone());
+    }
+
+    @Test
+    public void cacheMetricsAreWrittenToTheBuildDirectoryAndReset() throws Exception {
+        TychoMavenLifecycleParticipant tycho = new TychoMavenLifecycleParticipant(new SilentLog());
+        tycho.cacheMetricsRegistry = new CacheMetricsRegistry();
+        CacheMetrics cache = new CacheMetrics("cache", () -> 1, () -> 10);
+        tycho.cacheMetricsRegistry.register(cache);
+        cache.hit();
+        MavenProject project = createProject();
+        project.getBuild().setDirectory(tempFolder.getRoot().getAbsolutePath());
+        MavenSession session = mock(MavenSession.class);
+        Properties userProperties = new Properties();
+        userProperties.setProperty(CacheMetricsRegistry.REPORT_PROPERTY, "true");
+        when(session.getUserProperties()).thenReturn(userProperties);
+        when(session.getSystemProperties()).thenReturn(new Properties());
+        when(session.getTopLevelProject()).thenReturn(project);
+
+        tycho.writeCacheMetrics(session);
+
+        String report = Files.readString(new File(tempFolder.getRoot(), CacheMetricsRegistry.REPORT_FILE).toPath());
+        assertTrue(report, report.contains("{\"name\": \"cache\", \"entries\": 1, \"estimatedBytes\": 10, "
+                + "\"hits\": 1, \"misses\": 0, \"hitRatio\": 1.000, \"loadTimeMillis\": 0}"));
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void cacheMetricsAreNotWrittenByDefault() throws Exception {
+        TychoMavenLifecycleParticipant tycho = new TychoMavenLifecycleParticipant(new SilentLog());
+        tycho.cacheMetricsRegistry = new CacheMetricsRegistry();
+        MavenProject project = createProject();
+        project.getBuild().setDirectory(tempFolder.getRoot().getAbsolutePath());
+        MavenSession session = mock(MavenSession.class);
+        when(session.getUserProperties()).thenReturn(new Properties());
+        when(session.getSystemProperties()).thenReturn(new Properties());
+        when(session.getTopLevelProject()).thenReturn(project);
+
+        tycho.writeCacheMetrics(session);
+
+        assertFalse(new File(tempFolder.getRoot(), CacheMetricsRegistry.REPORT_FILE).exists());
+    }
+
     private MavenProject createProject() {
         MavenProject project = new MavenProject();
         project.setBuild(new Build());
@@ -15,18 +15,25 @@ package org.eclipse.tycho.core.osgitools;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import org.apache.maven.plugin.testing.SilentLog;
 import org.apache.maven.project.MavenProject;
 import org.eclipse.osgi.container.Module;
 import org.eclipse.osgi.container.ModuleContainer;
+import org.eclipse.osgi.container.builders.OSGiManifestBuilderFactory;
+import org.eclipse.tycho.ClasspathEntry.AccessRule;
+import org.eclipse.tycho.DependencyArtifacts;
 import org.eclipse.tycho.ReactorProject;
 import org.eclipse.tycho.TychoConstants;
 import org.eclipse.tycho.core.ee.ExecutionEnvironmentUtils;
 import org.eclipse.tycho.core.ee.shared.ExecutionEnvironment;
 import org.eclipse.tycho.core.ee.shared.ExecutionEnvironmentConfiguration;
+import org.eclipse.tycho.core.osgitools.DependencyComputer.DependencyEntry;
 import org.eclipse.tycho.core.osgitools.targetplatform.DefaultDependencyArtifacts;
 import org.eclipse.tycho.testing.AbstractTychoMojoTestCase;
 import org.eclipse.tycho.version.TychoVersion;
@@ -37,6 +44,7 @@ import org.osgi.framework.wiring.BundleRevision;
 public class EquinoxResolverTest extends AbstractTychoMojoTestCase {
     private static final ExecutionEnvironment DUMMY_EE = ExecutionEnvironmentUtils.getExecutionEnvironment("J2SE-1.5",
             null, null, new SilentLog());
+    private static final String SHARED_PROPERTY = "tycho.equinox.resolver.shared";
 
     private EquinoxResolver subject;
 
@@ -126,8 +134,92 @@ public class EquinoxResolverTest extends AbstractTychoMojoTestCase {
 //        }
     }
 
+    public void testSharedContainersResolveLikeFreshContainers() throws Exception {
+        assertSharedContainersResolveLikeFreshContainers("projects/accessrules");
+        assertSharedContainersResolveLikeFreshContainers("projects/exportpackage");
+    }
+
+    public void testReactorBundlesThatWouldRewireTheTargetPlatformAreDetected() throws BundleException {
+        Properties properties = subject.getPlatformProperties(new Properties(), null, null, DUMMY_EE);
+        ModuleContainer container = subject.newState(new DefaultDependencyArtifacts(), properties, null, null,
+                new EquinoxResolverConfiguration());
+        install(container, "external", Map.of(Constants.IMPORT_PACKAGE, "shared;resolution:=optional",
+                Constants.EXPORT_PACKAGE, "external"));
+        container.resolve(null, false);
+
+        Module unrelated = install(container, "unrelated", Map.of(Constants.EXPORT_PACKAGE, "unrelated",
+                Constants.IMPORT_PACKAGE, "external"));
+        assertFalse(EquinoxResolver.isWiredDifferentlyWith(container, List.of(unrelated)));
+        Module provider = install(container, "provider", Map.of(Constants.EXPORT_PACKAGE, "shared"));
+        assertTrue(EquinoxResolver.isWiredDifferentlyWith(container, List.of(unrelated, provider)));
+        Module fragment = install(container, "fragment", Map.of(Constants.FRAGMENT_HOST, "external"));
+        assertTrue(EquinoxResolver.isWiredDifferentlyWith(container, List.of(unrelated, fragment)));
+    }
+
+    private void assertSharedContainersResolveLikeFreshContainers(String path) throws Exception {
+        List<MavenProject> projects = getSortedProjects(getBasedir(path));
+        Map<MavenProject, List<String>> fresh = new LinkedHashMap<>();
+        for (MavenProject project : projects) {
+            if (!"pom".equals(project.getPackaging())) {
+                fresh.put(project, describe(computeDependencies(project)));
+            }
+        }
+        assertEquals(0, subject.getPooledBaseContainerCount());
+
+        System.setProperty(SHARED_PROPERTY, "true");
+        try {
+            // the second round reuses the containers of the first
+            for (int round = 0; round < 2; round++) {
+                for (Map.Entry<MavenProject, List<String>> entry : fresh.entrySet()) {
+                    assertEquals(entry.getKey().getArtifactId(), entry.getValue(),
+                            describe(computeDependencies(entry.getKey())));
+                }
+                assertTrue(subject.getPooledBaseContainerCount() > 0);
+            }
+        } finally {
+            System.clearProperty(SHARED_PROPERTY);
+            subject.dispose();
+        }
+    }
+
     // --- uility methods ---
 
+    private static Module install(ModuleContainer container, String symbolicName, Map<String, String> headers)
+            throws BundleException {
+        Map<String, String> manifest = new LinkedHashMap<>(headers);
+        manifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+        manifest.put(Constants.BUNDLE_SYMBOLICNAME, symbolicName);
+        manifest.put(Constants.BUNDLE_VERSION, "1.0.0");
+        return container.install(null, symbolicName, OSGiManifestBuilderFactory.createBuilder(manifest),
+                new File(symbolicName));
+    }
+
+    private DependenciesInfo computeDependencies(MavenProject project) {
+        DependencyArtifacts artifacts = (DependencyArtifacts) DefaultReactorProject.adapt(project)
+                .getContextValue(TychoConstants.CTX_DEPENDENCY_ARTIFACTS);
+        return subject.computeDependencies(project, artifacts, null);
+    }
+
+    private static List<String> describe(DependenciesInfo dependenciesInfo) {
+        List<String> description = new ArrayList<>();
+        description.add(String.valueOf(dependenciesInfo.getRevision()));
+        for (DependencyEntry entry : dependenciesInfo.getDependencyEntries()) {
+            description.add(entry.module + " " + describe(entry.rules));
+        }
+        description.add("boot " + describe(dependenciesInfo.getBootClasspathExtraAccessRules()));
+        return description;
+    }
+
+    private static List<String> describe(Iterable<AccessRule> rules) {
+        List<String> description = new ArrayList<>();
+        if (rules != null) {
+            for (AccessRule rule : rules) {
+                description.add(rule.getPattern() + (rule.isDiscouraged() ? "~" : ""));
+            }
+        }
+        return description;
+    }
+
     private MavenProject getProject(String path) throws IOException, Exception {
         File basedir = getBasedir(path);
 
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.core.osgitools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.eclipse.tycho.locking.facade.FileLockService;
+import org.eclipse.tycho.testing.TychoPlexusTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ManifestIndexTest extends TychoPlexusTestCase {
+
+    private File localRepository;
+    private FileLockService fileLockService;
+
+    @Before
+    public void setUp() throws Exception {
+        localRepository = temporaryFolder.newFolder("repository");
+        fileLockService = lookup(FileLockService.class);
+    }
+
+    @Test
+    public void testIndexIsUsedByLaterBuilds() throws IOException {
+        File jar = new File(temporaryFolder.getRoot(), "bundle.jar");
+        writeBundle(jar, "bundle.aaa");
+        long lastModified = jar.lastModified();
+
+        DefaultBundleReader firstBuild = newBundleReader();
+        assertEquals("bundle.aaa", firstBuild.loadManifest(jar).getBundleSymbolicName());
+        firstBuild.dispose();
+        File indexFile = new File(new File(localRepository, DefaultBundleReader.CACHE_PATH), ManifestIndex.INDEX_FILE);
+        assertTrue("manifest index not written", indexFile.isFile());
+
+        // same size and timestamp, so only a reader using the index still sees the old name
+        writeBundle(jar, "bundle.bbb");
+        jar.setLastModified(lastModified);
+        DefaultBundleReader secondBuild = newBundleReader();
+        assertEquals("bundle.aaa", secondBuild.loadManifest(jar).getBundleSymbolicName());
+        secondBuild.dispose();
+    }
+
+    @Test
+    public void testChangedJarIsReadAgain() throws IOException {
+        File jar = new File(temporaryFolder.getRoot(), "bundle.jar");
+        writeBundle(jar, "bundle.aaa");
+
+        DefaultBundleReader firstBuild = newBundleReader();
+        firstBuild.loadManifest(jar);
+        firstBuild.dispose();
+
+        writeBundle(jar, "bundle.bbb");
+        jar.setLastModified(jar.lastModified() + 2000);
+        DefaultBundleReader secondBuild = newBundleReader();
+        assertEquals("bundle.bbb", secondBuild.loadManifest(jar).getBundleSymbolicName());
+        secondBuild.dispose();
+    }
+
+    private DefaultBundleReader newBundleReader() {
+        DefaultBundleReader reader = new DefaultBundleReader(fileLockService, new ConsoleLogger());
+        reader.setLocationRepository(localRepository);
+        return reader;
+    }
+
+    /**
+     * Writes a bundle without compression, so that bundles with equally long names have the same
+     * size
+     */
+    private static void writeBundle(File jar, String symbolicName) throws IOException {
+        byte[] manifest = ("Manifest-Version: 1.0\r\nBundle-ManifestVersion: 2\r\nBundle-SymbolicName: "
+                + symbolicName + "\r\nBundle-Version: 1.0.0\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        ZipEntry entry = new ZipEntry(JarFile.MANIFEST_NAME);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setTime(0);
+        entry.setSize(manifest.length);
+        CRC32 crc = new CRC32();
+        crc.update(manifest);
+        entry.setCrc(crc.getValue());
+        try (OutputStream out = Files.newOutputStream(jar.toPath());
+                JarOutputStream jarOut = new JarOutputStream(out)) {
+            jarOut.putNextEntry(entry);
+            jarOut.write(manifest);
+            jarOut.closeEntry();
+        }
+    }
+}
@@ -12,14 +12,30 @@
  *******************************************************************************/
 package org.eclipse.tycho.core.resolver;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.project.MavenProject;
+import org.eclipse.tycho.DependencyArtifacts;
 import org.eclipse.tycho.PlatformPropertiesUtils;
 import org.eclipse.tycho.core.utils.TychoProjectUtils;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,10 +44,20 @@ public class DefaultTychoResolverTest {
 
     private DefaultTychoResolver defaultTychoResolver;
 
+    private MavenSession session;
+
     @Before
     public void setup() {
         defaultTychoResolver = new DefaultTychoResolver();
+        session = mock(MavenSession.class);
+        MavenExecutionRequest request = mock(MavenExecutionRequest.class);
+        when(request.getDegreeOfConcurrency()).thenReturn(2);
+        when(session.getRequest()).thenReturn(request);
+    }
 
+    @After
+    public void tearDown() {
+        defaultTychoResolver.dispose();
     }
 
     @Test
@@ -55,4 +81,61 @@ public class DefaultTychoResolverTest {
         Assert.assertEquals(PlatformPropertiesUtils.OS_LINUX, os);
         Assert.assertEquals(PlatformPropertiesUtils.WS_GTK, ws);
     }
+
+    @Test
+    public void testTestResolutionResultIsIndependentOfParallelism() {
+        for (boolean parallel : new boolean[] { true, false }) {
+            defaultTychoResolver.parallelTestResolution = parallel;
+            DependencyArtifacts artifacts = mock(DependencyArtifacts.class);
+
+            assertSame(artifacts, resolveTests(() -> artifacts));
+        }
+    }
+
+    @Test
+    public void testTestResolutionFailureIsIndependentOfParallelism() {
+        for (boolean parallel : new boolean[] { true, false }) {
+            defaultTychoResolver.parallelTestResolution = parallel;
+            RuntimeException runtimeException = new IllegalArgumentException("runtime");
+            Error error = new LinkageError("error");
+            IOException checkedException = new IOException("checked");
+
+            assertSame(runtimeException, assertThrows(RuntimeException.class, () -> resolveTests(() -> {
+                throw runtimeException;
+            })));
+            assertSame(error, assertThrows(Error.class, () -> resolveTests(() -> {
+                throw error;
+            })));
+            IllegalStateException wrapped = assertThrows(IllegalStateException.class, () -> resolveTests(() -> {
+                throw checkedException;
+            }));
+            assertSame(checkedException, wrapped.getCause());
+        }
+    }
+
+    @Test
+    public void testParallelTestResolutionIsBoundedByTheDegreeOfConcurrency() throws Exception {
+        defaultTychoResolver.parallelTestResolution = true;
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<DependencyArtifacts>> resolutions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            resolutions.add(defaultTychoResolver.startTestResolution(session, () -> {
+                threads.add(Thread.currentThread().getName());
+                release.await();
+                return null;
+            }));
+        }
+        release.countDown();
+        for (Future<DependencyArtifacts> resolution : resolutions) {
+            DefaultTychoResolver.await(resolution);
+        }
+
+        assertTrue(threads.toString(), threads.size() <= 2);
+        assertEquals(5, resolutions.stream().filter(Future::isDone).count());
+    }
+
+    private DependencyArtifacts resolveTests(Callable<DependencyArtifacts> resolution) {
+        return DefaultTychoResolver.await(defaultTychoResolver.startTestResolution(session, resolution));
+    }
 }
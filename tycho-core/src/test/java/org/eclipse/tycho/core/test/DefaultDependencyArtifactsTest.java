@@ -33,6 +33,7 @@ import org.eclipse.tycho.ReactorProject;
 import org.eclipse.tycho.TargetEnvironment;
 import org.eclipse.tycho.core.osgitools.DefaultArtifactDescriptor;
 import org.eclipse.tycho.core.osgitools.DefaultReactorProject;
+import org.eclipse.tycho.core.osgitools.targetplatform.ArtifactDescriptorTable;
 import org.eclipse.tycho.core.osgitools.targetplatform.DefaultDependencyArtifacts;
 import org.eclipse.tycho.core.osgitools.targetplatform.MultiEnvironmentDependencyArtifacts;
 import org.junit.Assert;
@@ -198,6 +199,28 @@ public class DefaultDependencyArtifactsTest {
                 getArtifactMapForLocation(location, tp2).get(null).getInstallableUnits().iterator().next());
     }
 
+    @Test
+    public void testArtifactsAreSharedBetweenProjects() {
+        ArtifactDescriptorTable table = new ArtifactDescriptorTable();
+        ArtifactKey key = new DefaultArtifactKey("type", "id", "version");
+        ReactorProject project = new DefaultReactorProject(new MavenProject());
+        ArtifactKey reactorKey = new DefaultArtifactKey("type", "reactor", "version");
+        File location = new File("location");
+        File artifactFile = new File("artifact.jar");
+
+        DefaultDependencyArtifacts tp1 = new DefaultDependencyArtifacts(null, table);
+        tp1.addArtifactFile(key, () -> artifactFile, Set.of(unit("a")));
+        tp1.addArtifact(new DefaultArtifactDescriptor(reactorKey, location, project, null, Set.of(unit("r"))));
+
+        DefaultDependencyArtifacts tp2 = new DefaultDependencyArtifacts(null, table);
+        tp2.addArtifactFile(key, () -> artifactFile, Set.of(unit("a")));
+        tp2.addArtifact(new DefaultArtifactDescriptor(reactorKey, location, project, null, Set.of(unit("r"))));
+
+        Assert.assertSame(tp1.getArtifact(key), tp2.getArtifact(key));
+        Assert.assertNotSame(tp1.getArtifact(reactorKey), tp2.getArtifact(reactorKey));
+        Assert.assertEquals(project, tp2.getMavenProject(location));
+    }
+
     private Map<String, ArtifactDescriptor> getArtifactMapForLocation(File location,
             DefaultDependencyArtifacts dependencyArtifacts) {
         Map<String, ArtifactDescriptor> map = dependencyArtifacts.getArtifact(location);
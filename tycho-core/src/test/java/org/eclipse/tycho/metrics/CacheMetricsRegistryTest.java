@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CacheMetricsRegistryTest {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS = 1000;
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testConcurrentlyRecordedMetrics() throws Exception {
+        CacheMetricsRegistry registry = new CacheMetricsRegistry();
+        CacheMetrics bundles = new CacheMetrics("bundles", () -> 3, () -> 300);
+        CacheMetrics manifests = new CacheMetrics("a \"quoted\" name", () -> 0, () -> 0);
+        registry.register(bundles);
+        registry.register(manifests);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < REQUESTS; j++) {
+                        if (j % 4 == 0) {
+                            bundles.miss(System.nanoTime());
+                        } else {
+                            bundles.hit();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String json = registry.toJson();
+        List<String> caches = caches(json);
+        assertEquals(2, caches.size());
+        // caches are reported by name
+        assertEquals("{\"name\": \"a \\\"quoted\\\" name\", \"entries\": 0, \"estimatedBytes\": 0, \"hits\": 0, "
+                + "\"misses\": 0, \"hitRatio\": 0.000, \"loadTimeMillis\": 0}", caches.get(0));
+        String bundleCache = caches.get(1);
+        assertTrue(bundleCache, bundleCache.startsWith("{\"name\": \"bundles\", \"entries\": 3, "
+                + "\"estimatedBytes\": 300, \"hits\": 6000, \"misses\": 2000, \"hitRatio\": 0.750, "
+                + "\"loadTimeMillis\": "));
+        assertTrue(json, Pattern.compile("\"heap\": \\{\"usedBytes\": \\d+, \"committedBytes\": \\d+, "
+                + "\"maxBytes\": \\d+\\}").matcher(json).find());
+    }
+
+    @Test
+    public void testReportAndReset() throws Exception {
+        CacheMetricsRegistry registry = new CacheMetricsRegistry();
+        CacheMetrics cache = new CacheMetrics("cache", () -> 1, () -> 10);
+        registry.register(cache);
+        cache.hit();
+        cache.miss();
+
+        File report = new File(tempFolder.getRoot(), "target/" + CacheMetricsRegistry.REPORT_FILE);
+        registry.writeReport(report);
+        List<String> caches = caches(Files.readString(report.toPath(), StandardCharsets.UTF_8));
+        assertEquals(List.of("{\"name\": \"cache\", \"entries\": 1, \"estimatedBytes\": 10, \"hits\": 1, "
+                + "\"misses\": 1, \"hitRatio\": 0.500, \"loadTimeMillis\": 0}"), caches);
+
+        registry.reset();
+        assertEquals(List.of("{\"name\": \"cache\", \"entries\": 1, \"estimatedBytes\": 10, \"hits\": 0, "
+                + "\"misses\": 0, \"hitRatio\": 0.000, \"loadTimeMillis\": 0}"), caches(registry.toJson()));
+    }
+
+    @Test
+    public void testEmptyRegistry() {
+        String json = new CacheMetricsRegistry().toJson();
+
+        assertTrue(json, json.endsWith("  \"caches\": []\n}\n"));
+    }
+
+    private static List<String> caches(String json) {
+        Matcher matcher = Pattern.compile("^    (\\{\"name\".*\\}),?$", Pattern.MULTILINE).matcher(json);
+        List<String> caches = new ArrayList<>();
+        while (matcher.find()) {
+            caches.add(matcher.group(1));
+        }
+        return caches;
+    }
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.plexus.logging.Logger;
+import org.eclipse.tycho.DefaultArtifactKey;
+import org.eclipse.tycho.TargetPlatform;
+import org.eclipse.tycho.core.resolver.DefaultP2ResolutionResultEntry;
+import org.eclipse.tycho.core.resolver.P2ResolutionResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ArtifactPrefetcherTest {
+
+    private ArtifactPrefetcher prefetcher;
+
+    private TargetPlatform targetPlatform;
+
+    private final Map<String, AtomicInteger> fetches = new ConcurrentHashMap<>();
+
+    @Before
+    public void setup() {
+        prefetcher = new ArtifactPrefetcher();
+        prefetcher.logger = mock(Logger.class);
+        // a single thread that can be awaited makes the downloads deterministic
+        prefetcher.executor = Executors.newSingleThreadExecutor();
+        targetPlatform = mock(TargetPlatform.class);
+        when(targetPlatform.getFilesAlreadyAvailable(any())).thenReturn(Set.of());
+    }
+
+    @After
+    public void tearDown() {
+        prefetcher.dispose();
+    }
+
+    @Test
+    public void testArtifactsAreOnlyFetchedOnce() throws Exception {
+        prefetcher.prefetch(targetPlatform, List.of(result(entry("a", null), entry("b", null)),
+                result(entry("a", null), entry("a", "sources"))));
+        prefetcher.prefetch(targetPlatform, List.of(result(entry("a", null), entry("a", "sources"))));
+        awaitDownloads();
+
+        assertEquals(Map.of("a", 1, "b", 1, "a:sources", 1), fetchCounts());
+    }
+
+    @Test
+    public void testAvailableAndResolvedArtifactsAreNotFetched() throws Exception {
+        when(targetPlatform.getFilesAlreadyAvailable(any()))
+                .thenReturn(Set.of(new DefaultArtifactKey("eclipse-plugin", "available", "1.0.0")));
+        P2ResolutionResult.Entry resolved = new DefaultP2ResolutionResultEntry("eclipse-plugin", "resolved",
+                "1.0.0", null, new File("resolved.jar"));
+
+        prefetcher.prefetch(targetPlatform, List.of(result(entry("available", null), resolved, entry("c", null))));
+        awaitDownloads();
+
+        assertEquals(Map.of("c", 1), fetchCounts());
+    }
+
+    @Test
+    public void testFailedFetchDoesNotStopOthers() throws Exception {
+        P2ResolutionResult.Entry failing = new DefaultP2ResolutionResultEntry("eclipse-plugin", "failing", "1.0.0",
+                null, () -> {
+                    throw new IllegalStateException("not found");
+                });
+
+        prefetcher.prefetch(targetPlatform, List.of(result(failing, entry("d", null))));
+        awaitDownloads();
+
+        assertEquals(Map.of("d", 1), fetchCounts());
+        verify(prefetcher.logger).debug(contains("failing"));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        prefetcher.threads = 0;
+
+        prefetcher.prefetch(targetPlatform, List.of(result(entry("e", null))));
+        awaitDownloads();
+
+        assertEquals(Map.of(), fetchCounts());
+        verifyNoInteractions(targetPlatform);
+    }
+
+    private void awaitDownloads() throws InterruptedException {
+        prefetcher.executor.shutdown();
+        prefetcher.executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private Map<String, Integer> fetchCounts() {
+        Map<String, Integer> counts = new ConcurrentHashMap<>();
+        fetches.forEach((key, count) -> counts.put(key, count.get()));
+        return counts;
+    }
+
+    private P2ResolutionResult.Entry entry(String id, String classifier) {
+        String name = classifier == null ? id : id + ":" + classifier;
+        return new DefaultP2ResolutionResultEntry("eclipse-plugin", id, "1.0.0", classifier, () -> {
+            fetches.computeIfAbsent(name, k -> new AtomicInteger()).incrementAndGet();
+            return new File(name + ".jar");
+        });
+    }
+
+    private static P2ResolutionResult result(P2ResolutionResult.Entry... entries) {
+        P2ResolutionResult result = mock(P2ResolutionResult.class);
+        when(result.getArtifacts()).thenReturn(List.of(entries));
+        return result;
+    }
+}
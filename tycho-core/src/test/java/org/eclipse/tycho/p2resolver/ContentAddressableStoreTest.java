@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.tycho.p2.repository.ContentAddressableStore;
+import org.eclipse.tycho.p2.repository.FileChecksumIndex;
+import org.eclipse.tycho.test.util.LogVerifier;
+import org.eclipse.tycho.test.util.NoopFileLockService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ContentAddressableStoreTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Rule
+    public LogVerifier logVerifier = new LogVerifier();
+
+    @Test
+    public void testIdenticalFilesShareContent() throws IOException {
+        File repository = tempFolder.newFolder("repository");
+        File a = createFile(repository, "p2/osgi/bundle/a/1.0.0/a-1.0.0.jar", "bundle content");
+        File b = createFile(repository, "org/example/a/1.0.0/a-1.0.0.jar", "bundle content");
+        ContentAddressableStore store = createStore(repository);
+
+        assertTrue(store.deduplicate(a));
+        assertTrue(store.deduplicate(b));
+
+        assertTrue(Files.isSameFile(a.toPath(), b.toPath()));
+        assertEquals("bundle content", Files.readString(b.toPath(), StandardCharsets.UTF_8));
+        String digest = DigestUtils.sha256Hex("bundle content");
+        File blob = new File(repository,
+                ContentAddressableStore.STORE_RELPATH + "/" + digest.substring(0, 2) + "/" + digest);
+        assertTrue(Files.isSameFile(blob.toPath(), a.toPath()));
+    }
+
+    @Test
+    public void testDifferentFilesAreNotShared() throws IOException {
+        File repository = tempFolder.newFolder("repository");
+        File a = createFile(repository, "a.jar", "content of a");
+        File b = createFile(repository, "b.jar", "content of b");
+        ContentAddressableStore store = createStore(repository);
+
+        assertTrue(store.deduplicate(a));
+        assertTrue(store.deduplicate(b));
+
+        assertFalse(Files.isSameFile(a.toPath(), b.toPath()));
+        assertEquals("content of a", Files.readString(a.toPath(), StandardCharsets.UTF_8));
+        assertEquals("content of b", Files.readString(b.toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testMissingFileIsIgnored() throws IOException {
+        File repository = tempFolder.newFolder("repository");
+
+        assertFalse(createStore(repository).deduplicate(new File(repository, "missing.jar")));
+    }
+
+    @Test
+    public void testFilesOutsideOfRepositoryAreNotShared() throws IOException {
+        File repository = tempFolder.newFolder("repository");
+        File a = createFile(repository, "a.jar", "bundle content");
+        File outside = createFile(tempFolder.newFolder("project"), "target/a.jar", "bundle content");
+        ContentAddressableStore store = createStore(repository);
+
+        assertTrue(store.deduplicate(a));
+        assertFalse(store.deduplicate(outside));
+
+        assertFalse(Files.isSameFile(a.toPath(), outside.toPath()));
+    }
+
+    @Test
+    public void testFailedLinkKeepsCopyOfThatFileOnly() throws IOException {
+        File repository = tempFolder.newFolder("repository");
+        File a = createFile(repository, "a/a.jar", "bundle content");
+        File readOnly = createFile(repository, "readonly/a.jar", "bundle content");
+        File b = createFile(repository, "b/a.jar", "bundle content");
+        ContentAddressableStore store = createStore(repository);
+        readOnly.getParentFile().setWritable(false);
+        try {
+            assumeFalse("file permissions are not enforced", readOnly.getParentFile().canWrite());
+
+            assertTrue(store.deduplicate(a));
+            assertFalse(store.deduplicate(readOnly));
+            assertTrue(store.deduplicate(b));
+        } finally {
+            readOnly.getParentFile().setWritable(true);
+        }
+
+        assertFalse(Files.isSameFile(a.toPath(), readOnly.toPath()));
+        assertEquals("bundle content", Files.readString(readOnly.toPath(), StandardCharsets.UTF_8));
+        assertTrue(Files.isSameFile(a.toPath(), b.toPath()));
+    }
+
+    @Test
+    public void testUnusedEntriesAreCollected() throws IOException {
+        File repository = tempFolder.newFolder("repository");
+        File unused = createFile(repository, "unused.jar", "content of unused");
+        File used = createFile(repository, "used.jar", "content of used");
+        ContentAddressableStore store = createStore(repository);
+        assertTrue(store.deduplicate(unused));
+        assertTrue(store.deduplicate(used));
+        assumeTrue("link count is not available",
+                Files.getFileStore(used.toPath()).supportsFileAttributeView("unix"));
+
+        Files.delete(unused.toPath());
+        store.collectGarbage();
+
+        assertFalse(getBlob(repository, "content of unused").isFile());
+        assertTrue(getBlob(repository, "content of used").isFile());
+    }
+
+    private static File getBlob(File repository, String content) {
+        String digest = DigestUtils.sha256Hex(content);
+        return new File(repository,
+                ContentAddressableStore.STORE_RELPATH + "/" + digest.substring(0, 2) + "/" + digest);
+    }
+
+    private File createFile(File repository, String path, String content) throws IOException {
+        File file = new File(repository, path);
+        file.getParentFile().mkdirs();
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private ContentAddressableStore createStore(File repository) {
+        ContentAddressableStore store = new ContentAddressableStore(repository,
+                FileChecksumIndex.createChecksumIndex(repository, new NoopFileLockService(),
+                        logVerifier.getMavenLogger()),
+                logVerifier.getMavenLogger());
+        assumeTrue("hard links are not supported", supportsHardLinks(repository));
+        return store;
+    }
+
+    private boolean supportsHardLinks(File directory) {
+        File source = new File(directory, "link-source");
+        File link = new File(directory, "link-target");
+        try {
+            Files.writeString(source.toPath(), "", StandardCharsets.UTF_8);
+            Files.createLink(link.toPath(), source.toPath());
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        } finally {
+            source.delete();
+            link.delete();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.tycho.p2.repository.FileChecksumIndex;
+import org.eclipse.tycho.test.util.LogVerifier;
+import org.eclipse.tycho.test.util.NoopFileLockService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileChecksumIndexTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Rule
+    public LogVerifier logVerifier = new LogVerifier();
+
+    @Test
+    public void testDigestMatchesStreamDigest() throws IOException {
+        File repository = tempFolder.newFolder("repository");
+        File file = createFile("a.jar", "content of a");
+        FileChecksumIndex index = createIndex(repository);
+
+        assertEquals(DigestUtils.sha256Hex("content of a"), index.getDigest(file, FileChecksumIndex.SHA_256));
+        assertEquals(DigestUtils.md5Hex("content of a"), index.getDigest(file, FileChecksumIndex.MD5));
+    }
+
+    @Test
+    public void testDigestIsPersisted() throws IOException {
+        File repository = tempFolder.newFolder("repository");
+        File file = createFile("a.jar", "content of a");
+        FileChecksumIndex index = createIndex(repository);
+        index.getDigest(file, FileChecksumIndex.SHA_256);
+        index.save();
+
+        assertTrue(new File(repository, FileChecksumIndex.CHECKSUM_INDEX_RELPATH).isFile());
+        assertEquals(DigestUtils.sha256Hex("content of a"),
+                createIndex(repository).getDigest(file, FileChecksumIndex.SHA_256));
+    }
+
+    @Test
+    public void testChangedFileIsHashedAgain() throws IOException {
+        File repository = tempFolder.newFolder("repository");
+        File file = createFile("a.jar", "content of a");
+        FileChecksumIndex index = createIndex(repository);
+        index.getDigest(file, FileChecksumIndex.SHA_256);
+
+        Files.writeString(file.toPath(), "changed content of a", StandardCharsets.UTF_8);
+
+        assertEquals(DigestUtils.sha256Hex("changed content of a"), index.getDigest(file, FileChecksumIndex.SHA_256));
+    }
+
+    @Test
+    public void testParallelDigests() throws IOException {
+        File repository = tempFolder.newFolder("repository");
+        File a = createFile("a.jar", "content of a");
+        File b = createFile("b.jar", "content of b");
+        File missing = new File(tempFolder.getRoot(), "missing.jar");
+
+        Map<File, String> digests = createIndex(repository).getDigests(List.of(a, b, missing),
+                FileChecksumIndex.SHA_256);
+
+        assertEquals(Map.of(a, DigestUtils.sha256Hex("content of a"), b, DigestUtils.sha256Hex("content of b")),
+                digests);
+    }
+
+    @Test
+    public void testSaveAppendsToExistingEntries() throws IOException {
+        File repository = tempFolder.newFolder("repository");
+        File a = createFile("a.jar", "content of a");
+        File b = createFile("b.jar", "content of b");
+        FileChecksumIndex index = createIndex(repository);
+        index.getDigest(a, FileChecksumIndex.SHA_256);
+        index.save();
+        FileChecksumIndex otherIndex = createIndex(repository);
+        otherIndex.getDigest(b, FileChecksumIndex.SHA_256);
+        otherIndex.save();
+        Files.writeString(a.toPath(), "changed content of a", StandardCharsets.UTF_8);
+        index.getDigest(a, FileChecksumIndex.SHA_256);
+        index.save();
+
+        List<String> lines = Files.readAllLines(indexFile(repository).toPath());
+        assertEquals(3, lines.stream().filter(line -> line.startsWith(FileChecksumIndex.SHA_256)).count());
+        Properties properties = readIndex(repository);
+        assertEquals(2, properties.size());
+        assertEquals(DigestUtils.sha256Hex("changed content of a"),
+                createIndex(repository).getDigest(a, FileChecksumIndex.SHA_256));
+        assertEquals(DigestUtils.sha256Hex("content of b"),
+                createIndex(repository).getDigest(b, FileChecksumIndex.SHA_256));
+    }
+
+    @Test
+    public void testStaleEntriesArePrunedOnCompaction() throws IOException {
+        File repository = tempFolder.newFolder("repository");
+        File deleted = createFile("deleted.jar", "content of deleted");
+        File unchanged = createFile("unchanged.jar", "content of unchanged");
+        FileChecksumIndex index = createIndex(repository);
+        index.getDigests(List.of(deleted, unchanged), FileChecksumIndex.SHA_256);
+        index.save();
+        // simulate many saves that replaced the same entry
+        String line = Files.readAllLines(indexFile(repository).toPath()).stream()
+                .filter(l -> l.contains("deleted.jar")).findFirst().get();
+        Files.write(indexFile(repository).toPath(), Collections.nCopies(1000, line), StandardOpenOption.APPEND);
+        Files.delete(deleted.toPath());
+
+        FileChecksumIndex nextIndex = createIndex(repository);
+        File added = createFile("added.jar", "content of added");
+        nextIndex.getDigest(added, FileChecksumIndex.SHA_256);
+        nextIndex.save();
+
+        assertEquals(Set.of(FileChecksumIndex.SHA_256 + ":" + unchanged.getAbsolutePath(),
+                FileChecksumIndex.SHA_256 + ":" + added.getAbsolutePath()),
+                readIndex(repository).stringPropertyNames());
+    }
+
+    @Test
+    public void testInterruptedAppendIsIgnored() throws IOException {
+        File repository = tempFolder.newFolder("repository");
+        File a = createFile("a.jar", "content of a");
+        File b = createFile("b.jar", "content of b");
+        String digest = DigestUtils.sha256Hex("content of a");
+        indexFile(repository).getParentFile().mkdirs();
+        // an entry with the current stamp but a cut off digest and no line end
+        Properties truncated = new Properties();
+        truncated.setProperty(FileChecksumIndex.SHA_256 + ":" + a.getAbsolutePath(),
+                a.length() + "/" + a.lastModified() + "/" + digest.substring(0, 10));
+        try (OutputStream out = Files.newOutputStream(indexFile(repository).toPath())) {
+            truncated.store(out, null);
+        }
+        Files.writeString(indexFile(repository).toPath(), Files.readString(indexFile(repository).toPath()).strip());
+
+        FileChecksumIndex index = createIndex(repository);
+        assertEquals(digest, index.getDigest(a, FileChecksumIndex.SHA_256));
+        index.getDigest(b, FileChecksumIndex.SHA_256);
+        index.save();
+
+        FileChecksumIndex nextIndex = createIndex(repository);
+        assertEquals(digest, nextIndex.getDigest(a, FileChecksumIndex.SHA_256));
+        assertEquals(DigestUtils.sha256Hex("content of b"), nextIndex.getDigest(b, FileChecksumIndex.SHA_256));
+    }
+
+    private static File indexFile(File repository) {
+        return new File(repository, FileChecksumIndex.CHECKSUM_INDEX_RELPATH);
+    }
+
+    private static Properties readIndex(File repository) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(indexFile(repository).toPath())) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    private File createFile(String name, String content) throws IOException {
+        File file = new File(tempFolder.getRoot(), name);
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private FileChecksumIndex createIndex(File repository) {
+        return FileChecksumIndex.createChecksumIndex(repository, new NoopFileLockService(),
+                logVerifier.getMavenLogger());
+    }
+}
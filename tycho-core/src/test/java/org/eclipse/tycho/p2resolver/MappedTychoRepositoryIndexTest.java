@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+
+import org.eclipse.tycho.p2.repository.FileBasedTychoRepositoryIndex;
+import org.eclipse.tycho.p2.repository.GAV;
+import org.eclipse.tycho.p2.repository.MappedTychoRepositoryIndex;
+import org.eclipse.tycho.p2.repository.TychoRepositoryIndex;
+import org.eclipse.tycho.test.util.LogVerifier;
+import org.eclipse.tycho.test.util.MockMavenContext;
+import org.eclipse.tycho.test.util.NoopFileLockService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedTychoRepositoryIndexTest {
+
+    private static final GAV GAV_1 = new GAV("group", "artifact1", "1.0.0");
+    private static final GAV GAV_2 = new GAV("group", "artifact2", "2.0.0");
+    private static final GAV GAV_3 = new GAV("group", "artifact3", "3.0.0");
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Rule
+    public LogVerifier logVerifier = new LogVerifier();
+
+    @Test
+    public void testAddAndReload() throws IOException {
+        File basedir = tempFolder.getRoot();
+        TychoRepositoryIndex index = createIndex(basedir);
+        index.addGav(GAV_1);
+        index.addGav(GAV_2);
+        index.save();
+
+        assertTrue(new File(basedir, MappedTychoRepositoryIndex.ARTIFACTS_INDEX_RELPATH).isFile());
+        assertEquals(Set.of(GAV_1, GAV_2), createIndex(basedir).getProjectGAVs());
+    }
+
+    @Test
+    public void testRemoveAndReload() throws IOException {
+        File basedir = tempFolder.getRoot();
+        TychoRepositoryIndex index = createIndex(basedir);
+        index.addGav(GAV_1);
+        index.addGav(GAV_2);
+        index.save();
+        index.removeGav(GAV_1);
+        index.save();
+
+        assertEquals(Set.of(GAV_2), createIndex(basedir).getProjectGAVs());
+    }
+
+    @Test
+    public void testConcurrentChangesAreMerged() throws IOException {
+        File basedir = tempFolder.getRoot();
+        TychoRepositoryIndex index1 = createIndex(basedir);
+        index1.addGav(GAV_1);
+        index1.save();
+        TychoRepositoryIndex index2 = createIndex(basedir);
+        index2.addGav(GAV_2);
+        index2.save();
+        index1.addGav(GAV_3);
+        index1.save();
+
+        assertEquals(Set.of(GAV_1, GAV_2, GAV_3), index1.getProjectGAVs());
+        assertEquals(Set.of(GAV_1, GAV_2, GAV_3), createIndex(basedir).getProjectGAVs());
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        File basedir = tempFolder.getRoot();
+        TychoRepositoryIndex index = createIndex(basedir);
+        TychoRepositoryIndex other = createIndex(basedir);
+        for (int i = 0; i < 1000; i++) {
+            index.addGav(GAV_1);
+            index.save();
+            index.removeGav(GAV_1);
+            index.save();
+        }
+        // without compaction the log would contain 2000 records of 24 bytes each
+        File indexFile = new File(basedir, MappedTychoRepositoryIndex.ARTIFACTS_INDEX_RELPATH);
+        assertTrue("index was not compacted: " + indexFile.length(), indexFile.length() < 1001 * 24 + 32);
+        index.addGav(GAV_2);
+        index.save();
+
+        other.addGav(GAV_3);
+        other.save();
+        assertEquals(Set.of(GAV_2, GAV_3), other.getProjectGAVs());
+        assertEquals(Set.of(GAV_2, GAV_3), createIndex(basedir).getProjectGAVs());
+    }
+
+    @Test
+    public void testMigrationFromProperties() throws IOException {
+        File basedir = tempFolder.getRoot();
+        File legacyFile = new File(basedir, FileBasedTychoRepositoryIndex.ARTIFACTS_INDEX_RELPATH);
+        legacyFile.getParentFile().mkdirs();
+        Files.writeString(legacyFile.toPath(), GAV_1.toExternalForm() + "\n" + GAV_2.toExternalForm() + "\n",
+                StandardCharsets.UTF_8);
+
+        assertEquals(Set.of(GAV_1, GAV_2), createIndex(basedir).getProjectGAVs());
+        assertTrue(new File(basedir, MappedTychoRepositoryIndex.ARTIFACTS_INDEX_RELPATH).isFile());
+    }
+
+    @Test
+    public void testLegacyIndexIsKeptUpToDate() throws IOException {
+        File basedir = tempFolder.getRoot();
+        TychoRepositoryIndex index = createIndex(basedir);
+        index.addGav(GAV_1);
+        index.addGav(GAV_2);
+        index.save();
+        index.removeGav(GAV_1);
+        index.save();
+
+        assertEquals(Set.of(GAV_2), createLegacyIndex(basedir).getProjectGAVs());
+    }
+
+    @Test
+    public void testLegacyChangesAreTakenOver() throws IOException {
+        File basedir = tempFolder.getRoot();
+        TychoRepositoryIndex index = createIndex(basedir);
+        index.addGav(GAV_1);
+        index.addGav(GAV_2);
+        index.save();
+        // e.g. an older Tycho version removes an entry
+        TychoRepositoryIndex legacyIndex = createLegacyIndex(basedir);
+        legacyIndex.removeGav(GAV_1);
+        legacyIndex.save();
+
+        assertEquals(Set.of(GAV_2), createIndex(basedir).getProjectGAVs());
+        index.addGav(GAV_3);
+        index.save();
+        assertEquals(Set.of(GAV_2, GAV_3), index.getProjectGAVs());
+        assertEquals(Set.of(GAV_2, GAV_3), createIndex(basedir).getProjectGAVs());
+        assertEquals(Set.of(GAV_2, GAV_3), createLegacyIndex(basedir).getProjectGAVs());
+    }
+
+    @Test
+    public void testCorruptIndexIsReplaced() throws IOException {
+        File basedir = tempFolder.getRoot();
+        TychoRepositoryIndex index = createIndex(basedir);
+        index.addGav(GAV_1);
+        index.save();
+        File indexFile = new File(basedir, MappedTychoRepositoryIndex.ARTIFACTS_INDEX_RELPATH);
+        Files.write(indexFile.toPath(), new byte[] { 1, 2, 3 });
+
+        index.addGav(GAV_2);
+        index.save();
+
+        assertEquals(Set.of(GAV_1, GAV_2), index.getProjectGAVs());
+        assertEquals(Set.of(GAV_1, GAV_2), createIndex(basedir).getProjectGAVs());
+    }
+
+    @Test
+    public void testUnknownFormatIsReplaced() throws IOException {
+        File basedir = tempFolder.getRoot();
+        File indexFile = new File(basedir, MappedTychoRepositoryIndex.ARTIFACTS_INDEX_RELPATH);
+        indexFile.getParentFile().mkdirs();
+        Files.write(indexFile.toPath(), new byte[32]);
+
+        TychoRepositoryIndex index = createIndex(basedir);
+        index.addGav(GAV_1);
+        index.save();
+
+        assertEquals(Set.of(GAV_1), createIndex(basedir).getProjectGAVs());
+    }
+
+    @Test
+    public void testTooLongGavIsRejected() throws IOException {
+        File basedir = tempFolder.getRoot();
+        TychoRepositoryIndex index = createIndex(basedir);
+        GAV tooLong = new GAV("group", "a".repeat(70000), "1.0.0");
+        assertThrows(IllegalArgumentException.class, () -> index.addGav(tooLong));
+        index.addGav(GAV_1);
+        index.save();
+
+        assertEquals(Set.of(GAV_1), createIndex(basedir).getProjectGAVs());
+    }
+
+    private TychoRepositoryIndex createLegacyIndex(File basedir) {
+        return FileBasedTychoRepositoryIndex.createArtifactsIndex(basedir, new NoopFileLockService(),
+                new MockMavenContext(basedir, logVerifier.getMavenLogger()));
+    }
+
+    private TychoRepositoryIndex createIndex(File basedir) {
+        return MappedTychoRepositoryIndex.createArtifactsIndex(basedir, new NoopFileLockService(),
+                new MockMavenContext(basedir, logVerifier.getMavenLogger()));
+    }
+}
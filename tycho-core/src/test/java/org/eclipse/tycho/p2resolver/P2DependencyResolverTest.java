@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.tycho.core.osgitools.targetplatform.ArtifactDescriptorTable;
+import org.eclipse.tycho.testing.AbstractTychoMojoTestCase;
+
+public class P2DependencyResolverTest extends AbstractTychoMojoTestCase {
+
+    public void testDescriptorTableIsSharedBetweenClonedSessions() throws Exception {
+        File basedir = getBasedir("projects/moduleorder");
+        List<MavenProject> projects = getSortedProjects(basedir);
+        MavenSession session = newMavenSession(projects.get(0), projects);
+
+        // like the multi-threaded builder, resolve each project with its own clone of the session
+        MavenSession first = session.clone();
+        first.setCurrentProject(projects.get(0));
+        MavenSession second = session.clone();
+        second.setCurrentProject(projects.get(1));
+
+        ArtifactDescriptorTable table = P2DependencyResolver.getDescriptorTable(first);
+        assertSame(table, P2DependencyResolver.getDescriptorTable(second));
+        assertSame(table, P2DependencyResolver.getDescriptorTable(session));
+
+        MavenSession otherBuild = newMavenSession(projects.get(0), projects);
+        assertNotSame(table, P2DependencyResolver.getDescriptorTable(otherBuild));
+    }
+
+}
@@ -26,9 +26,12 @@ import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeNotNull;
 
 import java.io.File;
 import java.net.URI;
@@ -39,6 +42,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.eclipse.equinox.p2.metadata.IInstallableUnit;
 import org.eclipse.tycho.ArtifactType;
@@ -449,6 +455,48 @@ public class P2ResolverTest extends P2ResolverTestBase {
         assertEquals(0, macosx.getNonReactorUnits().size());
     }
 
+    @Test
+    public void testConcurrentMultienvResolutionMatchesSequential() throws Exception {
+        List<TargetEnvironment> environments = new ArrayList<>();
+        environments.add(new TargetEnvironment("linux", "gtk", "x86_64"));
+        environments.add(new TargetEnvironment("macosx", "cocoa", "x86_64"));
+        environments.add(new TargetEnvironment("win32", "win32", "x86_64"));
+        projectToResolve = createReactorProject(resourceFile("resolver/product.multienv.p2-inf"),
+                TYPE_ECLIPSE_REPOSITORY, "product.multienv.p2-inf");
+
+        Map<TargetEnvironment, P2ResolutionResult> sequential = createFor(environments)
+                .resolveTargetDependencies(getTargetPlatform(), projectToResolve);
+        ExecutorService executor = Executors.newFixedThreadPool(environments.size());
+        try {
+            P2ResolverImpl resolver = createFor(environments);
+            resolver.setResolverExecutor(executor);
+            Map<TargetEnvironment, P2ResolutionResult> concurrent = resolver
+                    .resolveTargetDependencies(getTargetPlatform(), projectToResolve);
+
+            assertEquals(environments, new ArrayList<>(sequential.keySet()));
+            assertEquals(environments, new ArrayList<>(concurrent.keySet()));
+            for (TargetEnvironment environment : environments) {
+                assertEquals(describe(sequential.get(environment)), describe(concurrent.get(environment)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testResolverExecutorIsShutDownOnDispose() {
+        P2ResolverFactoryImpl factory = new P2ResolverFactoryImpl();
+        ExecutorService executor = factory.getResolverExecutor();
+        assumeNotNull(executor);
+        assertSame(executor, factory.getResolverExecutor());
+
+        factory.dispose();
+
+        assertTrue(executor.isShutdown());
+        assertNotSame(executor, factory.getResolverExecutor());
+        factory.dispose();
+    }
+
     @Test
     public void testAdditionalFilterProperties() throws Exception {
         tpConfig.addP2Repository(resourceFile("repositories/e342_2").toURI());
@@ -502,6 +550,16 @@ public class P2ResolverTest extends P2ResolverTestBase {
         return map.values().iterator().next();
     }
 
+    private static List<String> describe(P2ResolutionResult result) {
+        List<String> description = new ArrayList<>();
+        for (Entry entry : result.getArtifacts()) {
+            description.add(entry.getType() + ":" + entry.getId() + ":" + entry.getVersion() + ":"
+                    + entry.getClassifier() + " " + new TreeSet<>(entry.getInstallableUnits()));
+        }
+        description.add("non-reactor " + new TreeSet<>(result.getNonReactorUnits()));
+        return description;
+    }
+
     private static P2ResolutionResult.Entry getClassifiedArtifact(P2ResolutionResult resolutionResult,
             String classifier) {
         Set<String> availableClassifiers = new HashSet<>();
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.tycho.ReactorProject;
+import org.eclipse.tycho.TargetEnvironment;
+import org.eclipse.tycho.TargetPlatform;
+import org.eclipse.tycho.artifacts.TargetPlatformFilter;
+import org.eclipse.tycho.artifacts.TargetPlatformFilter.CapabilityPattern;
+import org.eclipse.tycho.artifacts.TargetPlatformFilter.CapabilityType;
+import org.eclipse.tycho.core.ee.shared.ExecutionEnvironmentConfigurationStub;
+import org.eclipse.tycho.core.resolver.P2ResolverFactory;
+import org.eclipse.tycho.p2.repository.LocalRepositoryP2Indices;
+import org.eclipse.tycho.p2.repository.TychoRepositoryIndex;
+import org.eclipse.tycho.p2.target.facade.TargetPlatformConfigurationStub;
+import org.eclipse.tycho.p2.target.facade.TargetPlatformFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReactorRepositoryManagerImplTest {
+
+    private static final TargetEnvironment LINUX = new TargetEnvironment("linux", "gtk", "x86_64");
+    private static final TargetEnvironment WINDOWS = new TargetEnvironment("win32", "win32", "x86_64");
+
+    private ReactorRepositoryManagerImpl subject;
+
+    private TychoRepositoryIndex metadataIndex;
+
+    private MavenSession session;
+
+    @Before
+    public void setup() {
+        TargetPlatformFactory tpFactory = mock(TargetPlatformFactory.class);
+        // every computation yields a distinct target platform
+        when(tpFactory.createTargetPlatform(any(), any(), any()))
+                .thenAnswer(invocation -> mock(TargetPlatform.class));
+        subject = new ReactorRepositoryManagerImpl();
+        subject.p2ResolverFactory = mock(P2ResolverFactory.class);
+        when(subject.p2ResolverFactory.getTargetPlatformFactory()).thenReturn(tpFactory);
+        metadataIndex = mock(TychoRepositoryIndex.class);
+        subject.localRepoIndices = mock(LocalRepositoryP2Indices.class);
+        when(subject.localRepoIndices.getMetadataIndex()).thenReturn(metadataIndex);
+        session = mock(MavenSession.class);
+    }
+
+    @Test
+    public void testEqualConfigurationSharesTargetPlatform() {
+        TargetPlatform first = compute(project(), configuration(LINUX, null));
+        TargetPlatform second = compute(project(), configuration(LINUX, null));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testDifferentFiltersDoNotShareTargetPlatform() {
+        TargetPlatform first = compute(project(), configuration(LINUX, null));
+        TargetPlatform second = compute(project(), configuration(LINUX, "org.example.bundle"));
+
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testDifferentEnvironmentsDoNotShareTargetPlatform() {
+        TargetPlatform first = compute(project(), configuration(LINUX, null));
+        TargetPlatform second = compute(project(), configuration(WINDOWS, null));
+
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testLocalArtifactChangesAreDetected() {
+        when(metadataIndex.getModificationCount()).thenReturn(1L);
+        TargetPlatform first = compute(project(), configuration(LINUX, null));
+        when(metadataIndex.getModificationCount()).thenReturn(2L);
+        TargetPlatform second = compute(project(), configuration(LINUX, null));
+
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testSharingCanBeDisabled() {
+        subject.shareTargetPlatforms = false;
+
+        TargetPlatform first = compute(project(), configuration(LINUX, null));
+        TargetPlatform second = compute(project(), configuration(LINUX, null));
+
+        assertNotSame(first, second);
+    }
+
+    private TargetPlatform compute(ReactorProject project, TargetPlatformConfigurationStub tpConfiguration) {
+        return subject.computePreliminaryTargetPlatform(project, tpConfiguration,
+                new ExecutionEnvironmentConfigurationStub("JavaSE-17"), List.of());
+    }
+
+    private ReactorProject project() {
+        ReactorProject project = mock(ReactorProject.class);
+        when(project.adapt(MavenSession.class)).thenReturn(session);
+        return project;
+    }
+
+    private static TargetPlatformConfigurationStub configuration(TargetEnvironment environment,
+            String removedBundle) {
+        TargetPlatformConfigurationStub tpConfiguration = new TargetPlatformConfigurationStub();
+        tpConfiguration.setEnvironments(List.of(environment));
+        if (removedBundle != null) {
+            CapabilityPattern pattern = CapabilityPattern.patternWithoutVersion(CapabilityType.OSGI_BUNDLE,
+                    removedBundle);
+            tpConfiguration.addFilters(List.of(TargetPlatformFilter.removeAllFilter(pattern)));
+        }
+        return tpConfiguration;
+    }
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import static org.eclipse.tycho.p2resolver.InstallableUnitUtil.createIU;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.tycho.BuildDirectory;
+import org.eclipse.tycho.ReactorProject;
+import org.eclipse.tycho.TargetEnvironment;
+import org.eclipse.tycho.core.ee.impl.NoExecutionEnvironmentResolutionHints;
+import org.eclipse.tycho.core.resolver.target.P2TargetPlatform;
+import org.eclipse.tycho.p2resolver.ResolutionCache.CachedResolution;
+import org.eclipse.tycho.test.util.LogVerifier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResolutionCacheTest {
+
+    private static final TargetEnvironment LINUX = new TargetEnvironment("linux", "gtk", "x86_64");
+    private static final TargetEnvironment WINDOWS = new TargetEnvironment("win32", "win32", "x86_64");
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+    @Rule
+    public LogVerifier logVerifier = new LogVerifier();
+
+    private ReactorProject project;
+    private P2TargetPlatform targetPlatform;
+
+    private final IInstallableUnit root = createIU("root", "1.0.0");
+    private final IInstallableUnit dependency = createIU("dependency", "1.0.0");
+    private final IInstallableUnit fragment = createIU("fragment", "1.0.0");
+    private final IInstallableUnit shadowed = createIU("shadowed", "1.0.0");
+
+    @Before
+    public void setUp() throws IOException {
+        System.setProperty(ResolutionCache.ENABLED_PROPERTY, "true");
+        File buildDirectory = tempFolder.newFolder("target");
+        BuildDirectory directory = mock(BuildDirectory.class);
+        when(directory.getLocation()).thenReturn(buildDirectory);
+        project = mock(ReactorProject.class);
+        when(project.getBuildDirectory()).thenReturn(directory);
+        targetPlatform = mock(P2TargetPlatform.class);
+        when(targetPlatform.getOriginalReactorProjectMap()).thenReturn(Map.of());
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(ResolutionCache.ENABLED_PROPERTY);
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        System.clearProperty(ResolutionCache.ENABLED_PROPERTY);
+        assertNull(ResolutionCache.forProject(project, data(dependency, fragment, shadowed), List.of(LINUX),
+                targetPlatform, logVerifier.getMavenLogger()));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        List<TargetEnvironment> environments = List.of(LINUX, WINDOWS);
+        ResolutionDataImpl data = data(dependency, fragment, shadowed);
+        ResolutionCache cache = cache(data, environments);
+        assertNull(cache.read(environments, data, targetPlatform));
+
+        cache.put(LINUX, List.of(root, dependency), List.of(fragment));
+        cache.save(environments, List.of(shadowed));
+        // not all environments have been resolved yet
+        assertNull(cache(data, environments).read(environments, data, targetPlatform));
+
+        cache.put(WINDOWS, List.of(root), List.of());
+        cache.save(environments, List.of(shadowed));
+        CachedResolution cached = cache(data, environments).read(environments, data, targetPlatform);
+        assertNotNull(cached);
+        assertEquals(List.of(LINUX, WINDOWS), new ArrayList<>(cached.environments().keySet()));
+        assertEquals(List.of(root, dependency), cached.environments().get(LINUX).units());
+        assertEquals(List.of(fragment), cached.environments().get(LINUX).dependencyFragments());
+        assertEquals(List.of(root), cached.environments().get(WINDOWS).units());
+        assertEquals(List.of(), cached.environments().get(WINDOWS).dependencyFragments());
+        assertEquals(List.of(shadowed), cached.usedShadowedUnits());
+    }
+
+    @Test
+    public void testKeyChangesWithInputs() {
+        List<TargetEnvironment> environments = List.of(LINUX);
+        ResolutionDataImpl data = data(dependency, fragment);
+        ResolutionCache cache = cache(data, environments);
+        cache.put(LINUX, List.of(root, dependency), List.of());
+        cache.save(environments, List.of());
+        File cacheFile = cache.getCacheFile();
+        assertEquals(cacheFile, getCacheFile(data(dependency, fragment), environments));
+
+        ResolutionDataImpl changedAvailable = data(createIU("dependency", "1.0.1"), fragment);
+        ResolutionDataImpl changedRoots = data(dependency, fragment);
+        changedRoots.setRootIUs(List.of(createIU("root", "2.0.0")));
+        assertNotEquals(cacheFile, getCacheFile(changedAvailable, environments));
+        assertNotEquals(cacheFile, getCacheFile(changedRoots, environments));
+        assertNotEquals(cacheFile, getCacheFile(data, List.of(WINDOWS)));
+        assertNotEquals(cacheFile, getCacheFile(data, List.of(LINUX, WINDOWS)));
+        assertNull(cache(changedAvailable, environments).read(environments, changedAvailable, targetPlatform));
+    }
+
+    @Test
+    public void testInvalidFileIsIgnored() throws IOException {
+        List<TargetEnvironment> environments = List.of(LINUX);
+        ResolutionDataImpl data = data(dependency);
+        ResolutionCache cache = cache(data, environments);
+        cache.put(LINUX, List.of(root, dependency), List.of());
+        cache.save(environments, List.of());
+        File cacheFile = cache.getCacheFile();
+
+        byte[] content = Files.readAllBytes(cacheFile.toPath());
+        Files.write(cacheFile.toPath(), Arrays.copyOf(content, content.length - 3));
+        assertNull(cache(data, environments).read(environments, data, targetPlatform));
+
+        Files.write(cacheFile.toPath(), new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 });
+        assertNull(cache(data, environments).read(environments, data, targetPlatform));
+    }
+
+    private ResolutionDataImpl data(IInstallableUnit... available) {
+        ResolutionDataImpl data = new ResolutionDataImpl(NoExecutionEnvironmentResolutionHints.INSTANCE);
+        data.setRootIUs(List.of(root));
+        data.setAvailableIUs(List.of(available));
+        data.setAdditionalRequirements(List.of());
+        return data;
+    }
+
+    private ResolutionCache cache(ResolutionDataImpl data, List<TargetEnvironment> environments) {
+        return ResolutionCache.forProject(project, data, environments, targetPlatform, logVerifier.getMavenLogger());
+    }
+
+    private File getCacheFile(ResolutionDataImpl data, List<TargetEnvironment> environments) {
+        return cache(data, environments).getCacheFile();
+    }
+}
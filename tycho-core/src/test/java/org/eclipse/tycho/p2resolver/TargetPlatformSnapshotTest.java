@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import static org.eclipse.tycho.p2resolver.TargetDefinitionResolverTest.MAIN_BUNDLE;
+import static org.eclipse.tycho.p2resolver.TargetDefinitionResolverTest.REFERENCED_BUNDLE_V1;
+import static org.eclipse.tycho.p2resolver.TargetDefinitionResolverTest.bagEquals;
+import static org.eclipse.tycho.p2resolver.TargetDefinitionResolverTest.defaultEnvironments;
+import static org.eclipse.tycho.p2resolver.TargetDefinitionResolverTest.definitionWith;
+import static org.eclipse.tycho.p2resolver.TargetDefinitionResolverTest.versionedIdsOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.equinox.p2.core.IProvisioningAgent;
+import org.eclipse.equinox.p2.repository.IRepositoryReference;
+import org.eclipse.tycho.TargetEnvironment;
+import org.eclipse.tycho.core.resolver.shared.IncludeSourceMode;
+import org.eclipse.tycho.core.resolver.target.TargetDefinitionContent;
+import org.eclipse.tycho.core.shared.MavenContext;
+import org.eclipse.tycho.p2resolver.TargetDefinitionResolverTest.LocationStub;
+import org.eclipse.tycho.p2resolver.TargetDefinitionResolverTest.RepositoryStub;
+import org.eclipse.tycho.p2resolver.TargetDefinitionResolverTest.TestRepositories;
+import org.eclipse.tycho.targetplatform.TargetDefinition;
+import org.eclipse.tycho.targetplatform.TargetDefinition.Location;
+import org.eclipse.tycho.test.util.LogVerifier;
+import org.eclipse.tycho.test.util.MockMavenContext;
+import org.eclipse.tycho.testing.TychoPlexusTestCase;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class TargetPlatformSnapshotTest extends TychoPlexusTestCase {
+
+    @Rule
+    public final LogVerifier logVerifier = new LogVerifier();
+
+    private IProvisioningAgent agent;
+    private MavenContext mavenContext;
+
+    @Before
+    public void setUp() throws Exception {
+        agent = lookup(IProvisioningAgent.class);
+        mavenContext = new MockMavenContext(temporaryFolder.newFolder("localRepo"), logVerifier.getLogger());
+    }
+
+    @Test
+    public void testKeyIsStable() {
+        File snapshotFile = snapshot(definitionWith(new LocationStub(MAIN_BUNDLE))).getSnapshotFile();
+        assertEquals(snapshotFile, snapshot(definitionWith(new LocationStub(MAIN_BUNDLE))).getSnapshotFile());
+        assertEquals(snapshotFile,
+                snapshot(definitionWith(new LocationStub(MAIN_BUNDLE)), defaultEnvironments(), IncludeSourceMode.honor)
+                        .getSnapshotFile());
+    }
+
+    @Test
+    public void testKeyChangesWithResolutionArguments() {
+        File snapshotFile = snapshot(definitionWith(new LocationStub(MAIN_BUNDLE))).getSnapshotFile();
+        List<File> changed = Arrays.asList(//
+                snapshot(definitionWith(new LocationStub(REFERENCED_BUNDLE_V1))).getSnapshotFile(),
+                snapshot(definitionWith(new LocationStub(TestRepositories.V2, MAIN_BUNDLE))).getSnapshotFile(),
+                snapshot(definitionWith(new LocationStub(MAIN_BUNDLE), new LocationStub(REFERENCED_BUNDLE_V1)))
+                        .getSnapshotFile(),
+                snapshot(definitionWith(new LocationStub(MAIN_BUNDLE)),
+                        List.of(new TargetEnvironment("linux", "gtk", "x86_64")), IncludeSourceMode.honor)
+                        .getSnapshotFile(),
+                snapshot(definitionWith(new LocationStub(MAIN_BUNDLE)), defaultEnvironments(),
+                        IncludeSourceMode.ignore).getSnapshotFile());
+        for (File changedFile : changed) {
+            assertNotEquals(snapshotFile, changedFile);
+        }
+    }
+
+    @Test
+    public void testOtherLocationsAreNotSnapshotted() {
+        Location otherLocation = new Location() {
+            @Override
+            public String getTypeDescription() {
+                return "OtherLocation";
+            }
+        };
+        assertNull(snapshot(definitionWith(new LocationStub(MAIN_BUNDLE), otherLocation)));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        TargetDefinition definition = definitionWith(new LocationStub(MAIN_BUNDLE));
+        assertNull(snapshot(definition).read());
+
+        TargetDefinitionContent content = resolve(definition);
+        snapshot(definition).write(content);
+        TargetDefinitionContent snapshotContent = snapshot(definition).read();
+
+        assertNotNull(snapshotContent);
+        assertFalse(versionedIdsOf(content).isEmpty());
+        assertThat(versionedIdsOf(snapshotContent), bagEquals(versionedIdsOf(content)));
+        List<IRepositoryReference> references = List
+                .copyOf(snapshotContent.getMetadataRepository().getReferences());
+        assertEquals(1, references.size());
+        assertEquals(new RepositoryStub("v1_content").getLocation(), references.get(0).getLocation());
+    }
+
+    @Test
+    public void testUnreadableSnapshotIsIgnored() throws Exception {
+        TargetDefinition definition = definitionWith(new LocationStub(MAIN_BUNDLE));
+        TargetPlatformSnapshot snapshot = snapshot(definition);
+        snapshot.write(resolve(definition));
+        byte[] content = Files.readAllBytes(snapshot.getSnapshotFile().toPath());
+        Files.write(snapshot.getSnapshotFile().toPath(), Arrays.copyOf(content, content.length - 10));
+
+        assertNull(snapshot(definition).read());
+    }
+
+    private TargetDefinitionContent resolve(TargetDefinition definition) throws Exception {
+        return new TargetDefinitionResolver(defaultEnvironments(),
+                ExecutionEnvironmentTestUtils.NOOP_EE_RESOLUTION_HINTS, IncludeSourceMode.honor, mavenContext, null)
+                .resolveContent(definition, agent);
+    }
+
+    private TargetPlatformSnapshot snapshot(TargetDefinition definition) {
+        return snapshot(definition, defaultEnvironments(), IncludeSourceMode.honor);
+    }
+
+    private TargetPlatformSnapshot snapshot(TargetDefinition definition, List<TargetEnvironment> environments,
+            IncludeSourceMode includeSourceMode) {
+        return TargetPlatformSnapshot.forDefinition(definition, environments,
+                ExecutionEnvironmentTestUtils.NOOP_EE_RESOLUTION_HINTS, includeSourceMode, agent, mavenContext);
+    }
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.metrics;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Usage statistics of one in-memory cache. The owner of the cache records hits, misses and the time
+ * spent to load missing entries, the size of the cache is queried on demand when a report is
+ * created. Retained bytes are a rough estimate supplied by the owner, they are meant to compare
+ * caches and builds, not to replace a heap dump.
+ */
+public final class CacheMetrics {
+
+    /**
+     * Estimated size of a hash map entry including its node and the key reference
+     */
+    public static final long ENTRY_BYTES = 48;
+
+    private final String name;
+    private final IntSupplier entryCount;
+    private final LongSupplier estimatedBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    /**
+     * @param name
+     *            the name of the cache, usually the name of the owning class and field
+     * @param entryCount
+     *            returns the current number of entries
+     * @param estimatedBytes
+     *            returns the estimated number of bytes retained by the entries
+     */
+    public CacheMetrics(String name, IntSupplier entryCount, LongSupplier estimatedBytes) {
+        this.name = name;
+        this.entryCount = entryCount;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    /**
+     * Records a miss that took the given time to load the missing entry
+     */
+    public void miss(long startNanos) {
+        misses.increment();
+        loadNanos.add(System.nanoTime() - startNanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getEntryCount() {
+        return entryCount.getAsInt();
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes.getAsLong();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the ratio of hits to all requests, or <code>0</code> if there were no requests
+     */
+    public double getHitRatio() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public long getLoadTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(loadNanos.sum());
+    }
+
+    void reset() {
+        hits.reset();
+        misses.reset();
+        loadNanos.reset();
+    }
+
+    /**
+     * Estimates the bytes retained by a string (compact, Latin-1 encoded)
+     */
+    public static long estimateBytes(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+
+    /**
+     * Estimates the bytes retained by a map of strings
+     */
+    public static long estimateBytes(Map<?, ?> values) {
+        long bytes = 0;
+        for (Entry<?, ?> entry : values.entrySet()) {
+            bytes += ENTRY_BYTES + estimateBytes(String.valueOf(entry.getKey()))
+                    + estimateBytes(String.valueOf(entry.getValue()));
+        }
+        return bytes;
+    }
+
+}
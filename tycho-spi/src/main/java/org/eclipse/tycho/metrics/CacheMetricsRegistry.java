@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.codehaus.plexus.component.annotations.Component;
+
+/**
+ * Collects the {@link CacheMetrics} of all session scoped caches so they can be reported at the end
+ * of the build, see {@link #REPORT_PROPERTY}.
+ */
+@Component(role = CacheMetricsRegistry.class)
+public class CacheMetricsRegistry {
+
+    /**
+     * If set to <code>true</code> the report is written to {@link #REPORT_FILE} in the build
+     * directory of the top level project, any other value (except <code>false</code>) is used as
+     * the path of the report file.
+     */
+    public static final String REPORT_PROPERTY = "tycho.cache.metrics";
+
+    public static final String REPORT_FILE = "tycho-cache-metrics.json";
+
+    private final Map<String, CacheMetrics> metrics = new ConcurrentSkipListMap<>();
+
+    /**
+     * Registers the given metrics, replacing any previously registered metrics of the same name
+     */
+    public void register(CacheMetrics cacheMetrics) {
+        metrics.put(cacheMetrics.getName(), cacheMetrics);
+    }
+
+    public Collection<CacheMetrics> getMetrics() {
+        return metrics.values();
+    }
+
+    /**
+     * Resets the recorded hits, misses and load times, e.g. when a new session starts in the same
+     * JVM
+     */
+    public void reset() {
+        metrics.values().forEach(CacheMetrics::reset);
+    }
+
+    /**
+     * @return the metrics of all caches and the current heap usage as JSON
+     */
+    public String toJson() {
+        Runtime runtime = Runtime.getRuntime();
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"heap\": {");
+        json.append("\"usedBytes\": ").append(runtime.totalMemory() - runtime.freeMemory());
+        json.append(", \"committedBytes\": ").append(runtime.totalMemory());
+        json.append(", \"maxBytes\": ").append(runtime.maxMemory());
+        json.append("},\n");
+        json.append("  \"caches\": [");
+        boolean first = true;
+        for (CacheMetrics cache : metrics.values()) {
+            json.append(first ? "\n" : ",\n");
+            first = false;
+            json.append("    {\"name\": ");
+            appendString(json, cache.getName());
+            json.append(", \"entries\": ").append(cache.getEntryCount());
+            json.append(", \"estimatedBytes\": ").append(cache.getEstimatedBytes());
+            json.append(", \"hits\": ").append(cache.getHits());
+            json.append(", \"misses\": ").append(cache.getMisses());
+            json.append(", \"hitRatio\": ").append(String.format(Locale.ROOT, "%.3f", cache.getHitRatio()));
+            json.append(", \"loadTimeMillis\": ").append(cache.getLoadTimeMillis());
+            json.append("}");
+        }
+        json.append(first ? "]\n" : "\n  ]\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    public void writeReport(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        Files.writeString(file.toPath(), toJson(), StandardCharsets.UTF_8);
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+}